@@ -0,0 +1,112 @@
+package com.wallet.biochain.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero when any benchmark present in both
+ * got slower than the allowed percentage. Throughput scores regress when they drop; time-based
+ * modes (avgt, sample, ss) regress when they grow.
+ * <p>
+ * Usage: {@code BenchmarkRegressionGate <baseline.json> <current.json> <thresholdPercent>}.
+ * A missing baseline is reported and passes, so the first run can be promoted to baseline.
+ */
+public final class BenchmarkRegressionGate {
+
+    private BenchmarkRegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BenchmarkRegressionGate <baseline.json> <current.json> <thresholdPercent>");
+            System.exit(2);
+        }
+
+        Path baselinePath = Path.of(args[0]);
+        Path currentPath = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+
+        if (!Files.exists(baselinePath)) {
+            System.out.printf("No benchmark baseline at %s; copy %s there to start gating%n", baselinePath, currentPath);
+            return;
+        }
+
+        Map<String, Score> baseline = readScores(baselinePath);
+        Map<String, Score> current = readScores(currentPath);
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW       %-70s %14.3f %s%n", entry.getKey(), entry.getValue().value(),
+                        entry.getValue().unit());
+                continue;
+            }
+
+            Score after = entry.getValue();
+            double change = before.changePercent(after);
+            boolean regressed = change < -threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-9s %-70s %14.3f -> %14.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                    entry.getKey(), before.value(), after.value(), after.unit(), change);
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%% against %s%n",
+                    regressions, threshold, baselinePath);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> readScores(Path path) throws IOException {
+        JsonNode results = new ObjectMapper().readTree(path.toFile());
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (JsonNode result : results) {
+            String mode = result.path("mode").asText();
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key(result), new Score(metric.path("score").asDouble(), metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+        JsonNode params = result.path("params");
+        if (params.isObject()) {
+            Map<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> field : params.properties()) {
+                sorted.put(field.getKey(), field.getValue().asText());
+            }
+            key.append(sorted);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Primary score of one benchmark; {@code higherIsBetter} for throughput modes
+     */
+    private record Score(double value, String unit, boolean higherIsBetter) {
+
+        /**
+         * Positive when {@code after} is an improvement over this score
+         */
+        double changePercent(Score after) {
+            if (value == 0) {
+                return 0;
+            }
+            double change = (after.value - value) / value * 100;
+            return higherIsBetter ? change : -change;
+        }
+    }
+}
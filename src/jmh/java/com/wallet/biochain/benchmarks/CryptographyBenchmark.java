@@ -0,0 +1,103 @@
+package com.wallet.biochain.benchmarks;
+
+import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and RSA signing as used for block hashes, addresses and transaction signatures.
+ * <p>
+ * The {@code *WithLookup} benchmarks do the same work with a {@code getInstance} call per
+ * operation, as the service did before it pooled engine instances, and the {@code *Contended}
+ * ones run on several threads at once, so one run shows what the pool saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptographyBenchmark {
+
+    private CryptographyServiceImpl cryptographyService;
+    private String payload;
+    private String privateKey;
+    private String publicKey;
+    private String signature;
+    private PublicKey decodedPublicKey;
+    private byte[] signatureBytes;
+
+    @Setup
+    public void setUp() {
+        cryptographyService = new CryptographyServiceImpl();
+        payload = "0xsender" + "0xrecipient" + "125.50000000" + "0.00100000" + 1700000000000L;
+
+        KeyPair keyPair = cryptographyService.generateKeyPair();
+        privateKey = cryptographyService.encodePrivateKey(keyPair.getPrivate());
+        publicKey = cryptographyService.encodePublicKey(keyPair.getPublic());
+        signature = cryptographyService.sign(payload, privateKey);
+        decodedPublicKey = keyPair.getPublic();
+        signatureBytes = Base64.getDecoder().decode(signature);
+    }
+
+    @Benchmark
+    public String hash() {
+        return cryptographyService.hash(payload);
+    }
+
+    @Benchmark
+    public String sign() {
+        return cryptographyService.sign(payload, privateKey);
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return cryptographyService.verifySignature(payload, signature, publicKey);
+    }
+
+    @Benchmark
+    public PublicKey decodePublicKey() {
+        return cryptographyService.decodePublicKey(publicKey);
+    }
+
+    @Benchmark
+    public boolean verifyDecodedKey() {
+        return cryptographyService.verifySignature(payload, signature, decodedPublicKey);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean verifyDecodedKeyContended() {
+        return cryptographyService.verifySignature(payload, signature, decodedPublicKey);
+    }
+
+    @Benchmark
+    public byte[] hashWithLookup() throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean verifyDecodedKeyWithLookup() throws Exception {
+        return verifyWithLookup();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean verifyDecodedKeyWithLookupContended() throws Exception {
+        return verifyWithLookup();
+    }
+
+    private boolean verifyWithLookup() throws Exception {
+        Signature verifier = Signature.getInstance("SHA256withRSA");
+        verifier.initVerify(decodedPublicKey);
+        verifier.update(payload.getBytes(StandardCharsets.UTF_8));
+        return verifier.verify(signatureBytes);
+    }
+}
@@ -0,0 +1,55 @@
+package com.wallet.biochain.benchmarks;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.impl.BlockServiceImpl;
+import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import com.wallet.biochain.services.impl.MerkleServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merkle root over blocks of 1, 100 and 10k transactions, serial and above the parallel threshold
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MerkleRootBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int transactionCount;
+
+    @Param({"0", "4096"})
+    private int parallelThreshold;
+
+    private BlockServiceImpl blockService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        CryptographyServiceImpl cryptographyService = new CryptographyServiceImpl();
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMining().setMerkleParallelThreshold(parallelThreshold);
+        // Repository, mapper and transaction service are not touched by the hashing paths
+        blockService = new BlockServiceImpl(null, cryptographyService, null,
+                new MerkleServiceImpl(cryptographyService, config), null);
+
+        transactions = new ArrayList<>(transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            Transaction tx = new Transaction();
+            tx.setTransactionHash(cryptographyService.hash("tx-" + i));
+            transactions.add(tx);
+        }
+    }
+
+    @Benchmark
+    public String calculateMerkleRoot() {
+        return blockService.calculateMerkleRoot(transactions);
+    }
+}
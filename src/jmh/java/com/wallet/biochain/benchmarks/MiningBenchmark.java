@@ -0,0 +1,78 @@
+package com.wallet.biochain.benchmarks;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.services.impl.BlockServiceImpl;
+import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import com.wallet.biochain.services.impl.MerkleServiceImpl;
+import com.wallet.biochain.services.impl.MiningServiceImpl;
+import com.wallet.biochain.services.impl.SequentialMiningEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block header hashing and single-threaded proof of work.
+ * {@code proofOfWork} reports solved blocks per second; its {@code hashes} secondary result is
+ * the raw single-thread hash rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MiningBenchmark {
+
+    private static final int DIFFICULTY = 3;
+
+    private BlockServiceImpl blockService;
+    private MiningServiceImpl miningService;
+    private Block block;
+    private long timestamp = 1700000000000L;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class HashCounter {
+        public long hashes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hashes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        CryptographyServiceImpl cryptographyService = new CryptographyServiceImpl();
+        BlockchainConfig config = new BlockchainConfig();
+        // Repository, mapper and transaction service are not touched by header hashing
+        blockService = new BlockServiceImpl(null, cryptographyService, null,
+                new MerkleServiceImpl(cryptographyService, config), null);
+        // Only the mining engine is used by calculateProofOfWork
+        miningService = new MiningServiceImpl(null, cryptographyService, null,
+                new SequentialMiningEngine(Long.MAX_VALUE), config, null);
+
+        block = new Block();
+        block.setBlockIndex(42);
+        block.setPreviousHash(cryptographyService.hash("previous"));
+        block.setTimestamp(timestamp);
+        block.setNonce(123456);
+        block.setMerkleRoot(cryptographyService.hash("merkle"));
+    }
+
+    @Benchmark
+    public String calculateBlockHash() {
+        return blockService.calculateBlockHash(block);
+    }
+
+    @Benchmark
+    public String proofOfWork(HashCounter counter) {
+        // A fresh timestamp per block keeps every search independent
+        block.setTimestamp(++timestamp);
+        block.setNonce(0);
+        String hash = miningService.calculateProofOfWork(block, DIFFICULTY);
+        counter.hashes += miningService.getLastSearchResult().orElseThrow().totalHashes();
+        return hash;
+    }
+}
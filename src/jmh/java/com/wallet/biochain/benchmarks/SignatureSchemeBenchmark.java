@@ -0,0 +1,87 @@
+package com.wallet.biochain.benchmarks;
+
+import com.wallet.biochain.enums.SignatureSchemeType;
+import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wallet creation, signing and verification cost per signature scheme. The batch benchmarks
+ * report per-signature throughput over a block-sized chunk, checked as one batch and one by one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureSchemeBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+
+    @Param({"RSA_2048", "SECP256K1", "ED25519"})
+    private SignatureSchemeType scheme;
+
+    private CryptographyServiceImpl cryptographyService;
+    private String payload;
+    private String privateKey;
+    private PublicKey publicKey;
+    private String signature;
+    private List<CryptographyService.SignedPayload> batch;
+
+    @Setup
+    public void setUp() {
+        cryptographyService = new CryptographyServiceImpl();
+        payload = "0xsender" + "0xrecipient" + "125.50000000" + "0.00100000" + 1700000000000L;
+
+        KeyPair keyPair = cryptographyService.generateKeyPair(scheme);
+        privateKey = cryptographyService.encodePrivateKey(keyPair.getPrivate());
+        publicKey = keyPair.getPublic();
+        signature = cryptographyService.sign(payload, privateKey);
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String data = payload + i;
+            batch.add(new CryptographyService.SignedPayload(data, cryptographyService.sign(data, privateKey), publicKey));
+        }
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return cryptographyService.generateKeyPair(scheme);
+    }
+
+    @Benchmark
+    public String sign() {
+        return cryptographyService.sign(payload, privateKey);
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return cryptographyService.verifySignature(payload, signature, publicKey);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public boolean[] verifySignaturesBatch() {
+        return cryptographyService.verifySignatures(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int verifySignaturesOneByOne() {
+        int valid = 0;
+        for (CryptographyService.SignedPayload signed : batch) {
+            if (cryptographyService.verifySignature(signed.data(), signed.signature(), signed.publicKey())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
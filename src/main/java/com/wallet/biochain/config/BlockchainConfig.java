@@ -37,6 +37,21 @@ public class BlockchainConfig {
      */
     private Consensus consensus = new Consensus();
 
+    /**
+     * Transaction pool configuration
+     */
+    private Mempool mempool = new Mempool();
+
+    /**
+     * Transaction validation configuration
+     */
+    private Validation validation = new Validation();
+
+    /**
+     * Wallet key configuration
+     */
+    private Crypto crypto = new Crypto();
+
     @Getter
     @Setter
     public static class Genesis {
@@ -55,6 +70,13 @@ public class BlockchainConfig {
         private BigDecimal initialReward = new BigDecimal("50");
         private Integer halvingInterval = 210000; // Blocks until reward halves
         private Long targetBlockTime = 600000L; // 10 minutes in milliseconds
+        private Integer retargetWindow = 10; // Recent blocks averaged when retargeting
+        private String engine = "PARALLEL"; // SEQUENTIAL or PARALLEL
+        private Integer workerThreads = 0; // 0 = one worker per available core
+        private Long progressInterval = 100000L; // Hashes between progress reports
+        private Long noncesPerWorkUnit = 4294967296L; // Nonces per header before rolling timestamp and extra nonce
+        private Long maxBlockSize = 1000000L; // Block template budget in estimated transaction bytes
+        private Integer merkleParallelThreshold = 4096; // Leaves at which merkle levels hash in parallel; 0 = never
     }
 
     @Getter
@@ -65,4 +87,38 @@ public class BlockchainConfig {
         private Integer minStakingPeriod = 86400; // 24 hours in seconds
         private BigDecimal stakingRewardRate = new BigDecimal("0.05"); // 5% annual
     }
-}
\ No newline at end of file
+
+    @Getter
+    @Setter
+    public static class Mempool {
+        private Integer writeBatchSize = 500; // Pool changes persisted per database transaction
+        private Long writeIntervalMs = 100L; // Delay between write-behind flushes
+        private Boolean evictionEnabled = true; // Evict lower fee-rate transactions for better-paying ones when full
+        private Long minRelayFeeRate = 0L; // Fee per 1000 bytes in the fee's smallest unit (1e-8) always required
+        private Long relayFeeIncrement = 1000L; // Added to an evicted fee rate to set the rolling minimum
+        private Long relayFeeHalfLifeMs = 600000L; // Rolling minimum halves over this period; 0 = no rolling minimum
+        private Long transactionTtlMs = 1209600000L; // Pooled transactions expire after 14 days; 0 = never
+        private Long expirySweepIntervalMs = 60000L; // Delay between expiry sweeps
+        private Long eventWindowMs = 100L; // Pool changes within this window are published as one delta per pool
+        private Integer replacementFeeBumpPercent = 10; // Fee increase over a pending transaction needed to replace it at the same nonce
+        private Integer shardCount = 4; // Pool shards senders are routed across; must match the existing shard-N pools
+        private Integer shardMaxSize = 10000; // Capacity of each shard's pool
+        private Integer shardVirtualNodes = 64; // Points per shard on the routing ring
+        private String snapshotPath = "data/mempool.snapshot"; // Binary image of the pools loaded at boot; empty = disabled
+        private Long snapshotIntervalMs = 60000L; // Delay between snapshot writes
+    }
+
+    @Getter
+    @Setter
+    public static class Validation {
+        private Integer signatureWorkers = 0; // Threads verifying signatures in parallel; 0 = one per available core
+        private Integer signatureChunkSize = 32; // Signatures checked per task handed to a worker
+        private Integer publicKeyCacheSize = 10000; // Decoded wallet public keys kept, least recently used dropped first
+    }
+
+    @Getter
+    @Setter
+    public static class Crypto {
+        private String defaultSignatureScheme = "RSA_2048"; // RSA_2048, SECP256K1 or ED25519 for wallets created without one
+    }
+}
@@ -0,0 +1,39 @@
+package com.wallet.biochain.config;
+
+import com.wallet.biochain.enums.MiningEngineType;
+import com.wallet.biochain.services.MiningEngine;
+import com.wallet.biochain.services.impl.ParallelMiningEngine;
+import com.wallet.biochain.services.impl.SequentialMiningEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the nonce search engine from blockchain.mining.engine
+ */
+@Slf4j
+@Configuration
+public class MiningEngineConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public MiningEngine miningEngine(BlockchainConfig blockchainConfig) {
+        BlockchainConfig.Mining mining = blockchainConfig.getMining();
+        MiningEngineType type = MiningEngineType.valueOf(mining.getEngine().trim().toUpperCase());
+        log.info("Using {} mining engine", type);
+
+        return switch (type) {
+            case SEQUENTIAL -> new SequentialMiningEngine(mining.getProgressInterval(),
+                    mining.getNoncesPerWorkUnit());
+            case PARALLEL -> new ParallelMiningEngine(resolveWorkerThreads(mining),
+                    mining.getProgressInterval(), mining.getNoncesPerWorkUnit());
+        };
+    }
+
+    private int resolveWorkerThreads(BlockchainConfig.Mining mining) {
+        Integer configured = mining.getWorkerThreads();
+        if (configured == null || configured <= 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return configured;
+    }
+}
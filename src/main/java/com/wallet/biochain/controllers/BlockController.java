@@ -2,12 +2,14 @@ package com.wallet.biochain.controllers;
 
 import com.wallet.biochain.dto.BlockDTO;
 import com.wallet.biochain.dto.BlockValidationDTO;
+import com.wallet.biochain.dto.MerkleProofDTO;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.services.BlockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -42,6 +44,24 @@ public class BlockController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/hash/{hash}/proof/{transactionHash}")
+    @Operation(summary = "Get merkle proof", description = "Builds an inclusion proof for a transaction in the block")
+    public ResponseEntity<MerkleProofDTO> getMerkleProof(
+            @PathVariable String hash,
+            @PathVariable String transactionHash) {
+        log.info("REST request to get merkle proof of {} in block {}", transactionHash, hash);
+
+        try {
+            return blockService.getMerkleProof(hash, transactionHash)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            // The stored rows no longer reproduce the block's root
+            log.warn("Cannot prove {} in block {}: {}", transactionHash, hash, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     @GetMapping("/index/{index}")
     @Operation(summary = "Get block by index", description = "Retrieves block by index")
     public ResponseEntity<BlockDTO> getBlockByIndex(@PathVariable Integer index) {
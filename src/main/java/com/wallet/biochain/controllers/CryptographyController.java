@@ -1,5 +1,6 @@
 package com.wallet.biochain.controllers;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
 import com.wallet.biochain.services.CryptographyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,12 +23,12 @@ public class CryptographyController {
     private final CryptographyService cryptographyService;
 
     @PostMapping("/generate-keypair")
-    @Operation(summary = "Generate key pair", description = "Generates a new RSA key pair")
-    public ResponseEntity<Map<String, String>> generateKeyPair() {
+    @Operation(summary = "Generate key pair", description = "Generates a new key pair, RSA-2048 unless another scheme is given")
+    public ResponseEntity<Map<String, String>> generateKeyPair(@RequestParam(required = false) SignatureSchemeType scheme) {
         log.info("REST request to generate key pair");
 
         try {
-            KeyPair keyPair = cryptographyService.generateKeyPair();
+            KeyPair keyPair = scheme != null ? cryptographyService.generateKeyPair(scheme) : cryptographyService.generateKeyPair();
 
             String publicKey = cryptographyService.encodePublicKey(keyPair.getPublic());
             String privateKey = cryptographyService.encodePrivateKey(keyPair.getPrivate());
@@ -35,6 +36,7 @@ public class CryptographyController {
             Map<String, String> keys = new HashMap<>();
             keys.put("publicKey", publicKey);
             keys.put("privateKey", privateKey);
+            keys.put("scheme", cryptographyService.getSignatureScheme(keyPair.getPublic()).name());
             keys.put("message", "⚠️ CRITICAL: Save your private key securely. It cannot be recovered!");
 
             return ResponseEntity.ok(keys);
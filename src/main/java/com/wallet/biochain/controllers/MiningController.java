@@ -1,13 +1,16 @@
 package com.wallet.biochain.controllers;
 
-import com.wallet.biochain.dto.MiningResultDTO;
-import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.dto.BlockTemplateDTO;
+import com.wallet.biochain.dto.MiningJobDTO;
+import com.wallet.biochain.dto.NonceSearchResultDTO;
+import com.wallet.biochain.services.BlockTemplateService;
+import com.wallet.biochain.services.MiningJobService;
 import com.wallet.biochain.services.MiningService;
-import com.wallet.biochain.services.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,32 +25,20 @@ import java.util.List;
 public class MiningController {
 
     private final MiningService miningService;
-    private final TransactionService transactionService;
+    private final MiningJobService miningJobService;
+    private final BlockTemplateService blockTemplateService;
 
     @PostMapping("/mine")
-    @Operation(summary = "Mine block", description = "Mines a new block with pending transactions")
-    public ResponseEntity<MiningResultDTO> mineBlock(@RequestParam String minerAddress) {
+    @Operation(summary = "Mine block", description = "Queues a background job mining a new block with pending transactions")
+    public ResponseEntity<MiningJobDTO> mineBlock(@RequestParam String minerAddress) {
         log.info("REST request to mine block for: {}", minerAddress);
 
         try {
-            // Get pending transactions
-            List<Transaction> pendingTxs = transactionService.getPendingTransactions()
-                    .stream()
-                    .map(dto -> {
-                        Transaction tx = new Transaction();
-                        tx.setTransactionHash(dto.transactionHash());
-                        tx.setSenderAddress(dto.senderAddress());
-                        tx.setRecipientAddress(dto.recipientAddress());
-                        tx.setAmount(dto.amount());
-                        tx.setFee(dto.fee());
-                        tx.setTimestamp(dto.timestamp());
-                        return tx;
-                    })
-                    .limit(10) // Limit to 10 transactions per block
-                    .toList();
-
-            MiningResultDTO result = miningService.mineBlock(pendingTxs, minerAddress);
-            return ResponseEntity.ok(result);
+            MiningJobDTO job = miningJobService.submitJob(minerAddress, null);
+            return ResponseEntity.accepted().body(job);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid mining request", e);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Mining failed", e);
             return ResponseEntity.internalServerError().build();
@@ -55,36 +46,55 @@ public class MiningController {
     }
 
     @PostMapping("/mine-with-difficulty")
-    @Operation(summary = "Mine with difficulty", description = "Mines a block with specific difficulty")
-    public ResponseEntity<MiningResultDTO> mineBlockWithDifficulty(
+    @Operation(summary = "Mine with difficulty", description = "Queues a background job mining a block with specific difficulty")
+    public ResponseEntity<MiningJobDTO> mineBlockWithDifficulty(
             @RequestParam String minerAddress,
             @RequestParam Integer difficulty) {
         log.info("REST request to mine block with difficulty {} for: {}", difficulty, minerAddress);
 
         try {
-            List<Transaction> pendingTxs = transactionService.getPendingTransactions()
-                    .stream()
-                    .map(dto -> {
-                        Transaction tx = new Transaction();
-                        tx.setTransactionHash(dto.transactionHash());
-                        tx.setSenderAddress(dto.senderAddress());
-                        tx.setRecipientAddress(dto.recipientAddress());
-                        tx.setAmount(dto.amount());
-                        tx.setFee(dto.fee());
-                        tx.setTimestamp(dto.timestamp());
-                        return tx;
-                    })
-                    .limit(10)
-                    .toList();
-
-            MiningResultDTO result = miningService.mineBlockWithDifficulty(pendingTxs, minerAddress, difficulty);
-            return ResponseEntity.ok(result);
+            MiningJobDTO job = miningJobService.submitJob(minerAddress, difficulty);
+            return ResponseEntity.accepted().body(job);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid mining request", e);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Mining with difficulty failed", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @GetMapping("/jobs")
+    @Operation(summary = "Get mining jobs", description = "Gets queued, running and recently finished mining jobs")
+    public ResponseEntity<List<MiningJobDTO>> getJobs() {
+        log.debug("REST request to get mining jobs");
+
+        return ResponseEntity.ok(miningJobService.getJobs());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get mining job", description = "Gets status and progress of a mining job")
+    public ResponseEntity<MiningJobDTO> getJob(@PathVariable String jobId) {
+        log.debug("REST request to get mining job: {}", jobId);
+
+        return miningJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/jobs/{jobId}")
+    @Operation(summary = "Cancel mining job", description = "Cancels a queued or running mining job")
+    public ResponseEntity<Void> cancelJob(@PathVariable String jobId) {
+        log.info("REST request to cancel mining job: {}", jobId);
+
+        try {
+            boolean cancelled = miningJobService.cancelJob(jobId);
+            return cancelled ? ResponseEntity.accepted().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/difficulty")
     @Operation(summary = "Get current difficulty", description = "Gets current mining difficulty")
     public ResponseEntity<Integer> getCurrentDifficulty() {
@@ -94,6 +104,24 @@ public class MiningController {
         return ResponseEntity.ok(difficulty);
     }
 
+    @GetMapping("/template")
+    @Operation(summary = "Get block template", description = "Gets the fee-ordered transactions the next mined block would include")
+    public ResponseEntity<BlockTemplateDTO> getBlockTemplate() {
+        log.debug("REST request to get block template");
+
+        return ResponseEntity.ok(blockTemplateService.getTemplate());
+    }
+
+    @GetMapping("/hashrate")
+    @Operation(summary = "Get hash rate", description = "Gets per-worker hash rate of the most recent nonce search")
+    public ResponseEntity<NonceSearchResultDTO> getHashRate() {
+        log.debug("REST request to get mining hash rate");
+
+        return miningService.getLastSearchResult()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+
     @GetMapping("/reward/{blockIndex}")
     @Operation(summary = "Calculate mining reward", description = "Calculates mining reward for block index")
     public ResponseEntity<BigDecimal> calculateMiningReward(@PathVariable Integer blockIndex) {
@@ -1,5 +1,6 @@
 package com.wallet.biochain.controllers;
 
+import com.wallet.biochain.dto.TransactionBatchResultDTO;
 import com.wallet.biochain.dto.TransactionHistoryDTO;
 import com.wallet.biochain.dto.TransactionRequestDTO;
 import com.wallet.biochain.dto.TransactionResponseDTO;
@@ -39,6 +40,20 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create transactions in bulk", description = "Creates and signs a batch of transactions, reporting a result per item")
+    public ResponseEntity<List<TransactionBatchResultDTO>> createTransactions(@RequestBody List<TransactionRequestDTO> requests) {
+        log.info("REST request to create {} transactions", requests != null ? requests.size() : 0);
+
+        try {
+            List<TransactionBatchResultDTO> results = transactionService.createTransactions(requests);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Failed to create transaction batch", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{hash}")
     @Operation(summary = "Get transaction by hash", description = "Retrieves transaction details by hash")
     public ResponseEntity<TransactionResponseDTO> getTransactionByHash(@PathVariable String hash) {
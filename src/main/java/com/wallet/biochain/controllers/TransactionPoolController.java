@@ -1,9 +1,14 @@
 package com.wallet.biochain.controllers;
 
+import com.wallet.biochain.dto.TransactionPageDTO;
 import com.wallet.biochain.dto.TransactionPoolStatusDTO;
+import com.wallet.biochain.dto.TransactionRequestDTO;
+import com.wallet.biochain.dto.TransactionResponseDTO;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.TransactionPool;
 import com.wallet.biochain.services.TransactionPoolService;
+import com.wallet.biochain.services.TransactionService;
+import com.wallet.biochain.services.impl.PoolRouter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +27,8 @@ import java.util.List;
 public class TransactionPoolController {
 
     private final TransactionPoolService poolService;
+    private final PoolRouter poolRouter;
+    private final TransactionService transactionService;
 
     @PostMapping
     @Operation(summary = "Create pool", description = "Creates a new transaction pool")
@@ -39,6 +46,43 @@ public class TransactionPoolController {
         }
     }
 
+    @GetMapping("/shards")
+    @Operation(summary = "Get shard statuses", description = "Gets the status of every pool shard senders are routed to")
+    public ResponseEntity<List<TransactionPoolStatusDTO>> getShardStatuses() {
+        log.info("REST request to get pool shard statuses");
+        return ResponseEntity.ok(poolRouter.getShardStatuses());
+    }
+
+    @PostMapping("/shards/transactions")
+    @Operation(summary = "Create transaction in its shard",
+            description = "Creates and signs a transaction, then adds it to the pool shard of its sender")
+    public ResponseEntity<TransactionResponseDTO> addRoutedTransaction(@RequestBody TransactionRequestDTO request) {
+        log.info("REST request to add routed transaction from {}", request.senderAddress());
+
+        try {
+            TransactionResponseDTO transaction = transactionService.createTransaction(request);
+            poolRouter.addTransaction(transaction.senderAddress(), transaction.transactionHash());
+            return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Failed to add routed transaction", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/shards/top-by-fee")
+    @Operation(summary = "Get top transactions by fee across shards",
+            description = "Gets the highest fee-rate transactions across every pool shard")
+    public ResponseEntity<List<Transaction>> getTopTransactionsAcrossShards(
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("REST request to get top {} transactions by fee across shards", limit);
+
+        try {
+            return ResponseEntity.ok(poolRouter.getTopTransactionsByFee(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get pool by ID", description = "Retrieves pool by ID")
     public ResponseEntity<TransactionPool> getPoolById(@PathVariable Long id) {
@@ -132,6 +176,23 @@ public class TransactionPoolController {
         }
     }
 
+    @GetMapping("/{poolName}/by-fee-rate")
+    @Operation(summary = "Page transactions by fee rate",
+            description = "Pages through pending transactions, highest fee rate first; pass nextCursor to get the next page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsByFeeRate(
+            @PathVariable String poolName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit) {
+        log.info("REST request to page {} transactions by fee rate from pool: {}", limit, poolName);
+
+        try {
+            return ResponseEntity.ok(poolService.getTransactionsByFeeRate(poolName, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Failed to page transactions by fee rate", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{poolName}/clear")
     @Operation(summary = "Clear pool", description = "Removes all transactions from pool")
     public ResponseEntity<Void> clearPool(@PathVariable String poolName) {
@@ -10,7 +10,9 @@ public record BlockDTO(
         String previousHash,
         Long timestamp,
         Integer nonce,
+        Integer extraNonce,
         Integer difficulty,
+        Long bits,
         String merkleRoot,
         String minerAddress,
         Integer transactionCount,
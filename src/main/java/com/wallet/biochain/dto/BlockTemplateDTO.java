@@ -0,0 +1,15 @@
+package com.wallet.biochain.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record BlockTemplateDTO(
+        Integer transactionCount,
+        Long sizeBytes,
+        Long maxSizeBytes,
+        BigDecimal totalFees,
+        String merkleRoot,
+        Integer candidateCount,
+        Long buildTimeMicros,
+        List<String> transactionHashes
+) {}
@@ -0,0 +1,11 @@
+package com.wallet.biochain.dto;
+
+import java.util.List;
+
+public record MempoolEvictionDTO(
+        String poolName,
+        String reason,
+        List<String> transactionHashes,
+        Integer currentSize,
+        Long minFeeRate
+) {}
@@ -0,0 +1,13 @@
+package com.wallet.biochain.dto;
+
+import java.util.List;
+
+public record MerkleProofDTO(
+        String blockHash,
+        Integer blockIndex,
+        String merkleRoot,
+        String transactionHash,
+        Integer leafIndex,
+        Integer leafCount,
+        List<String> siblings
+) {}
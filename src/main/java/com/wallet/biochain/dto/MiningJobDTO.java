@@ -0,0 +1,19 @@
+package com.wallet.biochain.dto;
+
+import com.wallet.biochain.enums.MiningJobStatus;
+
+import java.time.LocalDateTime;
+
+public record MiningJobDTO(
+        String jobId,
+        String minerAddress,
+        MiningJobStatus status,
+        Integer difficulty,
+        Integer blockIndex,
+        Long hashes,
+        Double hashesPerSecond,
+        Long elapsedMs,
+        MiningResultDTO result,
+        String message,
+        LocalDateTime submittedAt
+) {}
@@ -0,0 +1,13 @@
+package com.wallet.biochain.dto;
+
+import java.util.List;
+
+public record NonceSearchResultDTO(
+        Boolean found,
+        Integer nonce,
+        String hash,
+        Long totalHashes,
+        Long durationMs,
+        Double hashesPerSecond,
+        List<WorkerHashRateDTO> workers
+) {}
@@ -0,0 +1,11 @@
+package com.wallet.biochain.dto;
+
+import java.util.List;
+
+public record PoolDeltaDTO(
+        String poolName,
+        List<String> addedHashes,
+        List<String> removedHashes,
+        Boolean cleared,
+        Integer currentSize
+) {}
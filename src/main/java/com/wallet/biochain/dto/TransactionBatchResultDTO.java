@@ -0,0 +1,9 @@
+package com.wallet.biochain.dto;
+
+public record TransactionBatchResultDTO(
+        Integer index,
+        Boolean accepted,
+        String transactionHash,
+        String error,
+        TransactionResponseDTO transaction
+) {}
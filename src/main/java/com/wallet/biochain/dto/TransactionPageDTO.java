@@ -0,0 +1,12 @@
+package com.wallet.biochain.dto;
+
+import com.wallet.biochain.entities.Transaction;
+
+import java.util.List;
+
+public record TransactionPageDTO(
+        String poolName,
+        Integer poolSize,
+        List<Transaction> transactions,
+        String nextCursor
+) {}
@@ -8,5 +8,6 @@ public record TransactionRequestDTO(
         BigDecimal amount,
         BigDecimal fee,
         String memo,
-        String privateKey
+        String privateKey,
+        Long nonce
 ) {}
\ No newline at end of file
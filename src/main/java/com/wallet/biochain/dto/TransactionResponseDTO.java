@@ -15,5 +15,6 @@ public record TransactionResponseDTO(
         Integer confirmationCount,
         Long timestamp,
         LocalDateTime createdAt,
-        String memo
+        String memo,
+        Long nonce
 ) {}
\ No newline at end of file
@@ -1,6 +1,14 @@
 package com.wallet.biochain.dto;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
+
 public record WalletCreateRequestDTO(
         Long userId,
-        String walletName
-) {}
\ No newline at end of file
+        String walletName,
+        SignatureSchemeType signatureScheme // Optional; blockchain.crypto.default-signature-scheme when absent
+) {
+
+    public WalletCreateRequestDTO(Long userId, String walletName) {
+        this(userId, walletName, null);
+    }
+}
\ No newline at end of file
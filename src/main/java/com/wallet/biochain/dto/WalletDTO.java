@@ -1,5 +1,7 @@
 package com.wallet.biochain.dto;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -7,6 +9,7 @@ public record WalletDTO(
         Long id,
         String address,
         String publicKey,
+        SignatureSchemeType signatureScheme,
         BigDecimal balance,
         Boolean isActive,
         LocalDateTime createdAt,
@@ -0,0 +1,8 @@
+package com.wallet.biochain.dto;
+
+public record WorkerHashRateDTO(
+        Integer workerId,
+        Long hashes,
+        Long durationMs,
+        Double hashesPerSecond
+) {}
@@ -35,9 +35,15 @@ public class Block {
     @Column(nullable = false)
     private Integer nonce;
 
+    @Column(name = "extra_nonce")
+    private Integer extraNonce;
+
     @Column(name = "difficulty", nullable = false)
     private Integer difficulty;
 
+    @Column(name = "bits")
+    private Long bits;
+
     @Column(name = "merkle_root")
     private String merkleRoot;
 
@@ -36,6 +36,9 @@ public class Blockchain {
     @Column(nullable = false)
     private Integer difficulty;
 
+    @Column(name = "bits")
+    private Long bits;
+
     @Column(name = "block_reward", precision = 20, scale = 8)
     private java.math.BigDecimal blockReward;
 
@@ -9,7 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = @Index(name = "idx_transactions_updated_at", columnList = "updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,12 +47,23 @@ public class Transaction {
     @Column(name = "fee", precision = 20, scale = 8)
     private BigDecimal fee;
 
+    @Column(name = "nonce")
+    private Long nonce;
+
+    // Index among the block's merkle leaves, set when the block confirms this transaction
+    @Column(name = "block_position")
+    private Integer blockPosition;
+
     @Column(columnDefinition = "TEXT")
     private String memo;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Last change of status or pool; bulk updates set it themselves
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_wallet_id")
     private Wallet senderWallet;
@@ -72,6 +83,7 @@ public class Transaction {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (timestamp == null) {
             timestamp = System.currentTimeMillis();
         }
@@ -86,6 +98,11 @@ public class Transaction {
         }
     }
 
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     public Transaction(String senderAddress, String recipientAddress, BigDecimal amount) {
         this.senderAddress = senderAddress;
         this.recipientAddress = recipientAddress;
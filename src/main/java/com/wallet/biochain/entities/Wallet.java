@@ -1,5 +1,6 @@
 package com.wallet.biochain.entities;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -30,6 +31,10 @@ public class Wallet {
     @Column(name = "encrypted_private_key", nullable = false, columnDefinition = "TEXT")
     private String encryptedPrivateKey;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "signature_scheme", length = 16)
+    private SignatureSchemeType signatureScheme;
+
     @Column(nullable = false, precision = 20, scale = 8)
     private BigDecimal balance;
 
@@ -62,6 +67,9 @@ public class Wallet {
         if (isActive == null) {
             isActive = true;
         }
+        if (signatureScheme == null) {
+            signatureScheme = SignatureSchemeType.RSA_2048;
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,6 @@
+package com.wallet.biochain.enums;
+
+public enum MiningEngineType {
+    SEQUENTIAL,
+    PARALLEL
+}
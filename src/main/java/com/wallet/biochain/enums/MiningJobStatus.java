@@ -0,0 +1,9 @@
+package com.wallet.biochain.enums;
+
+public enum MiningJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
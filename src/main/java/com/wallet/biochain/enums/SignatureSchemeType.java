@@ -0,0 +1,7 @@
+package com.wallet.biochain.enums;
+
+public enum SignatureSchemeType {
+    RSA_2048,
+    SECP256K1,
+    ED25519
+}
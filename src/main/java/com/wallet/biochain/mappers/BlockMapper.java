@@ -30,7 +30,9 @@ public class BlockMapper {
                 block.getPreviousHash(),
                 block.getTimestamp(),
                 block.getNonce(),
+                block.getExtraNonce(),
                 block.getDifficulty(),
+                block.getBits(),
                 block.getMerkleRoot(),
                 block.getMinerAddress(),
                 block.getTransactions() != null ? block.getTransactions().size() : 0,
@@ -51,7 +53,9 @@ public class BlockMapper {
                 block.getPreviousHash(),
                 block.getTimestamp(),
                 block.getNonce(),
+                block.getExtraNonce(),
                 block.getDifficulty(),
+                block.getBits(),
                 block.getMerkleRoot(),
                 block.getMinerAddress(),
                 block.getTransactions() != null ? block.getTransactions().size() : 0,
@@ -60,6 +64,30 @@ public class BlockMapper {
         );
     }
 
+    /**
+     * Block header fields of a DTO, enough to re-check its hash and merkle root; transactions are not mapped
+     */
+    public Block toEntity(BlockDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        Block block = new Block();
+        block.setId(dto.id());
+        block.setBlockIndex(dto.blockIndex());
+        block.setHash(dto.hash());
+        block.setPreviousHash(dto.previousHash());
+        block.setTimestamp(dto.timestamp());
+        block.setNonce(dto.nonce());
+        block.setExtraNonce(dto.extraNonce());
+        block.setDifficulty(dto.difficulty());
+        block.setBits(dto.bits());
+        block.setMerkleRoot(dto.merkleRoot());
+        block.setMinerAddress(dto.minerAddress());
+        block.setCreatedAt(dto.createdAt());
+        return block;
+    }
+
     public List<BlockDTO> toDTOList(List<Block> blocks) {
         if (blocks == null) {
             return null;
@@ -30,7 +30,8 @@ public class TransactionMapper {
                 transaction.getConfirmationCount(),
                 transaction.getTimestamp(),
                 transaction.getCreatedAt(),
-                transaction.getMemo()
+                transaction.getMemo(),
+                transaction.getNonce()
         );
     }
 
@@ -20,6 +20,7 @@ public class WalletMapper {
                 wallet.getId(),
                 wallet.getAddress(),
                 wallet.getPublicKey(),
+                wallet.getSignatureScheme(),
                 wallet.getBalance(),
                 wallet.getIsActive(),
                 wallet.getCreatedAt(),
@@ -46,6 +47,7 @@ public class WalletMapper {
                 wallet.getId(),
                 wallet.getAddress(),
                 wallet.getPublicKey(),
+                wallet.getSignatureScheme(),
                 privateKey,
                 wallet.getBalance(),
                 wallet.getCreatedAt(),
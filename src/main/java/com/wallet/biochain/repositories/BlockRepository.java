@@ -2,6 +2,7 @@ package com.wallet.biochain.repositories;
 
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Blockchain;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -30,6 +31,9 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
     @Query("SELECT b FROM Block b WHERE b.blockIndex = (SELECT MAX(b2.blockIndex) FROM Block b2 WHERE b2.blockchain.id = :blockchainId)")
     Optional<Block> findLatestBlockByBlockchainId(@Param("blockchainId") Long blockchainId);
 
+    @Query("SELECT b FROM Block b WHERE b.blockchain.id = :blockchainId ORDER BY b.blockIndex DESC")
+    List<Block> findRecentBlocksByBlockchainId(@Param("blockchainId") Long blockchainId, Pageable pageable);
+
     @Query("SELECT b FROM Block b WHERE b.minerAddress = :minerAddress")
     List<Block> findByMinerAddress(@Param("minerAddress") String minerAddress);
 
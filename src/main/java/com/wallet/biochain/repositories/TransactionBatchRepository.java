@@ -0,0 +1,19 @@
+package com.wallet.biochain.repositories;
+
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
+
+import java.util.List;
+
+public interface TransactionBatchRepository {
+
+    /**
+     * Insert new transactions with batched JDBC statements, bypassing the persistence context
+     */
+    void insertAll(List<Transaction> transactions);
+
+    /**
+     * Record each transaction's index in {@code hashesInBlockOrder} on its row in {@code block}
+     */
+    void assignBlockPositions(Block block, List<String> hashesInBlockOrder);
+}
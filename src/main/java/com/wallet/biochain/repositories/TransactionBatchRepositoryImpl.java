@@ -0,0 +1,94 @@
+package com.wallet.biochain.repositories;
+
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.entities.Wallet;
+import com.wallet.biochain.enums.TransactionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * JDBC batch writes for {@link TransactionRepository}. Transaction ids are IDENTITY columns, which
+ * stops Hibernate from batching inserts, so bulk submissions write their rows here instead.
+ */
+@RequiredArgsConstructor
+public class TransactionBatchRepositoryImpl implements TransactionBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO transactions (transaction_hash, sender_address, "
+            + "recipient_address, amount, fee, signature, timestamp, status, confirmation_count, memo, "
+            + "created_at, updated_at, sender_wallet_id, recipient_wallet_id, nonce) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String POSITION_SQL = "UPDATE transactions SET block_position = ? "
+            + "WHERE transaction_hash = ? AND block_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        // Same defaults as Transaction's @PrePersist, which does not run for JDBC inserts
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : transactions) {
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            if (transaction.getStatus() == null) {
+                transaction.setStatus(TransactionStatus.PENDING);
+            }
+            if (transaction.getConfirmationCount() == null) {
+                transaction.setConfirmationCount(0);
+            }
+            if (transaction.getFee() == null) {
+                transaction.setFee(BigDecimal.ZERO);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, BATCH_SIZE, (ps, tx) -> {
+            ps.setString(1, tx.getTransactionHash());
+            ps.setString(2, tx.getSenderAddress());
+            ps.setString(3, tx.getRecipientAddress());
+            ps.setBigDecimal(4, tx.getAmount());
+            ps.setBigDecimal(5, tx.getFee());
+            ps.setString(6, tx.getSignature());
+            ps.setLong(7, tx.getTimestamp());
+            ps.setString(8, tx.getStatus().name());
+            ps.setInt(9, tx.getConfirmationCount());
+            ps.setString(10, tx.getMemo());
+            ps.setTimestamp(11, Timestamp.valueOf(tx.getCreatedAt()));
+            ps.setTimestamp(12, Timestamp.valueOf(tx.getUpdatedAt()));
+            ps.setObject(13, idOf(tx.getSenderWallet()), Types.BIGINT);
+            ps.setObject(14, idOf(tx.getRecipientWallet()), Types.BIGINT);
+            ps.setObject(15, tx.getNonce(), Types.BIGINT);
+        });
+    }
+
+    @Override
+    public void assignBlockPositions(Block block, List<String> hashesInBlockOrder) {
+        if (hashesInBlockOrder.isEmpty()) {
+            return;
+        }
+
+        List<Integer> positions = IntStream.range(0, hashesInBlockOrder.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(POSITION_SQL, positions, BATCH_SIZE, (ps, position) -> {
+            ps.setInt(1, position);
+            ps.setString(2, hashesInBlockOrder.get(position));
+            ps.setLong(3, block.getId());
+        });
+    }
+
+    private static Long idOf(Wallet wallet) {
+        return wallet != null ? wallet.getId() : null;
+    }
+}
@@ -2,10 +2,12 @@ package com.wallet.biochain.repositories;
 
 import com.wallet.biochain.entities.TransactionPool;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 
@@ -29,4 +31,8 @@ public interface TransactionPoolRepository extends JpaRepository<TransactionPool
     Long countActivePools();
 
     boolean existsByPoolName(String poolName);
+
+    @Modifying
+    @Query("UPDATE TransactionPool tp SET tp.currentSize = :size, tp.updatedAt = :updatedAt WHERE tp.id = :id")
+    int updateCurrentSize(@Param("id") Long id, @Param("size") Integer size, @Param("updatedAt") LocalDateTime updatedAt);
 }
\ No newline at end of file
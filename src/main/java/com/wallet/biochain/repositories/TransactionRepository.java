@@ -4,17 +4,19 @@ import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.enums.TransactionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionBatchRepository {
 
     Optional<Transaction> findByTransactionHash(String transactionHash);
 
@@ -56,4 +58,41 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Long countTransactionsByAddress(@Param("address") String address);
 
     boolean existsByTransactionHash(String transactionHash);
+
+    List<Transaction> findByTransactionHashIn(Collection<String> transactionHashes);
+
+    @Query("SELECT t.transactionHash FROM Transaction t WHERE t.transactionHash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> transactionHashes);
+
+    @Query("SELECT t.senderAddress, MAX(t.nonce) FROM Transaction t WHERE t.status = 'CONFIRMED' AND t.nonce IS NOT NULL GROUP BY t.senderAddress")
+    List<Object[]> findMaxConfirmedNonceBySender();
+
+    List<Transaction> findByTransactionPoolIdAndStatus(Long poolId, TransactionStatus status);
+
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.transactionPool WHERE t.updatedAt >= :since")
+    List<Transaction> findChangedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.transactionPool = NULL, t.updatedAt = :now WHERE t.transactionHash IN :hashes")
+    int releaseFromPool(@Param("hashes") Collection<String> transactionHashes, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.transactionPool = NULL, t.updatedAt = :now WHERE t.transactionPool.id = :poolId")
+    int releaseAllFromPool(@Param("poolId") Long poolId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.updatedAt = :now WHERE t.transactionHash IN :hashes AND t.status = 'PENDING'")
+    int updatePendingStatus(@Param("hashes") Collection<String> transactionHashes, @Param("status") TransactionStatus status,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.updatedAt = :now WHERE t.transactionPool.id = :poolId AND t.status = 'PENDING'")
+    int updatePendingStatusInPool(@Param("poolId") Long poolId, @Param("status") TransactionStatus status,
+                                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = 'CONFIRMED', t.block = :block, t.confirmationCount = 1, " +
+            "t.transactionPool = NULL, t.updatedAt = :now WHERE t.transactionHash IN :hashes AND t.status = 'PENDING'")
+    int confirmPendingInBlock(@Param("block") Block block, @Param("hashes") Collection<String> transactionHashes,
+                              @Param("now") LocalDateTime now);
 }
\ No newline at end of file
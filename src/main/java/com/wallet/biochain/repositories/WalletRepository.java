@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -16,6 +17,8 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
 
     Optional<Wallet> findByAddress(String address);
 
+    List<Wallet> findByAddressIn(Collection<String> addresses);
+
     List<Wallet> findByUser(User user);
 
     List<Wallet> findByUserId(Long userId);
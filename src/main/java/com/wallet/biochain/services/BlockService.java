@@ -2,6 +2,7 @@ package com.wallet.biochain.services;
 
 import com.wallet.biochain.dto.BlockDTO;
 import com.wallet.biochain.dto.BlockValidationDTO;
+import com.wallet.biochain.dto.MerkleProofDTO;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
 
@@ -84,4 +85,9 @@ public interface BlockService {
      * Calculate merkle root for transactions
      */
     String calculateMerkleRoot(List<Transaction> transactions);
-}
\ No newline at end of file
+
+    /**
+     * Build a merkle inclusion proof for a transaction in the block with the given hash
+     */
+    Optional<MerkleProofDTO> getMerkleProof(String blockHash, String transactionHash);
+}
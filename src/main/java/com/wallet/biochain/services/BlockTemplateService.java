@@ -0,0 +1,24 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.dto.BlockTemplateDTO;
+import com.wallet.biochain.entities.Transaction;
+
+import java.util.List;
+
+public interface BlockTemplateService {
+
+    /**
+     * Highest fee-rate pending transactions that fit the configured block size, in per-sender order
+     */
+    List<Transaction> buildTemplate();
+
+    /**
+     * Describe the template that would be mined next
+     */
+    BlockTemplateDTO getTemplate();
+
+    /**
+     * Number of indexed pending transactions
+     */
+    int getCandidateCount();
+}
@@ -1,6 +1,9 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
+
 import java.security.KeyPair;
+import java.util.List;
 
 public interface CryptographyService {
 
@@ -9,6 +12,21 @@ public interface CryptographyService {
      */
     KeyPair generateKeyPair();
 
+    /**
+     * Generate key pair of the given signature scheme
+     */
+    KeyPair generateKeyPair(SignatureSchemeType scheme);
+
+    /**
+     * Signature scheme a public or private key belongs to
+     */
+    SignatureSchemeType getSignatureScheme(java.security.Key key);
+
+    /**
+     * Public key belonging to a private key
+     */
+    java.security.PublicKey derivePublicKey(java.security.PrivateKey privateKey);
+
     /**
      * Generate wallet address from public key
      */
@@ -30,7 +48,7 @@ public interface CryptographyService {
     String hash(String data);
 
     /**
-     * Sign data with private key
+     * Sign data with private key, using the key's signature scheme
      */
     String sign(String data, String privateKey);
 
@@ -39,6 +57,17 @@ public interface CryptographyService {
      */
     boolean verifySignature(String data, String signature, String publicKey);
 
+    /**
+     * Verify signature with an already decoded public key
+     */
+    boolean verifySignature(String data, String signature, java.security.PublicKey publicKey);
+
+    /**
+     * Verify many signatures together, one result per payload in order. Each scheme's payloads are
+     * checked as one batch that reports every signature, so each is verified exactly once.
+     */
+    boolean[] verifySignatures(List<SignedPayload> payloads);
+
     /**
      * Encode public key to string
      */
@@ -68,4 +97,9 @@ public interface CryptographyService {
      * Decrypt private key with password
      */
     String decryptPrivateKey(String encryptedPrivateKey, String password);
-}
\ No newline at end of file
+
+    /**
+     * Data, its Base64 signature and the public key it should verify against
+     */
+    record SignedPayload(String data, String signature, java.security.PublicKey publicKey) {}
+}
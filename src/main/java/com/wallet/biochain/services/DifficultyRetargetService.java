@@ -0,0 +1,18 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Blockchain;
+
+public interface DifficultyRetargetService {
+
+    /**
+     * Record a block appended to the chain and update the chain's bits and difficulty in place.
+     * Returns the new compact target; the caller persists the blockchain.
+     */
+    Long onBlockAdded(Blockchain blockchain, Block block);
+
+    /**
+     * Average time between the chain's most recent blocks in milliseconds
+     */
+    Long getAverageBlockTime(Blockchain blockchain);
+}
@@ -0,0 +1,11 @@
+package com.wallet.biochain.services;
+
+import java.util.List;
+
+public interface MerkleService {
+
+    /**
+     * Merkle root of the given transaction hashes, in order
+     */
+    String calculateMerkleRoot(List<String> transactionHashes);
+}
@@ -0,0 +1,32 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.dto.NonceSearchResultDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.enums.MiningEngineType;
+
+public interface MiningEngine {
+
+    /**
+     * Get engine type
+     */
+    MiningEngineType getType();
+
+    /**
+     * Search for a nonce whose block hash is below the compact target {@code bits}.
+     * On success the winning nonce is written back to the block.
+     */
+    default NonceSearchResultDTO search(Block block, Long bits) {
+        return search(block, bits, MiningSearchControl.NONE);
+    }
+
+    /**
+     * Search as above, reporting progress to and stopping early on request of {@code control}
+     */
+    NonceSearchResultDTO search(Block block, Long bits, MiningSearchControl control);
+
+    /**
+     * Release worker threads held by the engine
+     */
+    default void shutdown() {
+    }
+}
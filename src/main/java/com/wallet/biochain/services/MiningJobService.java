@@ -0,0 +1,35 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.dto.MiningJobDTO;
+import com.wallet.biochain.entities.Block;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MiningJobService {
+
+    /**
+     * Queue a background mining job over the pending transactions; a null difficulty mines at the chain's current target
+     */
+    MiningJobDTO submitJob(String minerAddress, Integer difficulty);
+
+    /**
+     * Get job by ID
+     */
+    Optional<MiningJobDTO> getJob(String jobId);
+
+    /**
+     * Get all tracked jobs, newest first
+     */
+    List<MiningJobDTO> getJobs();
+
+    /**
+     * Cancel a queued or running job
+     */
+    boolean cancelJob(String jobId);
+
+    /**
+     * Cancel running jobs building on a tip that the accepted block has replaced
+     */
+    int cancelStaleJobs(Block acceptedBlock);
+}
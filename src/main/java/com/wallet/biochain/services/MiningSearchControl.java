@@ -0,0 +1,31 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.entities.Block;
+
+/**
+ * Hooks a running nonce search uses to report progress and check for cancellation
+ */
+public interface MiningSearchControl {
+
+    MiningSearchControl NONE = new MiningSearchControl() {
+    };
+
+    /**
+     * Called once with the block template before hashing starts
+     */
+    default void onStart(Block block) {
+    }
+
+    /**
+     * Called periodically with the total number of hashes tried so far
+     */
+    default void onProgress(long hashes, long elapsedNanos) {
+    }
+
+    /**
+     * Whether the search should stop without a solution
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
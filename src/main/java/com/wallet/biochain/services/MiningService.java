@@ -1,10 +1,12 @@
 package com.wallet.biochain.services;
 
 import com.wallet.biochain.dto.MiningResultDTO;
+import com.wallet.biochain.dto.NonceSearchResultDTO;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface MiningService {
 
@@ -18,11 +20,32 @@ public interface MiningService {
      */
     MiningResultDTO mineBlockWithDifficulty(List<Transaction> transactions, String minerAddress, Integer difficulty);
 
+    /**
+     * Mine block against a compact 256-bit target
+     */
+    MiningResultDTO mineBlockWithTarget(List<Transaction> transactions, String minerAddress, Long bits);
+
+    /**
+     * Mine block against a compact target, reporting progress to and honouring cancellation from {@code control}
+     */
+    MiningResultDTO mineBlockWithTarget(List<Transaction> transactions, String minerAddress, Long bits,
+                                        MiningSearchControl control);
+
     /**
      * Calculate proof of work
      */
     String calculateProofOfWork(Block block, Integer difficulty);
 
+    /**
+     * Calculate proof of work against a compact 256-bit target
+     */
+    String calculateProofOfWorkForTarget(Block block, Long bits);
+
+    /**
+     * Get hash rate statistics of the most recent nonce search
+     */
+    Optional<NonceSearchResultDTO> getLastSearchResult();
+
     /**
      * Verify proof of work
      */
@@ -34,10 +57,21 @@ public interface MiningService {
     Integer getCurrentDifficulty();
 
     /**
-     * Adjust difficulty based on mining time
+     * Get current compact target of the configured chain
+     */
+    Long getCurrentTarget();
+
+    /**
+     * Leading zero hex digits guaranteed by the current target once retargeted for the average
+     * mining time; see {@link #adjustTarget}
      */
     Integer adjustDifficulty(Long averageMiningTime);
 
+    /**
+     * Retarget compact bits in proportion to average versus target block time
+     */
+    Long adjustTarget(Long currentBits, Long averageMiningTime);
+
     /**
      * Calculate mining reward
      */
@@ -52,4 +86,9 @@ public interface MiningService {
      * Check if hash meets difficulty requirement
      */
     boolean hashMeetsDifficulty(String hash, Integer difficulty);
+
+    /**
+     * Check if hash is below the compact target
+     */
+    boolean hashMeetsTarget(String hash, Long bits);
 }
\ No newline at end of file
@@ -14,6 +14,11 @@ public interface PoWConsensusService {
      */
     boolean validateProofOfWork(Block block, Integer difficulty);
 
+    /**
+     * Validate Proof of Work against a compact 256-bit target
+     */
+    boolean validateProofOfWorkTarget(Block block, Long bits);
+
     /**
      * Calculate hash with nonce
      */
@@ -24,6 +29,11 @@ public interface PoWConsensusService {
      */
     boolean meetsTarget(String hash, Integer difficulty);
 
+    /**
+     * Check if hash is below the compact target
+     */
+    boolean meetsCompactTarget(String hash, Long bits);
+
     /**
      * Get difficulty target prefix
      */
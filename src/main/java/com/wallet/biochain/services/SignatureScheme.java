@@ -0,0 +1,72 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.enums.SignatureSchemeType;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Key generation, key encoding and signing for one kind of wallet key. Public keys are X.509 and
+ * private keys PKCS#8 encoded, so the scheme of an encoded key can be told from its algorithm OID.
+ */
+public interface SignatureScheme {
+
+    /**
+     * Get scheme type
+     */
+    SignatureSchemeType getType();
+
+    /**
+     * Object identifier of the key algorithm in encoded keys of this scheme
+     */
+    String getKeyAlgorithmOid();
+
+    /**
+     * Object identifier the key algorithm parameters must hold, such as the named curve of an EC key,
+     * or null when the key algorithm alone identifies the scheme
+     */
+    default String getKeyParametersOid() {
+        return null;
+    }
+
+    /**
+     * Whether {@code key} is a key of this scheme
+     */
+    boolean supports(Key key);
+
+    KeyPair generateKeyPair() throws GeneralSecurityException;
+
+    PublicKey decodePublicKey(byte[] encoded) throws GeneralSecurityException;
+
+    PrivateKey decodePrivateKey(byte[] encoded) throws GeneralSecurityException;
+
+    /**
+     * Public key belonging to {@code privateKey}
+     */
+    PublicKey derivePublicKey(PrivateKey privateKey) throws GeneralSecurityException;
+
+    byte[] sign(byte[] data, PrivateKey privateKey) throws GeneralSecurityException;
+
+    boolean verify(byte[] data, byte[] signature, PublicKey publicKey) throws GeneralSecurityException;
+
+    /**
+     * Result of each signature, in order, checking every one exactly once; a signature that cannot be
+     * checked counts as invalid. Schemes able to share work across the checks override this.
+     */
+    default boolean[] verifyAll(List<byte[]> data, List<byte[]> signatures, List<PublicKey> publicKeys)
+            throws GeneralSecurityException {
+        boolean[] results = new boolean[data.size()];
+        for (int i = 0; i < data.size(); i++) {
+            try {
+                results[i] = verify(data.get(i), signatures.get(i), publicKeys.get(i));
+            } catch (GeneralSecurityException e) {
+                results[i] = false;
+            }
+        }
+        return results;
+    }
+}
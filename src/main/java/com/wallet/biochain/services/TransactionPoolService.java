@@ -1,9 +1,11 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.dto.TransactionPageDTO;
 import com.wallet.biochain.dto.TransactionPoolStatusDTO;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.TransactionPool;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,11 +36,21 @@ public interface TransactionPoolService {
      */
     void addTransaction(String poolName, Transaction transaction);
 
+    /**
+     * Add a stored pending transaction to pool
+     */
+    void addTransactionByHash(String poolName, String transactionHash);
+
     /**
      * Remove transaction from pool
      */
     void removeTransaction(String poolName, String transactionHash);
 
+    /**
+     * Remove transactions from whichever pools hold them, such as once they are mined; returns how many were removed
+     */
+    int removeTransactions(Collection<String> transactionHashes);
+
     /**
      * Get pending transactions from pool
      */
@@ -49,6 +61,11 @@ public interface TransactionPoolService {
      */
     List<Transaction> getTopTransactionsByFee(String poolName, Integer limit);
 
+    /**
+     * Page through pending transactions by fee rate, resuming after {@code cursor} (null for the first page)
+     */
+    TransactionPageDTO getTransactionsByFeeRate(String poolName, String cursor, Integer limit);
+
     /**
      * Clear pool
      */
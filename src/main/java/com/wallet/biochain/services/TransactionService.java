@@ -1,8 +1,10 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.dto.TransactionBatchResultDTO;
 import com.wallet.biochain.dto.TransactionRequestDTO;
 import com.wallet.biochain.dto.TransactionResponseDTO;
 import com.wallet.biochain.dto.TransactionHistoryDTO;
+import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
 
 import java.math.BigDecimal;
@@ -16,6 +18,11 @@ public interface TransactionService {
      */
     TransactionResponseDTO createTransaction(TransactionRequestDTO request);
 
+    /**
+     * Create and sign a batch of transactions, with one result per request in request order
+     */
+    List<TransactionBatchResultDTO> createTransactions(List<TransactionRequestDTO> requests);
+
     /**
      * Get transaction by hash
      */
@@ -71,6 +78,11 @@ public interface TransactionService {
      */
     void confirmTransaction(String transactionHash, Long blockId);
 
+    /**
+     * Confirm the pending transactions included in an accepted block and prune them from the mempool
+     */
+    int confirmBlockTransactions(Block block);
+
     /**
      * Get transaction count for wallet
      */
@@ -37,6 +37,11 @@ public interface ValidationService {
      */
     boolean validateBlockHash(Block block);
 
+    /**
+     * Validate that the block's merkle root matches its transactions
+     */
+    boolean validateMerkleRoot(Block block);
+
     /**
      * Validate previous hash link
      */
@@ -0,0 +1,122 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.entities.Block;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * Binary form of the block hash preimage used by the mining loop.
+ * <p>
+ * The preimage is the same byte sequence {@code BlockService.calculateBlockHash} hashes
+ * (index, previous hash, timestamp, nonce, merkle root as UTF-8 text), so mined hashes stay
+ * compatible with the existing chain. The constant prefix is absorbed once into a SHA-256
+ * midstate; the nonce is written in place at offset 0 of a reusable tail buffer followed by the
+ * merkle root, so each nonce copies the midstate into a scratch {@link Sha256} state and hashes
+ * only the tail straight into a caller-supplied digest buffer, without allocating. Instances are
+ * not thread-safe: each mining worker owns one.
+ */
+public final class BlockHeader {
+
+    public static final int DIGEST_LENGTH = Sha256.DIGEST_LENGTH;
+
+    private static final int MAX_NONCE_DIGITS = 11; // "-2147483648"
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Sha256 midstate = new Sha256();
+    private final Sha256 scratch = new Sha256();
+    private final byte[] suffix;
+    private final byte[] tail;
+    private int nonceLength = -1;
+
+    public BlockHeader(Integer blockIndex, String previousHash, Long timestamp, String merkleRoot) {
+        this.suffix = String.valueOf(merkleRoot).getBytes(StandardCharsets.UTF_8);
+        this.tail = new byte[MAX_NONCE_DIGITS + suffix.length];
+        this.midstate.update((String.valueOf(blockIndex) + previousHash + timestamp).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BlockHeader of(Block block) {
+        return new BlockHeader(block.getBlockIndex(), block.getPreviousHash(),
+                block.getTimestamp(), block.getMerkleRoot());
+    }
+
+    /**
+     * Hash the header with the given nonce into {@code digest} (32 bytes)
+     */
+    public void hash(int nonce, byte[] digest) {
+        if (digest.length < DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Digest buffer must hold " + DIGEST_LENGTH + " bytes");
+        }
+
+        int length = writeNonce(nonce);
+        if (length != nonceLength) {
+            System.arraycopy(suffix, 0, tail, length, suffix.length);
+            nonceLength = length;
+        }
+
+        scratch.copyFrom(midstate);
+        scratch.update(tail, 0, length + suffix.length);
+        scratch.digest(digest, 0);
+    }
+
+    /**
+     * Hash the header with the given nonce as a lowercase hex string
+     */
+    public String hashHex(int nonce) {
+        byte[] digest = new byte[DIGEST_LENGTH];
+        hash(nonce, digest);
+        return toHex(digest);
+    }
+
+    /**
+     * Check that the digest starts with {@code difficulty} zero hex digits without encoding it
+     */
+    public static boolean meetsDifficulty(byte[] digest, int difficulty) {
+        if (difficulty <= 0) {
+            return true;
+        }
+        if (difficulty > digest.length * 2) {
+            return false;
+        }
+
+        int fullBytes = difficulty / 2;
+        for (int i = 0; i < fullBytes; i++) {
+            if (digest[i] != 0) {
+                return false;
+            }
+        }
+        return difficulty % 2 == 0 || (digest[fullBytes] & 0xf0) == 0;
+    }
+
+    public static String toHex(byte[] digest) {
+        return HEX.formatHex(digest);
+    }
+
+    /**
+     * Write the decimal nonce at the start of the tail buffer and return its length
+     */
+    private int writeNonce(int nonce) {
+        long value = nonce;
+        boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+
+        int length = negative ? 1 : 0;
+        long remaining = value;
+        do {
+            length++;
+            remaining /= 10;
+        } while (remaining != 0);
+
+        int position = length;
+        do {
+            tail[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            tail[--position] = '-';
+        }
+        return length;
+    }
+}
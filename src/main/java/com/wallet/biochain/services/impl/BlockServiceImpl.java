@@ -2,18 +2,23 @@ package com.wallet.biochain.services.impl;
 
 import com.wallet.biochain.dto.BlockDTO;
 import com.wallet.biochain.dto.BlockValidationDTO;
+import com.wallet.biochain.dto.MerkleProofDTO;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.mappers.BlockMapper;
 import com.wallet.biochain.repositories.BlockRepository;
 import com.wallet.biochain.services.BlockService;
 import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.MerkleService;
+import com.wallet.biochain.services.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +30,8 @@ public class BlockServiceImpl implements BlockService {
     private final BlockRepository blockRepository;
     private final CryptographyService cryptographyService;
     private final BlockMapper blockMapper;
+    private final MerkleService merkleService;
+    private final TransactionService transactionService;
 
     @Override
     @Transactional
@@ -114,6 +121,11 @@ public class BlockServiceImpl implements BlockService {
             errors.add("Block hash mismatch");
         }
 
+        // Validate proof of work for blocks mined against a compact target
+        if (block.getBits() != null && !DifficultyTarget.hashMeetsTarget(block.getHash(), block.getBits())) {
+            errors.add("Block hash does not meet target");
+        }
+
         // Validate previous hash if not genesis block
         if (block.getBlockIndex() > 0) {
             Optional<Block> previousBlock = blockRepository.findByBlockIndex(block.getBlockIndex() - 1);
@@ -166,7 +178,9 @@ public class BlockServiceImpl implements BlockService {
     @Transactional
     public Block addBlock(Block block) {
         log.info("Adding block to chain: {}", block.getBlockIndex());
-        return blockRepository.save(block);
+        Block savedBlock = blockRepository.save(block);
+        transactionService.confirmBlockTransactions(savedBlock);
+        return savedBlock;
     }
 
     @Override
@@ -191,17 +205,41 @@ public class BlockServiceImpl implements BlockService {
                 .map(tx -> tx.getTransactionHash())
                 .toList();
 
-        while (hashes.size() > 1) {
-            List<String> newHashes = new ArrayList<>();
-            for (int i = 0; i < hashes.size(); i += 2) {
-                String left = hashes.get(i);
-                String right = (i + 1 < hashes.size()) ? hashes.get(i + 1) : left;
-                String combined = cryptographyService.hash(left + right);
-                newHashes.add(combined);
-            }
-            hashes = newHashes;
+        return merkleService.calculateMerkleRoot(hashes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MerkleProofDTO> getMerkleProof(String blockHash, String transactionHash) {
+        Optional<Block> found = blockRepository.findByHash(blockHash);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Block block = found.get();
+        // Block order; rows confirmed before positions were recorded fall back to insertion order
+        List<String> hashes = block.getTransactions().stream()
+                .sorted(Comparator.comparing(Transaction::getBlockPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Transaction::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(Transaction::getTransactionHash)
+                .toList();
+
+        int leafIndex = hashes.indexOf(transactionHash);
+        if (leafIndex < 0) {
+            return Optional.empty();
+        }
+
+        List<String> committed = MiningWorkSource.committedLeaves(hashes, block.getMinerAddress(), block.getExtraNonce());
+        List<byte[]> leaves = MerkleTree.parseLeaves(committed)
+                .orElseThrow(() -> new IllegalStateException("Block " + blockHash + " has non-digest transaction hashes"));
+        MerkleTree tree = MerkleTree.of(leaves);
+        if (!tree.rootHex().equals(block.getMerkleRoot())) {
+            throw new IllegalStateException("Stored transactions do not reproduce the merkle root of block " + blockHash);
         }
 
-        return hashes.get(0);
+        HexFormat hex = HexFormat.of();
+        List<String> siblings = tree.proof(leafIndex).stream().map(hex::formatHex).toList();
+        return Optional.of(new MerkleProofDTO(block.getHash(), block.getBlockIndex(), block.getMerkleRoot(),
+                transactionHash, leafIndex, committed.size(), siblings));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.BlockTemplateDTO;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.BlockTemplateService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps pending transactions in a {@link FeeRateIndex} so a block can be assembled without
+ * reading the PENDING set from the database. The index follows {@link PendingLedger}, which replays
+ * what is pending when the service starts and reports every change after it, so the template never
+ * keeps an account of pending transactions of its own; transactions included in a mined block
+ * leave once the ledger confirms them. The last template is reused until the index or the size budget changes, and its
+ * merkle tree is extended leaf by leaf while a new template only adds transactions at the end.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlockTemplateServiceImpl implements BlockTemplateService, PendingLedger.Listener {
+
+    private final BlockchainConfig blockchainConfig;
+    private final PendingLedger pendingLedger;
+
+    private final FeeRateIndex index = new FeeRateIndex();
+    private FeeRateIndex.Template cachedTemplate;
+    private long cachedMaxBytes;
+    private List<String> treeHashes = List.of();
+    private MerkleTree tree;
+
+    @PostConstruct
+    public void start() {
+        pendingLedger.subscribe(this);
+        log.info("Loaded {} pending transactions into the block template index", getCandidateCount());
+    }
+
+    @Override
+    public void added(Transaction transaction) {
+        String transactionHash = transaction.getTransactionHash();
+        if (transactionHash == null || transaction.getSenderAddress() == null) {
+            return;
+        }
+
+        synchronized (index) {
+            if (index.add(transaction)) {
+                cachedTemplate = null;
+                log.debug("Indexed block candidate {}", transactionHash);
+            }
+            // A replayed entry may arrive after the ledger already reported it gone
+            if (!pendingLedger.isPending(transactionHash) && index.remove(transactionHash)) {
+                cachedTemplate = null;
+            }
+        }
+    }
+
+    @Override
+    public void removed(String transactionHash) {
+        synchronized (index) {
+            if (index.remove(transactionHash)) {
+                cachedTemplate = null;
+            }
+        }
+    }
+
+    @Override
+    public void confirmed(String sender, long nonce) {
+        synchronized (index) {
+            if (index.confirmNonce(sender, nonce)) {
+                cachedTemplate = null;
+            }
+        }
+    }
+
+    @Override
+    public List<Transaction> buildTemplate() {
+        // Fresh copies each time: the block being mined takes ownership of its transactions
+        return build().transactions().stream()
+                .map(PendingLedger::detached)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public BlockTemplateDTO getTemplate() {
+        long start = System.nanoTime();
+        FeeRateIndex.Template template = build();
+        long buildTimeMicros = (System.nanoTime() - start) / 1000;
+
+        List<String> hashes = template.transactions().stream().map(Transaction::getTransactionHash).toList();
+        String merkleRoot = merkleRoot(hashes);
+
+        return new BlockTemplateDTO(
+                template.transactions().size(),
+                template.sizeBytes(),
+                blockchainConfig.getMining().getMaxBlockSize(),
+                template.totalFees(),
+                merkleRoot,
+                getCandidateCount(),
+                buildTimeMicros,
+                hashes
+        );
+    }
+
+    @Override
+    public int getCandidateCount() {
+        synchronized (index) {
+            return index.size();
+        }
+    }
+
+    private synchronized String merkleRoot(List<String> hashes) {
+        List<byte[]> leaves = MerkleTree.parseLeaves(hashes).orElse(null);
+        if (leaves == null) {
+            return null;
+        }
+
+        boolean extendsLast = tree != null && hashes.size() >= treeHashes.size()
+                && hashes.subList(0, treeHashes.size()).equals(treeHashes);
+        if (extendsLast) {
+            for (int i = tree.size(); i < leaves.size(); i++) {
+                tree.append(leaves.get(i));
+            }
+        } else {
+            tree = MerkleTree.of(leaves);
+        }
+        treeHashes = hashes;
+        return tree.rootHex();
+    }
+
+    private FeeRateIndex.Template build() {
+        long maxBytes = blockchainConfig.getMining().getMaxBlockSize();
+        synchronized (index) {
+            if (cachedTemplate != null && cachedMaxBytes == maxBytes) {
+                return cachedTemplate;
+            }
+
+            FeeRateIndex.Template template = index.select(maxBytes);
+            cachedTemplate = template;
+            cachedMaxBytes = maxBytes;
+            log.debug("Block template: {} of {} candidates, {} bytes, fees {}", template.transactions().size(),
+                    index.size(), template.sizeBytes(), template.totalFees());
+            return template;
+        }
+    }
+}
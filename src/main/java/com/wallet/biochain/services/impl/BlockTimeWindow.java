@@ -0,0 +1,69 @@
+package com.wallet.biochain.services.impl;
+
+/**
+ * Fixed-size ring buffer of the most recent block timestamps of one chain, with the compact target
+ * each block was mined under. Recording a block and reading the average interval are both O(1).
+ * Not thread-safe.
+ */
+public final class BlockTimeWindow {
+
+    private final long[] timestamps;
+    private final long[] bits;
+    private int head;
+    private int size;
+    private int newestIndex = -1;
+
+    public BlockTimeWindow(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Window must hold at least 2 blocks");
+        }
+        this.timestamps = new long[capacity];
+        this.bits = new long[capacity];
+    }
+
+    /**
+     * Record a block mined under {@code blockBits}; blocks at or below the newest recorded index are ignored
+     */
+    public boolean record(int blockIndex, long timestamp, long blockBits) {
+        if (size > 0 && blockIndex <= newestIndex) {
+            return false;
+        }
+
+        timestamps[head] = timestamp;
+        bits[head] = blockBits;
+        head = (head + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+        newestIndex = blockIndex;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * Average milliseconds between consecutive blocks in the window, or null with fewer than 2 blocks
+     */
+    public Long averageInterval() {
+        if (size < 2) {
+            return null;
+        }
+        long newest = timestamps[(head - 1 + timestamps.length) % timestamps.length];
+        long oldest = timestamps[(head - size + timestamps.length) % timestamps.length];
+        return (newest - oldest) / (size - 1);
+    }
+
+    /**
+     * Target the first interval in the window was mined under, or null with fewer than 2 blocks
+     */
+    public Long startBits() {
+        if (size < 2) {
+            return null;
+        }
+        return bits[(head - size + 1 + timestamps.length) % timestamps.length];
+    }
+}
@@ -11,6 +11,7 @@ import com.wallet.biochain.repositories.BlockchainRepository;
 import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.services.BlockService;
 import com.wallet.biochain.services.BlockchainService;
+import com.wallet.biochain.services.DifficultyRetargetService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,7 @@ public class BlockchainServiceImpl implements BlockchainService {
     private final BlockService blockService;
     private final BlockchainMapper blockchainMapper;
     private final BlockchainConfig blockchainConfig;
+    private final DifficultyRetargetService difficultyRetargetService;
 
     @Override
     @Transactional
@@ -52,6 +54,7 @@ public class BlockchainServiceImpl implements BlockchainService {
         blockchain.setGenesisHash(savedGenesisBlock.getHash());
         blockchain.setCurrentHeight(0);
         blockchain.setDifficulty(blockchainConfig.getMining().getInitialDifficulty());
+        blockchain.setBits(DifficultyTarget.bitsForDifficulty(blockchainConfig.getMining().getInitialDifficulty()));
         blockchain.setBlockReward(blockchainConfig.getMining().getInitialReward());
         blockchain.setBlockTimeSeconds((int) (blockchainConfig.getMining().getTargetBlockTime() / 1000));
         blockchain.setConsensusType(consensusType);
@@ -88,7 +91,7 @@ public class BlockchainServiceImpl implements BlockchainService {
                 com.wallet.biochain.enums.TransactionStatus.PENDING).size();
 
         Optional<Block> latestBlock = blockRepository.findLatestBlockByBlockchainId(blockchain.getId());
-        Integer avgBlockTime = calculateAverageBlockTime(blockchain.getId());
+        Integer avgBlockTime = (int) (difficultyRetargetService.getAverageBlockTime(blockchain) / 1000);
 
         return blockchainMapper.toStatusDTO(blockchain, totalTx, pendingTx, avgBlockTime,
                 latestBlock.orElse(null));
@@ -114,6 +117,7 @@ public class BlockchainServiceImpl implements BlockchainService {
         blockRepository.save(block);
 
         blockchain.setCurrentHeight(block.getBlockIndex());
+        difficultyRetargetService.onBlockAdded(blockchain, block);
         blockchainRepository.save(blockchain);
     }
 
@@ -142,6 +146,7 @@ public class BlockchainServiceImpl implements BlockchainService {
                 .orElseThrow(() -> new IllegalArgumentException("Blockchain not found"));
 
         blockchain.setDifficulty(newDifficulty);
+        blockchain.setBits(DifficultyTarget.bitsForDifficulty(newDifficulty));
         blockchainRepository.save(blockchain);
     }
 
@@ -196,22 +201,4 @@ public class BlockchainServiceImpl implements BlockchainService {
 
         return genesisBlock;
     }
-
-    private Integer calculateAverageBlockTime(Long blockchainId) {
-        List<Block> blocks = blockRepository.findByBlockchainId(blockchainId).stream()
-                .sorted((b1, b2) -> b2.getBlockIndex().compareTo(b1.getBlockIndex()))
-                .limit(10)
-                .toList();
-
-        if (blocks.size() < 2) {
-            return blockchainConfig.getMining().getTargetBlockTime().intValue() / 1000;
-        }
-
-        long totalTime = 0;
-        for (int i = 0; i < blocks.size() - 1; i++) {
-            totalTime += blocks.get(i).getTimestamp() - blocks.get(i + 1).getTimestamp();
-        }
-
-        return (int) (totalTime / (blocks.size() - 1) / 1000);
-    }
 }
\ No newline at end of file
@@ -3,12 +3,14 @@ package com.wallet.biochain.services.impl;
 import com.wallet.biochain.config.NetworkConfig;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Node;
+import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.enums.NodeStatus;
 import com.wallet.biochain.repositories.BlockRepository;
 import com.wallet.biochain.repositories.NodeRepository;
 import com.wallet.biochain.services.BlockService;
 import com.wallet.biochain.services.BlockchainService;
 import com.wallet.biochain.services.BlockchainSyncService;
+import com.wallet.biochain.services.MiningJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,8 @@ public class BlockchainSyncServiceImpl implements BlockchainSyncService {
     private final BlockService blockService;
     private final BlockchainService blockchainService;
     private final NetworkConfig networkConfig;
+    private final MiningJobService miningJobService;
+    private final SignatureVerifier signatureVerifier;
 
     @Override
     @Transactional
@@ -232,6 +236,20 @@ public class BlockchainSyncServiceImpl implements BlockchainSyncService {
             }
         }
 
+        // Verify every transaction signature last, in one parallel pass over all the blocks
+        List<Transaction> transactions = new ArrayList<>();
+        for (Block block : blocks) {
+            if (block.getTransactions() != null) {
+                transactions.addAll(block.getTransactions());
+            }
+        }
+        Optional<SignatureVerifier.Verdict> badSignature = signatureVerifier.firstFailure(transactions);
+        if (badSignature.isPresent()) {
+            log.error("Invalid signature on received transaction {}: {}",
+                    badSignature.get().transactionHash(), badSignature.get().reason());
+            return false;
+        }
+
         log.info("All received blocks validated successfully");
         return true;
     }
@@ -255,6 +273,9 @@ public class BlockchainSyncServiceImpl implements BlockchainSyncService {
                 // Save block
                 Block savedBlock = blockService.addBlock(block);
 
+                // Stop local mining on the tip this block has replaced
+                miningJobService.cancelStaleJobs(savedBlock);
+
                 // Update blockchain height if needed
                 String chainId = networkConfig.getNode().getNodeId();
                 try {
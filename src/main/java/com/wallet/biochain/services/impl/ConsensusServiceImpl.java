@@ -45,7 +45,9 @@ public class ConsensusServiceImpl implements ConsensusService {
     @Override
     public boolean validateWithPoW(Block block) {
         try {
-            boolean isValid = powConsensusService.validateProofOfWork(block, block.getDifficulty());
+            boolean isValid = block.getBits() != null
+                    ? powConsensusService.validateProofOfWorkTarget(block, block.getBits())
+                    : powConsensusService.validateProofOfWork(block, block.getDifficulty());
             log.debug("PoW validation result: {}", isValid);
             return isValid;
         } catch (Exception e) {
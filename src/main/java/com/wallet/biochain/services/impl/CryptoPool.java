@@ -0,0 +1,110 @@
+package com.wallet.biochain.services.impl;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.security.Signature;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Reusable instances of one JCA engine ({@link MessageDigest}, {@link Signature}, {@link Cipher},
+ * {@link KeyFactory}), so hot paths skip the provider lookup behind {@code getInstance}.
+ * <p>
+ * An instance is borrowed for a single operation and handed back afterwards, instead of being
+ * pinned to a thread: a thread-local would hold one instance per virtual thread and hardly ever
+ * reuse it. Borrowing never blocks; when none is idle a new one is created, and at most
+ * {@code capacity} idle instances are kept. Instances are reset before going back, and one whose
+ * operation or reset threw is dropped rather than returned half-used.
+ */
+public final class CryptoPool<T> {
+
+    @FunctionalInterface
+    public interface Factory<T> {
+        T create(String algorithm) throws GeneralSecurityException;
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, R> {
+        R apply(T instance) throws GeneralSecurityException;
+    }
+
+    private final String algorithm;
+    private final Factory<T> factory;
+    private final Consumer<T> reset;
+    private final BlockingQueue<T> idle;
+
+    public CryptoPool(String algorithm, Factory<T> factory, Consumer<T> reset, int capacity) {
+        this.algorithm = algorithm;
+        this.factory = factory;
+        this.reset = reset;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    public static CryptoPool<MessageDigest> messageDigest(String algorithm, int capacity) {
+        return new CryptoPool<>(algorithm, MessageDigest::getInstance, MessageDigest::reset, capacity);
+    }
+
+    /**
+     * Signatures are re-initialised by every {@code initSign}/{@code initVerify}, so need no reset for
+     * reuse; an operation that signs must re-initialise the instance for verification before
+     * returning, as the pool cannot clear the private key itself
+     */
+    public static CryptoPool<Signature> signature(String algorithm, int capacity) {
+        return new CryptoPool<>(algorithm, Signature::getInstance, signature -> { }, capacity);
+    }
+
+    public static CryptoPool<Signature> signature(String algorithm, Provider provider, int capacity) {
+        return new CryptoPool<>(algorithm, name -> Signature.getInstance(name, provider), signature -> { }, capacity);
+    }
+
+    /**
+     * Ciphers are re-initialised by every {@code init}; before going back they are initialised with
+     * {@code placeholder}, so an idle one does not keep the key of its last operation
+     */
+    public static CryptoPool<Cipher> cipher(String transformation, Key placeholder, int capacity) {
+        return new CryptoPool<>(transformation, Cipher::getInstance, cipher -> {
+            try {
+                cipher.init(Cipher.ENCRYPT_MODE, placeholder);
+            } catch (InvalidKeyException e) {
+                throw new IllegalStateException("Cannot clear the key of a " + transformation + " cipher", e);
+            }
+        }, capacity);
+    }
+
+    public static CryptoPool<KeyFactory> keyFactory(String algorithm, int capacity) {
+        return new CryptoPool<>(algorithm, KeyFactory::getInstance, keyFactory -> { }, capacity);
+    }
+
+    public static CryptoPool<KeyFactory> keyFactory(String algorithm, Provider provider, int capacity) {
+        return new CryptoPool<>(algorithm, name -> KeyFactory.getInstance(name, provider), keyFactory -> { }, capacity);
+    }
+
+    /**
+     * Run {@code operation} on an idle or new instance, then hand the instance back
+     */
+    public <R> R apply(Operation<T, R> operation) throws GeneralSecurityException {
+        T instance = idle.poll();
+        if (instance == null) {
+            instance = factory.create(algorithm);
+        }
+
+        R result = operation.apply(instance);
+        try {
+            reset.accept(instance);
+        } catch (RuntimeException e) {
+            return result;
+        }
+        idle.offer(instance);
+        return result;
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+}
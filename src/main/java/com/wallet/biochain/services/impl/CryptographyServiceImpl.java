@@ -1,7 +1,13 @@
 package com.wallet.biochain.services.impl;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
 import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.SignatureScheme;
 import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.stereotype.Service;
 
@@ -12,9 +18,13 @@ import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -23,22 +33,44 @@ public class CryptographyServiceImpl implements CryptographyService {
     private static final String RSA_ALGORITHM = "RSA";
     private static final String AES_ALGORITHM = "AES";
     private static final String SHA_256 = "SHA-256";
-    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
-    private static final int KEY_SIZE = 2048;
     private static final int AES_KEY_SIZE = 256;
     private static final int ITERATION_COUNT = 65536;
 
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * Engine instances are not thread-safe; borrow pooled ones instead of a provider lookup per call
+     */
+    private static final int POOL_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+    private static final CryptoPool<MessageDigest> SHA_256_DIGESTS = CryptoPool.messageDigest(SHA_256, POOL_CAPACITY);
+    private static final CryptoPool<Cipher> RSA_CIPHERS =
+            CryptoPool.cipher(RSA_ALGORITHM, placeholderRsaKey(), POOL_CAPACITY);
+    private static final CryptoPool<Cipher> AES_CIPHERS =
+            CryptoPool.cipher(AES_ALGORITHM, new SecretKeySpec(new byte[AES_KEY_SIZE / 8], AES_ALGORITHM), POOL_CAPACITY);
+
     static {
         Security.addProvider(new BouncyCastleProvider());
     }
 
+    private final Map<SignatureSchemeType, SignatureScheme> schemes = new EnumMap<>(SignatureSchemeType.class);
+
+    public CryptographyServiceImpl() {
+        for (SignatureScheme scheme : List.of(new RsaSignatureScheme(), new Secp256k1SignatureScheme(),
+                new Ed25519SignatureScheme())) {
+            schemes.put(scheme.getType(), scheme);
+        }
+    }
+
     @Override
     public KeyPair generateKeyPair() {
+        return generateKeyPair(SignatureSchemeType.RSA_2048);
+    }
+
+    @Override
+    public KeyPair generateKeyPair(SignatureSchemeType scheme) {
         try {
-            KeyPairGenerator keyGen = KeyPairGenerator.getInstance(RSA_ALGORITHM);
-            keyGen.initialize(KEY_SIZE, new SecureRandom());
-            KeyPair keyPair = keyGen.generateKeyPair();
-            log.info("Generated RSA key pair successfully");
+            KeyPair keyPair = scheme(scheme).generateKeyPair();
+            log.info("Generated {} key pair successfully", scheme);
             return keyPair;
         } catch (Exception e) {
             log.error("Failed to generate key pair", e);
@@ -46,6 +78,20 @@ public class CryptographyServiceImpl implements CryptographyService {
         }
     }
 
+    @Override
+    public SignatureSchemeType getSignatureScheme(Key key) {
+        return schemeOf(key).getType();
+    }
+
+    @Override
+    public PublicKey derivePublicKey(PrivateKey privateKey) {
+        try {
+            return schemeOf(privateKey).derivePublicKey(privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Cannot derive public key", e);
+        }
+    }
+
     @Override
     public String generateAddress(String publicKey) {
         try {
@@ -65,9 +111,10 @@ public class CryptographyServiceImpl implements CryptographyService {
     public String encrypt(String data, String publicKey) {
         try {
             PublicKey key = decodePublicKey(publicKey);
-            Cipher cipher = Cipher.getInstance(RSA_ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            byte[] encryptedBytes = RSA_CIPHERS.apply(cipher -> {
+                cipher.init(Cipher.ENCRYPT_MODE, key);
+                return cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            });
             return Base64.getEncoder().encodeToString(encryptedBytes);
         } catch (Exception e) {
             log.error("Failed to encrypt data", e);
@@ -79,9 +126,10 @@ public class CryptographyServiceImpl implements CryptographyService {
     public String decrypt(String encryptedData, String privateKey) {
         try {
             PrivateKey key = decodePrivateKey(privateKey);
-            Cipher cipher = Cipher.getInstance(RSA_ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+            byte[] decryptedBytes = RSA_CIPHERS.apply(cipher -> {
+                cipher.init(Cipher.DECRYPT_MODE, key);
+                return cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+            });
             return new String(decryptedBytes, StandardCharsets.UTF_8);
         } catch (Exception e) {
             log.error("Failed to decrypt data", e);
@@ -92,8 +140,7 @@ public class CryptographyServiceImpl implements CryptographyService {
     @Override
     public String hash(String data) {
         try {
-            MessageDigest digest = MessageDigest.getInstance(SHA_256);
-            byte[] hashBytes = digest.digest(data.getBytes(StandardCharsets.UTF_8));
+            byte[] hashBytes = SHA_256_DIGESTS.apply(digest -> digest.digest(data.getBytes(StandardCharsets.UTF_8)));
             return bytesToHex(hashBytes);
         } catch (Exception e) {
             log.error("Failed to hash data", e);
@@ -105,10 +152,7 @@ public class CryptographyServiceImpl implements CryptographyService {
     public String sign(String data, String privateKey) {
         try {
             PrivateKey key = decodePrivateKey(privateKey);
-            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-            signature.initSign(key);
-            signature.update(data.getBytes(StandardCharsets.UTF_8));
-            byte[] signatureBytes = signature.sign();
+            byte[] signatureBytes = schemeOf(key).sign(data.getBytes(StandardCharsets.UTF_8), key);
             return Base64.getEncoder().encodeToString(signatureBytes);
         } catch (Exception e) {
             log.error("Failed to sign data", e);
@@ -118,19 +162,50 @@ public class CryptographyServiceImpl implements CryptographyService {
 
     @Override
     public boolean verifySignature(String data, String signatureStr, String publicKey) {
+        PublicKey key;
+        try {
+            key = decodePublicKey(publicKey);
+        } catch (Exception e) {
+            return false;
+        }
+        return verifySignature(data, signatureStr, key);
+    }
+
+    @Override
+    public boolean verifySignature(String data, String signatureStr, PublicKey key) {
         try {
-            PublicKey key = decodePublicKey(publicKey);
-            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-            signature.initVerify(key);
-            signature.update(data.getBytes(StandardCharsets.UTF_8));
             byte[] signatureBytes = Base64.getDecoder().decode(signatureStr);
-            return signature.verify(signatureBytes);
+            return schemeOf(key).verify(data.getBytes(StandardCharsets.UTF_8), signatureBytes, key);
         } catch (Exception e) {
             log.error("Failed to verify signature", e);
             return false;
         }
     }
 
+    @Override
+    public boolean[] verifySignatures(List<SignedPayload> payloads) {
+        boolean[] results = new boolean[payloads.size()];
+        Map<SignatureScheme, Batch> batches = new LinkedHashMap<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            SignedPayload payload = payloads.get(i);
+            try {
+                byte[] signatureBytes = Base64.getDecoder().decode(payload.signature());
+                batches.computeIfAbsent(schemeOf(payload.publicKey()), scheme -> new Batch())
+                        .add(i, payload.data().getBytes(StandardCharsets.UTF_8), signatureBytes, payload.publicKey());
+            } catch (RuntimeException e) {
+                log.debug("Signature {} of batch cannot be checked: {}", i, e.getMessage());
+            }
+        }
+
+        batches.forEach((scheme, batch) -> {
+            boolean[] verified = verifyAll(scheme, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                results[batch.indexes.get(i)] = verified[i];
+            }
+        });
+        return results;
+    }
+
     @Override
     public String encodePublicKey(PublicKey publicKey) {
         byte[] encoded = publicKey.getEncoded();
@@ -147,9 +222,7 @@ public class CryptographyServiceImpl implements CryptographyService {
     public PublicKey decodePublicKey(String publicKeyString) {
         try {
             byte[] decoded = Base64.getDecoder().decode(publicKeyString);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(decoded);
-            KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
-            return keyFactory.generatePublic(spec);
+            return schemeOfEncoded(SubjectPublicKeyInfo.getInstance(decoded).getAlgorithm()).decodePublicKey(decoded);
         } catch (Exception e) {
             log.error("Failed to decode public key", e);
             throw new RuntimeException("Failed to decode public key", e);
@@ -160,9 +233,7 @@ public class CryptographyServiceImpl implements CryptographyService {
     public PrivateKey decodePrivateKey(String privateKeyString) {
         try {
             byte[] decoded = Base64.getDecoder().decode(privateKeyString);
-            PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(decoded);
-            KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
-            return keyFactory.generatePrivate(spec);
+            return schemeOfEncoded(PrivateKeyInfo.getInstance(decoded).getPrivateKeyAlgorithm()).decodePrivateKey(decoded);
         } catch (Exception e) {
             log.error("Failed to decode private key", e);
             throw new RuntimeException("Failed to decode private key", e);
@@ -173,9 +244,10 @@ public class CryptographyServiceImpl implements CryptographyService {
     public String encryptPrivateKey(String privateKey, String password) {
         try {
             SecretKey secretKey = deriveKeyFromPassword(password);
-            Cipher cipher = Cipher.getInstance(AES_ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            byte[] encryptedBytes = cipher.doFinal(privateKey.getBytes(StandardCharsets.UTF_8));
+            byte[] encryptedBytes = AES_CIPHERS.apply(cipher -> {
+                cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+                return cipher.doFinal(privateKey.getBytes(StandardCharsets.UTF_8));
+            });
             return Base64.getEncoder().encodeToString(encryptedBytes);
         } catch (Exception e) {
             log.error("Failed to encrypt private key with password", e);
@@ -187,9 +259,10 @@ public class CryptographyServiceImpl implements CryptographyService {
     public String decryptPrivateKey(String encryptedPrivateKey, String password) {
         try {
             SecretKey secretKey = deriveKeyFromPassword(password);
-            Cipher cipher = Cipher.getInstance(AES_ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedPrivateKey));
+            byte[] decryptedBytes = AES_CIPHERS.apply(cipher -> {
+                cipher.init(Cipher.DECRYPT_MODE, secretKey);
+                return cipher.doFinal(Base64.getDecoder().decode(encryptedPrivateKey));
+            });
             return new String(decryptedBytes, StandardCharsets.UTF_8);
         } catch (Exception e) {
             log.error("Failed to decrypt private key with password", e);
@@ -208,18 +281,87 @@ public class CryptographyServiceImpl implements CryptographyService {
         return new SecretKeySpec(keyBytes, AES_ALGORITHM);
     }
 
+    private boolean[] verifyAll(SignatureScheme scheme, Batch batch) {
+        try {
+            return scheme.verifyAll(batch.data, batch.signatures, batch.publicKeys);
+        } catch (Exception e) {
+            log.debug("Batch of {} {} signatures could not be verified: {}", batch.size(), scheme.getType(), e.getMessage());
+            return new boolean[batch.size()];
+        }
+    }
+
+    private SignatureScheme scheme(SignatureSchemeType type) {
+        SignatureScheme scheme = schemes.get(type);
+        if (scheme == null) {
+            throw new IllegalArgumentException("Unsupported signature scheme: " + type);
+        }
+        return scheme;
+    }
+
+    private SignatureScheme schemeOf(Key key) {
+        for (SignatureScheme scheme : schemes.values()) {
+            if (scheme.supports(key)) {
+                return scheme;
+            }
+        }
+        throw new IllegalArgumentException("No signature scheme for key algorithm " + (key != null ? key.getAlgorithm() : null));
+    }
+
+    /**
+     * Scheme of an encoded key; EC keys share one algorithm OID, so the curve in the parameters counts too
+     */
+    private SignatureScheme schemeOfEncoded(AlgorithmIdentifier keyAlgorithm) {
+        String oid = keyAlgorithm.getAlgorithm().getId();
+        for (SignatureScheme scheme : schemes.values()) {
+            String parametersOid = scheme.getKeyParametersOid();
+            if (scheme.getKeyAlgorithmOid().equals(oid) && (parametersOid == null
+                    || keyAlgorithm.getParameters() instanceof ASN1ObjectIdentifier parameters
+                    && parameters.getId().equals(parametersOid))) {
+                return scheme;
+            }
+        }
+        throw new IllegalArgumentException("No signature scheme for key algorithm " + oid
+                + " with parameters " + keyAlgorithm.getParameters());
+    }
+
+    /**
+     * Public key of a throwaway pair that pooled RSA ciphers are left initialised with
+     */
+    private static PublicKey placeholderRsaKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(RSA_ALGORITHM);
+            generator.initialize(1024);
+            return generator.generateKeyPair().getPublic();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
     /**
      * Convert byte array to hexadecimal string
      */
     private String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
+        return HEX.formatHex(bytes);
+    }
+
+    /**
+     * Payloads of one scheme in a {@link #verifySignatures} call, with their positions in it
+     */
+    private static final class Batch {
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<byte[]> data = new ArrayList<>();
+        private final List<byte[]> signatures = new ArrayList<>();
+        private final List<PublicKey> publicKeys = new ArrayList<>();
+
+        private void add(int index, byte[] data, byte[] signature, PublicKey publicKey) {
+            indexes.add(index);
+            this.data.add(data);
+            signatures.add(signature);
+            publicKeys.add(publicKey);
+        }
+
+        private int size() {
+            return indexes.size();
         }
-        return hexString.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Blockchain;
+import com.wallet.biochain.repositories.BlockRepository;
+import com.wallet.biochain.services.DifficultyRetargetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retargets every block from a rolling window of recent block timestamps.
+ * <p>
+ * Each chain keeps a {@link BlockTimeWindow} in memory, seeded once from the latest blocks in
+ * the database. The measured average interval is damped by 4 before scaling the target
+ * ({@code T + (avg - T) / 4}), so a single fast or slow block cannot swing difficulty, and the
+ * result is bounded by the configured min/max difficulty. The scaled target is the one the window's
+ * first interval was mined under rather than the latest one: the same slow or fast intervals stay
+ * in the window for several blocks and would otherwise be applied again on each of them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DifficultyRetargetServiceImpl implements DifficultyRetargetService {
+
+    private static final int DAMPING_FACTOR = 4;
+
+    private final BlockRepository blockRepository;
+    private final BlockchainConfig blockchainConfig;
+
+    private final Map<String, BlockTimeWindow> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public Long onBlockAdded(Blockchain blockchain, Block block) {
+        BlockchainConfig.Mining mining = blockchainConfig.getMining();
+        long currentBits = blockchain.getBits() != null
+                ? blockchain.getBits()
+                : DifficultyTarget.bitsForDifficulty(blockchain.getDifficulty());
+
+        BlockTimeWindow window = windowFor(blockchain, currentBits);
+        Long averageInterval;
+        Long startBits;
+        synchronized (window) {
+            if (block.getTimestamp() != null) {
+                window.record(block.getBlockIndex(), block.getTimestamp(),
+                        block.getBits() != null ? block.getBits() : currentBits);
+            }
+            averageInterval = window.averageInterval();
+            startBits = window.startBits();
+        }
+
+        if (averageInterval == null) {
+            blockchain.setBits(currentBits);
+            return currentBits;
+        }
+
+        long targetTime = mining.getTargetBlockTime();
+        long dampedInterval = targetTime + (averageInterval - targetTime) / DAMPING_FACTOR;
+        long newBits = DifficultyTarget.retarget(startBits, dampedInterval, targetTime,
+                DifficultyTarget.bitsForDifficulty(mining.getMinDifficulty()),
+                DifficultyTarget.bitsForDifficulty(mining.getMaxDifficulty()));
+        int newDifficulty = Math.max(mining.getMinDifficulty(),
+                Math.min(mining.getMaxDifficulty(), DifficultyTarget.difficultyForBits(newBits)));
+
+        if (newBits != currentBits) {
+            log.info("Retargeted chain {} at block {}: average block time {} ms, bits 0x{} -> 0x{}, difficulty {}",
+                    blockchain.getChainId(), block.getBlockIndex(), averageInterval,
+                    Long.toHexString(currentBits), Long.toHexString(newBits), newDifficulty);
+        }
+
+        blockchain.setBits(newBits);
+        blockchain.setDifficulty(newDifficulty);
+        return newBits;
+    }
+
+    @Override
+    public Long getAverageBlockTime(Blockchain blockchain) {
+        BlockTimeWindow window = windowFor(blockchain, blockchain.getBits() != null
+                ? blockchain.getBits()
+                : DifficultyTarget.bitsForDifficulty(blockchain.getDifficulty()));
+        Long averageInterval;
+        synchronized (window) {
+            averageInterval = window.averageInterval();
+        }
+        return averageInterval != null ? averageInterval : blockchainConfig.getMining().getTargetBlockTime();
+    }
+
+    private BlockTimeWindow windowFor(Blockchain blockchain, long currentBits) {
+        return windows.computeIfAbsent(blockchain.getChainId(), chainId -> seedWindow(blockchain, currentBits));
+    }
+
+    /**
+     * Blocks stored without bits count as mined under {@code currentBits}
+     */
+    private BlockTimeWindow seedWindow(Blockchain blockchain, long currentBits) {
+        BlockTimeWindow window = new BlockTimeWindow(Math.max(2, blockchainConfig.getMining().getRetargetWindow()));
+        if (blockchain.getId() == null) {
+            return window;
+        }
+
+        List<Block> recent = blockRepository.findRecentBlocksByBlockchainId(
+                blockchain.getId(), PageRequest.of(0, window.capacity()));
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            Block block = recent.get(i);
+            if (block.getTimestamp() != null) {
+                window.record(block.getBlockIndex(), block.getTimestamp(),
+                        block.getBits() != null ? block.getBits() : currentBits);
+            }
+        }
+
+        log.debug("Seeded retarget window for chain {} with {} blocks", blockchain.getChainId(), window.size());
+        return window;
+    }
+}
@@ -0,0 +1,152 @@
+package com.wallet.biochain.services.impl;
+
+import java.math.BigInteger;
+import java.util.HexFormat;
+
+/**
+ * 256-bit proof-of-work target with Bitcoin-style compact ("bits") encoding.
+ * <p>
+ * A block hash meets the target when, read as an unsigned big-endian number, it is strictly less
+ * than the target. The legacy difficulty (count of leading zero hex digits) maps to the target
+ * {@code 2^(256 - 4 * difficulty)}: a hash is below it exactly when it has at least
+ * {@code difficulty} leading zeros, so both representations agree. The hash equal to
+ * {@code 2^(256 - 4 * difficulty)} has one zero digit fewer and fails both.
+ */
+public final class DifficultyTarget {
+
+    public static final int TARGET_LENGTH = 32;
+    public static final int MAX_DIFFICULTY = TARGET_LENGTH * 2;
+
+    private static final BigInteger MAX_TARGET = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+    private static final long SIGN_BIT = 0x00800000L;
+    private static final long MANTISSA_MASK = 0x007fffffL;
+
+    private DifficultyTarget() {
+    }
+
+    /**
+     * Decode compact bits into the full target
+     */
+    public static BigInteger fromCompact(long bits) {
+        if ((bits & SIGN_BIT) != 0) {
+            throw new IllegalArgumentException("Negative compact target: 0x" + Long.toHexString(bits));
+        }
+
+        int size = (int) ((bits >>> 24) & 0xff);
+        BigInteger mantissa = BigInteger.valueOf(bits & MANTISSA_MASK);
+        BigInteger target = size <= 3
+                ? mantissa.shiftRight(8 * (3 - size))
+                : mantissa.shiftLeft(8 * (size - 3));
+        return target.min(MAX_TARGET);
+    }
+
+    /**
+     * Encode a target as compact bits, keeping the 23 most significant mantissa bits
+     */
+    public static long toCompact(BigInteger target) {
+        if (target.signum() <= 0) {
+            throw new IllegalArgumentException("Target must be positive");
+        }
+
+        BigInteger bounded = target.min(MAX_TARGET);
+        int size = (bounded.bitLength() + 7) / 8;
+        long mantissa = size <= 3
+                ? bounded.longValue() << (8 * (3 - size))
+                : bounded.shiftRight(8 * (size - 3)).longValue();
+
+        if ((mantissa & SIGN_BIT) != 0) {
+            mantissa >>>= 8;
+            size++;
+        }
+        return ((long) size << 24) | mantissa;
+    }
+
+    /**
+     * Target as a 32-byte big-endian array for comparison against raw digests
+     */
+    public static byte[] toBytes(BigInteger target) {
+        byte[] raw = target.min(MAX_TARGET).toByteArray();
+        byte[] bytes = new byte[TARGET_LENGTH];
+        int length = Math.min(raw.length, TARGET_LENGTH);
+        System.arraycopy(raw, raw.length - length, bytes, TARGET_LENGTH - length, length);
+        return bytes;
+    }
+
+    public static byte[] targetBytes(long bits) {
+        return toBytes(fromCompact(bits));
+    }
+
+    /**
+     * Unsigned big-endian comparison: digest < target
+     */
+    public static boolean meetsTarget(byte[] digest, byte[] target) {
+        for (int i = 0; i < TARGET_LENGTH; i++) {
+            int hashByte = digest[i] & 0xff;
+            int targetByte = target[i] & 0xff;
+            if (hashByte != targetByte) {
+                return hashByte < targetByte;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check a hex encoded hash against compact bits; malformed hashes never meet the target
+     */
+    public static boolean hashMeetsTarget(String hash, long bits) {
+        if (hash == null || hash.length() != TARGET_LENGTH * 2) {
+            return false;
+        }
+        try {
+            return meetsTarget(HexFormat.of().parseHex(hash), targetBytes(bits));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compact bits equivalent to requiring {@code difficulty} leading zero hex digits
+     */
+    public static long bitsForDifficulty(int difficulty) {
+        if (difficulty <= 0) {
+            return toCompact(MAX_TARGET);
+        }
+        int zeroBits = 4 * Math.min(difficulty, MAX_DIFFICULTY);
+        return toCompact(BigInteger.ONE.shiftLeft(256 - zeroBits));
+    }
+
+    /**
+     * Number of leading zero hex digits every hash meeting the target is guaranteed to have
+     */
+    public static int difficultyForBits(long bits) {
+        BigInteger target = fromCompact(bits);
+        if (target.signum() == 0) {
+            return MAX_DIFFICULTY;
+        }
+        return (256 - target.subtract(BigInteger.ONE).bitLength()) / 4;
+    }
+
+    /**
+     * Scale the target by actual / expected block time. The adjustment per step is limited to a
+     * factor of four and the result is kept between the hardest and easiest allowed targets.
+     */
+    public static long retarget(long bits, long actualTimespan, long targetTimespan,
+                                long easiestBits, long hardestBits) {
+        if (targetTimespan <= 0) {
+            throw new IllegalArgumentException("Target timespan must be greater than 0");
+        }
+
+        long boundedTimespan = Math.max(targetTimespan / 4, Math.min(actualTimespan, targetTimespan * 4));
+        BigInteger target = fromCompact(bits)
+                .multiply(BigInteger.valueOf(boundedTimespan))
+                .divide(BigInteger.valueOf(targetTimespan));
+
+        BigInteger easiest = fromCompact(easiestBits);
+        BigInteger hardest = fromCompact(hardestBits);
+        target = target.min(easiest).max(hardest);
+        if (target.signum() <= 0) {
+            target = BigInteger.ONE;
+        }
+        return toCompact(target);
+    }
+}
@@ -0,0 +1,46 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.enums.SignatureSchemeType;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.edec.EdECObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Set;
+
+/**
+ * Ed25519 through BouncyCastle: 32-byte public keys and 64-byte signatures
+ */
+public class Ed25519SignatureScheme extends JcaSignatureScheme {
+
+    public Ed25519SignatureScheme() {
+        super(SignatureSchemeType.ED25519, EdECObjectIdentifiers.id_Ed25519.getId(), "Ed25519", "Ed25519",
+                BOUNCY_CASTLE, Set.of("Ed25519", "EdDSA"));
+    }
+
+    @Override
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        return keyPairGenerator().generateKeyPair();
+    }
+
+    @Override
+    public PublicKey derivePublicKey(PrivateKey privateKey) throws GeneralSecurityException {
+        try {
+            byte[] seed = ASN1OctetString.getInstance(PrivateKeyInfo.getInstance(privateKey.getEncoded()).parsePrivateKey())
+                    .getOctets();
+            byte[] publicKey = new Ed25519PrivateKeyParameters(seed, 0).generatePublicKey().getEncoded();
+            return decodePublicKey(new SubjectPublicKeyInfo(new AlgorithmIdentifier(EdECObjectIdentifiers.id_Ed25519),
+                    publicKey).getEncoded());
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidKeySpecException("Cannot derive Ed25519 public key", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.entities.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Pending transactions ordered for block assembly.
+ * <p>
+ * Each sender's transactions form a queue in nonce order (timestamp order for transactions without
+ * a nonce), and only the head of each queue is eligible for inclusion, so a block never contains a
+ * sender's transaction without the ones sent before it. A queue is cut at the first gap in its
+ * nonces: a transaction is only selected after the one with the nonce just below it, and a head
+ * with a nonce only once the sender's previous nonce is confirmed (see {@link #confirmNonce}).
+ * The heads are kept sorted by fee per kilobyte as transactions come and go, which lets
+ * {@link #select(long)} walk candidates best-first without touching the rest of the pool.
+ * Not thread-safe.
+ */
+public final class FeeRateIndex {
+
+    /**
+     * Fixed per-transaction bytes on top of the variable-length fields: timestamp, status, framing
+     */
+    static final int TX_OVERHEAD_BYTES = 32;
+
+    /**
+     * Fees are compared in their smallest unit (8 decimal places) per 1000 bytes
+     */
+    private static final int FEE_DECIMALS = 8;
+    private static final BigDecimal MAX_FEE_RATE = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final Comparator<Candidate> SENDER_ORDER = Comparator
+            .comparing(Candidate::nonce, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(Candidate::timestamp)
+            .thenComparing(Candidate::hash);
+
+    private static final Comparator<Candidate> BEST_FEE_RATE_FIRST = Comparator
+            .comparingLong(Candidate::feeRate).reversed()
+            .thenComparing(SENDER_ORDER);
+
+    private final Map<String, Candidate> byHash = new HashMap<>();
+    private final Map<String, TreeSet<Candidate>> bySender = new HashMap<>();
+    private final TreeSet<Candidate> heads = new TreeSet<>(BEST_FEE_RATE_FIRST);
+    // sender -> highest confirmed nonce
+    private final Map<String, Long> confirmedNonces = new HashMap<>();
+
+    /**
+     * Index a transaction; returns false if its hash is already present
+     */
+    public boolean add(Transaction transaction) {
+        if (transaction.getTransactionHash() == null || transaction.getSenderAddress() == null) {
+            throw new IllegalArgumentException("Transaction hash and sender are required");
+        }
+        if (byHash.containsKey(transaction.getTransactionHash())) {
+            return false;
+        }
+
+        Candidate candidate = new Candidate(transaction);
+        byHash.put(candidate.hash(), candidate);
+
+        TreeSet<Candidate> queue = bySender.computeIfAbsent(candidate.sender(), sender -> new TreeSet<>(SENDER_ORDER));
+        Candidate previousHead = queue.isEmpty() ? null : queue.first();
+        queue.add(candidate);
+        replaceHead(previousHead, queue.first());
+        return true;
+    }
+
+    /**
+     * Remove a transaction; returns false if it was not indexed
+     */
+    public boolean remove(String transactionHash) {
+        Candidate candidate = byHash.remove(transactionHash);
+        if (candidate == null) {
+            return false;
+        }
+
+        TreeSet<Candidate> queue = bySender.get(candidate.sender());
+        Candidate previousHead = queue.first();
+        queue.remove(candidate);
+        if (queue.isEmpty()) {
+            bySender.remove(candidate.sender());
+            heads.remove(previousHead);
+        } else {
+            replaceHead(previousHead, queue.first());
+        }
+        return true;
+    }
+
+    /**
+     * Record that {@code sender} has had {@code nonce} confirmed, so its transaction with the next
+     * nonce may lead a block; returns false if a higher nonce was already recorded
+     */
+    public boolean confirmNonce(String sender, long nonce) {
+        Long previous = confirmedNonces.get(sender);
+        if (previous != null && previous >= nonce) {
+            return false;
+        }
+        confirmedNonces.put(sender, nonce);
+        return true;
+    }
+
+    public boolean contains(String transactionHash) {
+        return byHash.containsKey(transactionHash);
+    }
+
+    public int size() {
+        return byHash.size();
+    }
+
+    /**
+     * Pick the highest fee-rate transactions whose estimated size fits in {@code maxBytes}.
+     * A sender whose head does not fit is skipped entirely, since its later transactions depend on it.
+     */
+    public Template select(long maxBytes) {
+        List<Transaction> selected = new ArrayList<>();
+        long usedBytes = 0;
+        BigDecimal totalFees = BigDecimal.ZERO;
+
+        PriorityQueue<Candidate> eligible = new PriorityQueue<>(BEST_FEE_RATE_FIRST);
+        for (Candidate head : heads) {
+            if (ready(head)) {
+                eligible.add(head);
+            }
+        }
+        while (!eligible.isEmpty() && maxBytes - usedBytes >= TX_OVERHEAD_BYTES) {
+            Candidate best = eligible.poll();
+            if (usedBytes + best.size() > maxBytes) {
+                continue;
+            }
+
+            selected.add(best.transaction());
+            usedBytes += best.size();
+            totalFees = totalFees.add(best.fee());
+
+            Candidate next = bySender.get(best.sender()).higher(best);
+            if (next != null && follows(best, next)) {
+                eligible.add(next);
+            }
+        }
+        return new Template(selected, usedBytes, totalFees);
+    }
+
+    /**
+     * Estimated serialized size of a transaction in bytes
+     */
+    public static int estimateSize(Transaction transaction) {
+        return TX_OVERHEAD_BYTES
+                + utf8Length(transaction.getTransactionHash())
+                + utf8Length(transaction.getSenderAddress())
+                + utf8Length(transaction.getRecipientAddress())
+                + utf8Length(transaction.getSignature())
+                + utf8Length(transaction.getMemo())
+                + (transaction.getAmount() != null ? transaction.getAmount().toPlainString().length() : 0)
+                + (transaction.getFee() != null ? transaction.getFee().toPlainString().length() : 0);
+    }
+
+    /**
+     * Fee per 1000 estimated bytes, in the fee's smallest unit
+     */
+    public static long feeRate(Transaction transaction) {
+        return feeRate(transaction.getFee() != null ? transaction.getFee() : BigDecimal.ZERO, estimateSize(transaction));
+    }
+
+    private static long feeRate(BigDecimal fee, int size) {
+        return fee.movePointRight(FEE_DECIMALS + 3)
+                .divide(BigDecimal.valueOf(size), 0, RoundingMode.DOWN)
+                .min(MAX_FEE_RATE)
+                .longValue();
+    }
+
+    /**
+     * Whether a sender's head may go in a block: it has no nonce, or the nonce just below it is confirmed
+     */
+    private boolean ready(Candidate head) {
+        return head.nonce() == null || head.nonce() == confirmedNonces.getOrDefault(head.sender(), -1L) + 1;
+    }
+
+    /**
+     * Whether {@code next} may go in a block right after {@code previous} from the same sender
+     */
+    private static boolean follows(Candidate previous, Candidate next) {
+        return previous.nonce() == null || next.nonce() == previous.nonce() + 1;
+    }
+
+    private void replaceHead(Candidate previousHead, Candidate newHead) {
+        if (previousHead == newHead) {
+            return;
+        }
+        if (previousHead != null) {
+            heads.remove(previousHead);
+        }
+        heads.add(newHead);
+    }
+
+    private static int utf8Length(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    /**
+     * Transactions chosen for a block, with their total estimated size and fees
+     */
+    public record Template(List<Transaction> transactions, long sizeBytes, BigDecimal totalFees) {
+
+        public Template {
+            transactions = List.copyOf(transactions);
+        }
+    }
+
+    private record Candidate(Transaction transaction, String hash, String sender, Long nonce, long timestamp,
+                             BigDecimal fee, int size, long feeRate) {
+
+        private Candidate(Transaction transaction) {
+            this(transaction, transaction.getTransactionHash(), transaction.getSenderAddress(), transaction.getNonce(),
+                    transaction.getTimestamp() != null ? transaction.getTimestamp() : 0L,
+                    transaction.getFee() != null ? transaction.getFee() : BigDecimal.ZERO,
+                    estimateSize(transaction));
+        }
+
+        private Candidate(Transaction transaction, String hash, String sender, Long nonce, long timestamp,
+                          BigDecimal fee, int size) {
+            this(transaction, hash, sender, nonce, timestamp, fee, size, FeeRateIndex.feeRate(fee, size));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.enums.SignatureSchemeType;
+import com.wallet.biochain.services.SignatureScheme;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.Signature;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base for schemes backed by a JCA key factory and signature algorithm, with pooled engine
+ * instances; subclasses only say how keys are generated and how a public key is derived.
+ */
+public abstract class JcaSignatureScheme implements SignatureScheme {
+
+    protected static final Provider BOUNCY_CASTLE = bouncyCastle();
+
+    private static final int POOL_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final SignatureSchemeType type;
+    private final String keyAlgorithmOid;
+    private final String keyAlgorithm;
+    private final Provider provider;
+    private final Set<String> keyAlgorithmNames;
+    private final CryptoPool<Signature> signatures;
+    private final CryptoPool<KeyFactory> keyFactories;
+    private volatile PublicKey placeholderKey;
+
+    /**
+     * @param provider provider to use, or null for the first one supporting the algorithms
+     * @param keyAlgorithmNames what {@link Key#getAlgorithm()} reports for keys of this scheme
+     */
+    protected JcaSignatureScheme(SignatureSchemeType type, String keyAlgorithmOid, String keyAlgorithm,
+                                 String signatureAlgorithm, Provider provider, Set<String> keyAlgorithmNames) {
+        this.type = type;
+        this.keyAlgorithmOid = keyAlgorithmOid;
+        this.keyAlgorithm = keyAlgorithm;
+        this.provider = provider;
+        this.keyAlgorithmNames = keyAlgorithmNames;
+        this.signatures = provider == null
+                ? CryptoPool.signature(signatureAlgorithm, POOL_CAPACITY)
+                : CryptoPool.signature(signatureAlgorithm, provider, POOL_CAPACITY);
+        this.keyFactories = provider == null
+                ? CryptoPool.keyFactory(keyAlgorithm, POOL_CAPACITY)
+                : CryptoPool.keyFactory(keyAlgorithm, provider, POOL_CAPACITY);
+    }
+
+    @Override
+    public SignatureSchemeType getType() {
+        return type;
+    }
+
+    @Override
+    public String getKeyAlgorithmOid() {
+        return keyAlgorithmOid;
+    }
+
+    @Override
+    public boolean supports(Key key) {
+        return key != null && keyAlgorithmNames.contains(key.getAlgorithm());
+    }
+
+    @Override
+    public PublicKey decodePublicKey(byte[] encoded) throws GeneralSecurityException {
+        return keyFactories.apply(keyFactory -> keyFactory.generatePublic(new X509EncodedKeySpec(encoded)));
+    }
+
+    @Override
+    public PrivateKey decodePrivateKey(byte[] encoded) throws GeneralSecurityException {
+        return keyFactories.apply(keyFactory -> keyFactory.generatePrivate(new PKCS8EncodedKeySpec(encoded)));
+    }
+
+    @Override
+    public byte[] sign(byte[] data, PrivateKey privateKey) throws GeneralSecurityException {
+        return signatures.apply(signature -> {
+            signature.initSign(privateKey);
+            signature.update(data);
+            byte[] signed = signature.sign();
+            // an idle pooled instance must not keep holding the private key
+            signature.initVerify(placeholderKey());
+            return signed;
+        });
+    }
+
+    @Override
+    public boolean verify(byte[] data, byte[] signatureBytes, PublicKey publicKey) throws GeneralSecurityException {
+        return signatures.apply(signature -> {
+            signature.initVerify(publicKey);
+            signature.update(data);
+            return signature.verify(signatureBytes);
+        });
+    }
+
+    /**
+     * Checks the batch on a single borrowed engine instance; {@code initVerify} resets it after a
+     * signature that failed to parse
+     */
+    @Override
+    public boolean[] verifyAll(List<byte[]> data, List<byte[]> signatureBytes, List<PublicKey> publicKeys)
+            throws GeneralSecurityException {
+        return signatures.apply(signature -> {
+            boolean[] results = new boolean[data.size()];
+            for (int i = 0; i < data.size(); i++) {
+                try {
+                    signature.initVerify(publicKeys.get(i));
+                    signature.update(data.get(i));
+                    results[i] = signature.verify(signatureBytes.get(i));
+                } catch (GeneralSecurityException e) {
+                    results[i] = false;
+                }
+            }
+            return results;
+        });
+    }
+
+    protected KeyPairGenerator keyPairGenerator() throws GeneralSecurityException {
+        return provider == null ? KeyPairGenerator.getInstance(keyAlgorithm) : KeyPairGenerator.getInstance(keyAlgorithm, provider);
+    }
+
+    protected PublicKey generatePublic(KeySpec spec) throws GeneralSecurityException {
+        return keyFactories.apply(keyFactory -> keyFactory.generatePublic(spec));
+    }
+
+    /**
+     * Public key of a throwaway pair, generated on first use, that signing instances are
+     * re-initialised with before they go back to the pool
+     */
+    private PublicKey placeholderKey() throws GeneralSecurityException {
+        PublicKey key = placeholderKey;
+        if (key == null) {
+            key = generateKeyPair().getPublic();
+            placeholderKey = key;
+        }
+        return key;
+    }
+
+    private static Provider bouncyCastle() {
+        Provider registered = Security.getProvider(BouncyCastleProvider.PROVIDER_NAME);
+        return registered != null ? registered : new BouncyCastleProvider();
+    }
+}
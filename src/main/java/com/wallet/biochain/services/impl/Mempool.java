@@ -0,0 +1,486 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.entities.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory contents of one named transaction pool.
+ * <p>
+ * Transactions are indexed by hash in a {@link ConcurrentHashMap}, so duplicate checks are O(1)
+ * and concurrent inserts only contend on the same hash bin. Capacity is enforced by reserving a
+ * slot in an atomic counter before inserting, which keeps the pool from overfilling without a
+ * pool-wide lock.
+ * <p>
+ * A {@link ConcurrentSkipListMap} keeps the same transactions ordered by fee rate (highest first),
+ * then timestamp and hash. It changes together with the hash index under the hash's bin lock, so
+ * the top K come straight off its head and pages resume from a cursor in O(log n + K).
+ * <p>
+ * Under pressure the pool evicts from the tail of that ordering, taking the sender's later nonces
+ * with the victim, and raises a rolling minimum fee rate to just above what it evicted; the raised
+ * minimum halves every half-life once the pressure is gone.
+ * <p>
+ * Transactions that carry a nonce also hold a slot in their sender's nonce queue. A transaction
+ * for a slot that is already taken replaces the occupant only if it pays a high enough fee; the
+ * swap happens under the sender's lock in the queue map, so readers see either transaction but
+ * never both or neither.
+ */
+public final class Mempool {
+
+    public enum AddResult { ADDED, DUPLICATE, FULL, REPLACED, UNDERPRICED }
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final Long poolId;
+    private final String poolName;
+    private final Map<String, Entry> transactions = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<FeeKey, Transaction> byFeeRate = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListMap<Long, String>> nonces = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicReference<RelayFee> relayFee = new AtomicReference<>(new RelayFee(0, 0));
+    private volatile int maxSize;
+    private volatile boolean active;
+    private volatile LocalDateTime updatedAt = LocalDateTime.now();
+
+    public Mempool(Long poolId, String poolName, int maxSize, boolean active) {
+        this.poolId = poolId;
+        this.poolName = poolName;
+        this.maxSize = maxSize;
+        this.active = active;
+    }
+
+    public AddResult add(Transaction transaction) {
+        return admit(transaction, 0).result();
+    }
+
+    /**
+     * Add a transaction, replacing the pending one from the same sender at the same nonce if the new
+     * fee beats it by at least {@code feeBumpPercent}; a replacement does not change the pool's size
+     */
+    public Admission admit(Transaction transaction, int feeBumpPercent) {
+        String hash = transaction.getTransactionHash();
+        if (transactions.containsKey(hash)) {
+            return new Admission(AddResult.DUPLICATE, null);
+        }
+        if (transaction.getNonce() == null || transaction.getSenderAddress() == null) {
+            return new Admission(reserveAndInsert(transaction), null);
+        }
+
+        Long nonce = transaction.getNonce();
+        Admission[] admission = new Admission[1];
+        nonces.compute(transaction.getSenderAddress(), (sender, queue) -> {
+            if (queue == null) {
+                queue = new ConcurrentSkipListMap<>();
+            }
+            String occupant = queue.get(nonce);
+            Entry current = occupant != null ? transactions.get(occupant) : null;
+            if (current == null) {
+                AddResult result = reserveAndInsert(transaction);
+                if (result == AddResult.ADDED) {
+                    queue.put(nonce, hash);
+                }
+                admission[0] = new Admission(result, null);
+            } else if (occupant.equals(hash)) {
+                admission[0] = new Admission(AddResult.DUPLICATE, null);
+            } else if (!outbids(transaction.getFee(), current.transaction().getFee(), feeBumpPercent)) {
+                admission[0] = new Admission(AddResult.UNDERPRICED, null);
+            } else if (detach(occupant) == null) {
+                // Removed concurrently; the slot is free
+                AddResult result = reserveAndInsert(transaction);
+                if (result == AddResult.ADDED) {
+                    queue.put(nonce, hash);
+                }
+                admission[0] = new Admission(result, null);
+            } else if (insert(transaction)) {
+                queue.put(nonce, hash);
+                updatedAt = LocalDateTime.now();
+                admission[0] = new Admission(AddResult.REPLACED, current.transaction());
+            } else {
+                insert(current.transaction());
+                admission[0] = new Admission(AddResult.DUPLICATE, null);
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+        return admission[0];
+    }
+
+    /**
+     * Whether {@code fee} is high enough to replace a transaction paying {@code currentFee}: strictly
+     * higher, and by at least {@code bumpPercent}
+     */
+    public static boolean outbids(BigDecimal fee, BigDecimal currentFee, int bumpPercent) {
+        BigDecimal offered = fee != null ? fee : BigDecimal.ZERO;
+        BigDecimal current = currentFee != null ? currentFee : BigDecimal.ZERO;
+        BigDecimal required = current.multiply(BigDecimal.valueOf(100L + Math.max(0, bumpPercent)))
+                .divide(ONE_HUNDRED);
+        return offered.compareTo(current) > 0 && offered.compareTo(required) >= 0;
+    }
+
+    private AddResult reserveAndInsert(Transaction transaction) {
+
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxSize) {
+                return AddResult.FULL;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        if (!insert(transaction)) {
+            size.decrementAndGet();
+            return AddResult.DUPLICATE;
+        }
+        updatedAt = LocalDateTime.now();
+        return AddResult.ADDED;
+    }
+
+    /**
+     * Put back a transaction the pool had already accepted, ignoring capacity
+     */
+    public void restore(Transaction transaction) {
+        restore(transaction, System.currentTimeMillis());
+    }
+
+    /**
+     * Put back a transaction the pool had already accepted at {@code admittedAt} (epoch millis),
+     * ignoring capacity
+     */
+    public void restore(Transaction transaction, long admittedAt) {
+        if (transaction.getNonce() == null || transaction.getSenderAddress() == null) {
+            if (insert(transaction, admittedAt)) {
+                size.incrementAndGet();
+            }
+            return;
+        }
+        nonces.compute(transaction.getSenderAddress(), (sender, queue) -> {
+            if (queue == null) {
+                queue = new ConcurrentSkipListMap<>();
+            }
+            if (insert(transaction, admittedAt)) {
+                size.incrementAndGet();
+                queue.putIfAbsent(transaction.getNonce(), transaction.getTransactionHash());
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    /**
+     * Remove a transaction, returning it or null when it was not in the pool
+     */
+    public Transaction remove(String transactionHash) {
+        Entry removed = detach(transactionHash);
+        if (removed == null) {
+            return null;
+        }
+        size.decrementAndGet();
+        updatedAt = LocalDateTime.now();
+
+        Transaction transaction = removed.transaction();
+        if (transaction.getNonce() != null && transaction.getSenderAddress() != null) {
+            // Only frees the slot if it still points at this transaction, not at one that replaced it
+            nonces.computeIfPresent(transaction.getSenderAddress(), (sender, queue) -> {
+                queue.remove(transaction.getNonce(), transactionHash);
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+        return transaction;
+    }
+
+    /**
+     * Remove every transaction, returning the ones removed
+     */
+    public List<Transaction> clear() {
+        List<Transaction> removed = new ArrayList<>();
+        for (String hash : List.copyOf(transactions.keySet())) {
+            Transaction transaction = remove(hash);
+            if (transaction != null) {
+                removed.add(transaction);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Evict the lowest fee-rate transaction if it pays less than {@code feeRate}, together with its
+     * sender's transactions at higher nonces, which could never be mined past the gap it leaves.
+     * Returns the victim first, then those in nonce order; empty when every pooled transaction pays
+     * at least as much
+     */
+    public List<Transaction> evictLowest(long feeRate) {
+        while (true) {
+            Map.Entry<FeeKey, Transaction> lowest = byFeeRate.lastEntry();
+            if (lowest == null || lowest.getKey().feeRate() >= feeRate) {
+                return List.of();
+            }
+            Transaction evicted = remove(lowest.getKey().hash());
+            if (evicted != null) {
+                List<Transaction> removed = new ArrayList<>();
+                removed.add(evicted);
+                removed.addAll(removeLaterNonces(evicted));
+                return removed;
+            }
+            // Removed concurrently; look at the new tail
+        }
+    }
+
+    /**
+     * Remove the transactions queued behind {@code transaction} by the same sender
+     */
+    private List<Transaction> removeLaterNonces(Transaction transaction) {
+        ConcurrentSkipListMap<Long, String> queue = transaction.getNonce() != null && transaction.getSenderAddress() != null
+                ? nonces.get(transaction.getSenderAddress())
+                : null;
+        if (queue == null) {
+            return List.of();
+        }
+        List<Transaction> removed = new ArrayList<>();
+        for (String hash : List.copyOf(queue.tailMap(transaction.getNonce(), false).values())) {
+            Transaction later = remove(hash);
+            if (later != null) {
+                removed.add(later);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove transactions admitted before {@code admittedBefore} (epoch millis), returning them
+     */
+    public List<Transaction> expire(long admittedBefore) {
+        List<Transaction> expired = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : transactions.entrySet()) {
+            if (entry.getValue().admittedAt() < admittedBefore) {
+                Transaction removed = remove(entry.getKey());
+                if (removed != null) {
+                    expired.add(removed);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Minimum fee rate to enter the pool at {@code now}: the rolling minimum decayed by
+     * {@code halfLifeMillis} since it was last raised, and never below {@code floor}
+     */
+    public long minFeeRate(long floor, long halfLifeMillis, long now) {
+        return Math.max(floor, relayFee.get().decayed(halfLifeMillis, now));
+    }
+
+    /**
+     * Raise the rolling minimum to at least {@code feeRate}
+     */
+    public void raiseMinFeeRate(long feeRate, long halfLifeMillis, long now) {
+        relayFee.updateAndGet(current -> {
+            long decayed = current.decayed(halfLifeMillis, now);
+            return feeRate > decayed ? new RelayFee(feeRate, now) : current;
+        });
+    }
+
+    public boolean contains(String transactionHash) {
+        return transactions.containsKey(transactionHash);
+    }
+
+    /**
+     * The pooled transactions from {@code sender} that carry a nonce, in nonce order
+     */
+    public List<Transaction> senderQueue(String sender) {
+        ConcurrentSkipListMap<Long, String> queue = sender != null ? nonces.get(sender) : null;
+        if (queue == null) {
+            return List.of();
+        }
+        List<Transaction> ordered = new ArrayList<>(queue.size());
+        for (String hash : queue.values()) {
+            Entry entry = transactions.get(hash);
+            if (entry != null) {
+                ordered.add(entry.transaction());
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Point-in-time copy of the pooled transactions
+     */
+    public List<Transaction> transactions() {
+        return new ArrayList<>(byFeeRate.values());
+    }
+
+    /**
+     * Point-in-time copy of the pooled transactions with the time each was admitted
+     */
+    public List<Pooled> pooled() {
+        List<Pooled> pooled = new ArrayList<>(size.get());
+        transactions.values().forEach(entry -> pooled.add(new Pooled(entry.transaction(), entry.admittedAt())));
+        return pooled;
+    }
+
+    /**
+     * The {@code limit} highest fee-rate transactions
+     */
+    public List<Transaction> topByFeeRate(int limit) {
+        return page(null, limit).transactions();
+    }
+
+    /**
+     * Up to {@code limit} transactions in fee-rate order, starting after {@code cursor}
+     * (null for the first page). Transactions that arrive or leave between pages do not shift
+     * the pages that follow, since a cursor is a position in the ordering rather than an offset.
+     */
+    public Page page(String cursor, int limit) {
+        NavigableMap<FeeKey, Transaction> remaining = cursor == null
+                ? byFeeRate
+                : byFeeRate.tailMap(FeeKey.parse(cursor), false);
+
+        List<Transaction> page = new ArrayList<>(Math.min(limit, 1024));
+        FeeKey last = null;
+        for (Map.Entry<FeeKey, Transaction> entry : remaining.entrySet()) {
+            if (page.size() == limit) {
+                return new Page(page, last.toCursor());
+            }
+            page.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(page, null);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isFull() {
+        return size.get() >= maxSize;
+    }
+
+    public Long getPoolId() {
+        return poolId;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    private Entry detach(String transactionHash) {
+        Entry[] removed = new Entry[1];
+        transactions.computeIfPresent(transactionHash, (hash, entry) -> {
+            byFeeRate.remove(entry.key());
+            removed[0] = entry;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private boolean insert(Transaction transaction) {
+        return insert(transaction, System.currentTimeMillis());
+    }
+
+    private boolean insert(Transaction transaction, long admittedAt) {
+        boolean[] inserted = new boolean[1];
+        transactions.computeIfAbsent(transaction.getTransactionHash(), hash -> {
+            FeeKey key = FeeKey.of(transaction);
+            byFeeRate.put(key, transaction);
+            inserted[0] = true;
+            return new Entry(transaction, key, admittedAt);
+        });
+        return inserted[0];
+    }
+
+    /**
+     * One page of a fee-rate walk; {@code nextCursor} is null on the last page
+     */
+    public record Page(List<Transaction> transactions, String nextCursor) {}
+
+    /**
+     * Outcome of {@link #admit}; {@code replaced} is the transaction pushed out of its nonce slot, if any
+     */
+    public record Admission(AddResult result, Transaction replaced) {}
+
+    /**
+     * A pooled transaction and when it was admitted, in epoch millis
+     */
+    public record Pooled(Transaction transaction, long admittedAt) {}
+
+    private record Entry(Transaction transaction, FeeKey key, long admittedAt) {}
+
+    /**
+     * Rolling minimum fee rate as last raised
+     */
+    private record RelayFee(long feeRate, long raisedAt) {
+
+        private long decayed(long halfLifeMillis, long now) {
+            if (feeRate <= 0 || halfLifeMillis <= 0) {
+                return 0;
+            }
+            double halvings = (double) Math.max(0, now - raisedAt) / halfLifeMillis;
+            return (long) (feeRate / Math.pow(2, halvings));
+        }
+    }
+
+    /**
+     * Position in the fee-rate ordering: higher fee rate first, then older, then by hash
+     */
+    private record FeeKey(long feeRate, long timestamp, String hash) implements Comparable<FeeKey> {
+
+        private static final Comparator<FeeKey> ORDER = Comparator
+                .comparingLong(FeeKey::feeRate).reversed()
+                .thenComparingLong(FeeKey::timestamp)
+                .thenComparing(FeeKey::hash);
+
+        private static FeeKey of(Transaction transaction) {
+            return new FeeKey(FeeRateIndex.feeRate(transaction),
+                    transaction.getTimestamp() != null ? transaction.getTimestamp() : 0L,
+                    transaction.getTransactionHash());
+        }
+
+        private static FeeKey parse(String cursor) {
+            String[] parts = cursor.split(":", 3);
+            try {
+                if (parts.length == 3) {
+                    return new FeeKey(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+
+        private String toCursor() {
+            return feeRate + ":" + timestamp + ":" + hash;
+        }
+
+        @Override
+        public int compareTo(FeeKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.enums.TransactionStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary image of the in-memory pools and {@link PendingLedger}, written to
+ * {@code blockchain.mempool.snapshot-path} through a memory-mapped file and read back at boot in one
+ * sequential pass.
+ * <p>
+ * The image holds each pool's id, name, capacity and state, and for every pooled transaction its
+ * row id, hash, parties, amount, fee, nonce, timestamp, signature, memo and when the pool admitted
+ * it. It also holds the pending transactions that are in no pool and each sender's highest
+ * confirmed nonce, so at boot only rows changed since {@link Image#changedSince} are read from the
+ * database. It is written to a temporary file and moved into place, and ends with a CRC32 of its
+ * contents, so a torn or corrupt file is ignored rather than half-loaded.
+ * <p>
+ * At boot the ledger and the pools both restore from the same image, so it is decoded once by
+ * {@link #bootImage} and kept until the pools release it.
+ */
+@Slf4j
+@Component
+public class MempoolSnapshot {
+
+    private static final int MAGIC = 0x4D504F4C; // "MPOL"
+    private static final int VERSION = 2;
+    private static final long NO_ID = -1L;
+    private static final long NO_NONCE = Long.MIN_VALUE;
+    // Rows committed just before the image was taken may reach memory just after it
+    private static final long CHANGE_GRACE_MS = 60_000L;
+
+    private final Path path;
+    private Optional<Image> bootImage;
+
+    public MempoolSnapshot(BlockchainConfig blockchainConfig) {
+        String configured = blockchainConfig.getMempool().getSnapshotPath();
+        this.path = configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Write an image of {@code pools} and of {@code ledger}, replacing the previous one; returns the
+     * number of transactions written
+     */
+    public int write(Collection<Mempool> pools, PendingLedger ledger) throws IOException {
+        if (path == null) {
+            return 0;
+        }
+
+        long takenAt = System.currentTimeMillis();
+        List<EncodedPool> encoded = new ArrayList<>(pools.size());
+        Set<String> pooled = new HashSet<>();
+        long size = 4 + 4 + 8 + 4;
+        int transactionCount = 0;
+        for (Mempool mempool : pools) {
+            List<Mempool.Pooled> entries = mempool.pooled();
+            entries.forEach(entry -> pooled.add(entry.transaction().getTransactionHash()));
+            EncodedPool pool = EncodedPool.of(mempool, entries);
+            encoded.add(pool);
+            size += pool.size();
+            transactionCount += pool.transactions().size();
+        }
+
+        List<EncodedTransaction> unpooled = ledger.pendingTransactions().stream()
+                .filter(transaction -> !pooled.contains(transaction.getTransactionHash()))
+                .map(transaction -> EncodedTransaction.of(transaction, 0L))
+                .toList();
+        size += 4;
+        for (EncodedTransaction transaction : unpooled) {
+            size += transaction.size();
+        }
+        transactionCount += unpooled.size();
+
+        Map<String, Long> nonces = ledger.confirmedNonces();
+        List<byte[]> senders = new ArrayList<>(nonces.size());
+        List<Long> senderNonces = new ArrayList<>(nonces.size());
+        size += 4;
+        for (Map.Entry<String, Long> nonce : nonces.entrySet()) {
+            byte[] sender = bytes(nonce.getKey());
+            senders.add(sender);
+            senderNonces.add(nonce.getValue());
+            size += sizeOf(sender) + 8;
+        }
+        size += 8; // checksum
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(takenAt).putInt(encoded.size());
+            for (EncodedPool pool : encoded) {
+                pool.writeTo(buffer);
+            }
+            buffer.putInt(unpooled.size());
+            for (EncodedTransaction transaction : unpooled) {
+                transaction.writeTo(buffer);
+            }
+            buffer.putInt(senders.size());
+            for (int i = 0; i < senders.size(); i++) {
+                put(buffer, senders.get(i));
+                buffer.putLong(senderNonces.get(i));
+            }
+            buffer.putLong(checksum(buffer.duplicate().flip()));
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.debug("Wrote mempool snapshot of {} transactions in {} pools, {} outside any pool, to {}",
+                transactionCount, encoded.size(), unpooled.size(), path);
+        return transactionCount;
+    }
+
+    /**
+     * The last image written, or empty if there is none or it cannot be read
+     */
+    public Optional<Image> read() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < 8 + 4 + 4 + 8 + 4) {
+                throw new IllegalStateException("truncated");
+            }
+            long expected = buffer.getLong(buffer.limit() - 8);
+            if (checksum(buffer.duplicate().limit(buffer.limit() - 8)) != expected) {
+                throw new IllegalStateException("checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalStateException("unknown format");
+            }
+
+            long takenAt = buffer.getLong();
+            int poolCount = buffer.getInt();
+            List<PoolImage> pools = new ArrayList<>(poolCount);
+            for (int i = 0; i < poolCount; i++) {
+                pools.add(readPool(buffer));
+            }
+            int unpooledCount = buffer.getInt();
+            List<Transaction> unpooled = new ArrayList<>(unpooledCount);
+            for (int i = 0; i < unpooledCount; i++) {
+                unpooled.add(readTransaction(buffer).transaction());
+            }
+            int senderCount = buffer.getInt();
+            Map<String, Long> confirmedNonces = new HashMap<>(senderCount);
+            for (int i = 0; i < senderCount; i++) {
+                confirmedNonces.put(getString(buffer), buffer.getLong());
+            }
+            return Optional.of(new Image(takenAt, pools, unpooled, confirmedNonces));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable mempool snapshot {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The image to boot from: read on the first call and handed to every caller after it until
+     * {@link #releaseBootImage}
+     */
+    public synchronized Optional<Image> bootImage() {
+        if (bootImage == null) {
+            bootImage = read();
+        }
+        return bootImage;
+    }
+
+    /**
+     * Drop the boot image once everything has restored from it; later boot reads find nothing
+     */
+    public synchronized void releaseBootImage() {
+        bootImage = Optional.empty();
+    }
+
+    private static PoolImage readPool(ByteBuffer buffer) {
+        long poolId = buffer.getLong();
+        String poolName = getString(buffer);
+        int maxSize = buffer.getInt();
+        boolean active = buffer.get() != 0;
+        int count = buffer.getInt();
+
+        List<Mempool.Pooled> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(readTransaction(buffer));
+        }
+        return new PoolImage(poolId, poolName, maxSize, active, transactions);
+    }
+
+    private static Mempool.Pooled readTransaction(ByteBuffer buffer) {
+        Transaction transaction = new Transaction();
+        long id = buffer.getLong();
+        transaction.setId(id == NO_ID ? null : id);
+        transaction.setTransactionHash(getString(buffer));
+        transaction.setSenderAddress(getString(buffer));
+        transaction.setRecipientAddress(getString(buffer));
+        transaction.setAmount(getDecimal(buffer));
+        transaction.setFee(getDecimal(buffer));
+        long nonce = buffer.getLong();
+        transaction.setNonce(nonce == NO_NONCE ? null : nonce);
+        transaction.setTimestamp(buffer.getLong());
+        transaction.setSignature(getString(buffer));
+        transaction.setMemo(getString(buffer));
+        transaction.setStatus(TransactionStatus.PENDING);
+        return new Mempool.Pooled(transaction, buffer.getLong());
+    }
+
+    private static long checksum(ByteBuffer contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /**
+     * Contents of a snapshot; {@code takenAt} is when it was written, in epoch millis
+     */
+    public record Image(long takenAt, List<PoolImage> pools, List<Transaction> unpooled,
+                        Map<String, Long> confirmedNonces) {
+
+        /**
+         * Rows updated from this time on may differ from the image and are read from the database
+         */
+        public LocalDateTime changedSince() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(takenAt - CHANGE_GRACE_MS), ZoneId.systemDefault());
+        }
+    }
+
+    public record PoolImage(Long poolId, String poolName, int maxSize, boolean active, List<Mempool.Pooled> transactions) {}
+
+    /**
+     * A pool with its strings and amounts already converted to bytes, so its size is known before mapping
+     */
+    private record EncodedPool(long poolId, byte[] poolName, int maxSize, boolean active,
+                               List<EncodedTransaction> transactions, long size) {
+
+        private static EncodedPool of(Mempool mempool, List<Mempool.Pooled> entries) {
+            byte[] name = bytes(mempool.getPoolName());
+            List<EncodedTransaction> transactions = entries.stream()
+                    .map(entry -> EncodedTransaction.of(entry.transaction(), entry.admittedAt()))
+                    .toList();
+            long size = 8 + sizeOf(name) + 4 + 1 + 4;
+            for (EncodedTransaction transaction : transactions) {
+                size += transaction.size();
+            }
+            return new EncodedPool(mempool.getPoolId(), name, mempool.getMaxSize(), mempool.isActive(), transactions, size);
+        }
+
+        private void writeTo(ByteBuffer buffer) {
+            buffer.putLong(poolId);
+            put(buffer, poolName);
+            buffer.putInt(maxSize).put((byte) (active ? 1 : 0)).putInt(transactions.size());
+            for (EncodedTransaction transaction : transactions) {
+                transaction.writeTo(buffer);
+            }
+        }
+    }
+
+    private record EncodedTransaction(long id, byte[] hash, byte[] sender, byte[] recipient, int amountScale, byte[] amount,
+                                      int feeScale, byte[] fee, long nonce, long timestamp, byte[] signature,
+                                      byte[] memo, long admittedAt) {
+
+        private static EncodedTransaction of(Transaction transaction, long admittedAt) {
+            BigDecimal amount = transaction.getAmount();
+            BigDecimal fee = transaction.getFee();
+            return new EncodedTransaction(transaction.getId() != null ? transaction.getId() : NO_ID,
+                    bytes(transaction.getTransactionHash()),
+                    bytes(transaction.getSenderAddress()), bytes(transaction.getRecipientAddress()),
+                    amount != null ? amount.scale() : 0, amount != null ? amount.unscaledValue().toByteArray() : null,
+                    fee != null ? fee.scale() : 0, fee != null ? fee.unscaledValue().toByteArray() : null,
+                    transaction.getNonce() != null ? transaction.getNonce() : NO_NONCE,
+                    transaction.getTimestamp() != null ? transaction.getTimestamp() : 0L,
+                    bytes(transaction.getSignature()), bytes(transaction.getMemo()), admittedAt);
+        }
+
+        private long size() {
+            return 8 + sizeOf(hash) + sizeOf(sender) + sizeOf(recipient) + 4 + sizeOf(amount) + 4 + sizeOf(fee)
+                    + 8 + 8 + sizeOf(signature) + sizeOf(memo) + 8;
+        }
+
+        private void writeTo(ByteBuffer buffer) {
+            buffer.putLong(id);
+            put(buffer, hash);
+            put(buffer, sender);
+            put(buffer, recipient);
+            buffer.putInt(amountScale);
+            put(buffer, amount);
+            buffer.putInt(feeScale);
+            put(buffer, fee);
+            buffer.putLong(nonce).putLong(timestamp);
+            put(buffer, signature);
+            put(buffer, memo);
+            buffer.putLong(admittedAt);
+        }
+    }
+}
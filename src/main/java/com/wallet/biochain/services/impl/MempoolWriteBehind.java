@@ -0,0 +1,253 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.entities.TransactionPool;
+import com.wallet.biochain.enums.TransactionStatus;
+import com.wallet.biochain.repositories.TransactionPoolRepository;
+import com.wallet.biochain.repositories.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persists mempool changes asynchronously. Pool operations only enqueue a write; a background
+ * thread drains the queue in order and applies up to {@code blockchain.mempool.write-batch-size}
+ * changes per database transaction: new transactions with one batched insert, removals with one
+ * bulk update, and each touched pool's size with one update. A batch that fails is retried one
+ * change at a time so a single bad row cannot drop the rest.
+ * <p>
+ * A transaction removed from a pool while still PENDING was dropped rather than mined, so its row
+ * is marked REJECTED; this keeps the database in line with {@link PendingLedger}. A release only
+ * takes the row out of its pool, leaving its status alone.
+ * <p>
+ * Writes still queued when the process dies are lost; the pools rebuild from the PENDING rows
+ * that did reach the database.
+ */
+@Slf4j
+@Component
+public class MempoolWriteBehind {
+
+    private enum Kind { ADD, REMOVE, RELEASE, CLEAR, RESIZE }
+
+    private record PoolWrite(Kind kind, Long poolId, Transaction transaction, String transactionHash, int poolSize) {}
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionPoolRepository poolRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final BlockingQueue<PoolWrite> queue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mempool-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MempoolWriteBehind(TransactionRepository transactionRepository, TransactionPoolRepository poolRepository,
+                              TransactionTemplate transactionTemplate, BlockchainConfig blockchainConfig) {
+        this.transactionRepository = transactionRepository;
+        this.poolRepository = poolRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, blockchainConfig.getMempool().getWriteBatchSize());
+
+        long interval = Math.max(1, blockchainConfig.getMempool().getWriteIntervalMs());
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void add(Long poolId, Transaction transaction, int poolSize) {
+        queue.add(new PoolWrite(Kind.ADD, poolId, transaction, transaction.getTransactionHash(), poolSize));
+    }
+
+    public void remove(Long poolId, String transactionHash, int poolSize) {
+        queue.add(new PoolWrite(Kind.REMOVE, poolId, null, transactionHash, poolSize));
+    }
+
+    /**
+     * Take a transaction out of its pool without rejecting it, e.g. once it is confirmed
+     */
+    public void release(Long poolId, String transactionHash, int poolSize) {
+        queue.add(new PoolWrite(Kind.RELEASE, poolId, null, transactionHash, poolSize));
+    }
+
+    public void clear(Long poolId) {
+        queue.add(new PoolWrite(Kind.CLEAR, poolId, null, null, 0));
+    }
+
+    /**
+     * Record a pool's size without changing its transactions, e.g. to correct a stale counter
+     */
+    public void resize(Long poolId, int poolSize) {
+        queue.add(new PoolWrite(Kind.RESIZE, poolId, null, null, poolSize));
+    }
+
+    /**
+     * Changes not yet written
+     */
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    /**
+     * Write everything queued so far on the calling thread; returns the number of changes written
+     */
+    public synchronized int flush() {
+        int written = 0;
+        List<PoolWrite> batch = new ArrayList<>(Math.min(batchSize, 1024));
+        while (queue.drainTo(batch, batchSize) > 0) {
+            written += write(batch);
+            batch.clear();
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Mempool write-behind flush failed", e);
+        }
+    }
+
+    private int write(List<PoolWrite> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+            log.debug("Persisted {} mempool changes", batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Mempool batch of {} changes failed, retrying one by one: {}", batch.size(), e.getMessage());
+        }
+
+        int written = 0;
+        for (PoolWrite write : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(List.of(write)));
+                written++;
+            } catch (RuntimeException e) {
+                log.error("Dropping mempool {} of transaction {}", write.kind(), write.transactionHash(), e);
+            }
+        }
+        return written;
+    }
+
+    private void apply(List<PoolWrite> batch) {
+        Map<Long, Integer> poolSizes = new LinkedHashMap<>();
+        List<PoolWrite> adds = new ArrayList<>();
+        List<String> removals = new ArrayList<>();
+        List<String> releases = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Consecutive writes of one kind are applied together; order across kinds is kept
+        for (PoolWrite write : batch) {
+            if (write.kind() != Kind.ADD) {
+                insert(adds);
+            }
+            if (write.kind() != Kind.REMOVE) {
+                reject(removals, now);
+            }
+            if (write.kind() != Kind.RELEASE) {
+                release(releases, now);
+            }
+
+            switch (write.kind()) {
+                case ADD -> adds.add(write);
+                case REMOVE -> removals.add(write.transactionHash());
+                case RELEASE -> releases.add(write.transactionHash());
+                case CLEAR -> {
+                    transactionRepository.updatePendingStatusInPool(write.poolId(), TransactionStatus.REJECTED, now);
+                    transactionRepository.releaseAllFromPool(write.poolId(), now);
+                }
+                case RESIZE -> {
+                    // Only the pool size, recorded below
+                }
+            }
+            poolSizes.put(write.poolId(), write.poolSize());
+        }
+        insert(adds);
+        reject(removals, now);
+        release(releases, now);
+
+        poolSizes.forEach((poolId, size) -> poolRepository.updateCurrentSize(poolId, size, now));
+    }
+
+    private void insert(List<PoolWrite> adds) {
+        if (adds.isEmpty()) {
+            return;
+        }
+
+        Map<String, Transaction> existing = transactionRepository.findByTransactionHashIn(
+                        adds.stream().map(PoolWrite::transactionHash).toList()).stream()
+                .collect(Collectors.toMap(Transaction::getTransactionHash, Function.identity()));
+
+        List<Transaction> rows = new ArrayList<>(adds.size());
+        for (PoolWrite add : adds) {
+            TransactionPool pool = poolRepository.getReferenceById(add.poolId());
+            Transaction row = existing.get(add.transactionHash());
+            if (row == null) {
+                row = copyOf(add.transaction());
+                existing.put(add.transactionHash(), row);
+            }
+            row.setStatus(TransactionStatus.PENDING);
+            row.setTransactionPool(pool);
+            rows.add(row);
+        }
+        transactionRepository.saveAll(rows);
+        adds.clear();
+    }
+
+    private void reject(List<String> removals, LocalDateTime now) {
+        if (removals.isEmpty()) {
+            return;
+        }
+        List<String> hashes = List.copyOf(removals);
+        transactionRepository.releaseFromPool(hashes, now);
+        transactionRepository.updatePendingStatus(hashes, TransactionStatus.REJECTED, now);
+        removals.clear();
+    }
+
+    private void release(List<String> releases, LocalDateTime now) {
+        if (releases.isEmpty()) {
+            return;
+        }
+        transactionRepository.releaseFromPool(List.copyOf(releases), now);
+        releases.clear();
+    }
+
+    /**
+     * New row for a pooled transaction, so the writer never mutates objects the pool hands out
+     */
+    private Transaction copyOf(Transaction transaction) {
+        Transaction row = new Transaction();
+        row.setTransactionHash(transaction.getTransactionHash());
+        row.setSenderAddress(transaction.getSenderAddress());
+        row.setRecipientAddress(transaction.getRecipientAddress());
+        row.setAmount(transaction.getAmount());
+        row.setFee(transaction.getFee());
+        row.setSignature(transaction.getSignature());
+        row.setTimestamp(transaction.getTimestamp());
+        row.setMemo(transaction.getMemo());
+        row.setNonce(transaction.getNonce());
+        row.setConfirmationCount(transaction.getConfirmationCount());
+        return row;
+    }
+}
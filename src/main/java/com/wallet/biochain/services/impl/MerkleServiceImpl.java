@@ -0,0 +1,51 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.MerkleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes merkle roots for block assembly and validation.
+ * <p>
+ * SHA-256 transaction hashes go through {@link MerkleTree}; at or above
+ * {@code blockchain.mining.merkle-parallel-threshold} leaves each level is hashed across the
+ * common fork-join pool, with the same result as the serial path. Any other transaction ids keep
+ * the original string concatenation ({@link MerkleTree#stringRoot}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MerkleServiceImpl implements MerkleService {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final CryptographyService cryptographyService;
+    private final BlockchainConfig blockchainConfig;
+
+    @Override
+    public String calculateMerkleRoot(List<String> transactionHashes) {
+        if (transactionHashes == null || transactionHashes.isEmpty()) {
+            return cryptographyService.hash("empty");
+        }
+
+        Optional<List<byte[]>> leaves = MerkleTree.parseLeaves(transactionHashes);
+        if (leaves.isEmpty()) {
+            return MerkleTree.stringRoot(transactionHashes);
+        }
+
+        int threshold = blockchainConfig.getMining().getMerkleParallelThreshold();
+        if (threshold > 0 && leaves.get().size() >= threshold) {
+            log.debug("Computing merkle root of {} leaves in parallel", leaves.get().size());
+            return HEX.formatHex(MerkleTree.parallelRoot(leaves.get(), ForkJoinPool.commonPool()));
+        }
+        return MerkleTree.of(leaves.get()).rootHex();
+    }
+}
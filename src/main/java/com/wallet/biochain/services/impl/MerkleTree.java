@@ -0,0 +1,326 @@
+package com.wallet.biochain.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Binary merkle tree over raw 32-byte SHA-256 digests that keeps every intermediate level.
+ * <p>
+ * Parents are computed exactly like {@code BlockService.calculateMerkleRoot}: SHA-256 of the
+ * lowercase hex of the left child followed by the hex of the right child, with the last node of
+ * an odd level paired with itself. The hex is written into a reusable buffer rather than built as
+ * strings, so roots stay bit-identical to the string implementation. Appending or replacing a
+ * leaf only rehashes the path to the root. Instances are not thread-safe.
+ * <p>
+ * {@link #parallelRoot} computes the same root without keeping the tree, hashing the pairs of
+ * each level across a fork-join pool.
+ */
+public final class MerkleTree {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final String SHA_256 = "SHA-256";
+    private static final byte[] EMPTY_PREIMAGE = "empty".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int MIN_PAIRS_PER_TASK = 256;
+    private static final ThreadLocal<PairHasher> WORKER_HASHER = ThreadLocal.withInitial(PairHasher::new);
+
+    private final List<List<byte[]>> levels = new ArrayList<>();
+    private final PairHasher hasher = new PairHasher();
+
+    public MerkleTree() {
+        levels.add(new ArrayList<>());
+    }
+
+    /**
+     * Build a tree bottom-up from its leaves in O(n) hashes
+     */
+    public static MerkleTree of(List<byte[]> leaves) {
+        MerkleTree tree = new MerkleTree();
+        List<byte[]> level = tree.levels.get(0);
+        for (byte[] leaf : leaves) {
+            level.add(checkDigest(leaf).clone());
+        }
+
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                byte[] left = level.get(i);
+                byte[] right = i + 1 < level.size() ? level.get(i + 1) : left;
+                parents.add(tree.hasher.hash(left, right));
+            }
+            tree.levels.add(parents);
+            level = parents;
+        }
+        return tree;
+    }
+
+    /**
+     * Parse transaction hashes as leaves; empty unless every hash is 64 lowercase hex characters,
+     * the only form whose raw digest hashes back to the same text
+     */
+    public static Optional<List<byte[]>> parseLeaves(List<String> transactionHashes) {
+        List<byte[]> leaves = new ArrayList<>(transactionHashes.size());
+        for (String hash : transactionHashes) {
+            if (!isDigestHex(hash)) {
+                return Optional.empty();
+            }
+            leaves.add(HEX.parseHex(hash));
+        }
+        return Optional.of(leaves);
+    }
+
+    public static boolean isDigestHex(String value) {
+        if (value == null || value.length() != 2 * DIGEST_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Append a leaf and return its index
+     */
+    public int append(byte[] leaf) {
+        List<byte[]> leaves = levels.get(0);
+        leaves.add(checkDigest(leaf).clone());
+        rehashPath(leaves.size() - 1);
+        return leaves.size() - 1;
+    }
+
+    /**
+     * Replace the leaf at {@code index}
+     */
+    public void update(int index, byte[] leaf) {
+        List<byte[]> leaves = levels.get(0);
+        if (index < 0 || index >= leaves.size()) {
+            throw new IndexOutOfBoundsException("Leaf " + index + " outside tree of " + leaves.size());
+        }
+        leaves.set(index, checkDigest(leaf).clone());
+        rehashPath(index);
+    }
+
+    public int size() {
+        return levels.get(0).size();
+    }
+
+    /**
+     * Root digest; an empty tree has the hash of {@code "empty"}, a single leaf is its own root
+     */
+    public byte[] root() {
+        if (size() == 0) {
+            return emptyRoot();
+        }
+        return levels.get(levels.size() - 1).get(0).clone();
+    }
+
+    public String rootHex() {
+        return HEX.formatHex(root());
+    }
+
+    /**
+     * Sibling digests from the leaf at {@code index} up to the root. The position of each
+     * sibling follows from the leaf index: bit {@code i} set means sibling {@code i} is on the left.
+     */
+    public List<byte[]> proof(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Leaf " + index + " outside tree of " + size());
+        }
+
+        List<byte[]> siblings = new ArrayList<>(levels.size());
+        int position = index;
+        for (int level = 0; levels.get(level).size() > 1; level++) {
+            List<byte[]> nodes = levels.get(level);
+            int sibling = position ^ 1;
+            siblings.add((sibling < nodes.size() ? nodes.get(sibling) : nodes.get(position)).clone());
+            position >>= 1;
+        }
+        return siblings;
+    }
+
+    /**
+     * Check that {@code leaf} at {@code index} hashes up to {@code root} through {@code siblings}
+     */
+    public static boolean verifyProof(byte[] leaf, int index, List<byte[]> siblings, byte[] root) {
+        if (leaf == null || root == null || index < 0) {
+            return false;
+        }
+
+        PairHasher hasher = new PairHasher();
+        byte[] current = leaf;
+        int position = index;
+        for (byte[] sibling : siblings) {
+            if (sibling == null || sibling.length != DIGEST_LENGTH) {
+                return false;
+            }
+            current = (position & 1) == 0 ? hasher.hash(current, sibling) : hasher.hash(sibling, current);
+            position >>= 1;
+        }
+        return position == 0 && MessageDigest.isEqual(current, root);
+    }
+
+    /**
+     * Root of {@code leaves} with each level's pairs hashed in parallel on {@code pool};
+     * bit-identical to {@code MerkleTree.of(leaves).root()}
+     */
+    public static byte[] parallelRoot(List<byte[]> leaves, ForkJoinPool pool) {
+        if (leaves.isEmpty()) {
+            return emptyRoot();
+        }
+
+        byte[][] level = new byte[leaves.size()][];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = checkDigest(leaves.get(i));
+        }
+
+        while (level.length > 1) {
+            byte[][] parents = new byte[(level.length + 1) / 2][];
+            int grain = Math.max(MIN_PAIRS_PER_TASK, parents.length / (4 * pool.getParallelism()));
+            pool.invoke(new LevelTask(level, parents, 0, parents.length, grain));
+            level = parents;
+        }
+        return level[0].clone();
+    }
+
+    /**
+     * Root over arbitrary transaction ids by hashing the concatenated hex strings, the original
+     * algorithm; used when the ids are not SHA-256 digests
+     */
+    public static String stringRoot(List<String> hashes) {
+        if (hashes.isEmpty()) {
+            return HEX.formatHex(emptyRoot());
+        }
+
+        MessageDigest digest = newDigest();
+        List<String> level = hashes;
+        while (level.size() > 1) {
+            List<String> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                String left = level.get(i);
+                String right = i + 1 < level.size() ? level.get(i + 1) : left;
+                parents.add(HEX.formatHex(digest.digest((left + right).getBytes(StandardCharsets.UTF_8))));
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+
+    private void rehashPath(int leafIndex) {
+        int position = leafIndex;
+        for (int level = 0; levels.get(level).size() > 1; level++) {
+            List<byte[]> nodes = levels.get(level);
+            int left = position & ~1;
+            byte[] parent = hasher.hash(nodes.get(left), left + 1 < nodes.size() ? nodes.get(left + 1) : nodes.get(left));
+
+            if (level + 1 == levels.size()) {
+                levels.add(new ArrayList<>());
+            }
+            List<byte[]> parents = levels.get(level + 1);
+            position >>= 1;
+            if (position == parents.size()) {
+                parents.add(parent);
+            } else {
+                parents.set(position, parent);
+            }
+        }
+    }
+
+    private static byte[] checkDigest(byte[] leaf) {
+        if (leaf == null || leaf.length != DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Merkle leaves must be " + DIGEST_LENGTH + "-byte digests");
+        }
+        return leaf;
+    }
+
+    private static byte[] emptyRoot() {
+        return newDigest().digest(EMPTY_PREIMAGE);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * SHA-256 over the hex text of two child digests, reusing one digest and one text buffer
+     */
+    private static final class PairHasher {
+
+        private final MessageDigest digest = newDigest();
+        private final byte[] pair = new byte[4 * DIGEST_LENGTH];
+
+        private byte[] hash(byte[] left, byte[] right) {
+            writeHex(left, 0);
+            writeHex(right, 2 * DIGEST_LENGTH);
+            byte[] parent = new byte[DIGEST_LENGTH];
+            try {
+                digest.update(pair);
+                digest.digest(parent, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Failed to hash merkle node", e);
+            }
+            return parent;
+        }
+
+        private void writeHex(byte[] node, int offset) {
+            for (int i = 0; i < DIGEST_LENGTH; i++) {
+                pair[offset + 2 * i] = HEX_DIGITS[(node[i] >> 4) & 0x0f];
+                pair[offset + 2 * i + 1] = HEX_DIGITS[node[i] & 0x0f];
+            }
+        }
+    }
+
+    /**
+     * Hashes parents {@code [from, to)} of one level, splitting until a range is at most {@code grain} pairs
+     */
+    private static final class LevelTask extends RecursiveAction {
+
+        private final byte[][] children;
+        private final byte[][] parents;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        private LevelTask(byte[][] children, byte[][] parents, int from, int to, int grain) {
+            this.children = children;
+            this.parents = parents;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                PairHasher hasher = WORKER_HASHER.get();
+                for (int i = from; i < to; i++) {
+                    byte[] left = children[2 * i];
+                    byte[] right = 2 * i + 1 < children.length ? children[2 * i + 1] : left;
+                    parents[i] = hasher.hash(left, right);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new LevelTask(children, parents, from, middle, grain),
+                    new LevelTask(children, parents, middle, to, grain));
+        }
+    }
+}
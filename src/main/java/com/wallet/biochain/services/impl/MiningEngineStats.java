@@ -0,0 +1,40 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.dto.NonceSearchResultDTO;
+import com.wallet.biochain.dto.WorkerHashRateDTO;
+
+import java.util.List;
+
+/**
+ * Hash rate bookkeeping shared by the mining engines
+ */
+final class MiningEngineStats {
+
+    private MiningEngineStats() {
+    }
+
+    static WorkerHashRateDTO worker(int workerId, long hashes, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return new WorkerHashRateDTO(
+                workerId,
+                hashes,
+                elapsedNanos / 1_000_000,
+                hashes * 1_000_000_000.0 / elapsedNanos
+        );
+    }
+
+    static NonceSearchResultDTO result(boolean found, Integer nonce, String hash,
+                                       List<WorkerHashRateDTO> workers, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        long totalHashes = workers.stream().mapToLong(WorkerHashRateDTO::hashes).sum();
+        return new NonceSearchResultDTO(
+                found,
+                nonce,
+                hash,
+                totalHashes,
+                elapsedNanos / 1_000_000,
+                totalHashes * 1_000_000_000.0 / elapsedNanos,
+                workers
+        );
+    }
+}
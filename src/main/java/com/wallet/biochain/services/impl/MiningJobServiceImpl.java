@@ -0,0 +1,272 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.dto.MiningJobDTO;
+import com.wallet.biochain.dto.MiningResultDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.enums.MiningJobStatus;
+import com.wallet.biochain.services.BlockTemplateService;
+import com.wallet.biochain.services.MiningJobService;
+import com.wallet.biochain.services.MiningSearchControl;
+import com.wallet.biochain.services.MiningService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs mining off the request thread. Jobs execute one at a time on a dedicated thread (the
+ * mining engine already spreads each search across cores) and stream their progress to
+ * {@code /topic/mining/{jobId}}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MiningJobServiceImpl implements MiningJobService {
+
+    private static final String TOPIC_PREFIX = "/topic/mining/";
+    private static final long PROGRESS_PUBLISH_INTERVAL_MS = 500;
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final MiningService miningService;
+    private final BlockTemplateService blockTemplateService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, MiningJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mining-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public MiningJobDTO submitJob(String minerAddress, Integer difficulty) {
+        if (minerAddress == null || minerAddress.isBlank()) {
+            throw new IllegalArgumentException("Miner address is required");
+        }
+
+        long bits = difficulty != null
+                ? DifficultyTarget.bitsForDifficulty(difficulty)
+                : miningService.getCurrentTarget();
+        MiningJob job = new MiningJob(UUID.randomUUID().toString(), minerAddress, bits);
+        jobs.put(job.id, job);
+        job.future = executor.submit(() -> run(job));
+
+        log.info("Mining job {} queued for {} at target 0x{}", job.id, minerAddress, Long.toHexString(bits));
+        publish(job);
+        return toDTO(job);
+    }
+
+    @Override
+    public Optional<MiningJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(this::toDTO);
+    }
+
+    @Override
+    public List<MiningJobDTO> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((MiningJob job) -> job.submittedAt).reversed())
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Override
+    public boolean cancelJob(String jobId) {
+        MiningJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Mining job not found: " + jobId);
+        }
+        return cancel(job, "Cancelled by request");
+    }
+
+    @Override
+    public int cancelStaleJobs(Block acceptedBlock) {
+        int cancelled = 0;
+        for (MiningJob job : jobs.values()) {
+            Integer blockIndex = job.blockIndex;
+            if (job.status == MiningJobStatus.RUNNING && blockIndex != null
+                    && blockIndex <= acceptedBlock.getBlockIndex()
+                    && cancel(job, "Competing block " + acceptedBlock.getBlockIndex() + " accepted")) {
+                cancelled++;
+            }
+        }
+
+        if (cancelled > 0) {
+            log.info("Cancelled {} stale mining jobs after block {}", cancelled, acceptedBlock.getBlockIndex());
+        }
+        return cancelled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.cancelRequested = true);
+        executor.shutdownNow();
+    }
+
+    private void run(MiningJob job) {
+        if (job.cancelRequested) {
+            finish(job, MiningJobStatus.CANCELLED, null, job.cancelReason);
+            return;
+        }
+
+        job.status = MiningJobStatus.RUNNING;
+        publish(job);
+
+        try {
+            List<Transaction> template = blockTemplateService.buildTemplate();
+            MiningResultDTO result = miningService.mineBlockWithTarget(template, job.minerAddress, job.bits, job);
+
+            if (Boolean.TRUE.equals(result.success())) {
+                finish(job, MiningJobStatus.COMPLETED, result, result.message());
+            } else if (job.cancelRequested) {
+                finish(job, MiningJobStatus.CANCELLED, result, job.cancelReason);
+            } else {
+                finish(job, MiningJobStatus.FAILED, result, result.message());
+            }
+        } catch (Exception e) {
+            log.error("Mining job {} failed", job.id, e);
+            finish(job, MiningJobStatus.FAILED, null, e.getMessage());
+        }
+    }
+
+    private boolean cancel(MiningJob job, String reason) {
+        synchronized (job) {
+            if (job.isFinished() || job.cancelRequested) {
+                return false;
+            }
+            job.cancelRequested = true;
+            job.cancelReason = reason;
+        }
+
+        log.info("Cancelling mining job {}: {}", job.id, reason);
+        // Running jobs stop at the engine's next progress check and finish themselves
+        if (job.status == MiningJobStatus.QUEUED && job.future != null && job.future.cancel(false)) {
+            finish(job, MiningJobStatus.CANCELLED, null, reason);
+        }
+        return true;
+    }
+
+    private void finish(MiningJob job, MiningJobStatus status, MiningResultDTO result, String message) {
+        synchronized (job) {
+            if (job.isFinished()) {
+                return;
+            }
+            job.status = status;
+            job.result = result;
+            job.message = message;
+        }
+
+        log.info("Mining job {} {}", job.id, status);
+        publish(job);
+
+        finishedJobs.add(job.id);
+        while (finishedJobs.size() > MAX_FINISHED_JOBS) {
+            String evicted = finishedJobs.poll();
+            if (evicted != null) {
+                jobs.remove(evicted);
+            }
+        }
+    }
+
+    private void publish(MiningJob job) {
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + job.id, toDTO(job));
+        } catch (Exception e) {
+            log.error("Failed to broadcast mining job {} update", job.id, e);
+        }
+    }
+
+    private MiningJobDTO toDTO(MiningJob job) {
+        long elapsedNanos = job.elapsedNanos;
+        double hashesPerSecond = elapsedNanos > 0 ? job.hashes * 1_000_000_000.0 / elapsedNanos : 0.0;
+        return new MiningJobDTO(
+                job.id,
+                job.minerAddress,
+                job.status,
+                job.difficulty,
+                job.blockIndex,
+                job.hashes,
+                hashesPerSecond,
+                elapsedNanos / 1_000_000,
+                job.result,
+                job.message,
+                job.submittedAt
+        );
+    }
+
+    /**
+     * Mutable job state, written by the mining thread and read by request threads
+     */
+    private final class MiningJob implements MiningSearchControl {
+
+        private final String id;
+        private final String minerAddress;
+        private final long bits;
+        private final int difficulty;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile MiningJobStatus status = MiningJobStatus.QUEUED;
+        private volatile Integer blockIndex;
+        private volatile long hashes;
+        private volatile long elapsedNanos;
+        private volatile long lastPublishNanos;
+        private volatile MiningResultDTO result;
+        private volatile String message;
+        private volatile boolean cancelRequested;
+        private volatile String cancelReason;
+        private volatile Future<?> future;
+
+        private MiningJob(String id, String minerAddress, long bits) {
+            this.id = id;
+            this.minerAddress = minerAddress;
+            this.bits = bits;
+            this.difficulty = DifficultyTarget.difficultyForBits(bits);
+        }
+
+        @Override
+        public void onStart(Block block) {
+            blockIndex = block.getBlockIndex();
+            hashes = 0;
+            elapsedNanos = 0;
+            publish(this);
+        }
+
+        @Override
+        public void onProgress(long hashes, long elapsedNanos) {
+            this.hashes = hashes;
+            this.elapsedNanos = elapsedNanos;
+
+            long now = System.nanoTime();
+            if (now - lastPublishNanos >= PROGRESS_PUBLISH_INTERVAL_MS * 1_000_000) {
+                lastPublishNanos = now;
+                publish(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested;
+        }
+
+        private boolean isFinished() {
+            return status == MiningJobStatus.COMPLETED
+                    || status == MiningJobStatus.FAILED
+                    || status == MiningJobStatus.CANCELLED;
+        }
+    }
+}
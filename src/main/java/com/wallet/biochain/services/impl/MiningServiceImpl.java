@@ -1,11 +1,17 @@
 package com.wallet.biochain.services.impl;
 
+import com.wallet.biochain.config.BlockchainConfig;
 import com.wallet.biochain.dto.MiningResultDTO;
+import com.wallet.biochain.dto.NonceSearchResultDTO;
 import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Blockchain;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.mappers.MiningMapper;
 import com.wallet.biochain.services.BlockService;
+import com.wallet.biochain.services.BlockchainService;
 import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.MiningEngine;
+import com.wallet.biochain.services.MiningSearchControl;
 import com.wallet.biochain.services.MiningService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +19,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -22,19 +29,36 @@ public class MiningServiceImpl implements MiningService {
     private final BlockService blockService;
     private final CryptographyService cryptographyService;
     private final MiningMapper miningMapper;
+    private final MiningEngine miningEngine;
+    private final BlockchainConfig blockchainConfig;
+    private final BlockchainService blockchainService;
 
     private static final int DEFAULT_DIFFICULTY = 4;
     private static final BigDecimal INITIAL_REWARD = new BigDecimal("50");
     private static final int HALVING_INTERVAL = 210000;
 
+    private volatile NonceSearchResultDTO lastSearchResult;
+
     @Override
     public MiningResultDTO mineBlock(List<Transaction> transactions, String minerAddress) {
-        return mineBlockWithDifficulty(transactions, minerAddress, DEFAULT_DIFFICULTY);
+        return mineBlockWithTarget(transactions, minerAddress, getCurrentTarget());
     }
 
     @Override
     public MiningResultDTO mineBlockWithDifficulty(List<Transaction> transactions, String minerAddress, Integer difficulty) {
         log.info("Starting mining with difficulty: {}", difficulty);
+        return mineBlockWithTarget(transactions, minerAddress, DifficultyTarget.bitsForDifficulty(difficulty));
+    }
+
+    @Override
+    public MiningResultDTO mineBlockWithTarget(List<Transaction> transactions, String minerAddress, Long bits) {
+        return mineBlockWithTarget(transactions, minerAddress, bits, MiningSearchControl.NONE);
+    }
+
+    @Override
+    public MiningResultDTO mineBlockWithTarget(List<Transaction> transactions, String minerAddress, Long bits,
+                                               MiningSearchControl control) {
+        log.info("Starting mining with target bits: 0x{}", Long.toHexString(bits));
         long startTime = System.currentTimeMillis();
 
         try {
@@ -53,15 +77,17 @@ public class MiningServiceImpl implements MiningService {
             Block block = blockService.createBlock(nextIndex, previousHash, transactions);
             // Ensure previous hash is set on the block (some implementations/tests assert this explicitly)
             block.setPreviousHash(previousHash);
-            block.setDifficulty(difficulty);
+            block.setDifficulty(DifficultyTarget.difficultyForBits(bits));
+            block.setBits(bits);
             block.setMinerAddress(minerAddress);
 
             // Mine (find valid nonce)
-            String proofOfWork = calculateProofOfWork(block, difficulty);
+            String proofOfWork = searchProofOfWork(block, bits, control);
             block.setHash(proofOfWork);
 
             // Save block
             Block minedBlock = blockService.addBlock(block);
+            linkToChain(minedBlock);
 
             long miningDuration = System.currentTimeMillis() - startTime;
             BigDecimal reward = calculateMiningReward(nextIndex);
@@ -78,24 +104,17 @@ public class MiningServiceImpl implements MiningService {
 
     @Override
     public String calculateProofOfWork(Block block, Integer difficulty) {
-        String target = getDifficultyTarget(difficulty);
-        String hash;
-        int nonce = 0;
-
-        log.debug("Mining with target: {}", target);
-
-        do {
-            nonce++;
-            block.setNonce(nonce);
-            hash = blockService.calculateBlockHash(block);
+        return calculateProofOfWorkForTarget(block, DifficultyTarget.bitsForDifficulty(difficulty));
+    }
 
-            if (nonce % 100000 == 0) {
-                log.debug("Tried {} nonces...", nonce);
-            }
-        } while (!hash.substring(0, difficulty).equals(target));
+    @Override
+    public String calculateProofOfWorkForTarget(Block block, Long bits) {
+        return searchProofOfWork(block, bits, MiningSearchControl.NONE);
+    }
 
-        log.info("Proof of work found! Nonce: {}, Hash: {}", nonce, hash);
-        return hash;
+    @Override
+    public Optional<NonceSearchResultDTO> getLastSearchResult() {
+        return Optional.ofNullable(lastSearchResult);
     }
 
     @Override
@@ -106,20 +125,39 @@ public class MiningServiceImpl implements MiningService {
 
     @Override
     public Integer getCurrentDifficulty() {
-        return DEFAULT_DIFFICULTY;
+        return currentChain()
+                .map(Blockchain::getDifficulty)
+                .orElse(DEFAULT_DIFFICULTY);
     }
 
     @Override
-    public Integer adjustDifficulty(Long averageMiningTime) {
-        final long TARGET_TIME = 600000; // 10 minutes in milliseconds
+    public Long getCurrentTarget() {
+        return currentChain()
+                .map(chain -> chain.getBits() != null
+                        ? chain.getBits()
+                        : DifficultyTarget.bitsForDifficulty(chain.getDifficulty()))
+                .orElse(DifficultyTarget.bitsForDifficulty(DEFAULT_DIFFICULTY));
+    }
 
-        if (averageMiningTime <= TARGET_TIME / 2) {
-            return DEFAULT_DIFFICULTY + 1;
-        } else if (averageMiningTime >= TARGET_TIME * 2) {
-            return Math.max(1, DEFAULT_DIFFICULTY - 1);
-        }
+    @Override
+    public Integer adjustDifficulty(Long averageMiningTime) {
+        BlockchainConfig.Mining mining = blockchainConfig.getMining();
+        long newBits = adjustTarget(getCurrentTarget(), averageMiningTime);
+        return Math.max(mining.getMinDifficulty(),
+                Math.min(mining.getMaxDifficulty(), DifficultyTarget.difficultyForBits(newBits)));
+    }
 
-        return DEFAULT_DIFFICULTY;
+    @Override
+    public Long adjustTarget(Long currentBits, Long averageMiningTime) {
+        BlockchainConfig.Mining mining = blockchainConfig.getMining();
+        long easiestBits = DifficultyTarget.bitsForDifficulty(mining.getMinDifficulty());
+        long hardestBits = DifficultyTarget.bitsForDifficulty(mining.getMaxDifficulty());
+
+        long newBits = DifficultyTarget.retarget(currentBits, averageMiningTime, mining.getTargetBlockTime(),
+                easiestBits, hardestBits);
+        log.debug("Retargeted bits 0x{} -> 0x{} (average block time {} ms)",
+                Long.toHexString(currentBits), Long.toHexString(newBits), averageMiningTime);
+        return newBits;
     }
 
     @Override
@@ -147,6 +185,51 @@ public class MiningServiceImpl implements MiningService {
         return hash.substring(0, difficulty).equals(target);
     }
 
+    @Override
+    public boolean hashMeetsTarget(String hash, Long bits) {
+        return DifficultyTarget.hashMeetsTarget(hash, bits);
+    }
+
+    private Optional<Blockchain> currentChain() {
+        try {
+            return blockchainService.getBlockchainByChainId(blockchainConfig.getChainId());
+        } catch (Exception e) {
+            log.warn("Could not load blockchain {}: {}", blockchainConfig.getChainId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Append a freshly mined block to the configured chain so its height and retarget window advance
+     */
+    private void linkToChain(Block minedBlock) {
+        String chainId = blockchainConfig.getChainId();
+        try {
+            Optional<Blockchain> blockchain = blockchainService.getBlockchainByChainId(chainId);
+            if (blockchain.isPresent() && minedBlock.getBlockIndex() == blockchain.get().getCurrentHeight() + 1) {
+                blockchainService.addBlockToChain(chainId, minedBlock);
+            }
+        } catch (Exception e) {
+            log.warn("Could not update blockchain height", e);
+        }
+    }
+
+    private String searchProofOfWork(Block block, Long bits, MiningSearchControl control) {
+        log.debug("Mining with {} engine, target bits: 0x{}", miningEngine.getType(), Long.toHexString(bits));
+
+        NonceSearchResultDTO result = miningEngine.search(block, bits, control);
+        lastSearchResult = result;
+
+        if (!result.found() && control.isCancelled()) {
+            throw new IllegalStateException("Mining cancelled for block " + block.getBlockIndex());
+        }
+        if (!result.found()) {
+            throw new IllegalStateException("No valid nonce found for block " + block.getBlockIndex());
+        }
+
+        return result.hash();
+    }
+
     private String getDifficultyTarget(Integer difficulty) {
         return "0".repeat(difficulty);
     }
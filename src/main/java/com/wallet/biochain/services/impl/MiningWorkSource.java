@@ -0,0 +1,123 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Hands out header spaces for a block so a nonce search never runs out of work.
+ * <p>
+ * Extra nonce 0 is the block exactly as assembled. Any other extra nonce is committed by a
+ * coinbase leaf, {@code SHA-256("coinbase:" + minerAddress + ":" + extraNonce)}, appended after the
+ * transactions, which gives a new merkle root; the timestamp also moves up to the current time.
+ * A {@link Cursor} visits extra nonces {@code first, first + step, ...}, so worker {@code w} of
+ * {@code n} taking cursor {@code (w, n)} mines a header space no other worker touches.
+ */
+public final class MiningWorkSource {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Block template;
+    private final List<String> transactionHashes;
+    private final List<byte[]> digestLeaves;
+
+    private MiningWorkSource(Block template) {
+        this.template = template;
+        this.transactionHashes = template.getTransactions() == null ? List.of() : template.getTransactions().stream()
+                .map(Transaction::getTransactionHash)
+                .toList();
+        this.digestLeaves = MerkleTree.parseLeaves(transactionHashes).orElse(null);
+    }
+
+    public static MiningWorkSource of(Block block) {
+        return new MiningWorkSource(block);
+    }
+
+    /**
+     * Cursor over extra nonces {@code first, first + step, ...}; not thread-safe, one per worker
+     */
+    public Cursor cursor(int first, int step) {
+        if (first < 0 || step <= 0) {
+            throw new IllegalArgumentException("Extra nonce cursor needs a non-negative start and positive step");
+        }
+        return new Cursor(first, step);
+    }
+
+    /**
+     * Leaf committing to the extra nonce of a block mined by {@code minerAddress}
+     */
+    public static String coinbaseLeaf(String minerAddress, int extraNonce) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(("coinbase:" + minerAddress + ":" + extraNonce).getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Merkle leaves of a block: its transaction hashes, plus the coinbase leaf when mined with an extra nonce
+     */
+    public static List<String> committedLeaves(List<String> transactionHashes, String minerAddress, Integer extraNonce) {
+        if (extraNonce == null || extraNonce == 0) {
+            return transactionHashes;
+        }
+        List<String> leaves = new ArrayList<>(transactionHashes.size() + 1);
+        leaves.addAll(transactionHashes);
+        leaves.add(coinbaseLeaf(minerAddress, extraNonce));
+        return leaves;
+    }
+
+    public final class Cursor {
+
+        private final int step;
+        private int extraNonce;
+        private MerkleTree tree;
+
+        private Cursor(int first, int step) {
+            this.extraNonce = first;
+            this.step = step;
+        }
+
+        /**
+         * The next unused header space
+         */
+        public MiningWorkUnit next() {
+            int current = extraNonce;
+            if (current < 0) {
+                throw new IllegalStateException("Extra nonce space exhausted for block " + template.getBlockIndex());
+            }
+            extraNonce += step;
+
+            if (current == 0) {
+                return new MiningWorkUnit(0, template.getTimestamp(), template.getMerkleRoot());
+            }
+            long now = System.currentTimeMillis();
+            long timestamp = template.getTimestamp() != null ? Math.max(template.getTimestamp(), now) : now;
+            return new MiningWorkUnit(current, timestamp, merkleRootFor(current));
+        }
+
+        private String merkleRootFor(int extraNonce) {
+            String leaf = coinbaseLeaf(template.getMinerAddress(), extraNonce);
+            if (digestLeaves == null) {
+                return MerkleTree.stringRoot(committedLeaves(transactionHashes, template.getMinerAddress(), extraNonce));
+            }
+
+            // Only the coinbase leaf changes between rolls: rehash its path instead of the whole tree
+            if (tree == null) {
+                tree = MerkleTree.of(digestLeaves);
+                tree.append(HEX.parseHex(leaf));
+            } else {
+                tree.update(tree.size() - 1, HEX.parseHex(leaf));
+            }
+            return tree.rootHex();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.entities.Block;
+
+/**
+ * One header space of a block being mined: the timestamp, extra nonce and merkle root that
+ * together with the block's index and previous hash fix everything but the nonce.
+ */
+public record MiningWorkUnit(int extraNonce, Long timestamp, String merkleRoot) {
+
+    /**
+     * Nonces in a full work unit: every 32-bit value
+     */
+    public static final long NONCE_SPACE = 1L << 32;
+
+    public BlockHeader header(Block template) {
+        return new BlockHeader(template.getBlockIndex(), template.getPreviousHash(), timestamp, merkleRoot);
+    }
+
+    /**
+     * Write this header space and the winning nonce to the block
+     */
+    public void applyTo(Block block, int nonce) {
+        block.setTimestamp(timestamp);
+        block.setMerkleRoot(merkleRoot);
+        block.setExtraNonce(extraNonce);
+        block.setNonce(nonce);
+    }
+
+    /**
+     * The {@code index}-th nonce tried in a unit, for {@code index} from 1: 1, 2, ... up to
+     * {@link Integer#MAX_VALUE}, then the negative values and finally 0
+     */
+    public static int nonceAt(long index) {
+        return (int) index;
+    }
+}
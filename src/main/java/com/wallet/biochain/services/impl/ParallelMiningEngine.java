@@ -0,0 +1,167 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.dto.NonceSearchResultDTO;
+import com.wallet.biochain.dto.WorkerHashRateDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.enums.MiningEngineType;
+import com.wallet.biochain.services.MiningEngine;
+import com.wallet.biochain.services.MiningSearchControl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nonce search split across a fixed worker pool.
+ * Worker {@code w} of {@code n} mines its own header spaces, extra nonces {@code w, w + n, ...}
+ * from {@link MiningWorkSource}, each over the whole nonce range. Workers never overlap and need
+ * no coordination beyond the first solution stopping all of them.
+ */
+@Slf4j
+public class ParallelMiningEngine implements MiningEngine {
+
+    private final int workerCount;
+    private final long progressInterval;
+    private final long noncesPerWorkUnit;
+    private final ExecutorService executor;
+
+    public ParallelMiningEngine(int workerCount, long progressInterval) {
+        this(workerCount, progressInterval, MiningWorkUnit.NONCE_SPACE);
+    }
+
+    public ParallelMiningEngine(int workerCount, long progressInterval, long noncesPerWorkUnit) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be greater than 0");
+        }
+        this.workerCount = workerCount;
+        this.progressInterval = Math.max(1, progressInterval);
+        this.noncesPerWorkUnit = Math.max(1, Math.min(MiningWorkUnit.NONCE_SPACE, noncesPerWorkUnit));
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "miner-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Parallel mining engine started with {} workers", workerCount);
+    }
+
+    @Override
+    public MiningEngineType getType() {
+        return MiningEngineType.PARALLEL;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    @Override
+    public NonceSearchResultDTO search(Block block, Long bits, MiningSearchControl control) {
+        byte[] target = DifficultyTarget.targetBytes(bits);
+        long startTime = System.nanoTime();
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicReference<Solution> solution = new AtomicReference<>();
+        LongAdder progress = new LongAdder();
+        MiningWorkSource work = MiningWorkSource.of(block);
+        control.onStart(block);
+
+        List<Future<WorkerHashRateDTO>> futures = new ArrayList<>(workerCount);
+        for (int workerId = 0; workerId < workerCount; workerId++) {
+            final int id = workerId;
+            MiningWorkSource.Cursor cursor = work.cursor(workerId, workerCount);
+            futures.add(executor.submit(() -> runWorker(id, block, cursor, target, stop, solution, progress, control, startTime)));
+        }
+
+        List<WorkerHashRateDTO> workers = new ArrayList<>(workerCount);
+        try {
+            for (Future<WorkerHashRateDTO> future : futures) {
+                workers.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            stop.set(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Mining interrupted", e);
+        } catch (ExecutionException e) {
+            stop.set(true);
+            throw new IllegalStateException("Mining worker failed", e.getCause());
+        }
+
+        Solution found = solution.get();
+        if (found == null && control.isCancelled()) {
+            log.info("Nonce search for block {} cancelled after {} hashes", block.getBlockIndex(), progress.sum());
+            return MiningEngineStats.result(false, null, null, workers, startTime);
+        }
+        if (found == null) {
+            log.warn("Nonce search for block {} stopped without a solution", block.getBlockIndex());
+            return MiningEngineStats.result(false, null, null, workers, startTime);
+        }
+
+        found.unit().applyTo(block, found.nonce());
+        NonceSearchResultDTO result = MiningEngineStats.result(true, found.nonce(), found.hash(), workers, startTime);
+        log.info("Proof of work found by worker {}! Nonce: {}, Extra nonce: {}, Hash: {}, {} H/s across {} workers",
+                found.workerId(), found.nonce(), found.unit().extraNonce(), found.hash(),
+                String.format("%.0f", result.hashesPerSecond()), workerCount);
+        for (WorkerHashRateDTO worker : workers) {
+            log.debug("Worker {}: {} hashes, {} H/s", worker.workerId(), worker.hashes(),
+                    String.format("%.0f", worker.hashesPerSecond()));
+        }
+        return result;
+    }
+
+    @Override
+    public void shutdown() {
+        log.info("Shutting down parallel mining engine");
+        executor.shutdownNow();
+    }
+
+    private WorkerHashRateDTO runWorker(int workerId, Block template, MiningWorkSource.Cursor work, byte[] target,
+                                        AtomicBoolean stop, AtomicReference<Solution> solution,
+                                        LongAdder progress, MiningSearchControl control, long searchStart) {
+        byte[] digest = new byte[BlockHeader.DIGEST_LENGTH];
+        long startTime = System.nanoTime();
+        long hashes = 0;
+
+        while (!stop.get()) {
+            MiningWorkUnit unit = work.next();
+            BlockHeader header = unit.header(template);
+
+            for (long index = 1; index <= noncesPerWorkUnit && !stop.get(); index++) {
+                int nonce = MiningWorkUnit.nonceAt(index);
+                header.hash(nonce, digest);
+                hashes++;
+
+                if (DifficultyTarget.meetsTarget(digest, target)) {
+                    String hash = BlockHeader.toHex(digest);
+                    if (solution.compareAndSet(null, new Solution(workerId, unit, nonce, hash))) {
+                        stop.set(true);
+                    }
+                    break;
+                }
+
+                if (hashes % progressInterval == 0) {
+                    log.debug("Worker {} tried {} nonces...", workerId, hashes);
+                    progress.add(progressInterval);
+                    if (workerId == 0) {
+                        control.onProgress(progress.sum(), System.nanoTime() - searchStart);
+                    }
+                    if (control.isCancelled()) {
+                        stop.set(true);
+                        break;
+                    }
+                }
+            }
+        }
+
+        return MiningEngineStats.worker(workerId, hashes, startTime);
+    }
+
+    private record Solution(int workerId, MiningWorkUnit unit, int nonce, String hash) {}
+}
@@ -0,0 +1,456 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.enums.TransactionStatus;
+import com.wallet.biochain.repositories.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pending totals per address, kept in memory so balance and double-spend checks do not scan an
+ * address's transaction history.
+ * <p>
+ * Every PENDING transaction is tracked by hash, which makes adding, dropping and confirming
+ * idempotent; each address keeps the amount it has pending out (amount plus fee), the amount
+ * pending in, how many transactions it has pending and the highest nonce it has had confirmed.
+ * At startup the ledger is loaded from the last {@link MempoolSnapshot} plus the rows changed since
+ * it was written, or rebuilt from the database when there is no snapshot.
+ * <p>
+ * Nonces continue after an address's highest confirmed nonce, and each pending transaction with a
+ * nonce holds its sender's slot for that nonce. Replacing the holder of a slot happens under the
+ * slot's lock, so the sender's pending totals never count both transactions or neither.
+ * <p>
+ * The ledger is the one record of what is pending in memory: a {@link Listener}, such as the block
+ * template, is told of every transaction that starts or stops being pending instead of keeping
+ * its own account.
+ */
+@Slf4j
+@Component
+public class PendingLedger {
+
+    /**
+     * Told, after the ledger has changed, of each transaction that starts or stops being pending and
+     * of each rise in a sender's highest confirmed nonce
+     */
+    public interface Listener {
+        default void added(Transaction transaction) {
+        }
+
+        default void removed(String transactionHash) {
+        }
+
+        default void confirmed(String sender, long nonce) {
+        }
+    }
+
+    /**
+     * Confirmed nonce of an address that has confirmed nothing yet
+     */
+    public static final long NO_NONCE = -1;
+
+    private final TransactionRepository transactionRepository;
+    private final BlockchainConfig blockchainConfig;
+    private final MempoolSnapshot snapshot;
+
+    private final Map<String, PendingEntry> pending = new ConcurrentHashMap<>();
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    // "sender:nonce" -> hash of the pending transaction holding that slot
+    private final Map<String, String> slots = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public PendingLedger(TransactionRepository transactionRepository, BlockchainConfig blockchainConfig,
+                         MempoolSnapshot snapshot) {
+        this.transactionRepository = transactionRepository;
+        this.blockchainConfig = blockchainConfig;
+        this.snapshot = snapshot;
+    }
+
+    @PostConstruct
+    public void load() {
+        Optional<MempoolSnapshot.Image> image = snapshot.bootImage();
+        if (image.isPresent()) {
+            restore(image.get());
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reload the ledger from a snapshot, then apply the rows changed since it was written
+     */
+    public void restore(MempoolSnapshot.Image image) {
+        reset();
+        image.confirmedNonces().forEach((address, nonce) -> {
+            accounts.put(address, new Account(BigDecimal.ZERO, BigDecimal.ZERO, 0, nonce));
+            notifyConfirmed(address, nonce);
+        });
+        image.pools().forEach(pool -> pool.transactions().forEach(entry -> add(entry.transaction())));
+        image.unpooled().forEach(this::add);
+
+        // Rows that stopped being pending go first, so a replacement finds its nonce slot free
+        List<Transaction> changed = transactionRepository.findChangedSince(image.changedSince());
+        for (Transaction row : changed) {
+            if (row.getStatus() == TransactionStatus.CONFIRMED) {
+                confirm(row);
+            } else if (row.getStatus() != TransactionStatus.PENDING) {
+                drop(row.getTransactionHash());
+            }
+        }
+        changed.stream().filter(row -> row.getStatus() == TransactionStatus.PENDING).forEach(this::add);
+
+        log.info("Pending ledger restored from snapshot with {} transactions, {} rows read from the database",
+                pending.size(), changed.size());
+    }
+
+    /**
+     * Reload the ledger from the PENDING transactions and highest confirmed nonces in the database
+     */
+    public void rebuild() {
+        reset();
+
+        for (Object[] row : transactionRepository.findMaxConfirmedNonceBySender()) {
+            long nonce = ((Number) row[1]).longValue();
+            accounts.put((String) row[0], new Account(BigDecimal.ZERO, BigDecimal.ZERO, 0, nonce));
+            notifyConfirmed((String) row[0], nonce);
+        }
+        List<Transaction> transactions = transactionRepository.findByStatus(TransactionStatus.PENDING);
+        transactions.forEach(this::add);
+
+        log.info("Pending ledger rebuilt with {} transactions across {} addresses", pending.size(), accounts.size());
+    }
+
+    /**
+     * Start telling {@code listener} about pending changes, first replaying every sender's highest
+     * confirmed nonce and every transaction pending now. A change racing the replay may reach the listener before the replayed entry, so a
+     * listener should check {@link #isPending} after applying an addition.
+     */
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+        accounts.forEach((address, account) -> {
+            if (account.confirmedNonce() > NO_NONCE) {
+                listener.confirmed(address, account.confirmedNonce());
+            }
+        });
+        pending.values().forEach(entry -> listener.added(entry.transaction()));
+    }
+
+    /**
+     * Track a transaction that became pending; returns false if it was already tracked. It takes its
+     * nonce slot only if no other pending transaction holds it.
+     */
+    public boolean add(Transaction transaction) {
+        boolean added = track(transaction);
+        String slot = slotOf(transaction);
+        if (added && slot != null) {
+            String hash = transaction.getTransactionHash();
+            slots.compute(slot, (key, holder) -> holder != null && pending.containsKey(holder) ? holder : hash);
+        }
+        if (added) {
+            notifyAdded(transaction.getTransactionHash());
+        }
+        return added;
+    }
+
+    /**
+     * Throw {@link IllegalStateException} unless {@code transaction} may take its sender's nonce slot
+     * now: the slot must be held by {@code expectedHolder} (null for a free slot), and the new fee
+     * must beat the holder's by {@code blockchain.mempool.replacement-fee-bump-percent}. Does not
+     * change the ledger; the caller follows up with {@link #replace} once the transaction is stored.
+     */
+    public void checkClaim(Transaction transaction, String expectedHolder) {
+        String slot = slotOf(transaction);
+        if (slot == null) {
+            return;
+        }
+
+        String holder = slots.get(slot);
+        PendingEntry current = holder != null && !holder.equals(transaction.getTransactionHash()) ? pending.get(holder) : null;
+        String currentHash = current != null ? holder : null;
+        if (!Objects.equals(currentHash, expectedHolder)) {
+            throw new IllegalStateException("Nonce " + transaction.getNonce() + " of " + transaction.getSenderAddress()
+                    + " was taken by another transaction");
+        }
+        int feeBump = blockchainConfig.getMempool().getReplacementFeeBumpPercent();
+        if (current != null && !Mempool.outbids(transaction.getFee(), current.fee(), feeBump)) {
+            throw new IllegalStateException("Fee " + transaction.getFee() + " does not replace pending transaction "
+                    + holder + " paying " + current.fee() + " at nonce " + transaction.getNonce());
+        }
+    }
+
+    /**
+     * Track a transaction accepted as the replacement of {@code replaced} (null if it replaces
+     * nothing) and drop {@code replaced}, in one step under the nonce slot's lock. The transaction
+     * takes the slot unless another pending transaction has taken it since the replacement was
+     * checked; then it is tracked without it, as a rebuild would see it. Returns {@code replaced}
+     * if it was still pending.
+     */
+    public Optional<String> replace(Transaction transaction, String replaced) {
+        String hash = transaction.getTransactionHash();
+        String[] dropped = new String[1];
+        boolean[] added = new boolean[1];
+        Runnable swap = () -> {
+            PendingEntry released = replaced != null && !replaced.equals(hash) ? release(replaced) : null;
+            if (released != null) {
+                dropped[0] = replaced;
+            }
+            added[0] = track(transaction);
+        };
+
+        String slot = slotOf(transaction);
+        if (slot == null) {
+            swap.run();
+        } else {
+            slots.compute(slot, (key, holder) -> {
+                swap.run();
+                return holder == null || holder.equals(replaced) || !pending.containsKey(holder) ? hash : holder;
+            });
+        }
+        if (dropped[0] != null) {
+            notifyRemoved(dropped[0]);
+        }
+        if (added[0]) {
+            notifyAdded(hash);
+        }
+        return Optional.ofNullable(dropped[0]);
+    }
+
+    /**
+     * Stop tracking a pending transaction that will not be confirmed; returns false if it was not tracked
+     */
+    public boolean drop(String transactionHash) {
+        boolean dropped = free(release(transactionHash), transactionHash);
+        if (dropped) {
+            notifyRemoved(transactionHash);
+        }
+        return dropped;
+    }
+
+    /**
+     * Record a transaction as confirmed, releasing its pending amounts and raising its sender's highest
+     * confirmed nonce to the transaction's; confirming it again changes nothing
+     */
+    public void confirm(Transaction transaction) {
+        if (free(release(transaction.getTransactionHash()), transaction.getTransactionHash())) {
+            notifyRemoved(transaction.getTransactionHash());
+        }
+        if (transaction.getSenderAddress() != null && transaction.getNonce() != null) {
+            accounts.merge(transaction.getSenderAddress(),
+                    new Account(BigDecimal.ZERO, BigDecimal.ZERO, 0, transaction.getNonce()), Account::plus);
+            notifyConfirmed(transaction.getSenderAddress(), transaction.getNonce());
+        }
+    }
+
+    public boolean isPending(String transactionHash) {
+        return pending.containsKey(transactionHash);
+    }
+
+    /**
+     * Amount plus fee of the transactions {@code address} has pending out
+     */
+    public BigDecimal pendingOutflow(String address) {
+        return account(address).outflow();
+    }
+
+    /**
+     * Amount of the transactions pending in to {@code address}
+     */
+    public BigDecimal pendingInflow(String address) {
+        return account(address).inflow();
+    }
+
+    public int pendingCount(String address) {
+        return account(address).pendingCount();
+    }
+
+    /**
+     * Highest nonce of {@code address}'s confirmed transactions, or {@link #NO_NONCE} if it has none
+     */
+    public long confirmedNonce(String address) {
+        return account(address).confirmedNonce();
+    }
+
+    /**
+     * Lowest nonce {@code address} has neither confirmed nor pending
+     */
+    public long nextNonce(String address) {
+        return nextNonce(address, 0);
+    }
+
+    /**
+     * Lowest nonce from {@code from} on that {@code address} has neither confirmed nor pending
+     */
+    public long nextNonce(String address, long from) {
+        long nonce = Math.max(from, confirmedNonce(address) + 1);
+        while (pendingAt(address, nonce).isPresent()) {
+            nonce++;
+        }
+        return nonce;
+    }
+
+    /**
+     * The pending transaction holding {@code address}'s slot for {@code nonce}, if any
+     */
+    public Optional<Pending> pendingAt(String address, long nonce) {
+        String hash = address != null ? slots.get(address + ":" + nonce) : null;
+        PendingEntry entry = hash != null ? pending.get(hash) : null;
+        return entry == null
+                ? Optional.empty()
+                : Optional.of(new Pending(hash, entry.nonce(), entry.outflow(), entry.fee()));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Detached copies of the transactions pending now
+     */
+    public List<Transaction> pendingTransactions() {
+        return pending.values().stream().map(PendingEntry::transaction).toList();
+    }
+
+    /**
+     * Highest confirmed nonce of every address that has one
+     */
+    public Map<String, Long> confirmedNonces() {
+        Map<String, Long> nonces = new HashMap<>();
+        accounts.forEach((address, account) -> {
+            if (account.confirmedNonce() > NO_NONCE) {
+                nonces.put(address, account.confirmedNonce());
+            }
+        });
+        return nonces;
+    }
+
+    private void reset() {
+        List<String> previous = List.copyOf(pending.keySet());
+        pending.clear();
+        accounts.clear();
+        slots.clear();
+        previous.forEach(this::notifyRemoved);
+    }
+
+    private void notifyAdded(String transactionHash) {
+        PendingEntry entry = pending.get(transactionHash);
+        if (entry != null) {
+            listeners.forEach(listener -> listener.added(entry.transaction()));
+        }
+    }
+
+    private void notifyRemoved(String transactionHash) {
+        listeners.forEach(listener -> listener.removed(transactionHash));
+    }
+
+    private void notifyConfirmed(String sender, long nonce) {
+        listeners.forEach(listener -> listener.confirmed(sender, nonce));
+    }
+
+    private Account account(String address) {
+        return address == null ? Account.EMPTY : accounts.getOrDefault(address, Account.EMPTY);
+    }
+
+    private boolean track(Transaction transaction) {
+        boolean[] added = new boolean[1];
+        pending.computeIfAbsent(transaction.getTransactionHash(), hash -> {
+            PendingEntry entry = PendingEntry.of(transaction);
+            apply(entry, 1);
+            added[0] = true;
+            return entry;
+        });
+        return added[0];
+    }
+
+    /**
+     * Free the nonce slot a released entry held, unless another transaction has taken it since
+     */
+    private boolean free(PendingEntry released, String transactionHash) {
+        if (released == null) {
+            return false;
+        }
+        if (released.sender() != null && released.nonce() != null) {
+            slots.remove(released.sender() + ":" + released.nonce(), transactionHash);
+        }
+        return true;
+    }
+
+    private static String slotOf(Transaction transaction) {
+        return transaction.getSenderAddress() != null && transaction.getNonce() != null
+                ? transaction.getSenderAddress() + ":" + transaction.getNonce()
+                : null;
+    }
+
+    private PendingEntry release(String transactionHash) {
+        PendingEntry[] released = new PendingEntry[1];
+        pending.computeIfPresent(transactionHash, (hash, entry) -> {
+            apply(entry, -1);
+            released[0] = entry;
+            return null;
+        });
+        return released[0];
+    }
+
+    private void apply(PendingEntry entry, int sign) {
+        BigDecimal outflow = sign > 0 ? entry.outflow() : entry.outflow().negate();
+        BigDecimal inflow = sign > 0 ? entry.inflow() : entry.inflow().negate();
+        if (entry.sender() != null) {
+            accounts.merge(entry.sender(), new Account(outflow, BigDecimal.ZERO, sign, NO_NONCE), Account::plus);
+        }
+        if (entry.recipient() != null) {
+            accounts.merge(entry.recipient(), new Account(BigDecimal.ZERO, inflow, 0, NO_NONCE), Account::plus);
+        }
+    }
+
+    /**
+     * A pending transaction holding a nonce slot; {@code outflow} is its amount plus fee
+     */
+    public record Pending(String transactionHash, Long nonce, BigDecimal outflow, BigDecimal fee) {}
+
+    /**
+     * Detached copy carrying what block assembly needs, so no persistence context is held on to
+     */
+    public static Transaction detached(Transaction transaction) {
+        Transaction copy = new Transaction();
+        copy.setTransactionHash(transaction.getTransactionHash());
+        copy.setSenderAddress(transaction.getSenderAddress());
+        copy.setRecipientAddress(transaction.getRecipientAddress());
+        copy.setAmount(transaction.getAmount());
+        copy.setFee(transaction.getFee());
+        copy.setTimestamp(transaction.getTimestamp());
+        copy.setSignature(transaction.getSignature());
+        copy.setMemo(transaction.getMemo());
+        copy.setNonce(transaction.getNonce());
+        return copy;
+    }
+
+    private record PendingEntry(Transaction transaction, String sender, String recipient, Long nonce,
+                                BigDecimal outflow, BigDecimal inflow, BigDecimal fee) {
+
+        private static PendingEntry of(Transaction transaction) {
+            BigDecimal amount = transaction.getAmount() != null ? transaction.getAmount() : BigDecimal.ZERO;
+            BigDecimal fee = transaction.getFee() != null ? transaction.getFee() : BigDecimal.ZERO;
+            return new PendingEntry(detached(transaction), transaction.getSenderAddress(),
+                    transaction.getRecipientAddress(), transaction.getNonce(), amount.add(fee), amount, fee);
+        }
+    }
+
+    private record Account(BigDecimal outflow, BigDecimal inflow, int pendingCount, long confirmedNonce) {
+
+        private static final Account EMPTY = new Account(BigDecimal.ZERO, BigDecimal.ZERO, 0, NO_NONCE);
+
+        private Account plus(Account other) {
+            return new Account(outflow.add(other.outflow), inflow.add(other.inflow),
+                    pendingCount + other.pendingCount, Math.max(confirmedNonce, other.confirmedNonce));
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.wallet.biochain.services.impl;
 
+import com.wallet.biochain.dto.NonceSearchResultDTO;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.services.BlockService;
+import com.wallet.biochain.services.MiningEngine;
 import com.wallet.biochain.services.PoWConsensusService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,27 +15,24 @@ import org.springframework.stereotype.Service;
 public class PoWConsensusServiceImpl implements PoWConsensusService {
 
     private final BlockService blockService;
+    private final MiningEngine miningEngine;
 
     @Override
     public Block mineBlock(Block block, Integer difficulty) {
         log.info("Mining block {} with difficulty {}", block.getBlockIndex(), difficulty);
 
-        String target = getDifficultyTarget(difficulty);
-        String hash;
-        int nonce = 0;
-
-        do {
-            nonce++;
-            block.setNonce(nonce);
-            hash = calculateHash(block);
+        long bits = DifficultyTarget.bitsForDifficulty(difficulty);
+        block.setDifficulty(difficulty);
+        block.setBits(bits);
 
-            if (nonce % 100000 == 0) {
-                log.debug("Tried {} nonces...", nonce);
-            }
-        } while (!meetsTarget(hash, difficulty));
+        NonceSearchResultDTO result = miningEngine.search(block, bits);
+        if (!result.found()) {
+            throw new IllegalStateException("No valid nonce found for block " + block.getBlockIndex());
+        }
 
+        String hash = result.hash();
         block.setHash(hash);
-        log.info("Block mined! Nonce: {}, Hash: {}", nonce, hash);
+        log.info("Block mined! Nonce: {}, Hash: {}, {} hashes", block.getNonce(), hash, result.totalHashes());
         return block;
     }
 
@@ -43,6 +42,12 @@ public class PoWConsensusServiceImpl implements PoWConsensusService {
         return meetsTarget(hash, difficulty) && hash.equals(block.getHash());
     }
 
+    @Override
+    public boolean validateProofOfWorkTarget(Block block, Long bits) {
+        String hash = calculateHash(block);
+        return meetsCompactTarget(hash, bits) && hash.equals(block.getHash());
+    }
+
     @Override
     public String calculateHash(Block block) {
         return blockService.calculateBlockHash(block);
@@ -54,6 +59,11 @@ public class PoWConsensusServiceImpl implements PoWConsensusService {
         return hash.substring(0, difficulty).equals(target);
     }
 
+    @Override
+    public boolean meetsCompactTarget(String hash, Long bits) {
+        return DifficultyTarget.hashMeetsTarget(hash, bits);
+    }
+
     @Override
     public String getDifficultyTarget(Integer difficulty) {
         return "0".repeat(Math.max(0, difficulty));
@@ -0,0 +1,168 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.PoolDeltaDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Publishes pool changes as one {@link PoolDeltaDTO} per pool per window on
+ * {@code /topic/pools/updated}, instead of one status message per change.
+ * <p>
+ * The first change to a pool opens a window of {@code blockchain.mempool.event-window-ms}; changes
+ * until it closes fold into the same delta, and a transaction added and removed within one window
+ * appears in neither list. Changes made inside a database transaction are only recorded once it
+ * commits. Messages are sent from a single background thread, so deltas for a pool arrive in order.
+ */
+@Slf4j
+@Component
+public class PoolEventCoalescer {
+
+    private static final String TOPIC = "/topic/pools/updated";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long windowMillis;
+
+    private final Map<String, Delta> deltas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PoolEventCoalescer(SimpMessagingTemplate messagingTemplate, BlockchainConfig blockchainConfig) {
+        this.messagingTemplate = messagingTemplate;
+        this.windowMillis = Math.max(0, blockchainConfig.getMempool().getEventWindowMs());
+    }
+
+    public void added(String poolName, String transactionHash, int poolSize) {
+        record(poolName, delta -> delta.add(transactionHash, poolSize));
+    }
+
+    public void removed(String poolName, Collection<String> transactionHashes, int poolSize) {
+        List<String> hashes = List.copyOf(transactionHashes);
+        record(poolName, delta -> delta.remove(hashes, poolSize));
+    }
+
+    public void cleared(String poolName, int poolSize) {
+        record(poolName, delta -> delta.clear(poolSize));
+    }
+
+    /**
+     * Publish every open delta now on the calling thread; returns the number of messages sent
+     */
+    public int flush() {
+        int published = 0;
+        for (String poolName : List.copyOf(deltas.keySet())) {
+            if (publish(poolName)) {
+                published++;
+            }
+        }
+        return published;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        flush();
+    }
+
+    private void record(String poolName, Consumer<Delta> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(poolName, change);
+                }
+            });
+        } else {
+            apply(poolName, change);
+        }
+    }
+
+    private void apply(String poolName, Consumer<Delta> change) {
+        boolean[] opened = new boolean[1];
+        deltas.compute(poolName, (name, delta) -> {
+            if (delta == null) {
+                delta = new Delta();
+                opened[0] = true;
+            }
+            change.accept(delta);
+            return delta;
+        });
+
+        if (opened[0] && !executor.isShutdown()) {
+            executor.schedule(() -> publish(poolName), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean publish(String poolName) {
+        // Once removed, the delta is no longer reachable by writers, so it can be read without locking
+        Delta delta = deltas.remove(poolName);
+        if (delta == null) {
+            return false;
+        }
+        try {
+            messagingTemplate.convertAndSend(TOPIC, delta.toDTO(poolName));
+        } catch (Exception e) {
+            log.error("Failed to broadcast pool update for {}", poolName, e);
+        }
+        return true;
+    }
+
+    /**
+     * Changes to one pool within the current window; only touched under the map's lock for its pool
+     */
+    private static final class Delta {
+
+        private final Set<String> added = new LinkedHashSet<>();
+        private final Set<String> removed = new LinkedHashSet<>();
+        private boolean cleared;
+        private int size;
+
+        private void add(String hash, int poolSize) {
+            // Removed and re-added within the window: subscribers still have it, unless the pool was cleared
+            if (!removed.remove(hash) || cleared) {
+                added.add(hash);
+            }
+            size = poolSize;
+        }
+
+        private void remove(List<String> hashes, int poolSize) {
+            for (String hash : hashes) {
+                // Added and removed within the window: subscribers never saw it
+                if (!added.remove(hash)) {
+                    removed.add(hash);
+                }
+            }
+            size = poolSize;
+        }
+
+        private void clear(int poolSize) {
+            added.clear();
+            removed.clear();
+            cleared = true;
+            size = poolSize;
+        }
+
+        private PoolDeltaDTO toDTO(String poolName) {
+            return new PoolDeltaDTO(poolName, new ArrayList<>(added), new ArrayList<>(removed), cleared, size);
+        }
+    }
+}
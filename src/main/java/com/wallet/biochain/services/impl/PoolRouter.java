@@ -0,0 +1,187 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.TransactionPoolStatusDTO;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.TransactionPoolService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Spreads transactions over a fixed set of pool shards by sender address, so callers do not pick
+ * a pool themselves.
+ * <p>
+ * Senders are placed on a consistent-hash ring with {@code blockchain.mempool.shard-virtual-nodes}
+ * points per shard, so a sender always lands on the same shard and its nonce queue stays in one
+ * pool. Each shard is a named {@link com.wallet.biochain.entities.TransactionPool}; its
+ * {@link Mempool} takes concurrent writes without a pool-wide lock, so callers add to the shard
+ * directly. The highest fee-rate transactions across shards are a K-way merge of each shard's own
+ * top list.
+ * <p>
+ * The shard count is fixed by {@code blockchain.mempool.shard-count}: changing it would move
+ * senders to other shards and orphan the pools they are in, so startup fails when the configured
+ * count does not match the {@code shard-N} pools that already exist.
+ */
+@Slf4j
+@Component
+public class PoolRouter {
+
+    private static final String SHARD_PREFIX = "shard-";
+
+    // Same order as a pool's fee-rate index: higher fee rate first, then older, then by hash
+    private static final Comparator<Head> FEE_RATE_ORDER = Comparator
+            .comparingLong(Head::feeRate).reversed()
+            .thenComparingLong(Head::timestamp)
+            .thenComparing(Head::hash);
+
+    private final TransactionPoolService poolService;
+    private final int shardMaxSize;
+    private final List<Shard> shards = new ArrayList<>();
+    private final NavigableMap<Long, Shard> ring = new TreeMap<>();
+
+    public PoolRouter(TransactionPoolService poolService, BlockchainConfig blockchainConfig) {
+        this.poolService = poolService;
+
+        BlockchainConfig.Mempool config = blockchainConfig.getMempool();
+        int shardCount = config.getShardCount();
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("blockchain.mempool.shard-count must be greater than 0");
+        }
+        int virtualNodes = Math.max(1, config.getShardVirtualNodes());
+        this.shardMaxSize = config.getShardMaxSize();
+
+        for (int i = 0; i < shardCount; i++) {
+            String name = SHARD_PREFIX + i;
+            Shard shard = new Shard(name);
+            shards.add(shard);
+            for (int point = 0; point < virtualNodes; point++) {
+                ring.put(hash(name + "#" + point), shard);
+            }
+        }
+    }
+
+    /**
+     * Create the shard pools on first start, or check that the existing ones match the shard count
+     */
+    @PostConstruct
+    public void createShardPools() {
+        List<Shard> missing = shards.stream()
+                .filter(shard -> poolService.getPoolByName(shard.name()).isEmpty())
+                .toList();
+        boolean extra = poolService.getPoolByName(SHARD_PREFIX + shards.size()).isPresent();
+        if (extra || (!missing.isEmpty() && missing.size() < shards.size())) {
+            throw new IllegalStateException("Shard count " + shards.size()
+                    + " does not match the existing shard pools; restore the shard count they were created with");
+        }
+
+        missing.forEach(shard -> poolService.createPool(shard.name(), shardMaxSize));
+        log.info("Routing transactions across {} pool shards", shards.size());
+    }
+
+    /**
+     * Name of the shard pool transactions from {@code senderAddress} go to
+     */
+    public String shardFor(String senderAddress) {
+        return shardOf(senderAddress).name();
+    }
+
+    public List<String> getShardNames() {
+        return shards.stream().map(Shard::name).toList();
+    }
+
+    /**
+     * Add a transaction to its sender's shard
+     */
+    public void addTransaction(Transaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction cannot be null");
+        }
+        poolService.addTransaction(shardFor(transaction.getSenderAddress()), transaction);
+    }
+
+    /**
+     * Add a stored pending transaction to the shard of {@code senderAddress}
+     */
+    public void addTransaction(String senderAddress, String transactionHash) {
+        poolService.addTransactionByHash(shardFor(senderAddress), transactionHash);
+    }
+
+    public void removeTransaction(String senderAddress, String transactionHash) {
+        poolService.removeTransaction(shardFor(senderAddress), transactionHash);
+    }
+
+    /**
+     * The {@code limit} highest fee-rate transactions across every shard
+     */
+    public List<Transaction> getTopTransactionsByFee(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+
+        PriorityQueue<Head> heads = new PriorityQueue<>(shards.size(), FEE_RATE_ORDER);
+        for (Shard shard : shards) {
+            Head head = Head.first(poolService.getTopTransactionsByFee(shard.name(), limit).iterator());
+            if (head != null) {
+                heads.add(head);
+            }
+        }
+
+        List<Transaction> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            merged.add(head.transaction());
+            Head next = Head.first(head.rest());
+            if (next != null) {
+                heads.add(next);
+            }
+        }
+        return merged;
+    }
+
+    public List<TransactionPoolStatusDTO> getShardStatuses() {
+        return shards.stream().map(shard -> poolService.getPoolStatus(shard.name())).toList();
+    }
+
+    private Shard shardOf(String senderAddress) {
+        if (senderAddress == null || senderAddress.isEmpty()) {
+            throw new IllegalArgumentException("Sender address is required");
+        }
+        Map.Entry<Long, Shard> point = ring.ceilingEntry(hash(senderAddress));
+        return (point != null ? point : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String key) {
+        return MurmurHash3.hash128x64(key.getBytes(StandardCharsets.UTF_8))[0];
+    }
+
+    private record Shard(String name) {}
+
+    /**
+     * Current transaction of one shard's top list during the merge, and the rest of that list
+     */
+    private record Head(Transaction transaction, long feeRate, long timestamp, String hash,
+                        Iterator<Transaction> rest) {
+
+        private static Head first(Iterator<Transaction> transactions) {
+            if (!transactions.hasNext()) {
+                return null;
+            }
+            Transaction transaction = transactions.next();
+            return new Head(transaction, FeeRateIndex.feeRate(transaction),
+                    transaction.getTimestamp() != null ? transaction.getTimestamp() : 0L,
+                    transaction.getTransactionHash(), transactions);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Wallet;
+import com.wallet.biochain.repositories.WalletRepository;
+import com.wallet.biochain.services.CryptographyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decoded wallet public keys by address, so hot senders do not pay a wallet lookup and an X.509
+ * parse on every signature check.
+ * <p>
+ * Holds at most {@code blockchain.validation.public-key-cache-size} keys and drops the least
+ * recently used one when full. An entry remembers the encoded key it was decoded from and is only
+ * reused for that same key. Wallet import and deactivation invalidate the address. Lookups are
+ * counted in {@code biochain.public-key-cache.requests} tagged {@code result=hit|miss}, and the
+ * current size is the {@code biochain.public-key-cache.size} gauge, both under
+ * {@code /actuator/metrics}.
+ */
+@Slf4j
+@Component
+public class PublicKeyCache {
+
+    private static final String REQUESTS = "biochain.public-key-cache.requests";
+
+    private final WalletRepository walletRepository;
+    private final CryptographyService cryptographyService;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PublicKeyCache(WalletRepository walletRepository, CryptographyService cryptographyService,
+                          BlockchainConfig blockchainConfig, MeterRegistry meterRegistry) {
+        this.walletRepository = walletRepository;
+        this.cryptographyService = cryptographyService;
+
+        int capacity = Math.max(1, blockchainConfig.getValidation().getPublicKeyCacheSize());
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        this.hits = Counter.builder(REQUESTS).tag("result", "hit")
+                .description("Public key lookups served from the cache").register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS).tag("result", "miss")
+                .description("Public key lookups that decoded the wallet key").register(meterRegistry);
+        Gauge.builder("biochain.public-key-cache.size", this, PublicKeyCache::size)
+                .description("Decoded public keys held").register(meterRegistry);
+    }
+
+    /**
+     * Public key of the wallet at {@code address}, or empty if there is no such wallet or its key cannot be decoded
+     */
+    public Optional<PublicKey> get(String address) {
+        Entry entry = cached(address);
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry.key());
+        }
+
+        misses.increment();
+        return walletRepository.findByAddress(address)
+                .map(wallet -> decode(wallet.getAddress(), wallet.getPublicKey()));
+    }
+
+    /**
+     * Public keys of every address that has a wallet with a usable key, loading the uncached ones with one query
+     */
+    public Map<String, PublicKey> getAll(Collection<String> addresses) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String address : addresses) {
+            Entry entry = cached(address);
+            if (entry != null) {
+                keys.put(address, entry.key());
+            } else if (address != null) {
+                missing.add(address);
+            }
+        }
+        hits.increment(keys.size());
+        misses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            for (Wallet wallet : walletRepository.findByAddressIn(missing)) {
+                PublicKey key = decode(wallet.getAddress(), wallet.getPublicKey());
+                if (key != null) {
+                    keys.put(wallet.getAddress(), key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Decoded form of {@code encodedKey}, the key the caller already holds for {@code address}; null if it cannot be decoded
+     */
+    public PublicKey resolve(String address, String encodedKey) {
+        Entry entry = cached(address);
+        if (entry != null && entry.encoded().equals(encodedKey)) {
+            hits.increment();
+            return entry.key();
+        }
+
+        misses.increment();
+        return decode(address, encodedKey);
+    }
+
+    public void invalidate(String address) {
+        synchronized (entries) {
+            entries.remove(address);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry cached(String address) {
+        synchronized (entries) {
+            return entries.get(address);
+        }
+    }
+
+    private PublicKey decode(String address, String encodedKey) {
+        if (encodedKey == null || encodedKey.isEmpty()) {
+            return null;
+        }
+
+        PublicKey key;
+        try {
+            key = cryptographyService.decodePublicKey(encodedKey);
+        } catch (RuntimeException e) {
+            log.warn("Cannot decode public key of wallet {}: {}", address, e.getMessage());
+            return null;
+        }
+        synchronized (entries) {
+            entries.put(address, new Entry(encodedKey, key));
+        }
+        return key;
+    }
+
+    private record Entry(String encoded, PublicKey key) {}
+}
@@ -0,0 +1,43 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.enums.SignatureSchemeType;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Set;
+
+/**
+ * RSA-2048 keys signing with SHA256withRSA, the original wallet scheme
+ */
+public class RsaSignatureScheme extends JcaSignatureScheme {
+
+    private static final int KEY_SIZE = 2048;
+
+    public RsaSignatureScheme() {
+        super(SignatureSchemeType.RSA_2048, PKCSObjectIdentifiers.rsaEncryption.getId(), "RSA", "SHA256withRSA",
+                null, Set.of("RSA"));
+    }
+
+    @Override
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = keyPairGenerator();
+        generator.initialize(KEY_SIZE, new SecureRandom());
+        return generator.generateKeyPair();
+    }
+
+    @Override
+    public PublicKey derivePublicKey(PrivateKey privateKey) throws GeneralSecurityException {
+        if (!(privateKey instanceof RSAPrivateCrtKey crtKey)) {
+            throw new InvalidKeySpecException("RSA private key does not carry its public exponent");
+        }
+        return generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.enums.SignatureSchemeType;
+import org.bouncycastle.asn1.sec.SECObjectIdentifiers;
+import org.bouncycastle.asn1.x9.X9ObjectIdentifiers;
+import org.bouncycastle.jcajce.provider.asymmetric.util.EC5Util;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Set;
+
+/**
+ * ECDSA over secp256k1 with SHA-256 through BouncyCastle, as the JDK no longer ships the curve.
+ * Signatures are DER encoded, about 71 bytes.
+ */
+public class Secp256k1SignatureScheme extends JcaSignatureScheme {
+
+    private static final String CURVE = "secp256k1";
+
+    private final ECParameterSpec curve;
+
+    public Secp256k1SignatureScheme() {
+        super(SignatureSchemeType.SECP256K1, X9ObjectIdentifiers.id_ecPublicKey.getId(), "EC", "SHA256withECDSA",
+                BOUNCY_CASTLE, Set.of("EC", "ECDSA"));
+        this.curve = curveParameters();
+    }
+
+    /**
+     * EC keys on other curves, such as P-256, share the key algorithm OID but are not ours
+     */
+    @Override
+    public String getKeyParametersOid() {
+        return SECObjectIdentifiers.secp256k1.getId();
+    }
+
+    @Override
+    public boolean supports(Key key) {
+        if (!super.supports(key) || !(key instanceof ECKey ecKey)) {
+            return false;
+        }
+        ECParameterSpec parameters = ecKey.getParams();
+        return parameters != null && curve.getCurve().equals(parameters.getCurve())
+                && curve.getOrder().equals(parameters.getOrder());
+    }
+
+    @Override
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = keyPairGenerator();
+        generator.initialize(new ECGenParameterSpec(CURVE), new SecureRandom());
+        return generator.generateKeyPair();
+    }
+
+    @Override
+    public PublicKey derivePublicKey(PrivateKey privateKey) throws GeneralSecurityException {
+        if (!(privateKey instanceof ECPrivateKey ecKey)) {
+            throw new InvalidKeySpecException("Not an EC private key");
+        }
+        // Q = d * G; keeping the key's own parameter spec keeps the named curve in the encoding
+        ECParameterSpec parameters = ecKey.getParams();
+        ECPoint point = EC5Util.convertSpec(parameters).getG().multiply(ecKey.getS()).normalize();
+        return generatePublic(new ECPublicKeySpec(EC5Util.convertPoint(point), parameters));
+    }
+
+    private static ECParameterSpec curveParameters() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC", BOUNCY_CASTLE);
+            parameters.init(new ECGenParameterSpec(CURVE));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("secp256k1 parameters not available", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.dto.NonceSearchResultDTO;
+import com.wallet.biochain.dto.WorkerHashRateDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.enums.MiningEngineType;
+import com.wallet.biochain.services.MiningEngine;
+import com.wallet.biochain.services.MiningSearchControl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Single-threaded nonce search on the calling thread. When a header's nonces run out the search
+ * rolls to the next extra nonce and timestamp from {@link MiningWorkSource}.
+ */
+@Slf4j
+public class SequentialMiningEngine implements MiningEngine {
+
+    private final long progressInterval;
+    private final long noncesPerWorkUnit;
+
+    public SequentialMiningEngine(long progressInterval) {
+        this(progressInterval, MiningWorkUnit.NONCE_SPACE);
+    }
+
+    public SequentialMiningEngine(long progressInterval, long noncesPerWorkUnit) {
+        this.progressInterval = Math.max(1, progressInterval);
+        this.noncesPerWorkUnit = Math.max(1, Math.min(MiningWorkUnit.NONCE_SPACE, noncesPerWorkUnit));
+    }
+
+    @Override
+    public MiningEngineType getType() {
+        return MiningEngineType.SEQUENTIAL;
+    }
+
+    @Override
+    public NonceSearchResultDTO search(Block block, Long bits, MiningSearchControl control) {
+        byte[] target = DifficultyTarget.targetBytes(bits);
+        MiningWorkSource.Cursor work = MiningWorkSource.of(block).cursor(0, 1);
+        byte[] digest = new byte[BlockHeader.DIGEST_LENGTH];
+        long startTime = System.nanoTime();
+        long hashes = 0;
+        control.onStart(block);
+
+        while (true) {
+            MiningWorkUnit unit = work.next();
+            BlockHeader header = unit.header(block);
+            if (unit.extraNonce() > 0) {
+                log.debug("Nonces exhausted for block {}, rolled to extra nonce {}", block.getBlockIndex(), unit.extraNonce());
+            }
+
+            for (long index = 1; index <= noncesPerWorkUnit; index++) {
+                int nonce = MiningWorkUnit.nonceAt(index);
+                header.hash(nonce, digest);
+                hashes++;
+
+                if (DifficultyTarget.meetsTarget(digest, target)) {
+                    unit.applyTo(block, nonce);
+                    String hash = BlockHeader.toHex(digest);
+                    WorkerHashRateDTO worker = MiningEngineStats.worker(0, hashes, startTime);
+                    log.info("Proof of work found! Nonce: {}, Extra nonce: {}, Hash: {}, {} H/s", nonce,
+                            unit.extraNonce(), hash, String.format("%.0f", worker.hashesPerSecond()));
+                    return MiningEngineStats.result(true, nonce, hash, List.of(worker), startTime);
+                }
+
+                if (hashes % progressInterval == 0) {
+                    log.debug("Tried {} nonces...", hashes);
+                    control.onProgress(hashes, System.nanoTime() - startTime);
+                    if (control.isCancelled()) {
+                        log.info("Nonce search for block {} cancelled after {} hashes", block.getBlockIndex(), hashes);
+                        return MiningEngineStats.result(false, null, null,
+                                List.of(MiningEngineStats.worker(0, hashes, startTime)), startTime);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.wallet.biochain.services.impl;
+
+/**
+ * Plain SHA-256 whose running state can be copied into another instance without allocating.
+ * <p>
+ * {@link java.security.MessageDigest} can only restart from a midstate by cloning it, which
+ * allocates a new digest for every nonce. Here the mining loop keeps one instance holding the
+ * header midstate and one scratch instance per worker, and {@link #copyFrom} resets the scratch to
+ * the midstate with two array copies. Instances are not thread-safe.
+ */
+final class Sha256 {
+
+    static final int DIGEST_LENGTH = 32;
+
+    private static final int BLOCK_LENGTH = 64;
+
+    private static final int[] INITIAL_STATE = {
+            0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+    };
+
+    private static final int[] K = {
+            0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+            0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+            0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+            0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+            0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+            0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+            0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+            0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+    };
+
+    private final int[] state = new int[8];
+    private final byte[] buffer = new byte[BLOCK_LENGTH];
+    private final int[] schedule = new int[64];
+    private int buffered;
+    private long length;
+
+    Sha256() {
+        reset();
+    }
+
+    void reset() {
+        System.arraycopy(INITIAL_STATE, 0, state, 0, state.length);
+        buffered = 0;
+        length = 0;
+    }
+
+    /**
+     * Continue from the state of {@code other}, as a clone of it would
+     */
+    void copyFrom(Sha256 other) {
+        System.arraycopy(other.state, 0, state, 0, state.length);
+        System.arraycopy(other.buffer, 0, buffer, 0, other.buffered);
+        buffered = other.buffered;
+        length = other.length;
+    }
+
+    void update(byte[] input) {
+        update(input, 0, input.length);
+    }
+
+    void update(byte[] input, int offset, int count) {
+        length += count;
+        if (buffered > 0) {
+            int taken = Math.min(count, BLOCK_LENGTH - buffered);
+            System.arraycopy(input, offset, buffer, buffered, taken);
+            buffered += taken;
+            offset += taken;
+            count -= taken;
+            if (buffered < BLOCK_LENGTH) {
+                return;
+            }
+            compress(buffer, 0);
+            buffered = 0;
+        }
+        while (count >= BLOCK_LENGTH) {
+            compress(input, offset);
+            offset += BLOCK_LENGTH;
+            count -= BLOCK_LENGTH;
+        }
+        System.arraycopy(input, offset, buffer, 0, count);
+        buffered = count;
+    }
+
+    /**
+     * Finish the hash into {@code output} at {@code offset}; the instance must be reset or copied into before reuse
+     */
+    void digest(byte[] output, int offset) {
+        long bits = length << 3;
+        buffer[buffered++] = (byte) 0x80;
+        if (buffered > BLOCK_LENGTH - 8) {
+            fill(buffered, BLOCK_LENGTH);
+            compress(buffer, 0);
+            buffered = 0;
+        }
+        fill(buffered, BLOCK_LENGTH - 8);
+        for (int i = 0; i < 8; i++) {
+            buffer[BLOCK_LENGTH - 1 - i] = (byte) (bits >>> (8 * i));
+        }
+        compress(buffer, 0);
+
+        for (int i = 0; i < state.length; i++) {
+            int word = state[i];
+            output[offset + 4 * i] = (byte) (word >>> 24);
+            output[offset + 4 * i + 1] = (byte) (word >>> 16);
+            output[offset + 4 * i + 2] = (byte) (word >>> 8);
+            output[offset + 4 * i + 3] = (byte) word;
+        }
+    }
+
+    private void fill(int from, int to) {
+        for (int i = from; i < to; i++) {
+            buffer[i] = 0;
+        }
+    }
+
+    private void compress(byte[] block, int offset) {
+        int[] w = schedule;
+        for (int i = 0; i < 16; i++) {
+            int at = offset + 4 * i;
+            w[i] = (block[at] & 0xff) << 24 | (block[at + 1] & 0xff) << 16
+                    | (block[at + 2] & 0xff) << 8 | (block[at + 3] & 0xff);
+        }
+        for (int i = 16; i < 64; i++) {
+            int s0 = Integer.rotateRight(w[i - 15], 7) ^ Integer.rotateRight(w[i - 15], 18) ^ (w[i - 15] >>> 3);
+            int s1 = Integer.rotateRight(w[i - 2], 17) ^ Integer.rotateRight(w[i - 2], 19) ^ (w[i - 2] >>> 10);
+            w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+        }
+
+        int a = state[0];
+        int b = state[1];
+        int c = state[2];
+        int d = state[3];
+        int e = state[4];
+        int f = state[5];
+        int g = state[6];
+        int h = state[7];
+        for (int i = 0; i < 64; i++) {
+            int s1 = Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25);
+            int ch = (e & f) ^ (~e & g);
+            int t1 = h + s1 + ch + K[i] + w[i];
+            int s0 = Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22);
+            int maj = (a & b) ^ (a & c) ^ (b & c);
+            int t2 = s0 + maj;
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
+    }
+}
@@ -0,0 +1,232 @@
+package com.wallet.biochain.services.impl;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.CryptographyService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks transaction signatures in parallel for block validation, sync and batch submission.
+ * <p>
+ * Sender keys come from {@link PublicKeyCache}, then the transactions are split into chunks
+ * of {@code blockchain.validation.signature-chunk-size}, each verified as one batch through
+ * {@link CryptographyService#verifySignatures} on a fixed pool of
+ * {@code blockchain.validation.signature-workers} threads. When asked to stop at the first
+ * failure, workers skip the chunks they have not started once any signature is found bad. Every
+ * call returns one {@link Verdict} per transaction, in input order.
+ */
+@Slf4j
+@Component
+public class SignatureVerifier {
+
+    public enum Status { VALID, INVALID, SKIPPED }
+
+    private final CryptographyService cryptographyService;
+    private final PublicKeyCache publicKeyCache;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public SignatureVerifier(CryptographyService cryptographyService, PublicKeyCache publicKeyCache,
+                             BlockchainConfig blockchainConfig) {
+        this.cryptographyService = cryptographyService;
+        this.publicKeyCache = publicKeyCache;
+
+        BlockchainConfig.Validation config = blockchainConfig.getValidation();
+        int workers = config.getSignatureWorkers() > 0 ? config.getSignatureWorkers() : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, config.getSignatureChunkSize());
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "signature-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Data a transaction's signature covers
+     */
+    public static String signedData(Transaction transaction) {
+        String data = transaction.getSenderAddress() +
+                transaction.getRecipientAddress() +
+                transaction.getAmount().toPlainString() +
+                transaction.getFee().toPlainString() +
+                transaction.getTimestamp();
+        return transaction.getNonce() != null ? data + transaction.getNonce() : data;
+    }
+
+    /**
+     * The first transaction whose signature does not check out, if any; the rest are not checked once one fails
+     */
+    public Optional<Verdict> firstFailure(List<Transaction> transactions) {
+        return verify(transactions, true).stream()
+                .filter(verdict -> verdict.status() == Status.INVALID)
+                .findFirst();
+    }
+
+    /**
+     * Verify signatures against the senders' wallet keys
+     */
+    public List<Verdict> verify(List<Transaction> transactions, boolean stopAtFirstFailure) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> senders = new HashSet<>();
+        transactions.forEach(tx -> senders.add(tx.getSenderAddress()));
+        return checkAll(transactions, publicKeyCache.getAll(senders), stopAtFirstFailure);
+    }
+
+    /**
+     * Verify signatures against the given sender address to encoded public key map, for callers that
+     * already hold the wallets
+     */
+    public List<Verdict> verify(List<Transaction> transactions, Map<String, String> publicKeys,
+                                boolean stopAtFirstFailure) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            String sender = transaction.getSenderAddress();
+            String encoded = publicKeys.get(sender);
+            if (encoded != null && !keys.containsKey(sender)) {
+                keys.put(sender, publicKeyCache.resolve(sender, encoded));
+            }
+        }
+        return checkAll(transactions, keys, stopAtFirstFailure);
+    }
+
+    private List<Verdict> checkAll(List<Transaction> transactions, Map<String, PublicKey> publicKeys,
+                                   boolean stopAtFirstFailure) {
+        Verdict[] verdicts = new Verdict[transactions.size()];
+        AtomicBoolean failed = new AtomicBoolean();
+
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < transactions.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(transactions.size(), start + chunkSize);
+            chunks.add(() -> {
+                if (!(stopAtFirstFailure && failed.get()) && !checkChunk(transactions, from, to, publicKeys, verdicts)) {
+                    failed.set(true);
+                }
+                return null;
+            });
+        }
+
+        if (chunks.size() == 1) {
+            // Not worth a hand-off
+            try {
+                chunks.get(0).call();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to verify signatures", e);
+            }
+        } else {
+            runAll(chunks);
+        }
+
+        for (int i = 0; i < verdicts.length; i++) {
+            if (verdicts[i] == null) {
+                verdicts[i] = new Verdict(transactions.get(i).getTransactionHash(), Status.SKIPPED,
+                        "Not checked after an earlier failure");
+            }
+        }
+        return Arrays.asList(verdicts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fill in the verdicts of {@code transactions[from, to)}; false if any is invalid
+     */
+    private boolean checkChunk(List<Transaction> transactions, int from, int to, Map<String, PublicKey> publicKeys,
+                               Verdict[] verdicts) {
+        boolean allValid = true;
+        List<Integer> signed = new ArrayList<>(to - from);
+        List<CryptographyService.SignedPayload> payloads = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Transaction transaction = transactions.get(i);
+            PublicKey publicKey = publicKeys.get(transaction.getSenderAddress());
+            if (transaction.getSignature() == null || transaction.getSignature().isEmpty()) {
+                verdicts[i] = Verdict.invalid(transaction.getTransactionHash(), "Signature is missing");
+                allValid = false;
+            } else if (publicKey == null) {
+                verdicts[i] = Verdict.invalid(transaction.getTransactionHash(), "Sender wallet not found");
+                allValid = false;
+            } else {
+                signed.add(i);
+                payloads.add(new CryptographyService.SignedPayload(signedData(transaction), transaction.getSignature(),
+                        publicKey));
+            }
+        }
+        if (payloads.isEmpty()) {
+            return allValid;
+        }
+
+        boolean[] valid;
+        try {
+            valid = cryptographyService.verifySignatures(payloads);
+        } catch (RuntimeException e) {
+            log.warn("Failed to verify {} signatures: {}", payloads.size(), e.getMessage());
+            for (int i : signed) {
+                verdicts[i] = Verdict.invalid(transactions.get(i).getTransactionHash(), "Signature could not be verified");
+            }
+            return false;
+        }
+
+        for (int k = 0; k < signed.size(); k++) {
+            int i = signed.get(k);
+            String hash = transactions.get(i).getTransactionHash();
+            if (valid[k]) {
+                verdicts[i] = new Verdict(hash, Status.VALID, null);
+            } else {
+                verdicts[i] = Verdict.invalid(hash, "Signature does not match sender wallet");
+                allValid = false;
+            }
+        }
+        return allValid;
+    }
+
+    private void runAll(List<Callable<Void>> chunks) {
+        try {
+            for (Future<Void> chunk : executor.invokeAll(chunks)) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying signatures", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to verify signatures", e.getCause());
+        }
+    }
+
+    /**
+     * Outcome for one transaction; {@code reason} is set unless it is valid
+     */
+    public record Verdict(String transactionHash, Status status, String reason) {
+
+        public static Verdict invalid(String transactionHash, String reason) {
+            return new Verdict(transactionHash, Status.INVALID, reason);
+        }
+
+        public boolean isValid() {
+            return status == Status.VALID;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.wallet.biochain.services.impl;
 
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.MempoolEvictionDTO;
+import com.wallet.biochain.dto.TransactionPageDTO;
 import com.wallet.biochain.dto.TransactionPoolStatusDTO;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.TransactionPool;
@@ -8,26 +11,70 @@ import com.wallet.biochain.mappers.TransactionPoolMapper;
 import com.wallet.biochain.repositories.TransactionPoolRepository;
 import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.services.TransactionPoolService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Transaction pools served from memory. Each pool is a {@link Mempool} indexed by hash; adds,
+ * removals and clears change it without touching the database and hand the change to
+ * {@link MempoolWriteBehind} to persist. At boot the pools are loaded from the last
+ * {@link MempoolSnapshot}, keeping when each transaction was admitted and reading only the rows
+ * changed since it was written; a pool not in the snapshot is rebuilt from its PENDING rows the
+ * first time it is used.
+ * <p>
+ * A full pool makes room by evicting its lowest fee-rate transactions for one that pays more, and
+ * a background sweep expires transactions older than the configured TTL. Both are announced on
+ * {@code /topic/pools/updated}, as are the coalesced deltas of every pool change
+ * ({@link PoolEventCoalescer}).
+ * <p>
+ * Pool admissions and removals are mirrored into {@link PendingLedger}, and through it into the
+ * block template: a transaction evicted, expired or cleared from a pool is no longer pending, and
+ * its row is written off as rejected. Removing a single transaction by hash only takes it out of
+ * the pool; it stays pending and can still be mined. In turn the service listens to the ledger, so
+ * a transaction that stops being pending elsewhere (confirmed, or replaced at its nonce by a new
+ * submission) leaves every pool as well. A transaction that outbids the
+ * pending one at its sender's nonce replaces it; the replaced one is written off as rejected.
+ * Replacements, wherever they come from, go through {@link PendingLedger#replace}.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class TransactionPoolServiceImpl implements TransactionPoolService {
+public class TransactionPoolServiceImpl implements TransactionPoolService, PendingLedger.Listener {
 
     private final TransactionPoolRepository poolRepository;
     private final TransactionRepository transactionRepository;
     private final TransactionPoolMapper poolMapper;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MempoolWriteBehind writeBehind;
+    private final BlockchainConfig blockchainConfig;
+    private final PendingLedger pendingLedger;
+    private final PoolEventCoalescer poolEvents;
+    private final MempoolSnapshot snapshot;
+
+    private final Map<String, Mempool> mempools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mempool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Override
     @Transactional
@@ -50,6 +97,7 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
         pool.setIsActive(true);
 
         TransactionPool savedPool = poolRepository.save(pool);
+        mempools.put(poolName, new Mempool(savedPool.getId(), poolName, maxSize, true));
         log.info("Transaction pool created successfully: {}", poolName);
 
         // Broadcast pool creation event
@@ -78,18 +126,22 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public TransactionPoolStatusDTO getPoolStatus(String poolName) {
         log.debug("Fetching pool status for: {}", poolName);
+        return poolMapper.toStatusDTO(snapshotOf(mempool(poolName)));
+    }
 
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
-
-        return poolMapper.toStatusDTO(pool);
+    @Override
+    public void addTransactionByHash(String poolName, String transactionHash) {
+        Transaction transaction = transactionRepository.findByTransactionHash(transactionHash)
+                .orElseThrow(() -> new IllegalArgumentException("Transaction not found: " + transactionHash));
+        if (transaction.getStatus() != TransactionStatus.PENDING) {
+            throw new IllegalStateException("Transaction is not pending: " + transactionHash);
+        }
+        addTransaction(poolName, transaction);
     }
 
     @Override
-    @Transactional
     public void addTransaction(String poolName, Transaction transaction) {
         // Validate transaction
         if (transaction == null) {
@@ -101,56 +153,89 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
             throw new IllegalArgumentException("Transaction hash is required");
         }
 
-        // Get pool
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
+        Mempool mempool = mempool(poolName);
 
         // Check if pool is active
-        if (!pool.getIsActive()) {
+        if (!mempool.isActive()) {
             throw new IllegalStateException("Pool is not active: " + poolName);
         }
 
-        // Check if pool is full
-        if (pool.isFull()) {
-            throw new IllegalStateException("Transaction pool is full. Current size: " +
-                    pool.getCurrentSize() + ", Max size: " + pool.getMaxSize());
+        // Set transaction status to PENDING if not already
+        if (transaction.getStatus() != TransactionStatus.PENDING) {
+            transaction.setStatus(TransactionStatus.PENDING);
         }
 
-        // Check if transaction already exists in pool
-        boolean alreadyInPool = pool.getPendingTransactions().stream()
-                .anyMatch(tx -> tx.getTransactionHash().equals(transaction.getTransactionHash()));
-
-        if (alreadyInPool) {
+        if (mempool.contains(transaction.getTransactionHash())) {
             log.warn("Transaction {} already in pool", transaction.getTransactionHash());
             return;
         }
 
-        // Set transaction status to PENDING if not already
-        if (transaction.getStatus() != TransactionStatus.PENDING) {
-            transaction.setStatus(TransactionStatus.PENDING);
+        BlockchainConfig.Mempool policy = blockchainConfig.getMempool();
+        long now = System.currentTimeMillis();
+        long feeRate = FeeRateIndex.feeRate(transaction);
+        long minFeeRate = mempool.minFeeRate(policy.getMinRelayFeeRate(), policy.getRelayFeeHalfLifeMs(), now);
+        if (feeRate < minFeeRate) {
+            throw new IllegalStateException("Transaction fee rate " + feeRate +
+                    " is below the pool minimum of " + minFeeRate);
         }
 
-        // Link transaction to pool
-        transaction.setTransactionPool(pool);
-        transactionRepository.save(transaction);
+        List<String> evicted = new ArrayList<>();
+        int sizeAfterEviction = 0;
+        int feeBump = policy.getReplacementFeeBumpPercent();
+        Mempool.Admission admission;
+        while ((admission = mempool.admit(transaction, feeBump)).result() == Mempool.AddResult.FULL
+                && policy.getEvictionEnabled()) {
+            List<Transaction> victims = mempool.evictLowest(feeRate);
+            if (victims.isEmpty()) {
+                break;
+            }
+            for (Transaction victim : victims) {
+                evicted.add(victim.getTransactionHash());
+                writeBehind.remove(mempool.getPoolId(), victim.getTransactionHash(), mempool.size());
+                pendingLedger.drop(victim.getTransactionHash());
+            }
+            // Only the lowest pays too little; the later nonces leave because they depend on it
+            mempool.raiseMinFeeRate(FeeRateIndex.feeRate(victims.get(0)) + policy.getRelayFeeIncrement(),
+                    policy.getRelayFeeHalfLifeMs(), now);
+            sizeAfterEviction = mempool.size();
+        }
+        if (!evicted.isEmpty()) {
+            log.info("Evicted {} lower fee-rate transactions from pool {} for {}", evicted.size(), poolName,
+                    transaction.getTransactionHash());
+            // the eviction is reported before the admission that follows it
+            publishEviction(mempool, "FEE_RATE", evicted, sizeAfterEviction);
+        }
 
-        // Update pool size
-        pool.setCurrentSize(pool.getCurrentSize() + 1);
-        poolRepository.save(pool);
+        switch (admission.result()) {
+            case DUPLICATE -> {
+                log.warn("Transaction {} already in pool", transaction.getTransactionHash());
+                return;
+            }
+            case FULL -> throw new IllegalStateException("Transaction pool is full. Current size: " +
+                    mempool.size() + ", Max size: " + mempool.getMaxSize());
+            case UNDERPRICED -> throw new IllegalStateException("Transaction " + transaction.getTransactionHash() +
+                    " does not pay enough to replace the pending transaction with nonce " + transaction.getNonce());
+            case REPLACED -> {
+                String replaced = admission.replaced().getTransactionHash();
+                writeBehind.remove(mempool.getPoolId(), replaced, mempool.size());
+                writeBehind.add(mempool.getPoolId(), transaction, mempool.size());
+                pendingLedger.replace(transaction, replaced);
+                poolEvents.removed(poolName, List.of(replaced), mempool.size());
+                poolEvents.added(poolName, transaction.getTransactionHash(), mempool.size());
+                log.info("Transaction {} replaced {} at nonce {} in pool: {}", transaction.getTransactionHash(),
+                        replaced, transaction.getNonce(), poolName);
+            }
+            case ADDED -> {
+                writeBehind.add(mempool.getPoolId(), transaction, mempool.size());
+                pendingLedger.add(transaction);
+                poolEvents.added(poolName, transaction.getTransactionHash(), mempool.size());
+            }
+        }
 
         log.info("Transaction {} added to pool: {}", transaction.getTransactionHash(), poolName);
-
-        // Broadcast pool update
-        try {
-            messagingTemplate.convertAndSend("/topic/pools/updated",
-                    poolMapper.toStatusDTO(pool));
-        } catch (Exception e) {
-            log.error("Failed to broadcast pool update", e);
-        }
     }
 
     @Override
-    @Transactional
     public void removeTransaction(String poolName, String transactionHash) {
         log.debug("Removing transaction {} from pool: {}", transactionHash, poolName);
 
@@ -159,56 +244,67 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
             throw new IllegalArgumentException("Transaction hash is required");
         }
 
-        // Get pool
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
-
-        // Find transaction
-        Transaction transaction = transactionRepository.findByTransactionHash(transactionHash)
-                .orElseThrow(() -> new IllegalArgumentException("Transaction not found: " + transactionHash));
-
-        // Check if transaction is in this pool
-        if (transaction.getTransactionPool() == null ||
-                !transaction.getTransactionPool().getId().equals(pool.getId())) {
+        Mempool mempool = mempool(poolName);
+        if (mempool.remove(transactionHash) == null) {
+            if (!transactionRepository.existsByTransactionHash(transactionHash)) {
+                throw new IllegalArgumentException("Transaction not found: " + transactionHash);
+            }
             log.warn("Transaction {} is not in pool: {}", transactionHash, poolName);
             return;
         }
+        writeBehind.release(mempool.getPoolId(), transactionHash, mempool.size());
+        poolEvents.removed(poolName, List.of(transactionHash), mempool.size());
 
-        // Remove transaction from pool
-        transaction.setTransactionPool(null);
-        transactionRepository.save(transaction);
+        log.info("Transaction {} removed from pool: {}", transactionHash, poolName);
+    }
 
-        // Update pool size
-        pool.setCurrentSize(Math.max(0, pool.getCurrentSize() - 1));
-        poolRepository.save(pool);
+    @Override
+    public int removeTransactions(Collection<String> transactionHashes) {
+        int removedCount = 0;
+        // Hash lookups per pool, so the cost follows the number of hashes rather than the pool sizes
+        for (Mempool mempool : mempools.values()) {
+            List<String> removed = new ArrayList<>();
+            for (String hash : transactionHashes) {
+                if (mempool.remove(hash) != null) {
+                    writeBehind.release(mempool.getPoolId(), hash, mempool.size());
+                    removed.add(hash);
+                }
+            }
+            if (!removed.isEmpty()) {
+                poolEvents.removed(mempool.getPoolName(), removed, mempool.size());
+                removedCount += removed.size();
+            }
+        }
 
-        log.info("Transaction {} removed from pool: {}", transactionHash, poolName);
+        log.debug("Removed {} of {} transactions from pools", removedCount, transactionHashes.size());
+        return removedCount;
+    }
 
-        // Broadcast pool update
-        try {
-            messagingTemplate.convertAndSend("/topic/pools/updated",
-                    poolMapper.toStatusDTO(pool));
-        } catch (Exception e) {
-            log.error("Failed to broadcast pool update", e);
+    /**
+     * A transaction that is no longer pending leaves every pool it is in; its row's status is up to
+     * whoever ended it, so the pools only release it
+     */
+    @Override
+    public void removed(String transactionHash) {
+        for (Mempool mempool : mempools.values()) {
+            if (mempool.remove(transactionHash) != null) {
+                writeBehind.release(mempool.getPoolId(), transactionHash, mempool.size());
+                poolEvents.removed(mempool.getPoolName(), List.of(transactionHash), mempool.size());
+            }
         }
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Transaction> getPendingTransactions(String poolName) {
         log.debug("Fetching pending transactions from pool: {}", poolName);
 
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
-
-        List<Transaction> pending = pool.getPendingTransactions();
+        List<Transaction> pending = mempool(poolName).transactions();
         log.debug("Found {} pending transactions in pool: {}", pending.size(), poolName);
 
         return pending;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Transaction> getTopTransactionsByFee(String poolName, Integer limit) {
         log.debug("Fetching top {} transactions by fee from pool: {}", limit, poolName);
 
@@ -216,60 +312,50 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
             throw new IllegalArgumentException("Limit must be greater than 0");
         }
 
-        List<Transaction> pending = getPendingTransactions(poolName);
-
-        // Sort by fee (descending) and timestamp (ascending for same fee)
-        List<Transaction> topTransactions = pending.stream()
-                .filter(tx -> tx.getFee() != null)
-                .sorted(Comparator.comparing(Transaction::getFee).reversed()
-                        .thenComparing(Transaction::getTimestamp))
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<Transaction> topTransactions = mempool(poolName).topByFeeRate(limit);
 
         log.debug("Returning {} top transactions by fee", topTransactions.size());
         return topTransactions;
     }
 
     @Override
-    @Transactional
-    public void clearPool(String poolName) {
-        log.info("Clearing transaction pool: {}", poolName);
+    public TransactionPageDTO getTransactionsByFeeRate(String poolName, String cursor, Integer limit) {
+        log.debug("Fetching {} transactions by fee rate from pool: {} after {}", limit, poolName, cursor);
 
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
+        if (limit == null || limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
 
-        List<Transaction> transactions = pool.getPendingTransactions();
-        int clearedCount = 0;
+        Mempool mempool = mempool(poolName);
+        Mempool.Page page = mempool.page(cursor == null || cursor.isBlank() ? null : cursor, limit);
+        return new TransactionPageDTO(poolName, mempool.size(), page.transactions(), page.nextCursor());
+    }
 
-        // Remove all transactions from pool
-        for (Transaction tx : transactions) {
-            tx.setTransactionPool(null);
-            transactionRepository.save(tx);
-            clearedCount++;
-        }
+    @Override
+    public void clearPool(String poolName) {
+        log.info("Clearing transaction pool: {}", poolName);
 
-        // Reset pool size
-        pool.setCurrentSize(0);
-        poolRepository.save(pool);
+        Mempool mempool = mempool(poolName);
+        List<Transaction> cleared = mempool.clear();
+        writeBehind.clear(mempool.getPoolId());
+        cleared.forEach(tx -> pendingLedger.drop(tx.getTransactionHash()));
+        poolEvents.cleared(poolName, mempool.size());
+        int clearedCount = cleared.size();
 
         log.info("Cleared {} transactions from pool: {}", clearedCount, poolName);
 
         // Broadcast pool cleared event
         try {
             messagingTemplate.convertAndSend("/topic/pools/cleared",
-                    poolMapper.toStatusDTO(pool));
+                    poolMapper.toStatusDTO(snapshotOf(mempool)));
         } catch (Exception e) {
             log.error("Failed to broadcast pool cleared event", e);
         }
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isPoolFull(String poolName) {
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
-
-        boolean isFull = pool.isFull();
+        boolean isFull = mempool(poolName).isFull();
         log.debug("Pool {} is full: {}", poolName, isFull);
 
         return isFull;
@@ -307,6 +393,7 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
 
         pool.setIsActive(true);
         poolRepository.save(pool);
+        mempool(poolName).setActive(true);
 
         log.info("Pool activated: {}", poolName);
     }
@@ -323,6 +410,7 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
 
         pool.setIsActive(false);
         poolRepository.save(pool);
+        mempool(poolName).setActive(false);
 
         log.info("Pool deactivated: {}", poolName);
     }
@@ -330,17 +418,15 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
     /**
      * Get pool capacity (percentage used)
      */
-    @Transactional(readOnly = true)
     public Double getPoolCapacity(String poolName) {
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
+        Mempool mempool = mempool(poolName);
 
-        if (pool.getMaxSize() == 0) {
+        if (mempool.getMaxSize() == 0) {
             return 0.0;
         }
 
-        double capacity = (pool.getCurrentSize().doubleValue() / pool.getMaxSize().doubleValue()) * 100;
-        log.debug("Pool {} capacity: {:.2f}%", poolName, capacity);
+        double capacity = ((double) mempool.size() / mempool.getMaxSize()) * 100;
+        log.debug("Pool {} capacity: {}%", poolName, String.format("%.2f", capacity));
 
         return capacity;
     }
@@ -348,41 +434,34 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
     /**
      * Remove confirmed transactions from pool
      */
-    @Transactional
     public int removeConfirmedTransactions(String poolName) {
         log.info("Removing confirmed transactions from pool: {}", poolName);
 
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
+        Mempool mempool = mempool(poolName);
+        List<Transaction> confirmed = transactionRepository.findByTransactionPoolIdAndStatus(
+                mempool.getPoolId(), TransactionStatus.CONFIRMED);
+        List<String> removed = new ArrayList<>();
 
-        List<Transaction> transactions = pool.getPendingTransactions();
-        int removedCount = 0;
-
-        for (Transaction tx : transactions) {
-            if (tx.getStatus() == TransactionStatus.CONFIRMED) {
-                tx.setTransactionPool(null);
-                transactionRepository.save(tx);
-                removedCount++;
+        for (Transaction tx : confirmed) {
+            if (mempool.remove(tx.getTransactionHash()) != null) {
+                writeBehind.release(mempool.getPoolId(), tx.getTransactionHash(), mempool.size());
+                removed.add(tx.getTransactionHash());
             }
         }
+        if (!removed.isEmpty()) {
+            poolEvents.removed(poolName, removed, mempool.size());
+        }
 
-        // Update pool size
-        pool.setCurrentSize(Math.max(0, pool.getCurrentSize() - removedCount));
-        poolRepository.save(pool);
-
-        log.info("Removed {} confirmed transactions from pool: {}", removedCount, poolName);
-        return removedCount;
+        log.info("Removed {} confirmed transactions from pool: {}", removed.size(), poolName);
+        return removed.size();
     }
 
     /**
      * Get pool statistics
      */
-    @Transactional(readOnly = true)
     public PoolStatistics getPoolStatistics(String poolName) {
-        TransactionPool pool = poolRepository.findByPoolName(poolName)
-                .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
-
-        List<Transaction> transactions = pool.getPendingTransactions();
+        Mempool mempool = mempool(poolName);
+        List<Transaction> transactions = mempool.transactions();
 
         int totalTransactions = transactions.size();
         double avgFee = transactions.stream()
@@ -398,13 +477,211 @@ public class TransactionPoolServiceImpl implements TransactionPoolService {
 
         return new PoolStatistics(
                 totalTransactions,
-                pool.getMaxSize(),
+                mempool.getMaxSize(),
                 avgFee,
                 totalValue,
-                pool.getIsActive()
+                mempool.isActive()
         );
     }
 
+    /**
+     * Drop transactions that have sat in a pool longer than {@code blockchain.mempool.transaction-ttl-ms};
+     * returns how many were removed
+     */
+    public int expireTransactions() {
+        return expireTransactions(System.currentTimeMillis());
+    }
+
+    /**
+     * Drop transactions that are past their TTL at {@code now} (epoch millis); returns how many were removed
+     */
+    public int expireTransactions(long now) {
+        long ttl = blockchainConfig.getMempool().getTransactionTtlMs();
+        if (ttl <= 0) {
+            return 0;
+        }
+
+        int expiredCount = 0;
+        long admittedBefore = now - ttl;
+        for (Mempool mempool : mempools.values()) {
+            List<String> expired = mempool.expire(admittedBefore).stream()
+                    .map(Transaction::getTransactionHash)
+                    .toList();
+            if (expired.isEmpty()) {
+                continue;
+            }
+
+            for (String hash : expired) {
+                writeBehind.remove(mempool.getPoolId(), hash, mempool.size());
+                pendingLedger.drop(hash);
+            }
+            log.info("Expired {} transactions from pool: {}", expired.size(), mempool.getPoolName());
+            publishEviction(mempool, "EXPIRED", expired, mempool.size());
+            expiredCount += expired.size();
+        }
+        return expiredCount;
+    }
+
+    /**
+     * Load the pools in the boot snapshot the ledger restored from, reconciled against the database;
+     * returns the number of transactions restored
+     */
+    public int restoreSnapshot() {
+        Optional<MempoolSnapshot.Image> image = snapshot.bootImage();
+        if (image.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, TransactionPool> pools = poolRepository.findAll().stream()
+                .collect(Collectors.toMap(TransactionPool::getId, Function.identity()));
+        // Only rows changed since the snapshot are read; for those the database decides
+        Map<String, Transaction> changed = transactionRepository.findChangedSince(image.get().changedSince()).stream()
+                .collect(Collectors.toMap(Transaction::getTransactionHash, Function.identity()));
+        int restoredCount = 0;
+        for (MempoolSnapshot.PoolImage poolImage : image.get().pools()) {
+            TransactionPool pool = pools.get(poolImage.poolId());
+            if (pool == null || mempools.containsKey(pool.getPoolName())) {
+                continue;
+            }
+
+            Mempool mempool = newMempool(pool);
+            for (Mempool.Pooled entry : poolImage.transactions()) {
+                if (!changed.containsKey(entry.transaction().getTransactionHash())) {
+                    mempool.restore(entry.transaction(), entry.admittedAt());
+                }
+            }
+            int fromSnapshot = mempool.size();
+            changed.values().stream()
+                    .filter(row -> row.getStatus() == TransactionStatus.PENDING && row.getTransactionPool() != null
+                            && pool.getId().equals(row.getTransactionPool().getId()))
+                    .forEach(mempool::restore);
+
+            correctSize(pool, mempool);
+            mempools.put(pool.getPoolName(), mempool);
+            restoredCount += mempool.size();
+            log.info("Restored pool {} from snapshot: {} transactions, {} read from the database",
+                    pool.getPoolName(), fromSnapshot, mempool.size() - fromSnapshot);
+        }
+        return restoredCount;
+    }
+
+    /**
+     * Write the loaded pools to the snapshot file; returns the number of transactions written
+     */
+    public int writeSnapshot() {
+        try {
+            return snapshot.write(List.copyOf(mempools.values()), pendingLedger);
+        } catch (IOException e) {
+            log.error("Failed to write mempool snapshot", e);
+            return 0;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (snapshot.isEnabled()) {
+            restoreSnapshot();
+            // The ledger restored before us; nothing else needs the decoded image
+            snapshot.releaseBootImage();
+        }
+        pendingLedger.subscribe(this);
+
+        BlockchainConfig.Mempool policy = blockchainConfig.getMempool();
+        schedule("expiry sweep", policy.getExpirySweepIntervalMs(), this::expireTransactions);
+        if (snapshot.isEnabled()) {
+            schedule("snapshot", policy.getSnapshotIntervalMs(), this::writeSnapshot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+        if (snapshot.isEnabled()) {
+            writeSnapshot();
+        }
+    }
+
+    private void schedule(String task, long intervalMillis, Runnable action) {
+        long interval = Math.max(1, intervalMillis);
+        maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Mempool {} failed", task, e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void publishEviction(Mempool mempool, String reason, List<String> transactionHashes, int poolSize) {
+        poolEvents.removed(mempool.getPoolName(), transactionHashes, poolSize);
+
+        BlockchainConfig.Mempool policy = blockchainConfig.getMempool();
+        long minFeeRate = mempool.minFeeRate(policy.getMinRelayFeeRate(), policy.getRelayFeeHalfLifeMs(),
+                System.currentTimeMillis());
+        try {
+            messagingTemplate.convertAndSend("/topic/pools/updated", new MempoolEvictionDTO(
+                    mempool.getPoolName(), reason, transactionHashes, poolSize, minFeeRate));
+        } catch (Exception e) {
+            log.error("Failed to broadcast pool eviction", e);
+        }
+    }
+
+    /**
+     * In-memory pool for {@code poolName}, rebuilt from its PENDING rows the first time it is used
+     */
+    private Mempool mempool(String poolName) {
+        Mempool mempool = mempools.get(poolName);
+        if (mempool != null) {
+            return mempool;
+        }
+
+        synchronized (mempools) {
+            mempool = mempools.get(poolName);
+            if (mempool != null) {
+                return mempool;
+            }
+
+            TransactionPool pool = poolRepository.findByPoolName(poolName)
+                    .orElseThrow(() -> new IllegalArgumentException("Pool not found: " + poolName));
+            mempool = newMempool(pool);
+            for (Transaction tx : transactionRepository.findByTransactionPoolIdAndStatus(pool.getId(), TransactionStatus.PENDING)) {
+                mempool.restore(tx);
+            }
+
+            correctSize(pool, mempool);
+            mempools.put(poolName, mempool);
+            log.info("Recovered {} pending transactions into pool: {}", mempool.size(), poolName);
+            return mempool;
+        }
+    }
+
+    private static Mempool newMempool(TransactionPool pool) {
+        return new Mempool(pool.getId(), pool.getPoolName(), pool.getMaxSize(), Boolean.TRUE.equals(pool.getIsActive()));
+    }
+
+    /**
+     * Queue a fix for the stored pool size if it has drifted from what the pool actually holds
+     */
+    private void correctSize(TransactionPool pool, Mempool mempool) {
+        if (pool.getCurrentSize() == null || pool.getCurrentSize() != mempool.size()) {
+            log.info("Correcting size of pool {} from {} to {}", pool.getPoolName(), pool.getCurrentSize(), mempool.size());
+            writeBehind.resize(pool.getId(), mempool.size());
+        }
+    }
+
+    /**
+     * Detached pool entity carrying the live in-memory counters, for status DTOs
+     */
+    private TransactionPool snapshotOf(Mempool mempool) {
+        TransactionPool snapshot = new TransactionPool(mempool.getPoolName());
+        snapshot.setId(mempool.getPoolId());
+        snapshot.setMaxSize(mempool.getMaxSize());
+        snapshot.setCurrentSize(mempool.size());
+        snapshot.setIsActive(mempool.isActive());
+        snapshot.setUpdatedAt(mempool.getUpdatedAt());
+        return snapshot;
+    }
+
     /**
      * Inner class for pool statistics
      */
@@ -1,8 +1,10 @@
 package com.wallet.biochain.services.impl;
 
+import com.wallet.biochain.dto.TransactionBatchResultDTO;
 import com.wallet.biochain.dto.TransactionHistoryDTO;
 import com.wallet.biochain.dto.TransactionRequestDTO;
 import com.wallet.biochain.dto.TransactionResponseDTO;
+import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.Wallet;
 import com.wallet.biochain.enums.TransactionStatus;
@@ -12,17 +14,37 @@ import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.repositories.WalletRepository;
 import com.wallet.biochain.services.CryptographyService;
 import com.wallet.biochain.services.P2PNetworkService;
+import com.wallet.biochain.services.TransactionPoolService;
 import com.wallet.biochain.services.TransactionService;
 import com.wallet.biochain.services.ValidationService;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -36,9 +58,22 @@ public class TransactionServiceImpl implements TransactionService {
     private final ValidationService validationService;
     private final P2PNetworkService p2pNetworkService;
     private final TransactionMapper transactionMapper;
+    private final PendingLedger pendingLedger;
+    private final TransactionPoolService transactionPoolService;
+    private final SignatureVerifier signatureVerifier;
 
     private static final BigDecimal FEE_PERCENTAGE = new BigDecimal("0.001"); // 0.1% fee
     private static final BigDecimal MIN_FEE = new BigDecimal("0.00001");
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int BATCH_CHUNK_SIZE = 64;
+
+    // Signing for batch submissions; RSA work is CPU-bound, so one thread per core
+    private final ExecutorService batchExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "transaction-batch");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     @Override
     @Transactional
@@ -55,6 +90,13 @@ public class TransactionServiceImpl implements TransactionService {
         // Calculate fee if not provided
         BigDecimal fee = request.fee() != null ? request.fee() : calculateTransactionFee(request.amount());
 
+        // Use the sender's next nonce if none is given; a pending transaction at the nonce given is replaced
+        long nonce = request.nonce() != null ? request.nonce() : pendingLedger.nextNonce(request.senderAddress());
+        checkNonce(request.senderAddress(), nonce);
+        String replacing = pendingLedger.pendingAt(request.senderAddress(), nonce)
+                .map(PendingLedger.Pending::transactionHash)
+                .orElse(null);
+
         // Validate sufficient balance
         BigDecimal totalRequired = request.amount().add(fee);
         if (senderWallet.getBalance().compareTo(totalRequired) < 0) {
@@ -67,6 +109,7 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setRecipientAddress(request.recipientAddress());
         transaction.setAmount(request.amount());
         transaction.setFee(fee);
+        transaction.setNonce(nonce);
         transaction.setTimestamp(System.currentTimeMillis());
         transaction.setStatus(TransactionStatus.PENDING);
         transaction.setMemo(request.memo());
@@ -92,9 +135,15 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalStateException("Transaction validation failed");
         }
 
+        pendingLedger.checkClaim(transaction, replacing);
+
         // Save transaction
         Transaction savedTransaction = transactionRepository.save(transaction);
+        if (replacing != null) {
+            transactionRepository.updatePendingStatus(List.of(replacing), TransactionStatus.REJECTED, LocalDateTime.now());
+        }
         log.info("Transaction created successfully: {}", txHash);
+        afterCommit(() -> trackCreated(savedTransaction, replacing));
 
         // Broadcast to network (asynchronous)
         try {
@@ -106,6 +155,70 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionMapper.toResponseDTO(savedTransaction);
     }
 
+    @Override
+    @Transactional
+    public List<TransactionBatchResultDTO> createTransactions(List<TransactionRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("No transactions submitted");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch exceeds " + MAX_BATCH_SIZE + " transactions");
+        }
+        log.info("Creating batch of {} transactions", requests.size());
+
+        // One query for every wallet the batch references
+        Set<String> addresses = new HashSet<>();
+        for (TransactionRequestDTO request : requests) {
+            addresses.add(request.senderAddress());
+            addresses.add(request.recipientAddress());
+        }
+        addresses.remove(null);
+        Map<String, Wallet> wallets = walletRepository.findByAddressIn(addresses).stream()
+                .collect(Collectors.toMap(Wallet::getAddress, Function.identity()));
+
+        List<BatchItem> items = verifyBatch(prepareBatch(requests, assignBatchNonces(requests), wallets), wallets);
+        List<Transaction> accepted = admitBatch(items, wallets);
+
+        Map<String, Transaction> saved = Map.of();
+        if (!accepted.isEmpty()) {
+            transactionRepository.insertAll(accepted);
+            // Reload the inserted rows for their generated ids
+            saved = transactionRepository.findByTransactionHashIn(
+                            accepted.stream().map(Transaction::getTransactionHash).toList()).stream()
+                    .collect(Collectors.toMap(Transaction::getTransactionHash, Function.identity()));
+        }
+        log.info("Batch stored {} of {} transactions", accepted.size(), requests.size());
+
+        List<TransactionBatchResultDTO> results = new ArrayList<>(items.size());
+        List<Transaction> admitted = new ArrayList<>(accepted.size());
+        for (BatchItem item : items) {
+            if (item.error() != null) {
+                String hash = item.transaction() != null ? item.transaction().getTransactionHash() : null;
+                results.add(new TransactionBatchResultDTO(item.index(), false, hash, item.error(), null));
+                continue;
+            }
+
+            Transaction transaction = saved.getOrDefault(item.transaction().getTransactionHash(), item.transaction());
+            admitted.add(transaction);
+            try {
+                broadcastTransaction(transaction);
+            } catch (Exception e) {
+                log.error("Failed to broadcast transaction, but transaction was saved", e);
+            }
+            results.add(new TransactionBatchResultDTO(item.index(), true, transaction.getTransactionHash(), null,
+                    transactionMapper.toResponseDTO(transaction)));
+        }
+
+        // The batch only becomes pending in memory once its insert has committed
+        afterCommit(() -> admitted.forEach(pendingLedger::add));
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<TransactionResponseDTO> getTransactionByHash(String transactionHash) {
@@ -211,6 +324,7 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setConfirmationCount(1);
 
         transactionRepository.save(transaction);
+        afterCommit(() -> pendingLedger.confirm(transaction));
 
         // Update wallet balances
         updateWalletBalances(transaction);
@@ -218,6 +332,41 @@ public class TransactionServiceImpl implements TransactionService {
         log.info("Transaction confirmed successfully: {}", transactionHash);
     }
 
+    @Override
+    @Transactional
+    public int confirmBlockTransactions(Block block) {
+        List<String> included = block.getTransactions() == null ? List.of() : block.getTransactions().stream()
+                .map(Transaction::getTransactionHash)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (included.isEmpty()) {
+            return 0;
+        }
+
+        List<Transaction> pending = transactionRepository.findByTransactionHashIn(included).stream()
+                .filter(tx -> tx.getStatus() == TransactionStatus.PENDING)
+                .toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<String> hashes = pending.stream().map(Transaction::getTransactionHash).toList();
+        int confirmed = transactionRepository.confirmPendingInBlock(block, hashes, LocalDateTime.now());
+        // Proofs rebuild the merkle tree from the rows, so they need the order the block committed to
+        transactionRepository.assignBlockPositions(block, included);
+        applyBalanceChanges(pending);
+
+        // Memory follows the database only once the block's transaction has committed
+        afterCommit(() -> {
+            pending.forEach(pendingLedger::confirm);
+            transactionPoolService.removeTransactions(hashes);
+        });
+
+        log.info("Confirmed {} transactions in block {}", confirmed, block.getBlockIndex());
+        return confirmed;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Long getTransactionCount(String walletAddress) {
@@ -249,11 +398,269 @@ public class TransactionServiceImpl implements TransactionService {
      * Build transaction data for hashing/signing
      */
     private String buildTransactionData(Transaction transaction) {
-        return transaction.getSenderAddress() +
-                transaction.getRecipientAddress() +
-                transaction.getAmount().toPlainString() +
-                transaction.getFee().toPlainString() +
-                transaction.getTimestamp();
+        return SignatureVerifier.signedData(transaction);
+    }
+
+    /**
+     * Track a committed transaction as pending in place of {@code replacing}; the ledger takes the
+     * replaced one out of the block template and every pool
+     */
+    private void trackCreated(Transaction transaction, String replacing) {
+        pendingLedger.replace(transaction, replacing).ifPresent(replaced ->
+                log.info("Transaction {} replaced {} at nonce {}", transaction.getTransactionHash(), replaced,
+                        transaction.getNonce()));
+    }
+
+    private void checkNonce(String senderAddress, long nonce) {
+        if (nonce < 0) {
+            throw new IllegalArgumentException("Nonce cannot be negative");
+        }
+        if (nonce <= pendingLedger.confirmedNonce(senderAddress)) {
+            throw new IllegalArgumentException("Nonce " + nonce + " has already been used by " + senderAddress);
+        }
+    }
+
+    /**
+     * Nonces for a batch, in request order: the one given, or the sender's next nonce not pending and
+     * not given to another request of the batch
+     */
+    private Long[] assignBatchNonces(List<TransactionRequestDTO> requests) {
+        Map<String, Set<Long>> given = new HashMap<>();
+        for (TransactionRequestDTO request : requests) {
+            if (request.nonce() != null && request.senderAddress() != null) {
+                given.computeIfAbsent(request.senderAddress(), sender -> new HashSet<>()).add(request.nonce());
+            }
+        }
+
+        Long[] nonces = new Long[requests.size()];
+        Map<String, Long> next = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequestDTO request = requests.get(i);
+            String sender = request.senderAddress();
+            if (request.nonce() != null || sender == null) {
+                nonces[i] = request.nonce();
+                continue;
+            }
+
+            Set<Long> taken = given.getOrDefault(sender, Set.of());
+            long nonce = pendingLedger.nextNonce(sender, next.getOrDefault(sender, 0L));
+            while (taken.contains(nonce)) {
+                nonce = pendingLedger.nextNonce(sender, nonce + 1);
+            }
+            nonces[i] = nonce;
+            next.put(sender, nonce + 1);
+        }
+        return nonces;
+    }
+
+    /**
+     * Build, hash and sign every request of a batch, spread over the batch executor in chunks
+     */
+    private List<BatchItem> prepareBatch(List<TransactionRequestDTO> requests, Long[] nonces,
+                                         Map<String, Wallet> wallets) {
+        List<Callable<List<BatchItem>>> chunks = new ArrayList<>();
+        for (int start = 0; start < requests.size(); start += BATCH_CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(requests.size(), start + BATCH_CHUNK_SIZE);
+            chunks.add(() -> {
+                List<BatchItem> chunk = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    chunk.add(prepareBatchItem(i, requests.get(i), nonces[i], wallets));
+                }
+                return chunk;
+            });
+        }
+
+        List<BatchItem> items = new ArrayList<>(requests.size());
+        try {
+            for (Future<List<BatchItem>> chunk : batchExecutor.invokeAll(chunks)) {
+                items.addAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while signing transaction batch", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to sign transaction batch", e.getCause());
+        }
+        return items;
+    }
+
+    private BatchItem prepareBatchItem(int index, TransactionRequestDTO request, Long nonce,
+                                       Map<String, Wallet> wallets) {
+        Wallet senderWallet = wallets.get(request.senderAddress());
+        if (senderWallet == null) {
+            return BatchItem.rejected(index, null, "Sender wallet not found");
+        }
+        Wallet recipientWallet = wallets.get(request.recipientAddress());
+        if (recipientWallet == null) {
+            return BatchItem.rejected(index, null, "Recipient wallet not found");
+        }
+        if (request.amount() == null) {
+            return BatchItem.rejected(index, null, "Amount is required");
+        }
+        if (request.privateKey() == null || request.privateKey().isEmpty()) {
+            return BatchItem.rejected(index, null, "Private key is required for signing");
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setSenderAddress(request.senderAddress());
+        transaction.setRecipientAddress(request.recipientAddress());
+        transaction.setAmount(request.amount());
+        transaction.setFee(request.fee() != null ? request.fee() : calculateTransactionFee(request.amount()));
+        transaction.setNonce(nonce);
+        transaction.setTimestamp(System.currentTimeMillis());
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setMemo(request.memo());
+        transaction.setSenderWallet(senderWallet);
+        transaction.setRecipientWallet(recipientWallet);
+
+        if (!validationService.validateTransactionFormat(transaction)) {
+            return BatchItem.rejected(index, null, "Invalid transaction format");
+        }
+
+        try {
+            String txData = buildTransactionData(transaction);
+            transaction.setTransactionHash(cryptographyService.hash(txData));
+            transaction.setSignature(cryptographyService.sign(txData, request.privateKey()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to sign batch transaction {}: {}", index, e.getMessage());
+            return BatchItem.rejected(index, transaction, "Failed to sign transaction");
+        }
+        return new BatchItem(index, transaction, null);
+    }
+
+    /**
+     * Check the signatures of the signed items, so a private key not belonging to the sender's wallet
+     * is rejected
+     */
+    private List<BatchItem> verifyBatch(List<BatchItem> items, Map<String, Wallet> wallets) {
+        List<Transaction> signed = items.stream()
+                .filter(item -> item.error() == null)
+                .map(BatchItem::transaction)
+                .toList();
+        Map<String, String> publicKeys = new HashMap<>();
+        wallets.values().forEach(wallet -> publicKeys.put(wallet.getAddress(), wallet.getPublicKey()));
+        Iterator<SignatureVerifier.Verdict> verdicts = signatureVerifier.verify(signed, publicKeys, false).iterator();
+
+        List<BatchItem> verified = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            SignatureVerifier.Verdict verdict = item.error() == null ? verdicts.next() : null;
+            verified.add(verdict == null || verdict.isValid() ? item
+                    : BatchItem.rejected(item.index(), item.transaction(), verdict.reason()));
+        }
+        return verified;
+    }
+
+    /**
+     * Reject duplicates, used or pending nonces, and spends beyond each sender's balance, counting
+     * pending transactions and earlier items of the same batch; returns the transactions admitted,
+     * in request order. A batch does not replace pending transactions.
+     */
+    private List<Transaction> admitBatch(List<BatchItem> items, Map<String, Wallet> wallets) {
+        Set<String> hashes = new LinkedHashSet<>();
+        for (BatchItem item : items) {
+            if (item.error() == null) {
+                hashes.add(item.transaction().getTransactionHash());
+            }
+        }
+        if (hashes.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> seen = new HashSet<>(transactionRepository.findExistingHashes(hashes));
+        Set<String> nonceSlots = new HashSet<>();
+        Map<String, BigDecimal> committed = new HashMap<>();
+
+        List<Transaction> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            if (item.error() != null) {
+                continue;
+            }
+
+            Transaction transaction = item.transaction();
+            if (!seen.add(transaction.getTransactionHash())) {
+                items.set(i, BatchItem.rejected(item.index(), transaction, "Duplicate transaction"));
+                continue;
+            }
+
+            String sender = transaction.getSenderAddress();
+            String nonceError = batchNonceError(sender, transaction.getNonce(), nonceSlots);
+            if (nonceError != null) {
+                items.set(i, BatchItem.rejected(item.index(), transaction, nonceError));
+                continue;
+            }
+
+            BigDecimal available = wallets.get(sender).getBalance();
+            BigDecimal required = committed.computeIfAbsent(sender, pendingLedger::pendingOutflow)
+                    .add(transaction.getAmount())
+                    .add(transaction.getFee());
+            if (available.compareTo(required) < 0) {
+                items.set(i, BatchItem.rejected(item.index(), transaction,
+                        "Insufficient balance. Required: " + required + ", Available: " + available));
+                continue;
+            }
+
+            committed.put(sender, required);
+            nonceSlots.add(sender + ":" + transaction.getNonce());
+            accepted.add(transaction);
+        }
+        return accepted;
+    }
+
+    private String batchNonceError(String sender, Long nonce, Set<String> nonceSlots) {
+        if (nonce == null) {
+            return null;
+        }
+        if (nonce < 0 || nonce <= pendingLedger.confirmedNonce(sender)) {
+            return "Nonce " + nonce + " has already been used";
+        }
+        if (nonceSlots.contains(sender + ":" + nonce) || pendingLedger.pendingAt(sender, nonce).isPresent()) {
+            return "Nonce " + nonce + " is already pending";
+        }
+        return null;
+    }
+
+    /**
+     * One request of a batch: the transaction built for it, and why it was rejected if it was
+     */
+    private record BatchItem(int index, Transaction transaction, String error) {
+
+        private static BatchItem rejected(int index, Transaction transaction, String error) {
+            return new BatchItem(index, transaction, error);
+        }
+    }
+
+    /**
+     * Apply the balance changes of many confirmed transactions with one wallet lookup and one batch save
+     */
+    private void applyBalanceChanges(List<Transaction> transactions) {
+        Map<String, BigDecimal> changes = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            BigDecimal fee = transaction.getFee() != null ? transaction.getFee() : BigDecimal.ZERO;
+            changes.merge(transaction.getSenderAddress(), transaction.getAmount().add(fee).negate(), BigDecimal::add);
+            changes.merge(transaction.getRecipientAddress(), transaction.getAmount(), BigDecimal::add);
+        }
+        changes.remove(null);
+
+        List<Wallet> wallets = walletRepository.findByAddressIn(changes.keySet());
+        for (Wallet wallet : wallets) {
+            wallet.setBalance(wallet.getBalance().add(changes.get(wallet.getAddress())));
+        }
+        walletRepository.saveAll(wallets);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -2,10 +2,10 @@ package com.wallet.biochain.services.impl;
 
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
-import com.wallet.biochain.enums.TransactionStatus;
 import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.repositories.WalletRepository;
 import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.MerkleService;
 import com.wallet.biochain.services.ValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -23,6 +24,10 @@ public class ValidationServiceImpl implements ValidationService {
     private final CryptographyService cryptographyService;
     private final WalletRepository walletRepository;
     private final TransactionRepository transactionRepository;
+    private final MerkleService merkleService;
+    private final PendingLedger pendingLedger;
+    private final SignatureVerifier signatureVerifier;
+    private final PublicKeyCache publicKeyCache;
 
     private static final Pattern ADDRESS_PATTERN = Pattern.compile("^0x[a-fA-F0-9]{40}$");
     private static final BigDecimal MIN_TRANSACTION_AMOUNT = new BigDecimal("0.00000001");
@@ -46,15 +51,7 @@ public class ValidationServiceImpl implements ValidationService {
             return false;
         }
 
-        // Validate balance
-        if (!validateBalance(transaction.getSenderAddress(), transaction.getAmount().add(transaction.getFee()))) {
-            log.warn("Insufficient balance for transaction: {}", transaction.getTransactionHash());
-            return false;
-        }
-
-        // Check double spending
-        if (checkDoubleSpending(transaction)) {
-            log.warn("Double spending detected for transaction: {}", transaction.getTransactionHash());
+        if (!validateFunds(transaction)) {
             return false;
         }
 
@@ -75,13 +72,31 @@ public class ValidationServiceImpl implements ValidationService {
             return false;
         }
 
-        // Validate all transactions in the block
-        if (block.getTransactions() != null) {
-            for (Transaction tx : block.getTransactions()) {
-                if (!validateTransaction(tx)) {
-                    log.warn("Invalid transaction in block: {}", block.getBlockIndex());
-                    return false;
-                }
+        // Validate merkle root against the block's transactions
+        if (block.getMerkleRoot() != null && !validateMerkleRoot(block)) {
+            log.warn("Merkle root validation failed for block: {}", block.getBlockIndex());
+            return false;
+        }
+
+        // Validate all transactions in the block: format first, then every signature in parallel,
+        // then balances
+        List<Transaction> transactions = block.getTransactions() != null ? block.getTransactions() : List.of();
+        for (Transaction tx : transactions) {
+            if (tx == null || !validateTransactionFormat(tx)) {
+                log.warn("Invalid transaction format in block: {}", block.getBlockIndex());
+                return false;
+            }
+        }
+        Optional<SignatureVerifier.Verdict> badSignature = signatureVerifier.firstFailure(transactions);
+        if (badSignature.isPresent()) {
+            log.warn("Invalid signature on transaction {} in block {}: {}", badSignature.get().transactionHash(),
+                    block.getBlockIndex(), badSignature.get().reason());
+            return false;
+        }
+        for (Transaction tx : transactions) {
+            if (!validateFunds(tx)) {
+                log.warn("Invalid transaction in block: {}", block.getBlockIndex());
+                return false;
             }
         }
 
@@ -139,16 +154,15 @@ public class ValidationServiceImpl implements ValidationService {
 
         try {
             // Get sender's public key from wallet
-            var wallet = walletRepository.findByAddress(transaction.getSenderAddress());
-            if (wallet.isEmpty()) {
+            var publicKey = publicKeyCache.get(transaction.getSenderAddress());
+            if (publicKey.isEmpty()) {
                 log.warn("Sender wallet not found: {}", transaction.getSenderAddress());
                 return false;
             }
 
-            String publicKey = wallet.get().getPublicKey();
             String dataToVerify = buildTransactionData(transaction);
 
-            boolean isValid = cryptographyService.verifySignature(dataToVerify, transaction.getSignature(), publicKey);
+            boolean isValid = cryptographyService.verifySignature(dataToVerify, transaction.getSignature(), publicKey.get());
 
             if (!isValid) {
                 log.warn("Signature verification failed for transaction: {}", transaction.getTransactionHash());
@@ -206,6 +220,21 @@ public class ValidationServiceImpl implements ValidationService {
         }
     }
 
+    @Override
+    public boolean validateMerkleRoot(Block block) {
+        List<String> hashes = block.getTransactions() == null ? List.of() : block.getTransactions().stream()
+                .map(Transaction::getTransactionHash)
+                .toList();
+
+        String calculatedRoot = merkleService.calculateMerkleRoot(
+                MiningWorkSource.committedLeaves(hashes, block.getMinerAddress(), block.getExtraNonce()));
+        boolean isValid = calculatedRoot != null && calculatedRoot.equals(block.getMerkleRoot());
+        if (!isValid) {
+            log.warn("Merkle root mismatch. Expected: {}, Got: {}", calculatedRoot, block.getMerkleRoot());
+        }
+        return isValid;
+    }
+
     @Override
     public boolean validatePreviousHash(Block currentBlock, Block previousBlock) {
         if (currentBlock == null || previousBlock == null) {
@@ -287,20 +316,21 @@ public class ValidationServiceImpl implements ValidationService {
             }
         }
 
-        // Check if sender has pending transactions that would exceed balance
-        List<Transaction> pendingTransactions = transactionRepository.findBySenderAddress(transaction.getSenderAddress())
-                .stream()
-                .filter(tx -> tx.getStatus() == TransactionStatus.PENDING)
-                .toList();
-
         var wallet = walletRepository.findByAddress(transaction.getSenderAddress());
         if (wallet.isEmpty()) {
             return true; // Wallet doesn't exist
         }
 
-        BigDecimal totalPendingAmount = pendingTransactions.stream()
-                .map(tx -> tx.getAmount().add(tx.getFee()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Check if sender has pending transactions that would exceed balance
+        BigDecimal totalPendingAmount = pendingLedger.pendingOutflow(transaction.getSenderAddress());
+        if (transaction.getNonce() != null) {
+            // A transaction at a pending nonce replaces the pending one, releasing that one's outflow
+            BigDecimal replaced = pendingLedger.pendingAt(transaction.getSenderAddress(), transaction.getNonce())
+                    .filter(current -> !current.transactionHash().equals(transaction.getTransactionHash()))
+                    .map(PendingLedger.Pending::outflow)
+                    .orElse(BigDecimal.ZERO);
+            totalPendingAmount = totalPendingAmount.subtract(replaced);
+        }
 
         BigDecimal newTransactionAmount = transaction.getAmount().add(transaction.getFee());
         BigDecimal totalRequired = totalPendingAmount.add(newTransactionAmount);
@@ -313,6 +343,22 @@ public class ValidationServiceImpl implements ValidationService {
         return false;
     }
 
+    /**
+     * Balance and double spending checks of a transaction
+     */
+    private boolean validateFunds(Transaction transaction) {
+        if (!validateBalance(transaction.getSenderAddress(), transaction.getAmount().add(transaction.getFee()))) {
+            log.warn("Insufficient balance for transaction: {}", transaction.getTransactionHash());
+            return false;
+        }
+
+        if (checkDoubleSpending(transaction)) {
+            log.warn("Double spending detected for transaction: {}", transaction.getTransactionHash());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Calculate block hash
      */
@@ -329,9 +375,6 @@ public class ValidationServiceImpl implements ValidationService {
      * Build transaction data for signing/verification
      */
     private String buildTransactionData(Transaction transaction) {
-        return transaction.getSenderAddress() +
-                transaction.getRecipientAddress() +
-                transaction.getAmount() +
-                transaction.getTimestamp();
+        return SignatureVerifier.signedData(transaction);
     }
 }
\ No newline at end of file
@@ -1,14 +1,15 @@
 package com.wallet.biochain.services.impl;
 
+import com.wallet.biochain.config.BlockchainConfig;
 import com.wallet.biochain.dto.BalanceDTO;
 import com.wallet.biochain.dto.WalletCreateRequestDTO;
 import com.wallet.biochain.dto.WalletCreateResponseDTO;
 import com.wallet.biochain.dto.WalletDTO;
 import com.wallet.biochain.entities.User;
 import com.wallet.biochain.entities.Wallet;
+import com.wallet.biochain.enums.SignatureSchemeType;
 import com.wallet.biochain.mappers.BalanceMapper;
 import com.wallet.biochain.mappers.WalletMapper;
-import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.repositories.UserRepository;
 import com.wallet.biochain.repositories.WalletRepository;
 import com.wallet.biochain.services.CryptographyService;
@@ -30,10 +31,12 @@ public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
     private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
+    private final PendingLedger pendingLedger;
     private final CryptographyService cryptographyService;
     private final WalletMapper walletMapper;
     private final BalanceMapper balanceMapper;
+    private final PublicKeyCache publicKeyCache;
+    private final BlockchainConfig blockchainConfig;
 
     @Override
     @Transactional
@@ -45,7 +48,8 @@ public class WalletServiceImpl implements WalletService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + request.userId()));
 
         // Generate key pair
-        KeyPair keyPair = cryptographyService.generateKeyPair();
+        SignatureSchemeType scheme = request.signatureScheme() != null ? request.signatureScheme() : defaultSignatureScheme();
+        KeyPair keyPair = cryptographyService.generateKeyPair(scheme);
         String publicKey = cryptographyService.encodePublicKey(keyPair.getPublic());
         String privateKey = cryptographyService.encodePrivateKey(keyPair.getPrivate());
 
@@ -66,12 +70,13 @@ public class WalletServiceImpl implements WalletService {
         wallet.setAddress(address);
         wallet.setPublicKey(publicKey);
         wallet.setEncryptedPrivateKey(encryptedPrivateKey);
+        wallet.setSignatureScheme(scheme);
         wallet.setBalance(BigDecimal.ZERO);
         wallet.setUser(user);
         wallet.setIsActive(true);
 
         Wallet savedWallet = walletRepository.save(wallet);
-        log.info("Wallet created successfully with address: {}", address);
+        log.info("Wallet created successfully with address: {} ({})", address, scheme);
 
         return walletMapper.toCreateResponseDTO(savedWallet, privateKey);
     }
@@ -191,6 +196,7 @@ public class WalletServiceImpl implements WalletService {
 
         wallet.setIsActive(false);
         walletRepository.save(wallet);
+        publicKeyCache.invalidate(walletAddress);
 
         log.info("Wallet deactivated successfully: {}", walletAddress);
     }
@@ -247,10 +253,7 @@ public class WalletServiceImpl implements WalletService {
         try {
             // Decode private key and derive public key
             var privateKeyObj = cryptographyService.decodePrivateKey(privateKey);
-
-            // Generate public key from private key
-            KeyPair keyPair = cryptographyService.generateKeyPair(); // This is a workaround
-            String publicKey = cryptographyService.encodePublicKey(keyPair.getPublic());
+            String publicKey = cryptographyService.encodePublicKey(cryptographyService.derivePublicKey(privateKeyObj));
 
             // Generate address
             String address = cryptographyService.generateAddress(publicKey);
@@ -268,11 +271,13 @@ public class WalletServiceImpl implements WalletService {
             wallet.setAddress(address);
             wallet.setPublicKey(publicKey);
             wallet.setEncryptedPrivateKey(encryptedPrivateKey);
+            wallet.setSignatureScheme(cryptographyService.getSignatureScheme(privateKeyObj));
             wallet.setBalance(BigDecimal.ZERO);
             wallet.setUser(user);
             wallet.setIsActive(true);
 
             Wallet savedWallet = walletRepository.save(wallet);
+            publicKeyCache.invalidate(address);
             log.info("Wallet imported successfully: {}", address);
 
             return walletMapper.toDTO(savedWallet);
@@ -305,18 +310,10 @@ public class WalletServiceImpl implements WalletService {
      * Calculate pending balance from unconfirmed transactions
      */
     private BigDecimal calculatePendingBalance(String walletAddress) {
-        var pendingReceived = transactionRepository.findByRecipientAddress(walletAddress)
-                .stream()
-                .filter(tx -> tx.getStatus().toString().equals("PENDING"))
-                .map(tx -> tx.getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        var pendingSent = transactionRepository.findBySenderAddress(walletAddress)
-                .stream()
-                .filter(tx -> tx.getStatus().toString().equals("PENDING"))
-                .map(tx -> tx.getAmount().add(tx.getFee()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return pendingReceived.subtract(pendingSent);
+        return pendingLedger.pendingInflow(walletAddress).subtract(pendingLedger.pendingOutflow(walletAddress));
+    }
+
+    private SignatureSchemeType defaultSignatureScheme() {
+        return SignatureSchemeType.valueOf(blockchainConfig.getCrypto().getDefaultSignatureScheme().trim().toUpperCase());
     }
-}
\ No newline at end of file
+}
@@ -37,7 +37,7 @@ class TransactionControllerTest {
     void createTransaction_success() throws Exception {
         TransactionResponseDTO dto = new TransactionResponseDTO(
                 1L, "hash", "sender", "recipient", BigDecimal.TEN, BigDecimal.ONE,
-                TransactionStatus.PENDING, 0, 1234567890L, LocalDateTime.now(), "memo");
+                TransactionStatus.PENDING, 0, 1234567890L, LocalDateTime.now(), "memo", null);
         
         when(transactionService.createTransaction(any())).thenReturn(dto);
 
@@ -65,7 +65,7 @@ class TransactionControllerTest {
     void getTransactionByHash_found() throws Exception {
         TransactionResponseDTO dto = new TransactionResponseDTO(
                 1L, "hash", "sender", "recipient", BigDecimal.TEN, BigDecimal.ONE,
-                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo");
+                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo", null);
         
         when(transactionService.getTransactionByHash("hash")).thenReturn(Optional.of(dto));
 
@@ -100,7 +100,7 @@ class TransactionControllerTest {
     void getSentTransactions_success() throws Exception {
         TransactionResponseDTO dto = new TransactionResponseDTO(
                 1L, "hash", "sender", "recipient", BigDecimal.TEN, BigDecimal.ONE,
-                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo");
+                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo", null);
         
         when(transactionService.getSentTransactions("address")).thenReturn(List.of(dto));
 
@@ -114,7 +114,7 @@ class TransactionControllerTest {
     void getReceivedTransactions_success() throws Exception {
         TransactionResponseDTO dto = new TransactionResponseDTO(
                 1L, "hash", "sender", "recipient", BigDecimal.TEN, BigDecimal.ONE,
-                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo");
+                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo", null);
         
         when(transactionService.getReceivedTransactions("address")).thenReturn(List.of(dto));
 
@@ -128,7 +128,7 @@ class TransactionControllerTest {
     void getPendingTransactions_success() throws Exception {
         TransactionResponseDTO dto = new TransactionResponseDTO(
                 1L, "hash", "sender", "recipient", BigDecimal.TEN, BigDecimal.ONE,
-                TransactionStatus.PENDING, 0, 1234567890L, LocalDateTime.now(), "memo");
+                TransactionStatus.PENDING, 0, 1234567890L, LocalDateTime.now(), "memo", null);
         
         when(transactionService.getPendingTransactions()).thenReturn(List.of(dto));
 
@@ -142,7 +142,7 @@ class TransactionControllerTest {
     void getConfirmedTransactions_success() throws Exception {
         TransactionResponseDTO dto = new TransactionResponseDTO(
                 1L, "hash", "sender", "recipient", BigDecimal.TEN, BigDecimal.ONE,
-                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo");
+                TransactionStatus.CONFIRMED, 1, 1234567890L, LocalDateTime.now(), "memo", null);
         
         when(transactionService.getConfirmedTransactions()).thenReturn(List.of(dto));
 
@@ -4,6 +4,7 @@ import com.wallet.biochain.dto.BalanceDTO;
 import com.wallet.biochain.dto.WalletCreateRequestDTO;
 import com.wallet.biochain.dto.WalletCreateResponseDTO;
 import com.wallet.biochain.dto.WalletDTO;
+import com.wallet.biochain.enums.SignatureSchemeType;
 import com.wallet.biochain.services.WalletService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,7 +37,7 @@ class WalletControllerTest {
     @Test
     void createWallet_success() throws Exception {
         WalletCreateResponseDTO dto = new WalletCreateResponseDTO(
-                1L, "address", "publicKey", "privateKey", BigDecimal.TEN, LocalDateTime.now(), "Created");
+                1L, "address", "publicKey", SignatureSchemeType.RSA_2048, "privateKey", BigDecimal.TEN, LocalDateTime.now(), "Created");
         
         when(walletService.createWallet(any())).thenReturn(dto);
 
@@ -54,7 +55,7 @@ class WalletControllerTest {
     @Test
     void getWallet_found() throws Exception {
         WalletDTO dto = new WalletDTO(
-                1L, "address", "publicKey", BigDecimal.TEN, true, LocalDateTime.now(), "user1");
+                1L, "address", "publicKey", SignatureSchemeType.RSA_2048, BigDecimal.TEN, true, LocalDateTime.now(), "user1");
         
         when(walletService.getWalletByAddress("address")).thenReturn(Optional.of(dto));
 
@@ -75,9 +76,9 @@ class WalletControllerTest {
     @Test
     void getWalletsByUserId_success() throws Exception {
         WalletDTO dto1 = new WalletDTO(
-                1L, "address1", "publicKey1", BigDecimal.TEN, true, LocalDateTime.now(), "user1");
+                1L, "address1", "publicKey1", SignatureSchemeType.RSA_2048, BigDecimal.TEN, true, LocalDateTime.now(), "user1");
         WalletDTO dto2 = new WalletDTO(
-                2L, "address2", "publicKey2", BigDecimal.ONE, true, LocalDateTime.now(), "user1");
+                2L, "address2", "publicKey2", SignatureSchemeType.RSA_2048, BigDecimal.ONE, true, LocalDateTime.now(), "user1");
         
         when(walletService.getWalletsByUserId(1L)).thenReturn(List.of(dto1, dto2));
 
@@ -90,7 +91,7 @@ class WalletControllerTest {
     @Test
     void getActiveWalletsByUserId_success() throws Exception {
         WalletDTO dto = new WalletDTO(
-                1L, "address1", "publicKey1", BigDecimal.TEN, true, LocalDateTime.now(), "user1");
+                1L, "address1", "publicKey1", SignatureSchemeType.RSA_2048, BigDecimal.TEN, true, LocalDateTime.now(), "user1");
         
         when(walletService.getActiveWalletsByUserId(1L)).thenReturn(List.of(dto));
 
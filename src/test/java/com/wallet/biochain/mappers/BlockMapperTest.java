@@ -0,0 +1,72 @@
+package com.wallet.biochain.mappers;
+
+import com.wallet.biochain.dto.BlockDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.impl.MiningWorkSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockMapperTest {
+
+    private final BlockMapper blockMapper = new BlockMapper(new TransactionMapper());
+
+    @Test
+    void toDTO_roundTripKeepsEveryHeaderField() {
+        Block block = new Block();
+        block.setId(3L);
+        block.setBlockIndex(7);
+        block.setHash("hash");
+        block.setPreviousHash("previous");
+        block.setTimestamp(1_700_000_000_000L);
+        block.setNonce(42);
+        block.setExtraNonce(5);
+        block.setDifficulty(4);
+        block.setBits(0x1d00ffffL);
+        block.setMerkleRoot("root");
+        block.setMinerAddress("miner");
+        block.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Transaction tx = new Transaction();
+        tx.setTransactionHash("tx");
+        block.setTransactions(List.of(tx));
+
+        BlockDTO dto = blockMapper.toDTO(block);
+        Block restored = blockMapper.toEntity(dto);
+
+        assertEquals(5, dto.extraNonce());
+        assertEquals(0x1d00ffffL, dto.bits());
+        assertEquals(block.getId(), restored.getId());
+        assertEquals(block.getBlockIndex(), restored.getBlockIndex());
+        assertEquals(block.getHash(), restored.getHash());
+        assertEquals(block.getPreviousHash(), restored.getPreviousHash());
+        assertEquals(block.getTimestamp(), restored.getTimestamp());
+        assertEquals(block.getNonce(), restored.getNonce());
+        assertEquals(block.getExtraNonce(), restored.getExtraNonce());
+        assertEquals(block.getDifficulty(), restored.getDifficulty());
+        assertEquals(block.getBits(), restored.getBits());
+        assertEquals(block.getMerkleRoot(), restored.getMerkleRoot());
+        assertEquals(block.getMinerAddress(), restored.getMinerAddress());
+        assertEquals(block.getCreatedAt(), restored.getCreatedAt());
+        // A peer reading the DTO commits to the same leaves as the miner did
+        assertEquals(MiningWorkSource.committedLeaves(List.of("tx"), "miner", 5),
+                MiningWorkSource.committedLeaves(List.of("tx"), restored.getMinerAddress(), restored.getExtraNonce()));
+    }
+
+    @Test
+    void toDTOWithoutTransactions_carriesExtraNonceAndBits() {
+        Block block = new Block();
+        block.setExtraNonce(2);
+        block.setBits(0x207fffffL);
+
+        BlockDTO dto = blockMapper.toDTOWithoutTransactions(block);
+
+        assertEquals(2, dto.extraNonce());
+        assertEquals(0x207fffffL, dto.bits());
+        assertNull(dto.transactions());
+        assertNull(blockMapper.toEntity(null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.services.impl.BlockHeader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockHeaderTest {
+
+    private static final String HASH_64 = "00000a3f".repeat(8);
+
+    @Test
+    void hash_matchesStringPreimageAcrossNonceDigitChanges() {
+        BlockHeader header = new BlockHeader(12345, HASH_64, 1700000000000L, HASH_64);
+
+        for (int nonce : new int[]{0, 1, 9, 10, 99, 100, 999_999_999, 1_000_000_000, Integer.MAX_VALUE, 42}) {
+            assertEquals(legacyHash("12345" + HASH_64 + 1700000000000L + nonce + HASH_64),
+                    header.hashHex(nonce), "nonce " + nonce);
+        }
+    }
+
+    @Test
+    void hash_reusesMidstateAcrossManyNoncesAndBlockBoundaries() {
+        // prefix and suffix lengths put the nonce on either side of a 64-byte block boundary
+        for (String previous : new String[]{"", "p", HASH_64, HASH_64 + HASH_64.substring(0, 37)}) {
+            BlockHeader header = new BlockHeader(9, previous, 1700000000000L, HASH_64);
+            byte[] digest = new byte[BlockHeader.DIGEST_LENGTH];
+
+            for (int nonce = -50; nonce < 2_000; nonce += 7) {
+                header.hash(nonce, digest);
+                assertEquals(legacyHash("9" + previous + 1700000000000L + nonce + HASH_64),
+                        BlockHeader.toHex(digest), "nonce " + nonce);
+            }
+        }
+    }
+
+    @Test
+    void hash_rejectsShortDigestBuffer() {
+        BlockHeader header = new BlockHeader(1, "prev", 1L, "root");
+
+        assertThrows(IllegalArgumentException.class, () -> header.hash(0, new byte[16]));
+    }
+
+    @Test
+    void hash_handlesNegativeNoncesAndNullFields() {
+        BlockHeader header = new BlockHeader(null, null, null, null);
+
+        assertEquals(legacyHash("nullnullnull-1null"), header.hashHex(-1));
+        assertEquals(legacyHash("nullnullnull" + Integer.MIN_VALUE + "null"), header.hashHex(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void hash_writesIntoCallerBuffer() {
+        BlockHeader header = new BlockHeader(1, "prev", 1L, "root");
+        byte[] digest = new byte[BlockHeader.DIGEST_LENGTH];
+
+        header.hash(7, digest);
+
+        assertEquals(legacyHash("1prev17root"), BlockHeader.toHex(digest));
+    }
+
+    @Test
+    void meetsDifficulty_comparesLeadingNibbles() {
+        byte[] digest = new byte[32];
+        digest[2] = 0x0f;
+
+        assertTrue(BlockHeader.meetsDifficulty(digest, 0));
+        assertTrue(BlockHeader.meetsDifficulty(digest, 4));
+        assertTrue(BlockHeader.meetsDifficulty(digest, 5));
+        assertFalse(BlockHeader.meetsDifficulty(digest, 6));
+        assertFalse(BlockHeader.meetsDifficulty(digest, 65));
+    }
+
+    private String legacyHash(String data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,15 +2,21 @@ package com.wallet.biochain.services;
 
 import com.wallet.biochain.dto.BlockDTO;
 import com.wallet.biochain.dto.BlockValidationDTO;
+import com.wallet.biochain.dto.MerkleProofDTO;
 import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.mappers.BlockMapper;
 import com.wallet.biochain.repositories.BlockRepository;
 import com.wallet.biochain.services.impl.BlockServiceImpl;
+import com.wallet.biochain.services.impl.MerkleTree;
+import com.wallet.biochain.services.impl.MiningWorkSource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +32,10 @@ class BlockServiceImplTest {
     private CryptographyService cryptographyService;
     @Mock
     private BlockMapper blockMapper;
+    @Mock
+    private MerkleService merkleService;
+    @Mock
+    private TransactionService transactionService;
 
     @InjectMocks
     private BlockServiceImpl blockService;
@@ -92,6 +102,7 @@ class BlockServiceImplTest {
         when(blockRepository.save(b)).thenReturn(b);
         assertEquals(b, blockService.addBlock(b));
         verify(blockRepository).save(b);
+        verify(transactionService).confirmBlockTransactions(b);
     }
 
     @Test
@@ -106,5 +117,72 @@ class BlockServiceImplTest {
         assertTrue(result.isPresent());
         assertEquals(dto, result.get());
     }
-}
 
+    @Test
+    void calculateMerkleRoot_delegatesTransactionHashesInOrder() {
+        when(merkleService.calculateMerkleRoot(List.of("b", "a"))).thenReturn("root");
+
+        assertEquals("root", blockService.calculateMerkleRoot(List.of(tx(2L, "b"), tx(1L, "a"))));
+        verifyNoInteractions(cryptographyService);
+    }
+
+    @Test
+    void getMerkleProof_ordersLeavesByBlockPositionAndVerifies() {
+        List<String> hashes = List.of("01".repeat(32), "02".repeat(32), "03".repeat(32));
+        Block block = new Block();
+        block.setHash("blockHash");
+        block.setBlockIndex(3);
+        block.setMinerAddress("miner");
+        block.setExtraNonce(7);
+        // Ids follow submission order, positions follow the order the block committed to
+        block.setTransactions(new ArrayList<>(List.of(tx(1L, hashes.get(2), 2), tx(2L, hashes.get(0), 0), tx(3L, hashes.get(1), 1))));
+        List<String> committed = MiningWorkSource.committedLeaves(hashes, "miner", 7);
+        block.setMerkleRoot(MerkleTree.of(MerkleTree.parseLeaves(committed).orElseThrow()).rootHex());
+        when(blockRepository.findByHash("blockHash")).thenReturn(Optional.of(block));
+
+        MerkleProofDTO proof = blockService.getMerkleProof("blockHash", hashes.get(2)).orElseThrow();
+
+        assertEquals(2, proof.leafIndex());
+        assertEquals(4, proof.leafCount());
+        HexFormat hex = HexFormat.of();
+        assertTrue(MerkleTree.verifyProof(hex.parseHex(hashes.get(2)), proof.leafIndex(),
+                proof.siblings().stream().map(hex::parseHex).toList(), hex.parseHex(proof.merkleRoot())));
+        assertTrue(blockService.getMerkleProof("blockHash", "04".repeat(32)).isEmpty());
+    }
+
+    @Test
+    void getMerkleProof_rowsWithoutPositionFallBackToId() {
+        List<String> hashes = List.of("01".repeat(32), "02".repeat(32));
+        Block block = new Block();
+        block.setHash("blockHash");
+        block.setTransactions(new ArrayList<>(List.of(tx(2L, hashes.get(1)), tx(1L, hashes.get(0)))));
+        block.setMerkleRoot(MerkleTree.of(MerkleTree.parseLeaves(hashes).orElseThrow()).rootHex());
+        when(blockRepository.findByHash("blockHash")).thenReturn(Optional.of(block));
+
+        assertEquals(1, blockService.getMerkleProof("blockHash", hashes.get(1)).orElseThrow().leafIndex());
+    }
+
+    @Test
+    void getMerkleProof_rootMismatch_throws() {
+        Block block = new Block();
+        block.setHash("blockHash");
+        block.setMerkleRoot("stale");
+        block.setTransactions(new ArrayList<>(List.of(tx(1L, "01".repeat(32)))));
+        when(blockRepository.findByHash("blockHash")).thenReturn(Optional.of(block));
+
+        assertThrows(IllegalStateException.class, () -> blockService.getMerkleProof("blockHash", "01".repeat(32)));
+    }
+
+    private Transaction tx(Long id, String hash) {
+        Transaction tx = new Transaction();
+        tx.setId(id);
+        tx.setTransactionHash(hash);
+        return tx;
+    }
+
+    private Transaction tx(Long id, String hash, int blockPosition) {
+        Transaction tx = tx(id, hash);
+        tx.setBlockPosition(blockPosition);
+        return tx;
+    }
+}
@@ -0,0 +1,179 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.BlockTemplateDTO;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.enums.TransactionStatus;
+import com.wallet.biochain.repositories.TransactionRepository;
+import com.wallet.biochain.services.impl.BlockTemplateServiceImpl;
+import com.wallet.biochain.services.impl.FeeRateIndex;
+import com.wallet.biochain.services.impl.MempoolSnapshot;
+import com.wallet.biochain.services.impl.MerkleTree;
+import com.wallet.biochain.services.impl.PendingLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockTemplateServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private BlockchainConfig config;
+    private PendingLedger ledger;
+    private BlockTemplateServiceImpl templateService;
+
+    @BeforeEach
+    void setUp() {
+        config = new BlockchainConfig();
+        ledger = new PendingLedger(transactionRepository, config, new MempoolSnapshot(config));
+        templateService = new BlockTemplateServiceImpl(config, ledger);
+    }
+
+    @Test
+    void buildTemplate_ordersByFeeRate() {
+        when(transactionRepository.findByStatus(TransactionStatus.PENDING)).thenReturn(List.of(
+                tx("low", "alice", 1L, "0.001"),
+                tx("high", "bob", 2L, "0.5")));
+        ledger.rebuild();
+        templateService.start();
+        ledger.add(tx("mid", "carol", 3L, "0.01"));
+
+        List<String> hashes = hashes(templateService.buildTemplate());
+
+        assertEquals(List.of("high", "mid", "low"), hashes);
+        verify(transactionRepository, times(1)).findByStatus(TransactionStatus.PENDING);
+    }
+
+    @Test
+    void buildTemplate_keepsSenderOrderDespiteHigherLaterFee() {
+        templateService.start();
+        ledger.add(tx("first", "alice", 1L, "0.001"));
+        ledger.add(tx("second", "alice", 2L, "1.0"));
+        ledger.add(tx("other", "bob", 3L, "0.01"));
+
+        assertEquals(List.of("other", "first", "second"), hashes(templateService.buildTemplate()));
+    }
+
+    @Test
+    void buildTemplate_stopsAtByteBudgetAndSkipsBlockedSender() {
+        templateService.start();
+        Transaction large = tx("large", "alice", 1L, "5.0");
+        large.setMemo("x".repeat(500));
+        Transaction afterLarge = tx("after-large", "alice", 2L, "5.0");
+        Transaction small = tx("small", "bob", 3L, "0.01");
+        ledger.add(large);
+        ledger.add(afterLarge);
+        ledger.add(small);
+        config.getMining().setMaxBlockSize((long) FeeRateIndex.estimateSize(small) + 100);
+
+        BlockTemplateDTO template = templateService.getTemplate();
+
+        assertEquals(List.of("small"), template.transactionHashes());
+        assertEquals(3, template.candidateCount());
+        assertTrue(template.sizeBytes() <= template.maxSizeBytes());
+        assertEquals(new BigDecimal("0.01"), template.totalFees());
+    }
+
+    @Test
+    void buildTemplate_followsNonceOrderAndStopsAtGap() {
+        templateService.start();
+        ledger.add(tx("n1", "alice", 3L, "0.5", 1L));
+        ledger.add(tx("n0", "alice", 5L, "0.001", 0L));
+        ledger.add(tx("n3", "alice", 1L, "1.0", 3L));
+        ledger.add(tx("other", "bob", 2L, "0.01", 0L));
+
+        // n0 leads alice's queue despite its later timestamp, and n3 waits for the missing nonce 2
+        assertEquals(List.of("other", "n0", "n1"), hashes(templateService.buildTemplate()));
+    }
+
+    @Test
+    void buildTemplate_waitsForSenderPreviousNonceToConfirm() {
+        templateService.start();
+        ledger.add(tx("n0", "alice", 1L, "0.1", 0L));
+        ledger.add(tx("n1", "alice", 2L, "0.1", 1L));
+        ledger.add(tx("n2", "alice", 3L, "0.1", 2L));
+
+        // Evicted rather than mined: nothing after it may go in a block
+        ledger.drop("n0");
+        assertTrue(templateService.buildTemplate().isEmpty());
+
+        ledger.confirm(tx("n0", "alice", 1L, "0.1", 0L));
+        assertEquals(List.of("n1", "n2"), hashes(templateService.buildTemplate()));
+    }
+
+    @Test
+    void candidates_followLedgerDropsConfirmationsAndReplacements() {
+        templateService.start();
+        Transaction confirmed = tx("confirmed", "alice", 1L, "0.1", 0L);
+        ledger.add(confirmed);
+        ledger.add(tx("evicted", "bob", 2L, "0.1", 0L));
+        ledger.add(tx("old", "carol", 3L, "0.1", 0L));
+
+        ledger.confirm(confirmed);
+        ledger.drop("evicted");
+        ledger.replace(tx("new", "carol", 4L, "0.5", 0L), "old");
+
+        assertEquals(List.of("new"), hashes(templateService.buildTemplate()));
+    }
+
+    @Test
+    void start_replaysPendingAndSkipsEntriesWithoutSender() {
+        ledger.add(tx("a", "alice", 1L, "0.1"));
+        ledger.add(tx("orphan", null, 2L, "0.1"));
+
+        templateService.start();
+
+        assertEquals(List.of("a"), hashes(templateService.buildTemplate()));
+    }
+
+    @Test
+    void getTemplate_merkleRootMatchesFullRebuildAsTemplateChanges() {
+        templateService.start();
+        ledger.add(tx("01".repeat(32), "alice", 1L, "0.5"));
+        ledger.add(tx("02".repeat(32), "bob", 2L, "0.1"));
+        assertEquals(rootOf(templateService.getTemplate()), templateService.getTemplate().merkleRoot());
+
+        // A lower fee lands at the end and extends the last tree, a higher one reorders it
+        ledger.add(tx("03".repeat(32), "carol", 3L, "0.01"));
+        BlockTemplateDTO extended = templateService.getTemplate();
+        assertEquals(List.of("01".repeat(32), "02".repeat(32), "03".repeat(32)), extended.transactionHashes());
+        assertEquals(rootOf(extended), extended.merkleRoot());
+
+        ledger.add(tx("04".repeat(32), "dave", 4L, "1.0"));
+        BlockTemplateDTO reordered = templateService.getTemplate();
+        assertEquals("04".repeat(32), reordered.transactionHashes().get(0));
+        assertEquals(rootOf(reordered), reordered.merkleRoot());
+    }
+
+    private Transaction tx(String hash, String sender, long timestamp, String fee) {
+        Transaction tx = new Transaction(sender, "recipient", new BigDecimal("1.0"));
+        tx.setTransactionHash(hash);
+        tx.setTimestamp(timestamp);
+        tx.setFee(new BigDecimal(fee));
+        return tx;
+    }
+
+    private Transaction tx(String hash, String sender, long timestamp, String fee, long nonce) {
+        Transaction tx = tx(hash, sender, timestamp, fee);
+        tx.setNonce(nonce);
+        return tx;
+    }
+
+    private String rootOf(BlockTemplateDTO template) {
+        return MerkleTree.of(MerkleTree.parseLeaves(template.transactionHashes()).orElseThrow()).rootHex();
+    }
+
+    private List<String> hashes(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionHash).toList();
+    }
+}
@@ -40,6 +40,8 @@ class BlockchainServiceImplTest {
     private BlockchainMapper blockchainMapper;
     @Mock
     private BlockchainConfig blockchainConfig;
+    @Mock
+    private DifficultyRetargetService difficultyRetargetService;
 
     @InjectMocks
     private BlockchainServiceImpl blockchainService;
@@ -108,7 +110,7 @@ class BlockchainServiceImplTest {
         when(transactionRepository.findAll()).thenReturn(new ArrayList<>());
         when(transactionRepository.findByStatus(any())).thenReturn(new ArrayList<>());
         when(blockRepository.findLatestBlockByBlockchainId(1L)).thenReturn(Optional.empty());
-        when(blockRepository.findByBlockchainId(1L)).thenReturn(new ArrayList<>());
+        when(difficultyRetargetService.getAverageBlockTime(blockchain)).thenReturn(540000L);
 
         BlockchainStatusDTO dto = mock(BlockchainStatusDTO.class);
         when(blockchainMapper.toStatusDTO(any(), anyInt(), anyInt(), anyInt(), any()))
@@ -117,6 +119,8 @@ class BlockchainServiceImplTest {
         BlockchainStatusDTO result = blockchainService.getBlockchainStatus("biochain-001");
 
         assertNotNull(result);
+        verify(blockchainMapper).toStatusDTO(eq(blockchain), anyInt(), anyInt(), eq(540), any());
+        verify(blockRepository, never()).findByBlockchainId(anyLong());
     }
 
     @Test
@@ -143,6 +147,7 @@ class BlockchainServiceImplTest {
 
         assertEquals(1, blockchain.getCurrentHeight());
         verify(blockRepository).save(block);
+        verify(difficultyRetargetService).onBlockAdded(blockchain, block);
         verify(blockchainRepository).save(blockchain);
     }
 
@@ -4,10 +4,12 @@ import com.wallet.biochain.config.NetworkConfig;
 import com.wallet.biochain.dto.BlockValidationDTO;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Node;
+import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.enums.NodeStatus;
 import com.wallet.biochain.repositories.BlockRepository;
 import com.wallet.biochain.repositories.NodeRepository;
 import com.wallet.biochain.services.impl.BlockchainSyncServiceImpl;
+import com.wallet.biochain.services.impl.SignatureVerifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +37,10 @@ class BlockchainSyncServiceImplTest {
     private BlockchainService blockchainService;
     @Mock
     private NetworkConfig networkConfig;
+    @Mock
+    private MiningJobService miningJobService;
+    @Mock
+    private SignatureVerifier signatureVerifier;
 
     @InjectMocks
     private BlockchainSyncServiceImpl syncService;
@@ -220,6 +226,25 @@ class BlockchainSyncServiceImplTest {
         assertFalse(syncService.validateReceivedBlocks(List.of(b1)));
     }
 
+    @Test
+    void validateReceivedBlocks_badSignature_returnsFalse() {
+        Transaction tx = new Transaction();
+        tx.setTransactionHash("tx1");
+        Block b1 = new Block();
+        b1.setBlockIndex(1);
+        b1.setHash("h1");
+        b1.setTransactions(new ArrayList<>(List.of(tx)));
+
+        when(blockService.validateBlock(b1)).thenReturn(
+                new BlockValidationDTO(true, "h1", 1, List.of(), "ok")
+        );
+        when(blockRepository.findByBlockIndex(0)).thenReturn(Optional.empty());
+        when(signatureVerifier.firstFailure(List.of(tx))).thenReturn(
+                Optional.of(SignatureVerifier.Verdict.invalid("tx1", "Signature does not match sender wallet")));
+
+        assertFalse(syncService.validateReceivedBlocks(List.of(b1)));
+    }
+
     @Test
     void validateReceivedBlocks_emptyList_returnsTrue() {
         assertTrue(syncService.validateReceivedBlocks(List.of()));
@@ -303,6 +328,19 @@ class BlockchainSyncServiceImplTest {
         verify(blockService, never()).addBlock(any());
     }
 
+    @Test
+    void addSynchronizedBlocks_cancelsStaleMiningJobs() {
+        Block block = new Block();
+        block.setBlockIndex(3);
+
+        when(blockRepository.existsByBlockIndex(3)).thenReturn(false);
+        when(blockService.addBlock(block)).thenReturn(block);
+
+        syncService.addSynchronizedBlocks(List.of(block));
+
+        verify(miningJobService).cancelStaleJobs(block);
+    }
+
     @Test
     void synchronizeWithPeer_alreadyUpToDate_returnsEarly() {
         Node peer = new Node();
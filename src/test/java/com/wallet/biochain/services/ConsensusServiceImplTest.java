@@ -48,6 +48,17 @@ class ConsensusServiceImplTest {
         assertTrue(consensusService.validateBlock(block));
     }
 
+    @Test
+    void validateWithPoW_usesCompactTargetWhenPresent() {
+        Block block = new Block();
+        block.setDifficulty(4);
+        block.setBits(0x1f010000L);
+        when(powConsensusService.validateProofOfWorkTarget(block, 0x1f010000L)).thenReturn(true);
+
+        assertTrue(consensusService.validateWithPoW(block));
+        verify(powConsensusService, never()).validateProofOfWork(any(), any());
+    }
+
     @Test
     void validateWithPoW_handlesException() {
         Block block = new Block();
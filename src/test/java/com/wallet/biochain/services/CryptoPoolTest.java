@@ -0,0 +1,121 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.services.impl.CryptoPool;
+import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoPoolTest {
+
+    @Test
+    void apply_reusesInstanceAndResetsIt() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        CryptoPool<MessageDigest> pool = new CryptoPool<>("SHA-256", algorithm -> {
+            created.incrementAndGet();
+            return MessageDigest.getInstance(algorithm);
+        }, MessageDigest::reset, 2);
+
+        byte[] first = pool.apply(digest -> {
+            digest.update("left over".getBytes(StandardCharsets.UTF_8));
+            return digest.digest("data".getBytes(StandardCharsets.UTF_8));
+        });
+        pool.apply(digest -> {
+            digest.update("left over".getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+        byte[] second = pool.apply(digest -> digest.digest("left overdata".getBytes(StandardCharsets.UTF_8)));
+
+        assertArrayEquals(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    void apply_dropsInstanceWhoseOperationFailed() throws Exception {
+        CryptoPool<MessageDigest> pool = CryptoPool.messageDigest("SHA-256", 2);
+
+        assertThrows(SignatureException.class, () -> pool.apply(digest -> {
+            throw new SignatureException("boom");
+        }));
+        assertEquals(0, pool.idleCount());
+
+        pool.apply(digest -> digest.digest(new byte[0]));
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    void apply_keepsAtMostCapacityIdle() throws Exception {
+        CryptoPool<MessageDigest> pool = CryptoPool.messageDigest("SHA-256", 1);
+
+        pool.apply(outer -> pool.apply(inner -> {
+            assertNotSame(outer, inner);
+            return null;
+        }));
+
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    void cipher_idleInstanceHoldsPlaceholderNotLastKey() throws Exception {
+        SecretKeySpec placeholder = new SecretKeySpec(new byte[16], "AES");
+        SecretKeySpec secret = new SecretKeySpec("0123456789abcdef".getBytes(StandardCharsets.UTF_8), "AES");
+        CryptoPool<Cipher> pool = CryptoPool.cipher("AES", placeholder, 1);
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+
+        byte[] underSecret = pool.apply(cipher -> {
+            cipher.init(Cipher.ENCRYPT_MODE, secret);
+            return cipher.doFinal(data);
+        });
+        // Used without init, the idle instance only knows the placeholder
+        byte[] leftOver = pool.apply(cipher -> cipher.doFinal(data));
+
+        Cipher reference = Cipher.getInstance("AES");
+        reference.init(Cipher.ENCRYPT_MODE, placeholder);
+        assertArrayEquals(reference.doFinal(data), leftOver);
+        assertFalse(Arrays.equals(underSecret, leftOver));
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    void cryptographyService_signsAndVerifiesConcurrently() throws Exception {
+        CryptographyServiceImpl crypto = new CryptographyServiceImpl();
+        KeyPair pair = crypto.generateKeyPair();
+        String priv = crypto.encodePrivateKey(pair.getPrivate());
+        String pub = crypto.encodePublicKey(pair.getPublic());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String data = "payload-" + i;
+                tasks.add(() -> {
+                    String signature = crypto.sign(data, priv);
+                    return crypto.verifySignature(data, signature, pub)
+                            && !crypto.verifySignature(data + "x", signature, pub)
+                            && crypto.hash(data).equals(crypto.hash(data));
+                });
+            }
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
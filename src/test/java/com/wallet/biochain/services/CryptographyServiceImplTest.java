@@ -1,9 +1,20 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.enums.SignatureSchemeType;
 import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import com.wallet.biochain.services.impl.Secp256k1SignatureScheme;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,4 +74,114 @@ class CryptographyServiceImplTest {
 
         assertEquals(priv, dec);
     }
+
+    @ParameterizedTest
+    @EnumSource(SignatureSchemeType.class)
+    void signAndVerify_roundTripForEveryScheme(SignatureSchemeType scheme) {
+        KeyPair pair = crypto.generateKeyPair(scheme);
+        String priv = crypto.encodePrivateKey(pair.getPrivate());
+        String pub = crypto.encodePublicKey(pair.getPublic());
+
+        String sig = crypto.sign("data", priv);
+        assertTrue(crypto.verifySignature("data", sig, pub));
+        assertFalse(crypto.verifySignature("other", sig, pub));
+
+        PublicKey decoded = crypto.decodePublicKey(pub);
+        assertEquals(scheme, crypto.getSignatureScheme(decoded));
+        assertEquals(scheme, crypto.getSignatureScheme(crypto.decodePrivateKey(priv)));
+        assertTrue(crypto.verifySignature("data", sig, decoded));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SignatureSchemeType.class)
+    void derivePublicKey_matchesGeneratedKey(SignatureSchemeType scheme) {
+        KeyPair pair = crypto.generateKeyPair(scheme);
+        String priv = crypto.encodePrivateKey(pair.getPrivate());
+
+        PublicKey derived = crypto.derivePublicKey(crypto.decodePrivateKey(priv));
+
+        assertEquals(crypto.encodePublicKey(pair.getPublic()), crypto.encodePublicKey(derived));
+    }
+
+    @Test
+    void verifySignature_rejectsSignatureOfAnotherScheme() {
+        KeyPair rsa = crypto.generateKeyPair(SignatureSchemeType.RSA_2048);
+        KeyPair ed25519 = crypto.generateKeyPair(SignatureSchemeType.ED25519);
+
+        String sig = crypto.sign("data", crypto.encodePrivateKey(rsa.getPrivate()));
+
+        assertFalse(crypto.verifySignature("data", sig, crypto.encodePublicKey(ed25519.getPublic())));
+    }
+
+    @Test
+    void p256Keys_areNotTakenForSecp256k1() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair p256 = generator.generateKeyPair();
+        String pub = crypto.encodePublicKey(p256.getPublic());
+        String priv = crypto.encodePrivateKey(p256.getPrivate());
+
+        assertThrows(IllegalArgumentException.class, () -> crypto.getSignatureScheme(p256.getPublic()));
+        assertThrows(IllegalArgumentException.class, () -> crypto.getSignatureScheme(p256.getPrivate()));
+        assertThrows(RuntimeException.class, () -> crypto.decodePublicKey(pub));
+        assertThrows(RuntimeException.class, () -> crypto.decodePrivateKey(priv));
+        assertFalse(crypto.verifySignature("data", Base64.getEncoder().encodeToString(new byte[64]), p256.getPublic()));
+    }
+
+    @Test
+    void ed25519_hasCompactKeysAndSignatures() {
+        KeyPair pair = crypto.generateKeyPair(SignatureSchemeType.ED25519);
+        String sig = crypto.sign("data", crypto.encodePrivateKey(pair.getPrivate()));
+
+        assertEquals(64, Base64.getDecoder().decode(sig).length);
+        assertEquals(44, pair.getPublic().getEncoded().length);
+    }
+
+    @Test
+    void verifySignatures_acceptsValidBatchAndFindsBadOnes() {
+        KeyPair ed25519 = crypto.generateKeyPair(SignatureSchemeType.ED25519);
+        KeyPair rsa = crypto.generateKeyPair(SignatureSchemeType.RSA_2048);
+        String edPriv = crypto.encodePrivateKey(ed25519.getPrivate());
+        String rsaPriv = crypto.encodePrivateKey(rsa.getPrivate());
+
+        List<CryptographyService.SignedPayload> payloads = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            payloads.add(new CryptographyService.SignedPayload("tx" + i, crypto.sign("tx" + i, edPriv), ed25519.getPublic()));
+        }
+        payloads.add(new CryptographyService.SignedPayload("tx6", crypto.sign("tx6", rsaPriv), rsa.getPublic()));
+
+        boolean[] allValid = crypto.verifySignatures(payloads);
+        for (boolean valid : allValid) {
+            assertTrue(valid);
+        }
+
+        payloads.set(2, new CryptographyService.SignedPayload("tampered", payloads.get(2).signature(), ed25519.getPublic()));
+        payloads.set(4, new CryptographyService.SignedPayload("tx4", "not base64!", ed25519.getPublic()));
+        payloads.set(5, new CryptographyService.SignedPayload("tx5", payloads.get(5).signature(), null));
+
+        boolean[] results = crypto.verifySignatures(payloads);
+
+        assertArrayEquals(new boolean[]{true, true, false, true, false, false, true}, results);
+        assertEquals(0, crypto.verifySignatures(List.of()).length);
+    }
+
+    @Test
+    void schemeVerifyAll_reportsEachSignatureAndSurvivesMalformedOnes() throws Exception {
+        SignatureScheme scheme = new Secp256k1SignatureScheme();
+        KeyPair pair = scheme.generateKeyPair();
+        List<byte[]> data = new ArrayList<>();
+        List<byte[]> signatures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            byte[] payload = ("tx" + i).getBytes(StandardCharsets.UTF_8);
+            data.add(payload);
+            signatures.add(scheme.sign(payload, pair.getPrivate()));
+        }
+        signatures.set(1, new byte[]{1, 2, 3});
+        data.set(2, "tampered".getBytes(StandardCharsets.UTF_8));
+
+        boolean[] results = scheme.verifyAll(data, signatures, List.of(pair.getPublic(), pair.getPublic(),
+                pair.getPublic(), pair.getPublic()));
+
+        assertArrayEquals(new boolean[]{true, false, false, true}, results);
+    }
 }
@@ -0,0 +1,133 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Blockchain;
+import com.wallet.biochain.repositories.BlockRepository;
+import com.wallet.biochain.services.impl.BlockTimeWindow;
+import com.wallet.biochain.services.impl.DifficultyRetargetServiceImpl;
+import com.wallet.biochain.services.impl.DifficultyTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DifficultyRetargetServiceImplTest {
+
+    private static final long TARGET_TIME = 600000L;
+
+    @Mock
+    private BlockRepository blockRepository;
+
+    private DifficultyRetargetServiceImpl retargetService;
+
+    @BeforeEach
+    void setUp() {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMining().setRetargetWindow(4);
+        retargetService = new DifficultyRetargetServiceImpl(blockRepository, config);
+    }
+
+    @Test
+    void window_averagesOnlyTheMostRecentBlocks() {
+        BlockTimeWindow window = new BlockTimeWindow(3);
+
+        assertNull(window.averageInterval());
+        assertNull(window.startBits());
+        window.record(0, 0L, 10L);
+        window.record(1, 1000L, 11L);
+        assertEquals(1000L, window.averageInterval());
+        assertEquals(11L, window.startBits());
+        window.record(2, 2000L, 12L);
+        window.record(3, 5000L, 13L);
+
+        assertEquals(3, window.size());
+        assertEquals(2000L, window.averageInterval());
+        assertEquals(12L, window.startBits());
+        assertFalse(window.record(3, 9000L, 14L));
+    }
+
+    @Test
+    void onBlockAdded_fastBlocks_raiseDifficultyAndPersistOnChain() {
+        Blockchain blockchain = newChain();
+        when(blockRepository.findRecentBlocksByBlockchainId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(block(1, TARGET_TIME / 10), block(0, 0L)));
+        long startBits = blockchain.getBits();
+
+        Long newBits = retargetService.onBlockAdded(blockchain, block(2, 2 * TARGET_TIME / 10));
+
+        assertEquals(newBits, blockchain.getBits());
+        assertTrue(DifficultyTarget.fromCompact(newBits).compareTo(DifficultyTarget.fromCompact(startBits)) < 0);
+        assertEquals(4, blockchain.getDifficulty());
+        assertEquals(TARGET_TIME / 10, retargetService.getAverageBlockTime(blockchain));
+        verify(blockRepository, times(1)).findRecentBlocksByBlockchainId(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void onBlockAdded_sameSlowWindow_doesNotEaseTheTargetAgain() {
+        Blockchain blockchain = newChain();
+        long startBits = blockchain.getBits();
+        when(blockRepository.findRecentBlocksByBlockchainId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(block(1, 2 * TARGET_TIME, startBits), block(0, 0L, startBits)));
+
+        long firstBits = retargetService.onBlockAdded(blockchain, block(2, 4 * TARGET_TIME, startBits));
+        // Still slow under the eased target, but the window's first interval was mined under startBits
+        long secondBits = retargetService.onBlockAdded(blockchain, block(3, 6 * TARGET_TIME, firstBits));
+
+        assertTrue(DifficultyTarget.fromCompact(firstBits).compareTo(DifficultyTarget.fromCompact(startBits)) > 0);
+        assertEquals(firstBits, secondBits);
+        assertEquals(firstBits, blockchain.getBits());
+    }
+
+    @Test
+    void onBlockAdded_slowBlocks_stayWithinMinDifficulty() {
+        Blockchain blockchain = newChain();
+        blockchain.setDifficulty(1);
+        blockchain.setBits(DifficultyTarget.bitsForDifficulty(1));
+        when(blockRepository.findRecentBlocksByBlockchainId(eq(1L), any(Pageable.class))).thenReturn(List.of());
+
+        retargetService.onBlockAdded(blockchain, block(1, 0L));
+        Long newBits = retargetService.onBlockAdded(blockchain, block(2, 100 * TARGET_TIME));
+
+        assertEquals(DifficultyTarget.bitsForDifficulty(1), newBits);
+        assertEquals(1, blockchain.getDifficulty());
+    }
+
+    @Test
+    void getAverageBlockTime_withoutHistory_returnsTargetTime() {
+        Blockchain blockchain = newChain();
+        when(blockRepository.findRecentBlocksByBlockchainId(eq(1L), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(TARGET_TIME, retargetService.getAverageBlockTime(blockchain));
+    }
+
+    private Blockchain newChain() {
+        Blockchain blockchain = new Blockchain();
+        blockchain.setId(1L);
+        blockchain.setChainId("chain-1");
+        blockchain.setDifficulty(4);
+        blockchain.setBits(DifficultyTarget.bitsForDifficulty(4));
+        return blockchain;
+    }
+
+    private Block block(int index, long timestamp) {
+        Block block = new Block();
+        block.setBlockIndex(index);
+        block.setTimestamp(timestamp);
+        return block;
+    }
+
+    private Block block(int index, long timestamp, long bits) {
+        Block block = block(index, timestamp);
+        block.setBits(bits);
+        return block;
+    }
+}
@@ -0,0 +1,84 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.services.impl.DifficultyTarget;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifficultyTargetTest {
+
+    @Test
+    void compact_roundTripsKnownEncodings() {
+        assertEquals(new BigInteger("ffff", 16).shiftLeft(208), DifficultyTarget.fromCompact(0x1d00ffffL));
+        assertEquals(0x1d00ffffL, DifficultyTarget.toCompact(DifficultyTarget.fromCompact(0x1d00ffffL)));
+        assertEquals(0x1b0404cbL, DifficultyTarget.toCompact(DifficultyTarget.fromCompact(0x1b0404cbL)));
+        assertEquals(0x02008000L, DifficultyTarget.toCompact(BigInteger.valueOf(0x80)));
+    }
+
+    @Test
+    void fromCompact_negativeMantissa_throws() {
+        assertThrows(IllegalArgumentException.class, () -> DifficultyTarget.fromCompact(0x04923456L));
+    }
+
+    @Test
+    void bitsForDifficulty_matchesLeadingZeroDigits() {
+        for (int difficulty = 1; difficulty <= DifficultyTarget.MAX_DIFFICULTY; difficulty++) {
+            long bits = DifficultyTarget.bitsForDifficulty(difficulty);
+
+            assertEquals(BigInteger.ONE.shiftLeft(256 - 4 * difficulty), DifficultyTarget.fromCompact(bits));
+            assertEquals(difficulty, DifficultyTarget.difficultyForBits(bits));
+        }
+    }
+
+    @Test
+    void meetsTarget_comparesUnsignedBigEndian() {
+        byte[] target = DifficultyTarget.targetBytes(DifficultyTarget.bitsForDifficulty(4));
+        byte[] digest = new byte[DifficultyTarget.TARGET_LENGTH];
+        digest[2] = (byte) 0x00;
+        digest[3] = (byte) 0xff;
+
+        assertTrue(DifficultyTarget.meetsTarget(digest, target));
+        assertFalse(DifficultyTarget.meetsTarget(target, target));
+
+        digest[1] = (byte) 0x80;
+        assertFalse(DifficultyTarget.meetsTarget(digest, target));
+    }
+
+    @Test
+    void meetsTarget_boundaryValueAgreesWithLeadingZeroDigits() {
+        for (int difficulty = 1; difficulty < DifficultyTarget.MAX_DIFFICULTY; difficulty++) {
+            long bits = DifficultyTarget.bitsForDifficulty(difficulty);
+            // 2^(256 - 4d) has only d - 1 leading zero digits; one less has d
+            String edge = "0".repeat(difficulty - 1) + "1" + "0".repeat(64 - difficulty);
+            String belowEdge = "0".repeat(difficulty) + "f".repeat(64 - difficulty);
+
+            assertFalse(DifficultyTarget.hashMeetsTarget(edge, bits), "difficulty " + difficulty);
+            assertTrue(DifficultyTarget.hashMeetsTarget(belowEdge, bits), "difficulty " + difficulty);
+        }
+    }
+
+    @Test
+    void hashMeetsTarget_rejectsMalformedHashes() {
+        long bits = DifficultyTarget.bitsForDifficulty(1);
+
+        assertTrue(DifficultyTarget.hashMeetsTarget("0" + "f".repeat(63), bits));
+        assertFalse(DifficultyTarget.hashMeetsTarget(null, bits));
+        assertFalse(DifficultyTarget.hashMeetsTarget("0abc", bits));
+        assertFalse(DifficultyTarget.hashMeetsTarget("0z" + "0".repeat(62), bits));
+    }
+
+    @Test
+    void retarget_limitsStepToFactorOfFour() {
+        long bits = DifficultyTarget.bitsForDifficulty(4);
+        long easiest = DifficultyTarget.bitsForDifficulty(1);
+        long hardest = DifficultyTarget.bitsForDifficulty(10);
+        BigInteger target = DifficultyTarget.fromCompact(bits);
+
+        assertEquals(target.shiftLeft(2), DifficultyTarget.fromCompact(
+                DifficultyTarget.retarget(bits, Long.MAX_VALUE, 600000L, easiest, hardest)));
+        assertEquals(target.shiftRight(2), DifficultyTarget.fromCompact(
+                DifficultyTarget.retarget(bits, 0L, 600000L, easiest, hardest)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.impl.Mempool;
+import com.wallet.biochain.services.impl.MempoolSnapshot;
+import com.wallet.biochain.services.impl.PendingLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MempoolSnapshotTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void write_thenReadRestoresPoolsAndTransactions() throws Exception {
+        MempoolSnapshot snapshot = snapshotAt(dir.resolve("pools/mempool.snapshot"));
+        Mempool main = new Mempool(1L, "main", 10, true);
+        main.restore(tx("a", "alice", 7L, "1.50000000", "0.001", 3L), 1234L);
+        main.add(tx("b", "bob", null, "2", "0.5", null));
+        Mempool idle = new Mempool(2L, "idle", 5, false);
+        PendingLedger ledger = new PendingLedger(null, new BlockchainConfig(), snapshot);
+        ledger.add(tx("a", "alice", 7L, "1.50000000", "0.001", 3L));
+        ledger.add(tx("c", "carol", 9L, "3", "0.1", 0L));
+        Transaction confirmed = tx("d", "alice", 10L, "1", "0.1", 2L);
+        ledger.confirm(confirmed);
+
+        assertEquals(3, snapshot.write(List.of(main, idle), ledger));
+        MempoolSnapshot.Image image = snapshot.read().orElseThrow();
+
+        // Only the pending transaction in no pool is written besides the pools
+        assertEquals(List.of("c"), image.unpooled().stream().map(Transaction::getTransactionHash).toList());
+        assertEquals(Map.of("alice", 2L), image.confirmedNonces());
+
+        assertEquals(2, image.pools().size());
+        MempoolSnapshot.PoolImage restored = image.pools().get(0);
+        assertEquals(1L, restored.poolId());
+        assertEquals("main", restored.poolName());
+        assertEquals(10, restored.maxSize());
+        assertTrue(restored.active());
+        assertFalse(image.pools().get(1).active());
+
+        Mempool.Pooled pooledA = restored.transactions().stream()
+                .filter(entry -> entry.transaction().getTransactionHash().equals("a")).findFirst().orElseThrow();
+        assertEquals(1234L, pooledA.admittedAt());
+        Transaction a = pooledA.transaction();
+        assertEquals(7L, a.getId());
+        assertEquals("alice", a.getSenderAddress());
+        assertEquals(new BigDecimal("1.50000000"), a.getAmount());
+        assertEquals(new BigDecimal("0.001"), a.getFee());
+        assertEquals(3L, a.getNonce());
+        assertEquals("sig-a", a.getSignature());
+        assertNull(a.getMemo());
+
+        Transaction b = restored.transactions().stream().map(Mempool.Pooled::transaction)
+                .filter(tx -> tx.getTransactionHash().equals("b")).findFirst().orElseThrow();
+        assertNull(b.getId());
+        assertNull(b.getNonce());
+    }
+
+    @Test
+    void bootImage_decodesOnceUntilReleased() throws Exception {
+        Path file = dir.resolve("mempool.snapshot");
+        MempoolSnapshot snapshot = snapshotAt(file);
+        Mempool main = new Mempool(1L, "main", 10, true);
+        main.add(tx("a", "alice", 1L, "1", "0.1", 0L));
+        snapshot.write(List.of(main), new PendingLedger(null, new BlockchainConfig(), snapshot));
+
+        MempoolSnapshot.Image image = snapshot.bootImage().orElseThrow();
+        Files.delete(file);
+
+        // The second consumer gets the image already decoded, not a fresh read of the file
+        assertSame(image, snapshot.bootImage().orElseThrow());
+        snapshot.releaseBootImage();
+        assertTrue(snapshot.bootImage().isEmpty());
+    }
+
+    @Test
+    void read_ignoresMissingCorruptOrDisabledSnapshot() throws Exception {
+        Path file = dir.resolve("mempool.snapshot");
+        MempoolSnapshot snapshot = snapshotAt(file);
+        assertTrue(snapshot.read().isEmpty());
+
+        Mempool main = new Mempool(1L, "main", 10, true);
+        main.add(tx("a", "alice", 1L, "1", "0.1", 0L));
+        PendingLedger ledger = new PendingLedger(null, new BlockchainConfig(), snapshot);
+        snapshot.write(List.of(main), ledger);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+        assertTrue(snapshot.read().isEmpty());
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertTrue(snapshot.read().isEmpty());
+
+        BlockchainConfig disabled = new BlockchainConfig();
+        disabled.getMempool().setSnapshotPath("");
+        MempoolSnapshot off = new MempoolSnapshot(disabled);
+        assertFalse(off.isEnabled());
+        assertEquals(0, off.write(List.of(main), ledger));
+    }
+
+    private MempoolSnapshot snapshotAt(Path file) {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMempool().setSnapshotPath(file.toString());
+        return new MempoolSnapshot(config);
+    }
+
+    private Transaction tx(String hash, String sender, Long id, String amount, String fee, Long nonce) {
+        Transaction tx = new Transaction(sender, "recipient", new BigDecimal(amount));
+        tx.setId(id);
+        tx.setTransactionHash(hash);
+        tx.setFee(new BigDecimal(fee));
+        tx.setNonce(nonce);
+        tx.setTimestamp(1000L);
+        tx.setSignature("sig-" + hash);
+        return tx;
+    }
+}
@@ -0,0 +1,218 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.impl.FeeRateIndex;
+import com.wallet.biochain.services.impl.Mempool;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MempoolTest {
+
+    @Test
+    void add_rejectsDuplicatesAndRespectsCapacity() {
+        Mempool mempool = new Mempool(1L, "main", 2, true);
+
+        assertEquals(Mempool.AddResult.ADDED, mempool.add(tx("a")));
+        assertEquals(Mempool.AddResult.DUPLICATE, mempool.add(tx("a")));
+        assertEquals(Mempool.AddResult.ADDED, mempool.add(tx("b")));
+        assertEquals(Mempool.AddResult.FULL, mempool.add(tx("c")));
+        assertTrue(mempool.isFull());
+
+        assertNotNull(mempool.remove("a"));
+        assertNull(mempool.remove("a"));
+        assertEquals(Mempool.AddResult.ADDED, mempool.add(tx("c")));
+        assertEquals(2, mempool.size());
+    }
+
+    @Test
+    void add_concurrentInsertsNeverOverfill() throws Exception {
+        Mempool mempool = new Mempool(1L, "main", 500, true);
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                String prefix = "tx-" + thread + "-";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (mempool.add(tx(prefix + i)) == Mempool.AddResult.ADDED) {
+                            added.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(500, added.get());
+        assertEquals(500, mempool.size());
+        assertEquals(500, mempool.transactions().size());
+    }
+
+    @Test
+    void topByFeeRate_ordersByFeeRateThenAge() {
+        Mempool mempool = new Mempool(1L, "main", 10, true);
+        mempool.add(tx("low", "0.01", 1L));
+        mempool.add(tx("high-new", "0.50", 3L));
+        mempool.add(tx("high-old", "0.50", 2L));
+        mempool.add(tx("mid", "0.10", 1L));
+
+        assertEquals(List.of("high-old", "high-new", "mid"), hashes(mempool.topByFeeRate(3)));
+
+        mempool.remove("high-old");
+        assertEquals(List.of("high-new", "mid", "low"), hashes(mempool.topByFeeRate(5)));
+    }
+
+    @Test
+    void page_resumesAfterCursorWhilePoolChanges() {
+        Mempool mempool = new Mempool(1L, "main", 10, true);
+        for (int i = 0; i < 5; i++) {
+            mempool.add(tx("t" + i, "0.0" + (9 - i), i));
+        }
+
+        Mempool.Page first = mempool.page(null, 2);
+        assertEquals(List.of("t0", "t1"), hashes(first.transactions()));
+        assertNotNull(first.nextCursor());
+
+        // Removing a transaction already paged past and adding a better one do not shift the next page
+        mempool.remove("t0");
+        mempool.add(tx("best", "0.99", 9L));
+
+        Mempool.Page second = mempool.page(first.nextCursor(), 2);
+        assertEquals(List.of("t2", "t3"), hashes(second.transactions()));
+
+        Mempool.Page last = mempool.page(second.nextCursor(), 2);
+        assertEquals(List.of("t4"), hashes(last.transactions()));
+        assertNull(last.nextCursor());
+
+        assertThrows(IllegalArgumentException.class, () -> mempool.page("not-a-cursor", 2));
+    }
+
+    @Test
+    void evictLowest_onlyEvictsCheaperTransactions() {
+        Mempool mempool = new Mempool(1L, "main", 2, true);
+        mempool.add(tx("a", "0.05", 1L));
+        mempool.add(tx("b", "0.01", 2L));
+
+        assertEquals(List.of(), mempool.evictLowest(FeeRateIndex.feeRate(tx("c", "0.001", 3L))));
+        assertEquals(List.of("b"), hashes(mempool.evictLowest(FeeRateIndex.feeRate(tx("c", "0.02", 3L)))));
+        assertEquals(1, mempool.size());
+        assertEquals(List.of("a"), hashes(mempool.expire(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void evictLowest_takesTheSendersLaterNoncesWithTheVictim() {
+        Mempool mempool = new Mempool(1L, "main", 4, true);
+        mempool.add(tx("n0", "0.05", 1L, 0L));
+        mempool.add(tx("n1", "0.01", 2L, 1L));
+        mempool.add(tx("n2", "0.09", 3L, 2L));
+        mempool.add(tx("n3", "0.08", 4L, 3L));
+
+        List<Transaction> evicted = mempool.evictLowest(FeeRateIndex.feeRate(tx("c", "0.02", 5L)));
+
+        // n2 and n3 pay more than the newcomer, but could never be mined once n1 is gone
+        assertEquals(List.of("n1", "n2", "n3"), hashes(evicted));
+        assertEquals(List.of("n0"), hashes(mempool.senderQueue("alice")));
+        assertEquals(1, mempool.size());
+    }
+
+    @Test
+    void minFeeRate_decaysByHalfLifeAfterRaise() {
+        Mempool mempool = new Mempool(1L, "main", 2, true);
+
+        assertEquals(100L, mempool.minFeeRate(100, 1000, 0));
+        mempool.raiseMinFeeRate(8000, 1000, 0);
+        assertEquals(8000L, mempool.minFeeRate(100, 1000, 0));
+        assertEquals(4000L, mempool.minFeeRate(100, 1000, 1000));
+        assertEquals(100L, mempool.minFeeRate(100, 1000, 10_000));
+
+        // A lower raise does not undo a higher one that has not decayed yet
+        mempool.raiseMinFeeRate(1000, 1000, 0);
+        assertEquals(8000L, mempool.minFeeRate(100, 1000, 0));
+        assertEquals(0L, mempool.minFeeRate(0, 0, 0));
+    }
+
+    @Test
+    void admit_replacesSameNonceOnlyForHighEnoughFee() {
+        Mempool mempool = new Mempool(1L, "main", 2, true);
+        mempool.add(tx("a", "0.10", 1L, 0L));
+        mempool.add(tx("b", "0.10", 2L, 1L));
+
+        assertEquals(Mempool.AddResult.UNDERPRICED, mempool.admit(tx("a2", "0.105", 3L, 0L), 10).result());
+        assertEquals(Mempool.AddResult.FULL, mempool.admit(tx("c", "0.50", 3L, 2L), 10).result());
+
+        // A replacement swaps the slot's transaction without needing free capacity
+        Mempool.Admission admission = mempool.admit(tx("a2", "0.11", 3L, 0L), 10);
+        assertEquals(Mempool.AddResult.REPLACED, admission.result());
+        assertEquals("a", admission.replaced().getTransactionHash());
+        assertFalse(mempool.contains("a"));
+        assertEquals(2, mempool.size());
+        assertEquals(List.of("a2", "b"), hashes(mempool.senderQueue("alice")));
+
+        // Removing the replaced transaction's hash again leaves the slot with its replacement
+        assertNull(mempool.remove("a"));
+        assertNotNull(mempool.remove("b"));
+        assertEquals(List.of("a2"), hashes(mempool.senderQueue("alice")));
+        assertEquals(List.of(), mempool.senderQueue("bob"));
+    }
+
+    @Test
+    void outbids_requiresStrictlyHigherFeeAndBump() {
+        assertTrue(Mempool.outbids(new BigDecimal("1.10"), BigDecimal.ONE, 10));
+        assertFalse(Mempool.outbids(new BigDecimal("1.09"), BigDecimal.ONE, 10));
+        assertFalse(Mempool.outbids(BigDecimal.ONE, BigDecimal.ONE, 0));
+        assertTrue(Mempool.outbids(new BigDecimal("0.00000001"), BigDecimal.ZERO, 10));
+    }
+
+    @Test
+    void restore_ignoresCapacity() {
+        Mempool mempool = new Mempool(1L, "main", 1, true);
+
+        mempool.restore(tx("a"));
+        mempool.restore(tx("b"));
+        mempool.restore(tx("b"));
+
+        assertEquals(2, mempool.size());
+        assertEquals(2, mempool.clear().size());
+        assertEquals(0, mempool.size());
+    }
+
+    private Transaction tx(String hash) {
+        Transaction tx = new Transaction();
+        tx.setTransactionHash(hash);
+        return tx;
+    }
+
+    private Transaction tx(String hash, String fee, long timestamp) {
+        Transaction tx = tx(hash);
+        tx.setSenderAddress("alice");
+        tx.setRecipientAddress("bob");
+        tx.setAmount(BigDecimal.ONE);
+        tx.setFee(new BigDecimal(fee));
+        tx.setTimestamp(timestamp);
+        return tx;
+    }
+
+    private Transaction tx(String hash, String fee, long timestamp, long nonce) {
+        Transaction tx = tx(hash, fee, timestamp);
+        tx.setNonce(nonce);
+        return tx;
+    }
+
+    private List<String> hashes(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionHash).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.entities.TransactionPool;
+import com.wallet.biochain.enums.TransactionStatus;
+import com.wallet.biochain.repositories.TransactionPoolRepository;
+import com.wallet.biochain.repositories.TransactionRepository;
+import com.wallet.biochain.services.impl.MempoolWriteBehind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MempoolWriteBehindTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private TransactionPoolRepository poolRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MempoolWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        BlockchainConfig config = new BlockchainConfig();
+        // Keep the background writer out of the way; tests flush explicitly
+        config.getMempool().setWriteIntervalMs(3_600_000L);
+        writeBehind = new MempoolWriteBehind(transactionRepository, poolRepository,
+                new TransactionTemplate(transactionManager), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void flush_batchesInsertsAndKeepsOrderWithRemovals() {
+        TransactionPool pool = new TransactionPool("main");
+        when(poolRepository.getReferenceById(1L)).thenReturn(pool);
+
+        writeBehind.add(1L, tx("a"), 1);
+        writeBehind.add(1L, tx("b"), 2);
+        writeBehind.remove(1L, "a", 1);
+
+        assertEquals(3, writeBehind.getBacklog());
+        assertEquals(3, writeBehind.flush());
+        assertEquals(0, writeBehind.getBacklog());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> rows = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(transactionRepository, poolRepository);
+        order.verify(transactionRepository).saveAll(rows.capture());
+        order.verify(transactionRepository).releaseFromPool(eq(List.of("a")), any());
+        order.verify(transactionRepository).updatePendingStatus(eq(List.of("a")), eq(TransactionStatus.REJECTED), any());
+        order.verify(poolRepository).updateCurrentSize(eq(1L), eq(1), any());
+        verify(transactionManager, times(1)).commit(any());
+
+        assertEquals(List.of("a", "b"), rows.getValue().stream().map(Transaction::getTransactionHash).toList());
+        assertTrue(rows.getValue().stream().allMatch(row -> row.getTransactionPool() == pool));
+    }
+
+    @Test
+    void flush_linksExistingRowInsteadOfInserting() {
+        Transaction existing = tx("a");
+        existing.setId(7L);
+        existing.setStatus(TransactionStatus.FAILED);
+        when(transactionRepository.findByTransactionHashIn(List.of("a"))).thenReturn(List.of(existing));
+        when(poolRepository.getReferenceById(1L)).thenReturn(new TransactionPool("main"));
+
+        writeBehind.add(1L, tx("a"), 1);
+        writeBehind.flush();
+
+        verify(transactionRepository).saveAll(List.of(existing));
+        assertEquals(TransactionStatus.PENDING, existing.getStatus());
+    }
+
+    @Test
+    void flush_failedBatchRetriesEachChange() {
+        when(transactionRepository.releaseFromPool(eq(List.of("a", "b")), any())).thenThrow(new IllegalStateException("boom"));
+        when(transactionRepository.releaseFromPool(eq(List.of("a")), any())).thenReturn(1);
+        when(transactionRepository.releaseFromPool(eq(List.of("b")), any())).thenThrow(new IllegalStateException("boom"));
+
+        writeBehind.remove(1L, "a", 1);
+        writeBehind.remove(1L, "b", 0);
+
+        assertEquals(1, writeBehind.flush());
+        verify(poolRepository).updateCurrentSize(eq(1L), eq(1), any());
+    }
+
+    @Test
+    void release_takesRowOutOfPoolWithoutRejectingIt() {
+        writeBehind.release(1L, "a", 0);
+        writeBehind.flush();
+
+        verify(transactionRepository).releaseFromPool(eq(List.of("a")), any());
+        verify(transactionRepository, never()).updatePendingStatus(anyList(), any(), any());
+        verify(poolRepository).updateCurrentSize(eq(1L), eq(0), any());
+    }
+
+    @Test
+    void clear_releasesWholePool() {
+        writeBehind.clear(3L);
+        writeBehind.flush();
+
+        InOrder order = inOrder(transactionRepository);
+        order.verify(transactionRepository).updatePendingStatusInPool(eq(3L), eq(TransactionStatus.REJECTED), any());
+        order.verify(transactionRepository).releaseAllFromPool(eq(3L), any());
+        verify(poolRepository).updateCurrentSize(eq(3L), eq(0), any());
+    }
+
+    private Transaction tx(String hash) {
+        Transaction tx = new Transaction();
+        tx.setTransactionHash(hash);
+        tx.setSenderAddress("alice");
+        tx.setRecipientAddress("bob");
+        tx.setAmount(BigDecimal.ONE);
+        tx.setFee(new BigDecimal("0.01"));
+        tx.setTimestamp(1L);
+        return tx;
+    }
+}
@@ -0,0 +1,61 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.services.impl.CryptographyServiceImpl;
+import com.wallet.biochain.services.impl.MerkleServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MerkleServiceImplTest {
+
+    private final CryptographyService cryptographyService = new CryptographyServiceImpl();
+
+    @Test
+    void calculateMerkleRoot_parallelMatchesSerial() {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < 3001; i++) {
+            hashes.add(cryptographyService.hash("tx-" + i));
+        }
+
+        String serial = service(0).calculateMerkleRoot(hashes);
+        String parallel = service(1).calculateMerkleRoot(hashes);
+
+        assertEquals(serial, parallel);
+        assertEquals(serial, service(4096).calculateMerkleRoot(hashes));
+    }
+
+    @Test
+    void calculateMerkleRoot_digestLeavesMatchStringConcatenation() {
+        String a = cryptographyService.hash("a");
+        String b = cryptographyService.hash("b");
+        String c = cryptographyService.hash("c");
+
+        String expected = cryptographyService.hash(cryptographyService.hash(a + b) + cryptographyService.hash(c + c));
+
+        assertEquals(expected, service(1).calculateMerkleRoot(List.of(a, b, c)));
+        assertEquals(expected, service(0).calculateMerkleRoot(List.of(a, b, c)));
+    }
+
+    @Test
+    void calculateMerkleRoot_nonDigestIdsUseStringPath() {
+        String expected = cryptographyService.hash("tx1" + "tx2");
+
+        assertEquals(expected, service(1).calculateMerkleRoot(List.of("tx1", "tx2")));
+        assertEquals("tx1", service(1).calculateMerkleRoot(List.of("tx1")));
+    }
+
+    @Test
+    void calculateMerkleRoot_emptyUsesEmptyHash() {
+        assertEquals(cryptographyService.hash("empty"), service(1).calculateMerkleRoot(List.of()));
+    }
+
+    private MerkleServiceImpl service(int parallelThreshold) {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMining().setMerkleParallelThreshold(parallelThreshold);
+        return new MerkleServiceImpl(cryptographyService, config);
+    }
+}
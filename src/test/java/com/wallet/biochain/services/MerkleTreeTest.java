@@ -0,0 +1,96 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.services.impl.MerkleTree;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MerkleTreeTest {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Test
+    void root_matchesStringImplementationForAllShapes() {
+        for (int count = 0; count <= 33; count++) {
+            List<String> hashes = transactionHashes(count);
+            List<byte[]> leaves = MerkleTree.parseLeaves(hashes).orElseThrow();
+
+            MerkleTree incremental = new MerkleTree();
+            leaves.forEach(incremental::append);
+
+            assertEquals(legacyRoot(hashes), MerkleTree.of(leaves).rootHex(), "bulk, leaves " + count);
+            assertEquals(legacyRoot(hashes), incremental.rootHex(), "incremental, leaves " + count);
+        }
+    }
+
+    @Test
+    void update_rehashesPathToRoot() {
+        List<String> hashes = new ArrayList<>(transactionHashes(7));
+        MerkleTree tree = MerkleTree.of(MerkleTree.parseLeaves(hashes).orElseThrow());
+
+        hashes.set(6, sha256("replacement"));
+        tree.update(6, HEX.parseHex(hashes.get(6)));
+
+        assertEquals(legacyRoot(hashes), tree.rootHex());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.update(7, new byte[MerkleTree.DIGEST_LENGTH]));
+    }
+
+    @Test
+    void proof_verifiesEveryLeafAndRejectsWrongPosition() {
+        List<byte[]> leaves = MerkleTree.parseLeaves(transactionHashes(11)).orElseThrow();
+        MerkleTree tree = MerkleTree.of(leaves);
+        byte[] root = tree.root();
+
+        for (int i = 0; i < leaves.size(); i++) {
+            assertTrue(MerkleTree.verifyProof(leaves.get(i), i, tree.proof(i), root), "leaf " + i);
+        }
+        assertFalse(MerkleTree.verifyProof(leaves.get(3), 2, tree.proof(3), root));
+        assertFalse(MerkleTree.verifyProof(leaves.get(3), 3, tree.proof(4), root));
+        assertEquals(4, tree.proof(0).size());
+    }
+
+    @Test
+    void parseLeaves_rejectsNonDigestHashes() {
+        assertTrue(MerkleTree.parseLeaves(List.of("tx1")).isEmpty());
+        assertTrue(MerkleTree.parseLeaves(List.of(sha256("a").toUpperCase())).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new MerkleTree().append(new byte[16]));
+    }
+
+    private List<String> transactionHashes(int count) {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            hashes.add(sha256("tx-" + i));
+        }
+        return hashes;
+    }
+
+    private String legacyRoot(List<String> hashes) {
+        if (hashes.isEmpty()) {
+            return sha256("empty");
+        }
+        while (hashes.size() > 1) {
+            List<String> parents = new ArrayList<>();
+            for (int i = 0; i < hashes.size(); i += 2) {
+                String left = hashes.get(i);
+                String right = i + 1 < hashes.size() ? hashes.get(i + 1) : left;
+                parents.add(sha256(left + right));
+            }
+            hashes = parents;
+        }
+        return hashes.get(0);
+    }
+
+    private String sha256(String data) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.dto.NonceSearchResultDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.services.impl.DifficultyTarget;
+import com.wallet.biochain.services.impl.MerkleTree;
+import com.wallet.biochain.services.impl.MiningWorkSource;
+import com.wallet.biochain.services.impl.MiningWorkUnit;
+import com.wallet.biochain.services.impl.ParallelMiningEngine;
+import com.wallet.biochain.services.impl.SequentialMiningEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MiningEngineTest {
+
+    private ParallelMiningEngine parallelEngine;
+
+    @AfterEach
+    void tearDown() {
+        if (parallelEngine != null) {
+            parallelEngine.shutdown();
+        }
+    }
+
+    @Test
+    void sequential_findsFirstValidNonce() {
+        Block block = newBlock();
+
+        NonceSearchResultDTO result = new SequentialMiningEngine(100).search(block, DifficultyTarget.bitsForDifficulty(3));
+
+        assertTrue(result.found());
+        assertTrue(result.hash().startsWith("000"));
+        assertEquals(result.nonce(), block.getNonce());
+        assertEquals(legacyHash(block), result.hash());
+        assertEquals(result.nonce().longValue(), result.totalHashes());
+        assertEquals(1, result.workers().size());
+    }
+
+    @Test
+    void parallel_findsValidNonceAndReportsEveryWorker() {
+        Block block = newBlock();
+        parallelEngine = new ParallelMiningEngine(4, 100);
+
+        NonceSearchResultDTO result = parallelEngine.search(block, DifficultyTarget.bitsForDifficulty(3));
+
+        assertTrue(result.found());
+        assertTrue(result.hash().startsWith("000"));
+        assertEquals(result.nonce(), block.getNonce());
+        assertEquals(legacyHash(block), result.hash());
+        assertEquals(4, result.workers().size());
+        assertTrue(result.workers().stream().allMatch(w -> w.hashesPerSecond() >= 0));
+    }
+
+    @Test
+    void sequential_stopsWhenCancelled() {
+        Block block = newBlock();
+        AtomicLong reported = new AtomicLong();
+        MiningSearchControl cancelAfterFirstReport = new MiningSearchControl() {
+            @Override
+            public void onProgress(long hashes, long elapsedNanos) {
+                reported.set(hashes);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return reported.get() > 0;
+            }
+        };
+
+        NonceSearchResultDTO result = new SequentialMiningEngine(100)
+                .search(block, DifficultyTarget.bitsForDifficulty(64), cancelAfterFirstReport);
+
+        assertFalse(result.found());
+        assertEquals(100, reported.get());
+        assertEquals(100L, result.totalHashes());
+    }
+
+    @Test
+    void parallel_stopsAllWorkersWhenCancelled() {
+        Block block = newBlock();
+        parallelEngine = new ParallelMiningEngine(4, 100);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        MiningSearchControl control = new MiningSearchControl() {
+            @Override
+            public void onStart(Block template) {
+                cancelled.set(true);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled.get();
+            }
+        };
+
+        NonceSearchResultDTO result = parallelEngine.search(block, DifficultyTarget.bitsForDifficulty(64), control);
+
+        assertFalse(result.found());
+        assertEquals(4, result.workers().size());
+        assertTrue(result.workers().stream().allMatch(w -> w.hashes() == 100));
+    }
+
+    @Test
+    void sequential_rollsExtraNonceWhenWorkUnitIsExhausted() {
+        Block block = newBlock();
+
+        NonceSearchResultDTO result = new SequentialMiningEngine(100, 50)
+                .search(block, DifficultyTarget.bitsForDifficulty(3));
+
+        assertTrue(result.found());
+        assertTrue(block.getExtraNonce() > 0);
+        assertTrue(block.getTimestamp() >= 1700000000000L);
+        assertEquals(committedRoot(block), block.getMerkleRoot());
+        assertEquals(legacyHash(block), result.hash());
+    }
+
+    @Test
+    void parallel_workersMineDisjointExtraNonces() {
+        Block block = newBlock();
+        parallelEngine = new ParallelMiningEngine(4, 100, 50);
+
+        NonceSearchResultDTO result = parallelEngine.search(block, DifficultyTarget.bitsForDifficulty(3));
+
+        assertTrue(result.found());
+        assertTrue(block.getExtraNonce() > 0);
+        assertEquals(committedRoot(block), block.getMerkleRoot());
+        assertEquals(legacyHash(block), result.hash());
+    }
+
+    @Test
+    void workSource_extraNonceZeroKeepsAssembledHeader() {
+        Block block = newBlock();
+
+        MiningWorkUnit unit = MiningWorkSource.of(block).cursor(0, 4).next();
+
+        assertEquals(0, unit.extraNonce());
+        assertEquals(block.getTimestamp(), unit.timestamp());
+        assertEquals(block.getMerkleRoot(), unit.merkleRoot());
+        assertThrows(IllegalArgumentException.class, () -> MiningWorkSource.of(block).cursor(0, 0));
+    }
+
+    @Test
+    void parallel_invalidWorkerCount_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelMiningEngine(0, 100));
+    }
+
+    private Block newBlock() {
+        Block block = new Block();
+        block.setBlockIndex(1);
+        block.setPreviousHash("0".repeat(64));
+        block.setTimestamp(1700000000000L);
+        block.setMerkleRoot("a".repeat(64));
+        block.setNonce(0);
+        block.setMinerAddress("miner-1");
+        return block;
+    }
+
+    private String committedRoot(Block block) {
+        return MerkleTree.stringRoot(MiningWorkSource.committedLeaves(List.of(), block.getMinerAddress(), block.getExtraNonce()));
+    }
+
+    private String legacyHash(Block block) {
+        String data = block.getBlockIndex() + block.getPreviousHash() + block.getTimestamp()
+                + block.getNonce() + block.getMerkleRoot();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.dto.MiningJobDTO;
+import com.wallet.biochain.dto.MiningResultDTO;
+import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.enums.MiningJobStatus;
+import com.wallet.biochain.services.impl.MiningJobServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MiningJobServiceImplTest {
+
+    @Mock
+    private MiningService miningService;
+    @Mock
+    private BlockTemplateService blockTemplateService;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private MiningJobServiceImpl miningJobService;
+
+    @AfterEach
+    void tearDown() {
+        miningJobService.shutdown();
+    }
+
+    @Test
+    void submitJob_runsInBackgroundAndCompletes() throws Exception {
+        MiningResultDTO mined = new MiningResultDTO(true, "hash", 1, 7, 5L, 4, "miner",
+                new BigDecimal("50"), 0, LocalDateTime.now(), "Block mined successfully");
+        when(miningService.getCurrentTarget()).thenReturn(0x1f010000L);
+        Transaction candidate = new Transaction();
+        candidate.setTransactionHash("tx1");
+        when(blockTemplateService.buildTemplate()).thenReturn(List.of(candidate));
+        when(miningService.mineBlockWithTarget(eq(List.of(candidate)), eq("miner"), anyLong(), any())).thenReturn(mined);
+
+        MiningJobDTO submitted = miningJobService.submitJob("miner", null);
+
+        assertNotNull(submitted.jobId());
+        assertEquals(4, submitted.difficulty());
+        MiningJobDTO finished = awaitStatus(submitted.jobId(), MiningJobStatus.COMPLETED);
+        assertEquals(mined, finished.result());
+        verify(messagingTemplate, atLeastOnce())
+                .convertAndSend(eq("/topic/mining/" + submitted.jobId()), any(MiningJobDTO.class));
+    }
+
+    @Test
+    void submitJob_missingMinerAddress_throws() {
+        assertThrows(IllegalArgumentException.class, () -> miningJobService.submitJob(" ", 4));
+    }
+
+    @Test
+    void cancelStaleJobs_stopsJobMiningReplacedTip() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(blockTemplateService.buildTemplate()).thenReturn(List.of());
+        when(miningService.mineBlockWithTarget(anyList(), eq("miner"), anyLong(), any())).thenAnswer(invocation -> {
+            MiningSearchControl control = invocation.getArgument(3);
+            Block template = new Block();
+            template.setBlockIndex(5);
+            control.onStart(template);
+            started.countDown();
+            while (!control.isCancelled()) {
+                Thread.sleep(5);
+            }
+            return new MiningResultDTO(false, null, null, null, null, null, null, null, 0,
+                    LocalDateTime.now(), "Mining failed: cancelled");
+        });
+
+        MiningJobDTO submitted = miningJobService.submitJob("miner", 4);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Block olderBlock = new Block();
+        olderBlock.setBlockIndex(4);
+        assertEquals(0, miningJobService.cancelStaleJobs(olderBlock));
+
+        Block competing = new Block();
+        competing.setBlockIndex(5);
+        assertEquals(1, miningJobService.cancelStaleJobs(competing));
+
+        MiningJobDTO finished = awaitStatus(submitted.jobId(), MiningJobStatus.CANCELLED);
+        assertEquals(5, finished.blockIndex());
+        assertFalse(miningJobService.cancelJob(submitted.jobId()));
+    }
+
+    @Test
+    void cancelJob_unknownJob_throws() {
+        assertThrows(IllegalArgumentException.class, () -> miningJobService.cancelJob("missing"));
+    }
+
+    private MiningJobDTO awaitStatus(String jobId, MiningJobStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            MiningJobDTO job = miningJobService.getJob(jobId).orElseThrow();
+            if (job.status() == status) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + jobId + " did not reach " + status);
+        return null;
+    }
+}
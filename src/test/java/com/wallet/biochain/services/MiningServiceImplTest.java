@@ -1,17 +1,25 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.config.BlockchainConfig;
 import com.wallet.biochain.dto.BlockDTO;
 import com.wallet.biochain.dto.MiningResultDTO;
 import com.wallet.biochain.entities.Block;
+import com.wallet.biochain.entities.Blockchain;
 import com.wallet.biochain.mappers.MiningMapper;
+import com.wallet.biochain.services.impl.DifficultyTarget;
 import com.wallet.biochain.services.impl.MiningServiceImpl;
+import com.wallet.biochain.services.impl.SequentialMiningEngine;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,10 +34,17 @@ class MiningServiceImplTest {
     private CryptographyService cryptographyService;
     @Mock
     private MiningMapper miningMapper;
+    @Mock
+    private BlockchainService blockchainService;
 
-    @InjectMocks
     private MiningServiceImpl miningService;
 
+    @BeforeEach
+    void setUp() {
+        miningService = new MiningServiceImpl(blockService, cryptographyService, miningMapper,
+                new SequentialMiningEngine(100000), new BlockchainConfig(), blockchainService);
+    }
+
     @Test
     void mineBlock_success() {
         Block block = new Block();
@@ -38,7 +53,6 @@ class MiningServiceImplTest {
 
         when(blockService.getBlockCount()).thenReturn(1L);
         when(blockService.createBlock(eq(1), anyString(), anyList())).thenReturn(block);
-        when(blockService.calculateBlockHash(any())).thenReturn("0000abc", "0001def", "0000ghi");
         when(blockService.addBlock(any())).thenReturn(block);
 
         MiningResultDTO resultDTO = mock(MiningResultDTO.class);
@@ -62,7 +76,6 @@ class MiningServiceImplTest {
         block.setBlockIndex(2);
         when(blockService.createBlock(eq(2), eq("previousHash"), anyList()))
                 .thenReturn(block);
-        when(blockService.calculateBlockHash(any())).thenReturn("0000abc");
         when(blockService.addBlock(any())).thenReturn(block);
 
         MiningResultDTO resultDTO = mock(MiningResultDTO.class);
@@ -73,20 +86,46 @@ class MiningServiceImplTest {
 
         assertNotNull(result);
         assertEquals("previousHash", block.getPreviousHash());
+        assertTrue(block.getHash().startsWith("0000"));
+        assertEquals(DifficultyTarget.bitsForDifficulty(4), block.getBits());
     }
 
     @Test
-    void calculateProofOfWork_findsValidNonce() {
+    void mineBlockWithTarget_setsBitsAndEquivalentDifficulty() {
         Block block = new Block();
+        block.setBlockIndex(1);
         block.setNonce(0);
+        long bits = 0x1f7fffffL; // just under two leading zero digits' worth of work
+
+        when(blockService.getBlockCount()).thenReturn(1L);
+        when(blockService.getLatestBlock()).thenReturn(Optional.empty());
+        when(blockService.createBlock(eq(1), anyString(), anyList())).thenReturn(block);
+        when(blockService.addBlock(any())).thenReturn(block);
+        when(miningMapper.toResultDTO(any(), anyLong(), any())).thenReturn(mock(MiningResultDTO.class));
 
-        when(blockService.calculateBlockHash(any()))
-                .thenReturn("1111abc", "0001def", "0000ghi");
+        miningService.mineBlockWithTarget(new ArrayList<>(), "miner", bits);
 
-        String result = miningService.calculateProofOfWork(block, 4);
+        assertEquals(bits, block.getBits());
+        assertEquals(2, block.getDifficulty());
+        assertTrue(miningService.hashMeetsTarget(block.getHash(), bits));
+    }
 
-        assertEquals("0000ghi", result);
+    @Test
+    void calculateProofOfWork_findsValidNonce() {
+        Block block = new Block();
+        block.setBlockIndex(1);
+        block.setPreviousHash("prev");
+        block.setTimestamp(1700000000000L);
+        block.setMerkleRoot("root");
+        block.setNonce(0);
+
+        String result = miningService.calculateProofOfWork(block, 2);
+
+        assertTrue(result.startsWith("00"));
         assertTrue(block.getNonce() > 0);
+        assertEquals(sha256Hex("1prev1700000000000" + block.getNonce() + "root"), result);
+        assertTrue(miningService.getLastSearchResult().isPresent());
+        assertEquals(block.getNonce().longValue(), miningService.getLastSearchResult().get().totalHashes());
     }
 
     @Test
@@ -115,24 +154,80 @@ class MiningServiceImplTest {
     }
 
     @Test
-    void adjustDifficulty_tooFast_increases() {
-        Long avgTime = 300000L; // 5 minutes (too fast)
-        Integer adjusted = miningService.adjustDifficulty(avgTime);
-        assertEquals(5, adjusted);
+    void getCurrentTarget_readsPersistedChainBits() {
+        Blockchain blockchain = new Blockchain();
+        blockchain.setDifficulty(3);
+        blockchain.setBits(0x1f00e666L);
+        when(blockchainService.getBlockchainByChainId("biochain-main-001")).thenReturn(Optional.of(blockchain));
+
+        assertEquals(0x1f00e666L, miningService.getCurrentTarget());
+        assertEquals(3, miningService.getCurrentDifficulty());
     }
 
     @Test
-    void adjustDifficulty_tooSlow_decreases() {
-        Long avgTime = 1200000L; // 20 minutes (too slow)
-        Integer adjusted = miningService.adjustDifficulty(avgTime);
-        assertEquals(3, adjusted);
+    void mineBlock_appendsMinedBlockToChain() {
+        Blockchain blockchain = new Blockchain();
+        blockchain.setCurrentHeight(0);
+        blockchain.setDifficulty(1);
+        Block block = new Block();
+        block.setBlockIndex(1);
+        block.setNonce(0);
+
+        when(blockchainService.getBlockchainByChainId("biochain-main-001")).thenReturn(Optional.of(blockchain));
+        when(blockService.getBlockCount()).thenReturn(1L);
+        when(blockService.createBlock(eq(1), anyString(), anyList())).thenReturn(block);
+        when(blockService.addBlock(any())).thenReturn(block);
+        when(miningMapper.toResultDTO(any(), anyLong(), any())).thenReturn(mock(MiningResultDTO.class));
+
+        miningService.mineBlock(new ArrayList<>(), "miner");
+
+        assertEquals(DifficultyTarget.bitsForDifficulty(1), block.getBits());
+        verify(blockchainService).addBlockToChain("biochain-main-001", block);
+    }
+
+    @Test
+    void adjustDifficulty_followsTheRetargetedBits() {
+        long bits = DifficultyTarget.bitsForDifficulty(4);
+
+        // Twice as fast halves the target, which is less than one more zero hex digit
+        assertEquals(DifficultyTarget.difficultyForBits(miningService.adjustTarget(bits, 300000L)),
+                miningService.adjustDifficulty(300000L));
+        assertEquals(4, miningService.adjustDifficulty(300000L));
+        assertEquals(3, miningService.adjustDifficulty(1200000L));
+        assertEquals(4, miningService.adjustDifficulty(600000L));
+    }
+
+    @Test
+    void adjustDifficulty_retargetsTheChainsCurrentBits() {
+        Blockchain chain = new Blockchain();
+        chain.setDifficulty(6);
+        chain.setBits(DifficultyTarget.bitsForDifficulty(6));
+        when(blockchainService.getBlockchainByChainId("biochain-main-001")).thenReturn(Optional.of(chain));
+
+        assertEquals(5, miningService.adjustDifficulty(1200000L));
+    }
+
+    @Test
+    void adjustTarget_scalesInSmallSteps() {
+        long bits = DifficultyTarget.bitsForDifficulty(4);
+
+        Long faster = miningService.adjustTarget(bits, 540000L);  // 10% fast
+        Long slower = miningService.adjustTarget(bits, 660000L);  // 10% slow
+
+        assertTrue(DifficultyTarget.fromCompact(faster).compareTo(DifficultyTarget.fromCompact(bits)) < 0);
+        assertTrue(DifficultyTarget.fromCompact(slower).compareTo(DifficultyTarget.fromCompact(bits)) > 0);
+        assertEquals(4, DifficultyTarget.difficultyForBits(faster));
+        assertEquals(3, DifficultyTarget.difficultyForBits(slower));
+        assertEquals(bits, miningService.adjustTarget(bits, 600000L));
     }
 
     @Test
-    void adjustDifficulty_justRight_staysSame() {
-        Long avgTime = 600000L; // 10 minutes (perfect)
-        Integer adjusted = miningService.adjustDifficulty(avgTime);
-        assertEquals(4, adjusted);
+    void adjustTarget_clampsToConfiguredBounds() {
+        long easiest = DifficultyTarget.bitsForDifficulty(1);
+        long hardest = DifficultyTarget.bitsForDifficulty(10);
+
+        assertEquals(easiest, miningService.adjustTarget(easiest, 100_000_000L));
+        assertEquals(hardest, miningService.adjustTarget(hardest, 1L));
     }
 
     @Test
@@ -163,10 +258,28 @@ class MiningServiceImplTest {
         assertFalse(miningService.hashMeetsDifficulty("0001abc", 4));
     }
 
+    @Test
+    void hashMeetsTarget_comparesFullHash() {
+        long bits = DifficultyTarget.bitsForDifficulty(4);
+
+        assertTrue(miningService.hashMeetsTarget("0000" + "f".repeat(60), bits));
+        assertFalse(miningService.hashMeetsTarget("0001" + "0".repeat(59) + "1", bits));
+        assertFalse(miningService.hashMeetsTarget("0000abc", bits));
+    }
+
     @Test
     void getEstimatedMiningTime_returnsEstimate() {
         Long estimate = miningService.getEstimatedMiningTime(2);
         assertNotNull(estimate);
         assertTrue(estimate > 0);
     }
+
+    private static String sha256Hex(String data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,223 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.enums.TransactionStatus;
+import com.wallet.biochain.repositories.TransactionRepository;
+import com.wallet.biochain.services.impl.Mempool;
+import com.wallet.biochain.services.impl.MempoolSnapshot;
+import com.wallet.biochain.services.impl.PendingLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingLedgerTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private MempoolSnapshot snapshot;
+
+    private PendingLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new PendingLedger(transactionRepository, new BlockchainConfig(), snapshot);
+    }
+
+    @Test
+    void rebuild_loadsPendingTransactionsAndConfirmedNonces() {
+        when(transactionRepository.findMaxConfirmedNonceBySender()).thenReturn(List.<Object[]>of(new Object[]{"alice", 2L}));
+        when(transactionRepository.findByStatus(TransactionStatus.PENDING))
+                .thenReturn(List.of(tx("a", "alice", "bob", "5.0", "0.1", 3L), tx("b", "bob", "alice", "2.0", "0.05")));
+
+        ledger.rebuild();
+
+        assertEquals(2, ledger.size());
+        assertEquals(0, new BigDecimal("5.1").compareTo(ledger.pendingOutflow("alice")));
+        assertEquals(0, new BigDecimal("2.0").compareTo(ledger.pendingInflow("alice")));
+        assertEquals(0, new BigDecimal("5.0").compareTo(ledger.pendingInflow("bob")));
+        assertEquals(4L, ledger.nextNonce("alice"));
+        assertEquals(0L, ledger.nextNonce("bob"));
+        assertEquals(2L, ledger.confirmedNonce("alice"));
+        assertEquals(-1L, ledger.confirmedNonce("bob"));
+    }
+
+    @Test
+    void load_restoresSnapshotAndReadsOnlyChangedRows() {
+        Transaction replaced = tx("old", "alice", "bob", "1.0", "0.1", 3L);
+        Transaction confirmed = tx("mined", "carol", "bob", "1.0", "0.1", 0L);
+        MempoolSnapshot.Image image = new MempoolSnapshot.Image(System.currentTimeMillis(),
+                List.of(new MempoolSnapshot.PoolImage(1L, "main", 10, true, List.of(new Mempool.Pooled(replaced, 1L)))),
+                List.of(tx("unpooled", "dave", "bob", "2.0", "0.1"), confirmed), Map.of("alice", 2L));
+        when(snapshot.bootImage()).thenReturn(Optional.of(image));
+
+        Transaction rejectedRow = tx("old", "alice", "bob", "1.0", "0.1", 3L);
+        rejectedRow.setStatus(TransactionStatus.REJECTED);
+        Transaction confirmedRow = tx("mined", "carol", "bob", "1.0", "0.1", 0L);
+        confirmedRow.setStatus(TransactionStatus.CONFIRMED);
+        // The replacement is listed before the row it replaced, and still takes the nonce slot
+        when(transactionRepository.findChangedSince(image.changedSince())).thenReturn(List.of(
+                tx("new", "alice", "bob", "1.0", "0.5", 3L), rejectedRow, confirmedRow));
+
+        ledger.load();
+
+        assertEquals(2, ledger.size());
+        assertTrue(ledger.isPending("unpooled"));
+        assertEquals("new", ledger.pendingAt("alice", 3L).orElseThrow().transactionHash());
+        assertEquals(2L, ledger.confirmedNonce("alice"));
+        assertEquals(0L, ledger.confirmedNonce("carol"));
+        assertEquals(Map.of("alice", 2L, "carol", 0L), ledger.confirmedNonces());
+        verify(transactionRepository, never()).findByStatus(any());
+        verify(transactionRepository, never()).findMaxConfirmedNonceBySender();
+    }
+
+    @Test
+    void add_isIdempotentAndDropReleasesAmounts() {
+        Transaction tx = tx("a", "alice", "bob", "5.0", "0.1");
+
+        assertTrue(ledger.add(tx));
+        assertFalse(ledger.add(tx));
+        assertEquals(1, ledger.pendingCount("alice"));
+        assertEquals(0, new BigDecimal("5.1").compareTo(ledger.pendingOutflow("alice")));
+
+        assertTrue(ledger.drop("a"));
+        assertFalse(ledger.drop("a"));
+        assertEquals(0, BigDecimal.ZERO.compareTo(ledger.pendingOutflow("alice")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(ledger.pendingInflow("bob")));
+        assertEquals(0L, ledger.pendingCount("alice"));
+    }
+
+    @Test
+    void confirm_movesTransactionFromPendingToConfirmedOnce() {
+        Transaction tx = tx("a", "alice", "bob", "5.0", "0.1", 0L);
+        ledger.add(tx);
+        ledger.add(tx("b", "alice", "bob", "1.0", "0.1", 1L));
+
+        ledger.confirm(tx);
+        ledger.confirm(tx);
+
+        assertFalse(ledger.isPending("a"));
+        assertTrue(ledger.isPending("b"));
+        assertEquals(0, new BigDecimal("1.1").compareTo(ledger.pendingOutflow("alice")));
+        assertEquals(0L, ledger.confirmedNonce("alice"));
+        assertEquals(2L, ledger.nextNonce("alice"));
+        assertEquals(0, BigDecimal.ZERO.compareTo(ledger.pendingOutflow("unknown")));
+    }
+
+    @Test
+    void nextNonce_skipsPendingSlotsAndDropFreesThem() {
+        ledger.add(tx("a", "alice", "bob", "1.0", "0.1", 0L));
+        ledger.add(tx("b", "alice", "bob", "1.0", "0.1", 1L));
+        ledger.add(tx("d", "alice", "bob", "1.0", "0.1", 3L));
+
+        assertEquals(2L, ledger.nextNonce("alice"));
+        assertEquals(4L, ledger.nextNonce("alice", 3));
+        assertEquals("b", ledger.pendingAt("alice", 1).orElseThrow().transactionHash());
+
+        ledger.drop("a");
+        assertEquals(0L, ledger.nextNonce("alice"));
+        assertTrue(ledger.pendingAt("alice", 0).isEmpty());
+    }
+
+    @Test
+    void replace_swapsHolderAndTotalsInOneStep() {
+        ledger.add(tx("a", "alice", "bob", "5.0", "1.0", 0L));
+
+        assertEquals("a", ledger.replace(tx("a2", "alice", "bob", "1.0", "1.1", 0L), "a").orElseThrow());
+        assertFalse(ledger.isPending("a"));
+        assertEquals("a2", ledger.pendingAt("alice", 0).orElseThrow().transactionHash());
+        assertEquals(1, ledger.pendingCount("alice"));
+        assertEquals(0, new BigDecimal("2.1").compareTo(ledger.pendingOutflow("alice")));
+        assertEquals(0, new BigDecimal("1.0").compareTo(ledger.pendingInflow("bob")));
+
+        assertTrue(ledger.replace(tx("b", "alice", "bob", "1.0", "0.1", 1L), null).isEmpty());
+        assertEquals(2L, ledger.nextNonce("alice"));
+    }
+
+    @Test
+    void replace_slotTakenSinceCheck_tracksWithoutSlot() {
+        ledger.add(tx("a", "alice", "bob", "1.0", "1.0", 0L));
+        ledger.replace(tx("b", "alice", "bob", "1.0", "2.0", 0L), "a");
+
+        // A replacement of "a" checked before "b" took the slot
+        assertTrue(ledger.replace(tx("c", "alice", "bob", "1.0", "2.0", 0L), "a").isEmpty());
+
+        assertTrue(ledger.isPending("c"));
+        assertEquals("b", ledger.pendingAt("alice", 0).orElseThrow().transactionHash());
+        assertEquals(2, ledger.pendingCount("alice"));
+    }
+
+    @Test
+    void listener_hearsEveryChangeAfterReplay() {
+        ledger.add(tx("a", "alice", "bob", "1.0", "0.1", 0L));
+        List<String> events = new ArrayList<>();
+        ledger.subscribe(new PendingLedger.Listener() {
+            @Override
+            public void added(Transaction transaction) {
+                events.add("+" + transaction.getTransactionHash());
+            }
+
+            @Override
+            public void removed(String transactionHash) {
+                events.add("-" + transactionHash);
+            }
+
+            @Override
+            public void confirmed(String sender, long nonce) {
+                events.add(sender + ":" + nonce);
+            }
+        });
+
+        Transaction b = tx("b", "alice", "bob", "1.0", "0.1", 1L);
+        ledger.add(b);
+        ledger.replace(tx("b2", "alice", "bob", "1.0", "0.5", 1L), "b");
+        ledger.confirm(tx("a", "alice", "bob", "1.0", "0.1", 0L));
+        ledger.drop("b2");
+        ledger.drop("b2");
+
+        assertEquals(List.of("+a", "+b", "-b", "+b2", "-a", "alice:0", "-b2"), events);
+    }
+
+    @Test
+    void checkClaim_throwsWithoutChangingLedger() {
+        ledger.add(tx("a", "alice", "bob", "5.0", "1.0", 0L));
+
+        assertThrows(IllegalStateException.class, () -> ledger.checkClaim(tx("low", "alice", "bob", "1.0", "1.05", 0L), "a"));
+        assertThrows(IllegalStateException.class, () -> ledger.checkClaim(tx("stale", "alice", "bob", "1.0", "2.0", 0L), null));
+        ledger.checkClaim(tx("a2", "alice", "bob", "1.0", "1.1", 0L), "a");
+
+        assertTrue(ledger.isPending("a"));
+        assertFalse(ledger.isPending("a2"));
+        assertEquals("a", ledger.pendingAt("alice", 0).orElseThrow().transactionHash());
+    }
+
+    private Transaction tx(String hash, String sender, String recipient, String amount, String fee, long nonce) {
+        Transaction tx = tx(hash, sender, recipient, amount, fee);
+        tx.setNonce(nonce);
+        return tx;
+    }
+
+    private Transaction tx(String hash, String sender, String recipient, String amount, String fee) {
+        Transaction tx = new Transaction();
+        tx.setTransactionHash(hash);
+        tx.setSenderAddress(sender);
+        tx.setRecipientAddress(recipient);
+        tx.setAmount(new BigDecimal(amount));
+        tx.setFee(new BigDecimal(fee));
+        tx.setStatus(TransactionStatus.PENDING);
+        return tx;
+    }
+}
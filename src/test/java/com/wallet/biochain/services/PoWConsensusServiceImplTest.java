@@ -3,6 +3,9 @@ package com.wallet.biochain.services;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.services.BlockService;
 import com.wallet.biochain.services.impl.PoWConsensusServiceImpl;
+import com.wallet.biochain.services.impl.DifficultyTarget;
+import com.wallet.biochain.services.impl.SequentialMiningEngine;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -17,23 +20,41 @@ class PoWConsensusServiceImplTest {
     @Mock
     private BlockService blockService;
 
-    @InjectMocks
     private PoWConsensusServiceImpl powService;
 
+    @BeforeEach
+    void setUp() {
+        powService = new PoWConsensusServiceImpl(blockService, new SequentialMiningEngine(100000));
+    }
+
     @Test
     void mineBlock_findsValidNonce() {
         Block block = new Block();
         block.setBlockIndex(1);
+        block.setPreviousHash("prev");
+        block.setTimestamp(1L);
+        block.setMerkleRoot("root");
         block.setNonce(0);
 
-        when(blockService.calculateBlockHash(any()))
-                .thenReturn("1111abc", "0001def", "0000ghi");
-
-        Block result = powService.mineBlock(block, 4);
+        Block result = powService.mineBlock(block, 3);
 
         assertNotNull(result);
-        assertEquals("0000ghi", result.getHash());
+        assertTrue(result.getHash().startsWith("000"));
         assertTrue(result.getNonce() > 0);
+        assertTrue(powService.meetsTarget(result.getHash(), 3));
+        assertEquals(DifficultyTarget.bitsForDifficulty(3), result.getBits());
+    }
+
+    @Test
+    void validateProofOfWorkTarget_comparesAgainstFullTarget() {
+        Block block = new Block();
+        String hash = "0000" + "f".repeat(60);
+        block.setHash(hash);
+
+        when(blockService.calculateBlockHash(block)).thenReturn(hash);
+
+        assertTrue(powService.validateProofOfWorkTarget(block, DifficultyTarget.bitsForDifficulty(4)));
+        assertFalse(powService.validateProofOfWorkTarget(block, DifficultyTarget.bitsForDifficulty(5)));
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.PoolDeltaDTO;
+import com.wallet.biochain.services.impl.PoolEventCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PoolEventCoalescerTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private PoolEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        BlockchainConfig config = new BlockchainConfig();
+        // Keep the window open; tests flush explicitly
+        config.getMempool().setEventWindowMs(3_600_000L);
+        coalescer = new PoolEventCoalescer(messagingTemplate, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void flush_publishesOneDeltaPerPool() {
+        coalescer.added("main", "a", 1);
+        coalescer.added("main", "b", 2);
+        coalescer.added("main", "c", 3);
+        coalescer.removed("main", List.of("b", "old"), 2);
+        coalescer.added("other", "x", 1);
+
+        assertEquals(2, coalescer.flush());
+        assertEquals(0, coalescer.flush());
+
+        ArgumentCaptor<PoolDeltaDTO> deltas = ArgumentCaptor.forClass(PoolDeltaDTO.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/pools/updated"), deltas.capture());
+        PoolDeltaDTO main = deltas.getAllValues().stream()
+                .filter(delta -> delta.poolName().equals("main"))
+                .findFirst()
+                .orElseThrow();
+        // "b" came and went within the window, so subscribers never hear of it
+        assertEquals(List.of("a", "c"), main.addedHashes());
+        assertEquals(List.of("old"), main.removedHashes());
+        assertFalse(main.cleared());
+        assertEquals(2, main.currentSize());
+    }
+
+    @Test
+    void cleared_dropsEarlierChangesAndKeepsLaterOnes() {
+        coalescer.removed("main", List.of("a"), 1);
+        coalescer.cleared("main", 0);
+        coalescer.added("main", "a", 1);
+
+        coalescer.flush();
+
+        ArgumentCaptor<PoolDeltaDTO> delta = ArgumentCaptor.forClass(PoolDeltaDTO.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/pools/updated"), delta.capture());
+        assertTrue(delta.getValue().cleared());
+        assertEquals(List.of("a"), delta.getValue().addedHashes());
+        assertEquals(List.of(), delta.getValue().removedHashes());
+    }
+
+    @Test
+    void changesInsideTransactionWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coalescer.added("main", "a", 1);
+            assertEquals(0, coalescer.flush());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, coalescer.flush());
+        verify(messagingTemplate).convertAndSend(eq("/topic/pools/updated"), any(PoolDeltaDTO.class));
+    }
+
+    @Test
+    void window_publishesWithoutFlush() {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMempool().setEventWindowMs(10L);
+        PoolEventCoalescer shortWindow = new PoolEventCoalescer(messagingTemplate, config);
+        try {
+            shortWindow.added("main", "a", 1);
+            shortWindow.added("main", "b", 2);
+
+            verify(messagingTemplate, timeout(2000)).convertAndSend(eq("/topic/pools/updated"), any(PoolDeltaDTO.class));
+        } finally {
+            shortWindow.shutdown();
+        }
+    }
+}
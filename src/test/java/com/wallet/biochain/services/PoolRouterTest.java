@@ -0,0 +1,126 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.entities.TransactionPool;
+import com.wallet.biochain.services.impl.PoolRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PoolRouterTest {
+
+    @Mock
+    private TransactionPoolService poolService;
+
+    private PoolRouter router;
+
+    @BeforeEach
+    void setUp() {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMempool().setShardCount(4);
+        router = new PoolRouter(poolService, config);
+    }
+
+    @Test
+    void createShardPools_createsEveryShardOnFirstStart() {
+        when(poolService.getPoolByName(anyString())).thenReturn(Optional.empty());
+
+        router.createShardPools();
+
+        for (int i = 0; i < 4; i++) {
+            verify(poolService).createPool("shard-" + i, 10000);
+        }
+    }
+
+    @Test
+    void createShardPools_acceptsMatchingShardsAndRejectsChangedCount() {
+        when(poolService.getPoolByName(anyString()))
+                .thenAnswer(call -> Optional.of(new TransactionPool(call.getArgument(0))));
+        when(poolService.getPoolByName("shard-4")).thenReturn(Optional.empty());
+
+        router.createShardPools();
+        verify(poolService, never()).createPool(anyString(), anyInt());
+
+        // Pools left over from a larger shard count
+        when(poolService.getPoolByName("shard-4")).thenReturn(Optional.of(new TransactionPool("shard-4")));
+        assertThrows(IllegalStateException.class, () -> router.createShardPools());
+
+        // Only some of the shards exist, as after raising the count
+        when(poolService.getPoolByName("shard-4")).thenReturn(Optional.empty());
+        when(poolService.getPoolByName("shard-3")).thenReturn(Optional.empty());
+        assertThrows(IllegalStateException.class, () -> router.createShardPools());
+        verify(poolService, never()).createPool(anyString(), anyInt());
+    }
+
+    @Test
+    void constructor_rejectsMissingShardCount() {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getMempool().setShardCount(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new PoolRouter(poolService, config));
+    }
+
+    @Test
+    void shardFor_isStableAndSpreadsSenders() {
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String sender = "0xsender" + i;
+            assertEquals(router.shardFor(sender), router.shardFor(sender));
+            used.add(router.shardFor(sender));
+        }
+
+        assertEquals(Set.copyOf(router.getShardNames()), used);
+        assertThrows(IllegalArgumentException.class, () -> router.shardFor(null));
+    }
+
+    @Test
+    void addTransaction_goesToSenderShardAndSurfacesRejection() {
+        Transaction tx = tx("h", "alice", "0.1", 1L);
+        String shard = router.shardFor("alice");
+
+        router.addTransaction(tx);
+        verify(poolService).addTransaction(shard, tx);
+
+        doThrow(new IllegalStateException("Transaction pool is full")).when(poolService).addTransaction(shard, tx);
+        assertThrows(IllegalStateException.class, () -> router.addTransaction(tx));
+
+        router.addTransaction("alice", "stored");
+        verify(poolService).addTransactionByHash(shard, "stored");
+    }
+
+    @Test
+    void getTopTransactionsByFee_mergesShardsInFeeRateOrder() {
+        when(poolService.getTopTransactionsByFee(anyString(), eq(3))).thenReturn(List.of());
+        when(poolService.getTopTransactionsByFee("shard-0", 3)).thenReturn(List.of(
+                tx("a1", "a", "0.9", 1L), tx("a2", "a", "0.3", 2L), tx("a3", "a", "0.1", 3L)));
+        when(poolService.getTopTransactionsByFee("shard-2", 3)).thenReturn(List.of(
+                tx("b1", "b", "0.5", 1L), tx("b2", "b", "0.3", 1L)));
+
+        List<String> top = router.getTopTransactionsByFee(3).stream().map(Transaction::getTransactionHash).toList();
+
+        // Equal fee rates fall back to the older transaction
+        assertEquals(List.of("a1", "b1", "b2"), top);
+        assertThrows(IllegalArgumentException.class, () -> router.getTopTransactionsByFee(0));
+    }
+
+    private Transaction tx(String hash, String sender, String fee, long timestamp) {
+        Transaction tx = new Transaction(sender, "recipient", BigDecimal.ONE);
+        tx.setTransactionHash(hash);
+        tx.setFee(new BigDecimal(fee));
+        tx.setTimestamp(timestamp);
+        return tx;
+    }
+}
@@ -0,0 +1,105 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Wallet;
+import com.wallet.biochain.repositories.WalletRepository;
+import com.wallet.biochain.services.impl.PublicKeyCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.PublicKey;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicKeyCacheTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private CryptographyService cryptographyService;
+    @Mock
+    private PublicKey aliceKey;
+    @Mock
+    private PublicKey bobKey;
+
+    private SimpleMeterRegistry registry;
+    private PublicKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getValidation().setPublicKeyCacheSize(2);
+        registry = new SimpleMeterRegistry();
+        cache = new PublicKeyCache(walletRepository, cryptographyService, config, registry);
+    }
+
+    @Test
+    void get_decodesOnceAndCountsHitsAndMisses() {
+        when(walletRepository.findByAddress("alice")).thenReturn(Optional.of(wallet("alice", "alicePub")));
+        when(walletRepository.findByAddress("unknown")).thenReturn(Optional.empty());
+        when(cryptographyService.decodePublicKey("alicePub")).thenReturn(aliceKey);
+
+        assertEquals(aliceKey, cache.get("alice").orElseThrow());
+        assertEquals(aliceKey, cache.get("alice").orElseThrow());
+        assertTrue(cache.get("unknown").isEmpty());
+
+        verify(walletRepository, times(1)).findByAddress("alice");
+        verify(cryptographyService, times(1)).decodePublicKey("alicePub");
+        assertEquals(1.0, registry.get("biochain.public-key-cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, registry.get("biochain.public-key-cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1.0, registry.get("biochain.public-key-cache.size").gauge().value());
+    }
+
+    @Test
+    void getAll_loadsOnlyUncachedAddressesWithOneQuery() {
+        when(cryptographyService.decodePublicKey("alicePub")).thenReturn(aliceKey);
+        when(cryptographyService.decodePublicKey("bobPub")).thenReturn(bobKey);
+        cache.resolve("alice", "alicePub");
+        when(walletRepository.findByAddressIn(List.of("bob"))).thenReturn(List.of(wallet("bob", "bobPub")));
+
+        Map<String, PublicKey> keys = cache.getAll(List.of("alice", "bob", "alice"));
+
+        assertEquals(Map.of("alice", aliceKey, "bob", bobKey), keys);
+        verify(walletRepository, never()).findByAddress(anyString());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndInvalidates() {
+        when(cryptographyService.decodePublicKey(anyString())).thenReturn(aliceKey);
+
+        cache.resolve("a", "keyA");
+        cache.resolve("b", "keyB");
+        cache.resolve("a", "keyA");
+        cache.resolve("c", "keyC");
+        assertEquals(2, cache.size());
+
+        // "b" was least recently used, so it is decoded again; "a" is still cached
+        cache.resolve("a", "keyA");
+        cache.resolve("b", "keyB");
+        verify(cryptographyService, times(2)).decodePublicKey("keyB");
+        verify(cryptographyService, times(1)).decodePublicKey("keyA");
+
+        // A different key for the address, or an invalidated address, is decoded again
+        cache.resolve("a", "rotated");
+        verify(cryptographyService).decodePublicKey("rotated");
+        cache.invalidate("a");
+        cache.invalidate("b");
+        assertEquals(0, cache.size());
+    }
+
+    private Wallet wallet(String address, String publicKey) {
+        Wallet wallet = new Wallet();
+        wallet.setAddress(address);
+        wallet.setPublicKey(publicKey);
+        return wallet;
+    }
+}
@@ -0,0 +1,160 @@
+package com.wallet.biochain.services;
+
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.entities.Transaction;
+import com.wallet.biochain.services.impl.PublicKeyCache;
+import com.wallet.biochain.services.impl.SignatureVerifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SignatureVerifierTest {
+
+    @Mock
+    private CryptographyService cryptographyService;
+    @Mock
+    private PublicKeyCache publicKeyCache;
+    @Mock
+    private PublicKey aliceKey;
+
+    private SignatureVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        // One worker taking one signature at a time, so chunks run in order
+        BlockchainConfig config = new BlockchainConfig();
+        config.getValidation().setSignatureWorkers(1);
+        config.getValidation().setSignatureChunkSize(1);
+        verifier = new SignatureVerifier(cryptographyService, publicKeyCache, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    void verify_returnsVerdictPerTransactionInOrder() {
+        when(publicKeyCache.getAll(any())).thenReturn(Map.of("alice", aliceKey));
+        signaturesValidUnless("forged");
+
+        List<Transaction> transactions = List.of(tx("a", "alice", "sig"), tx("b", "alice", "forged"),
+                tx("c", "bob", "sig"), tx("d", "alice", null), tx("e", "alice", "sig"));
+        List<SignatureVerifier.Verdict> verdicts = verifier.verify(transactions, false);
+
+        assertEquals(List.of("a", "b", "c", "d", "e"),
+                verdicts.stream().map(SignatureVerifier.Verdict::transactionHash).toList());
+        assertTrue(verdicts.get(0).isValid());
+        assertEquals("Signature does not match sender wallet", verdicts.get(1).reason());
+        assertEquals("Sender wallet not found", verdicts.get(2).reason());
+        assertEquals("Signature is missing", verdicts.get(3).reason());
+        assertTrue(verdicts.get(4).isValid());
+        verify(publicKeyCache, times(1)).getAll(any());
+    }
+
+    @Test
+    void verify_stopsAtFirstFailure() {
+        when(publicKeyCache.getAll(any())).thenReturn(Map.of("alice", aliceKey));
+        signaturesValidUnless("forged");
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            transactions.add(tx("t" + i, "alice", i == 2 ? "forged" : "sig"));
+        }
+        List<SignatureVerifier.Verdict> verdicts = verifier.verify(transactions, true);
+
+        assertEquals(SignatureVerifier.Status.VALID, verdicts.get(1).status());
+        assertEquals(SignatureVerifier.Status.INVALID, verdicts.get(2).status());
+        assertEquals(SignatureVerifier.Status.SKIPPED, verdicts.get(9).status());
+        verify(cryptographyService, times(3)).verifySignatures(anyList());
+        assertEquals("t2", verifier.firstFailure(transactions).orElseThrow().transactionHash());
+    }
+
+    @Test
+    void verify_checksEachChunkAsOneBatch() {
+        BlockchainConfig config = new BlockchainConfig();
+        config.getValidation().setSignatureWorkers(2);
+        config.getValidation().setSignatureChunkSize(4);
+        SignatureVerifier batching = new SignatureVerifier(cryptographyService, publicKeyCache, config);
+        when(publicKeyCache.getAll(any())).thenReturn(Map.of("alice", aliceKey));
+        signaturesValidUnless("forged");
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            transactions.add(tx("t" + i, "alice", i == 5 ? "forged" : "sig"));
+        }
+        try {
+            List<SignatureVerifier.Verdict> verdicts = batching.verify(transactions, false);
+
+            assertEquals(List.of(5), IntStream.range(0, 8).filter(i -> !verdicts.get(i).isValid()).boxed().toList());
+            verify(cryptographyService, times(2)).verifySignatures(argThat(payloads -> payloads.size() == 4));
+        } finally {
+            batching.shutdown();
+        }
+    }
+
+    @Test
+    void verify_marksChunkUnverifiableWhenBatchFails() {
+        when(publicKeyCache.getAll(any())).thenReturn(Map.of("alice", aliceKey));
+        when(cryptographyService.verifySignatures(anyList())).thenThrow(new IllegalStateException("provider gone"));
+
+        List<SignatureVerifier.Verdict> verdicts = verifier.verify(List.of(tx("a", "alice", "sig")), false);
+
+        assertEquals("Signature could not be verified", verdicts.get(0).reason());
+    }
+
+    @Test
+    void signedData_coversAmountsTimestampAndNonce() {
+        Transaction tx = tx("a", "alice", "sig");
+        String withoutNonce = SignatureVerifier.signedData(tx);
+        tx.setNonce(4L);
+
+        assertEquals("alicerecipient1.50.0011000", withoutNonce);
+        assertEquals(withoutNonce + "4", SignatureVerifier.signedData(tx));
+    }
+
+    @Test
+    void verify_withEncodedKeysResolvesEachSenderOnce() {
+        when(publicKeyCache.resolve("alice", "alicePub")).thenReturn(aliceKey);
+        signaturesValidUnless("forged");
+
+        List<SignatureVerifier.Verdict> verdicts = verifier.verify(
+                List.of(tx("a", "alice", "sig"), tx("b", "alice", "sig")), Map.of("alice", "alicePub"), false);
+
+        assertTrue(verdicts.stream().allMatch(SignatureVerifier.Verdict::isValid));
+        verify(publicKeyCache, times(1)).resolve("alice", "alicePub");
+    }
+
+    private Transaction tx(String hash, String sender, String signature) {
+        Transaction tx = new Transaction(sender, "recipient", new BigDecimal("1.5"), signature);
+        tx.setTransactionHash(hash);
+        tx.setFee(new BigDecimal("0.001"));
+        tx.setTimestamp(1000L);
+        return tx;
+    }
+
+    private void signaturesValidUnless(String forgedSignature) {
+        when(cryptographyService.verifySignatures(anyList())).thenAnswer(inv -> {
+            List<CryptographyService.SignedPayload> payloads = inv.getArgument(0);
+            boolean[] valid = new boolean[payloads.size()];
+            for (int i = 0; i < valid.length; i++) {
+                valid[i] = !forgedSignature.equals(payloads.get(i).signature());
+            }
+            return valid;
+        });
+    }
+}
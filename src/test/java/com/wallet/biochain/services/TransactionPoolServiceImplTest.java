@@ -1,4 +1,7 @@
 package com.wallet.biochain.services;
+import com.wallet.biochain.config.BlockchainConfig;
+import com.wallet.biochain.dto.MempoolEvictionDTO;
+import com.wallet.biochain.dto.TransactionPageDTO;
 import com.wallet.biochain.dto.TransactionPoolStatusDTO;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.TransactionPool;
@@ -6,6 +9,11 @@ import com.wallet.biochain.enums.TransactionStatus;
 import com.wallet.biochain.mappers.TransactionPoolMapper;
 import com.wallet.biochain.repositories.TransactionPoolRepository;
 import com.wallet.biochain.repositories.TransactionRepository;
+import com.wallet.biochain.services.impl.Mempool;
+import com.wallet.biochain.services.impl.MempoolSnapshot;
+import com.wallet.biochain.services.impl.MempoolWriteBehind;
+import com.wallet.biochain.services.impl.PendingLedger;
+import com.wallet.biochain.services.impl.PoolEventCoalescer;
 import com.wallet.biochain.services.impl.TransactionPoolServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,7 +23,9 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +41,16 @@ class TransactionPoolServiceImplTest {
     private TransactionPoolMapper poolMapper;
     @Mock
     private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private MempoolWriteBehind writeBehind;
+    @Spy
+    private BlockchainConfig blockchainConfig = new BlockchainConfig();
+    @Mock
+    private PendingLedger pendingLedger;
+    @Mock
+    private PoolEventCoalescer poolEvents;
+    @Mock
+    private MempoolSnapshot snapshot;
 
     @InjectMocks
     private TransactionPoolServiceImpl poolService;
@@ -71,9 +91,174 @@ class TransactionPoolServiceImplTest {
 
         poolService.addTransaction("main", tx);
 
-        assertEquals(1, pool.getCurrentSize());
-        verify(transactionRepository).save(tx);
-        verify(poolRepository).save(pool);
+        assertEquals(List.of(tx), poolService.getPendingTransactions("main"));
+        verify(writeBehind).add(1L, tx, 1);
+        verify(pendingLedger).add(tx);
+        verify(poolEvents).added("main", "h", 1);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/pools/updated"), any(TransactionPoolStatusDTO.class));
+        verify(transactionRepository, never()).save(any());
+        verify(poolRepository, never()).save(any());
+    }
+
+    @Test
+    void addTransaction_duplicateIsIgnored() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+
+        poolService.addTransaction("main", tx("h", "0.1", 1L));
+        poolService.addTransaction("main", tx("h", "0.1", 1L));
+
+        assertEquals(1, poolService.getPendingTransactions("main").size());
+        verify(writeBehind, times(1)).add(eq(1L), any(Transaction.class), eq(1));
+    }
+
+    @Test
+    void addTransaction_fullPool_throws() {
+        TransactionPool pool = activePool(1);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+
+        poolService.addTransaction("main", tx("a", "0.1", 1L));
+
+        assertThrows(IllegalStateException.class, () -> poolService.addTransaction("main", tx("b", "0.1", 2L)));
+        verify(writeBehind, times(1)).add(anyLong(), any(Transaction.class), anyInt());
+    }
+
+    @Test
+    void addTransaction_fullPoolEvictsLowerFeeRateAndRaisesMinimum() {
+        TransactionPool pool = activePool(1);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+
+        poolService.addTransaction("main", tx("dust", "0.0001", 1L));
+        poolService.addTransaction("main", tx("rich", "0.5", 2L));
+
+        assertEquals(List.of("rich"), poolService.getPendingTransactions("main").stream()
+                .map(Transaction::getTransactionHash).toList());
+        verify(writeBehind).remove(1L, "dust", 0);
+        verify(pendingLedger).drop("dust");
+        verify(poolEvents).removed("main", List.of("dust"), 0);
+
+        ArgumentCaptor<Object> messages = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq("/topic/pools/updated"), messages.capture());
+        MempoolEvictionDTO eviction = messages.getAllValues().stream()
+                .filter(MempoolEvictionDTO.class::isInstance)
+                .map(MempoolEvictionDTO.class::cast)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("dust"), eviction.transactionHashes());
+        assertEquals("FEE_RATE", eviction.reason());
+        assertEquals(0, eviction.currentSize());
+        assertTrue(eviction.minFeeRate() > 0);
+
+        // The evicted fee rate is no longer enough to get in, even once there is room
+        poolService.removeTransaction("main", "rich");
+        assertThrows(IllegalStateException.class, () -> poolService.addTransaction("main", tx("dust2", "0.0001", 3L)));
+    }
+
+    @Test
+    void addTransaction_sameNonceReplacesOnlyWithHigherFee() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        Transaction original = tx("a", "0.1", 1L, 0L);
+        poolService.addTransaction("main", original);
+
+        assertThrows(IllegalStateException.class, () -> poolService.addTransaction("main", tx("cheap", "0.105", 2L, 0L)));
+
+        Transaction replacement = tx("a2", "0.2", 3L, 0L);
+        poolService.addTransaction("main", replacement);
+
+        assertEquals(List.of("a2"), poolService.getPendingTransactions("main").stream()
+                .map(Transaction::getTransactionHash).toList());
+        verify(writeBehind).remove(1L, "a", 1);
+        verify(writeBehind).add(1L, replacement, 1);
+        verify(pendingLedger).replace(replacement, "a");
+        verify(poolEvents).removed("main", List.of("a"), 1);
+        verify(poolEvents).added("main", "a2", 1);
+    }
+
+    @Test
+    void removed_takesTransactionNoLongerPendingOutOfItsPool() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        poolService.addTransaction("main", tx("a", "0.1", 1L));
+        poolService.addTransaction("main", tx("b", "0.1", 2L));
+
+        poolService.removed("a");
+        poolService.removed("unknown");
+
+        assertEquals(List.of("b"), poolService.getPendingTransactions("main").stream()
+                .map(Transaction::getTransactionHash).toList());
+        verify(writeBehind).release(1L, "a", 1);
+        verify(writeBehind, never()).remove(anyLong(), anyString(), anyInt());
+        verify(poolEvents).removed("main", List.of("a"), 1);
+    }
+
+    @Test
+    void removeTransactions_removesMinedHashesFromEveryLoadedPool() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        poolService.addTransaction("main", tx("a", "0.1", 1L));
+        poolService.addTransaction("main", tx("b", "0.1", 2L));
+
+        assertEquals(1, poolService.removeTransactions(List.of("a", "unknown")));
+
+        assertEquals(List.of("b"), poolService.getPendingTransactions("main").stream()
+                .map(Transaction::getTransactionHash).toList());
+        verify(writeBehind).release(1L, "a", 1);
+        verify(poolEvents).removed("main", List.of("a"), 1);
+        verify(pendingLedger, never()).drop(anyString());
+    }
+
+    @Test
+    void addTransactionByHash_poolsStoredPendingRowOnly() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        Transaction stored = tx("stored", "0.1", 1L);
+        Transaction confirmed = tx("confirmed", "0.1", 2L);
+        confirmed.setStatus(TransactionStatus.CONFIRMED);
+        when(transactionRepository.findByTransactionHash("stored")).thenReturn(Optional.of(stored));
+        when(transactionRepository.findByTransactionHash("confirmed")).thenReturn(Optional.of(confirmed));
+        when(transactionRepository.findByTransactionHash("missing")).thenReturn(Optional.empty());
+
+        poolService.addTransactionByHash("main", "stored");
+
+        verify(writeBehind).add(1L, stored, 1);
+        assertThrows(IllegalStateException.class, () -> poolService.addTransactionByHash("main", "confirmed"));
+        assertThrows(IllegalArgumentException.class, () -> poolService.addTransactionByHash("main", "missing"));
+    }
+
+    @Test
+    void expireTransactions_dropsTransactionsPastTtl() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        poolService.addTransaction("main", tx("old", "0.1", 1L));
+        blockchainConfig.getMempool().setTransactionTtlMs(60_000L);
+        long admittedBy = System.currentTimeMillis();
+
+        assertEquals(0, poolService.expireTransactions(admittedBy));
+        assertEquals(1, poolService.expireTransactions(admittedBy + 60_001L));
+
+        assertTrue(poolService.getPendingTransactions("main").isEmpty());
+        verify(writeBehind).remove(1L, "old", 0);
+        verify(pendingLedger).drop("old");
+        verify(messagingTemplate).convertAndSend(eq("/topic/pools/updated"), any(MempoolEvictionDTO.class));
+    }
+
+    @Test
+    void mempool_recoveredFromPendingRowsOnce() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        when(transactionRepository.findByTransactionPoolIdAndStatus(1L, TransactionStatus.PENDING))
+                .thenReturn(List.of(tx("a", "0.1", 1L), tx("b", "0.2", 2L)));
+
+        assertEquals(2, poolService.getPendingTransactions("main").size());
+        poolService.removeTransaction("main", "a");
+
+        assertEquals(1, poolService.getPendingTransactions("main").size());
+        verify(poolRepository, times(1)).findByPoolName("main");
+        // Taken out of the pool but still pending
+        verify(writeBehind).release(1L, "a", 1);
+        verify(writeBehind, never()).remove(anyLong(), anyString(), anyInt());
+        verify(pendingLedger, never()).drop(anyString());
     }
 
     @Test
@@ -99,7 +284,8 @@ class TransactionPoolServiceImplTest {
         t2.setFee(new BigDecimal("0.2"));
         t2.setTimestamp(2L);
 
-        pool.getPendingTransactions().addAll(List.of(t1, t2));
+        when(transactionRepository.findByTransactionPoolIdAndStatus(1L, TransactionStatus.PENDING))
+                .thenReturn(List.of(t1, t2));
 
         List<Transaction> top = poolService.getTopTransactionsByFee("main", 1);
 
@@ -108,12 +294,101 @@ class TransactionPoolServiceImplTest {
     }
 
     @Test
-    void isPoolFull_delegatesToEntity() {
+    void getTransactionsByFeeRate_pagesWithCursor() {
+        TransactionPool pool = activePool(5);
+        when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        when(transactionRepository.findByTransactionPoolIdAndStatus(1L, TransactionStatus.PENDING))
+                .thenReturn(List.of(tx("a", "0.1", 1L), tx("b", "0.3", 2L), tx("c", "0.2", 3L)));
+
+        TransactionPageDTO first = poolService.getTransactionsByFeeRate("main", null, 2);
+        TransactionPageDTO second = poolService.getTransactionsByFeeRate("main", first.nextCursor(), 2);
+
+        assertEquals(List.of("b", "c"), first.transactions().stream().map(Transaction::getTransactionHash).toList());
+        assertEquals(List.of("a"), second.transactions().stream().map(Transaction::getTransactionHash).toList());
+        assertNull(second.nextCursor());
+        assertEquals(3, second.poolSize());
+        assertThrows(IllegalArgumentException.class, () -> poolService.getTransactionsByFeeRate("main", null, 0));
+    }
+
+    @Test
+    void isPoolFull_countsPooledTransactions() {
         TransactionPool pool = new TransactionPool("main");
+        pool.setId(1L);
         pool.setMaxSize(1);
         pool.setCurrentSize(1);
         when(poolRepository.findByPoolName("main")).thenReturn(Optional.of(pool));
+        when(transactionRepository.findByTransactionPoolIdAndStatus(1L, TransactionStatus.PENDING))
+                .thenReturn(List.of(tx("a", "0.1", 1L)));
 
         assertTrue(poolService.isPoolFull("main"));
     }
+
+    @Test
+    void restoreSnapshot_readsOnlyRowsChangedSinceSnapshot() {
+        TransactionPool pool = activePool(10);
+        pool.setCurrentSize(5);
+        long admittedAt = System.currentTimeMillis() - 1000;
+        MempoolSnapshot.Image image = new MempoolSnapshot.Image(System.currentTimeMillis(), List.of(
+                new MempoolSnapshot.PoolImage(1L, "main", 10, true, List.of(
+                        new Mempool.Pooled(tx("a", "0.1", 1L), admittedAt),
+                        new Mempool.Pooled(tx("gone", "0.2", 2L), admittedAt)))), List.of(), Map.of());
+        when(snapshot.bootImage()).thenReturn(Optional.of(image));
+        when(poolRepository.findAll()).thenReturn(List.of(pool));
+        Transaction gone = tx("gone", "0.2", 2L);
+        gone.setStatus(TransactionStatus.CONFIRMED);
+        Transaction added = tx("new", "0.3", 3L);
+        added.setTransactionPool(pool);
+        when(transactionRepository.findChangedSince(image.changedSince())).thenReturn(List.of(gone, added));
+
+        assertEquals(2, poolService.restoreSnapshot());
+
+        assertEquals(Set.of("a", "new"), poolService.getPendingTransactions("main").stream()
+                .map(Transaction::getTransactionHash).collect(java.util.stream.Collectors.toSet()));
+        verify(writeBehind).resize(1L, 2);
+        verify(poolRepository, never()).findByPoolName(anyString());
+        verify(transactionRepository, never()).findByTransactionPoolIdAndStatus(anyLong(), any());
+    }
+
+    @Test
+    void restoreSnapshot_keepsWhenTransactionsWereAdmitted() {
+        blockchainConfig.getMempool().setTransactionTtlMs(60_000L);
+        long now = System.currentTimeMillis();
+        MempoolSnapshot.Image image = new MempoolSnapshot.Image(now, List.of(
+                new MempoolSnapshot.PoolImage(1L, "main", 10, true, List.of(
+                        new Mempool.Pooled(tx("stale", "0.1", 1L), now - 120_000L),
+                        new Mempool.Pooled(tx("fresh", "0.2", 2L), now - 1_000L)))), List.of(), Map.of());
+        when(snapshot.bootImage()).thenReturn(Optional.of(image));
+        when(poolRepository.findAll()).thenReturn(List.of(activePool(10)));
+        when(transactionRepository.findChangedSince(image.changedSince())).thenReturn(List.of());
+        poolService.restoreSnapshot();
+
+        assertEquals(1, poolService.expireTransactions());
+
+        assertEquals(List.of("fresh"), poolService.getPendingTransactions("main").stream()
+                .map(Transaction::getTransactionHash).toList());
+    }
+
+    private TransactionPool activePool(int maxSize) {
+        TransactionPool pool = new TransactionPool("main");
+        pool.setId(1L);
+        pool.setMaxSize(maxSize);
+        pool.setIsActive(true);
+        return pool;
+    }
+
+    private Transaction tx(String hash, String fee, long timestamp) {
+        Transaction tx = new Transaction();
+        tx.setTransactionHash(hash);
+        tx.setStatus(TransactionStatus.PENDING);
+        tx.setFee(new BigDecimal(fee));
+        tx.setTimestamp(timestamp);
+        return tx;
+    }
+
+    private Transaction tx(String hash, String fee, long timestamp, long nonce) {
+        Transaction tx = tx(hash, fee, timestamp);
+        tx.setSenderAddress("alice");
+        tx.setNonce(nonce);
+        return tx;
+    }
 }
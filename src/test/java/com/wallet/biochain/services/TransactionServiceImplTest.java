@@ -1,5 +1,6 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.dto.TransactionBatchResultDTO;
 import com.wallet.biochain.dto.TransactionRequestDTO;
 import com.wallet.biochain.dto.TransactionResponseDTO;
 import com.wallet.biochain.entities.Block;
@@ -10,15 +11,22 @@ import com.wallet.biochain.mappers.TransactionMapper;
 import com.wallet.biochain.repositories.BlockRepository;
 import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.repositories.WalletRepository;
+import com.wallet.biochain.services.impl.PendingLedger;
+import com.wallet.biochain.services.impl.SignatureVerifier;
 import com.wallet.biochain.services.impl.TransactionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,6 +48,12 @@ class TransactionServiceImplTest {
     private P2PNetworkService p2pNetworkService;
     @Mock
     private TransactionMapper transactionMapper;
+    @Mock
+    private PendingLedger pendingLedger;
+    @Mock
+    private TransactionPoolService transactionPoolService;
+    @Mock
+    private SignatureVerifier signatureVerifier;
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
@@ -62,10 +76,11 @@ class TransactionServiceImplTest {
     void createTransaction_success() {
         TransactionRequestDTO request = new TransactionRequestDTO(
                 "sender", "recipient", new BigDecimal("1.0"),
-                null, "memo", "privKey"
+                null, "memo", "privKey", null
         );
         when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
         when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
         when(cryptographyService.hash(anyString())).thenReturn("txHash");
         when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
         when(validationService.validateTransaction(any(Transaction.class))).thenReturn(true);
@@ -83,6 +98,101 @@ class TransactionServiceImplTest {
         assertNotNull(result);
         verify(p2pNetworkService).broadcastTransaction(saved);
         verify(transactionRepository).save(any(Transaction.class));
+        verify(pendingLedger).checkClaim(any(Transaction.class), isNull());
+        verify(pendingLedger).replace(saved, null);
+    }
+
+    @Test
+    void createTransaction_tracksPendingOnlyAfterCommit() {
+        TransactionRequestDTO request = new TransactionRequestDTO(
+                "sender", "recipient", new BigDecimal("1.0"),
+                null, "memo", "privKey", null
+        );
+        when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
+        when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
+        when(cryptographyService.hash(anyString())).thenReturn("txHash");
+        when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
+        when(validationService.validateTransaction(any(Transaction.class))).thenReturn(true);
+        Transaction saved = new Transaction();
+        saved.setTransactionHash("txHash");
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(saved);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionService.createTransaction(request);
+            verify(pendingLedger, never()).replace(any(Transaction.class), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(pendingLedger).replace(saved, null);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createTransaction_assignsNextNonceWhenNoneGiven() {
+        TransactionRequestDTO request = new TransactionRequestDTO(
+                "sender", "recipient", new BigDecimal("1.0"),
+                null, "memo", "privKey", null
+        );
+        when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
+        when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
+        when(pendingLedger.nextNonce("sender")).thenReturn(4L);
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(1L);
+        when(cryptographyService.hash(anyString())).thenReturn("txHash");
+        when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
+        when(validationService.validateTransaction(any(Transaction.class))).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        transactionService.createTransaction(request);
+
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(saved.capture());
+        assertEquals(4L, saved.getValue().getNonce());
+        // The nonce is part of the signed data
+        verify(cryptographyService).hash(argThat(data -> data.endsWith("4")));
+    }
+
+    @Test
+    void createTransaction_samePendingNonce_replacesPendingTransaction() {
+        TransactionRequestDTO request = new TransactionRequestDTO(
+                "sender", "recipient", new BigDecimal("1.0"),
+                new BigDecimal("0.5"), "memo", "privKey", 3L
+        );
+        when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
+        when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
+        when(pendingLedger.pendingAt("sender", 3L)).thenReturn(Optional.of(
+                new PendingLedger.Pending("old", 3L, new BigDecimal("1.1"), new BigDecimal("0.1"))));
+        when(cryptographyService.hash(anyString())).thenReturn("txHash");
+        when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
+        when(validationService.validateTransaction(any(Transaction.class))).thenReturn(true);
+
+        Transaction saved = new Transaction();
+        saved.setTransactionHash("txHash");
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(saved);
+        when(pendingLedger.replace(saved, "old")).thenReturn(Optional.of("old"));
+
+        transactionService.createTransaction(request);
+
+        verify(pendingLedger).checkClaim(any(Transaction.class), eq("old"));
+        verify(transactionRepository).updatePendingStatus(eq(List.of("old")), eq(TransactionStatus.REJECTED), any());
+        verify(pendingLedger).replace(saved, "old");
+    }
+
+    @Test
+    void createTransaction_usedNonce_throws() {
+        TransactionRequestDTO request = new TransactionRequestDTO(
+                "sender", "recipient", new BigDecimal("1.0"),
+                null, "memo", "privKey", 1L
+        );
+        when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
+        when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(1L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createTransaction(request));
+        verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
     @Test
@@ -90,10 +200,11 @@ class TransactionServiceImplTest {
         sender.setBalance(new BigDecimal("0.1"));
         TransactionRequestDTO request = new TransactionRequestDTO(
                 "sender", "recipient", new BigDecimal("1.0"),
-                null, "memo", "privKey"
+                null, "memo", "privKey", null
         );
         when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
         when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
 
         assertThrows(IllegalStateException.class,
                 () -> transactionService.createTransaction(request));
@@ -103,7 +214,7 @@ class TransactionServiceImplTest {
     void createTransaction_missingPrivateKey_throws() {
         TransactionRequestDTO request = new TransactionRequestDTO(
                 "sender", "recipient", new BigDecimal("1.0"),
-                null, "memo", ""
+                null, "memo", "", null
         );
         when(walletRepository.findByAddress("sender")).thenReturn(Optional.of(sender));
         when(walletRepository.findByAddress("recipient")).thenReturn(Optional.of(recipient));
@@ -112,6 +223,149 @@ class TransactionServiceImplTest {
                 () -> transactionService.createTransaction(request));
     }
 
+    @Test
+    void createTransactions_reportsResultPerItem() {
+        sender.setPublicKey("senderPub");
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("6.0"), null, null, "privKey", null),
+                new TransactionRequestDTO("sender", "unknown", new BigDecimal("1.0"), null, null, "privKey", null),
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("5.0"), null, null, "privKey", null)
+        );
+        when(walletRepository.findByAddressIn(any())).thenReturn(List.of(sender, recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
+        when(validationService.validateTransactionFormat(any(Transaction.class))).thenReturn(true);
+        when(cryptographyService.hash(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+        when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
+        when(signatureVerifier.verify(anyList(), anyMap(), eq(false)))
+                .thenAnswer(inv -> verdicts(inv.getArgument(0), tx -> true));
+        when(transactionRepository.findExistingHashes(any())).thenReturn(List.of());
+        when(pendingLedger.nextNonce(eq("sender"), anyLong())).thenAnswer(inv -> inv.getArgument(1));
+        when(pendingLedger.pendingOutflow("sender")).thenReturn(BigDecimal.ZERO);
+        when(transactionRepository.findByTransactionHashIn(any())).thenReturn(List.of());
+        when(transactionMapper.toResponseDTO(any(Transaction.class))).thenReturn(mock(TransactionResponseDTO.class));
+
+        List<TransactionBatchResultDTO> results = transactionService.createTransactions(requests);
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).accepted());
+        assertNotNull(results.get(0).transaction());
+        assertFalse(results.get(1).accepted());
+        assertEquals("Recipient wallet not found", results.get(1).error());
+        // 6.0 plus fee is already committed by the first item, leaving too little for the third
+        assertFalse(results.get(2).accepted());
+        assertTrue(results.get(2).error().startsWith("Insufficient balance"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).insertAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        verify(walletRepository, times(1)).findByAddressIn(any());
+        verify(walletRepository, never()).findByAddress(anyString());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(pendingLedger).add(inserted.getValue().get(0));
+    }
+
+    @Test
+    void createTransactions_tracksPendingOnlyAfterCommit() {
+        sender.setPublicKey("senderPub");
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("1.0"), null, null, "privKey", null));
+        when(walletRepository.findByAddressIn(any())).thenReturn(List.of(sender, recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
+        when(validationService.validateTransactionFormat(any(Transaction.class))).thenReturn(true);
+        when(cryptographyService.hash(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+        when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
+        when(signatureVerifier.verify(anyList(), anyMap(), eq(false)))
+                .thenAnswer(inv -> verdicts(inv.getArgument(0), tx -> true));
+        when(transactionRepository.findExistingHashes(any())).thenReturn(List.of());
+        when(pendingLedger.nextNonce(eq("sender"), anyLong())).thenAnswer(inv -> inv.getArgument(1));
+        when(pendingLedger.pendingOutflow("sender")).thenReturn(BigDecimal.ZERO);
+        when(transactionRepository.findByTransactionHashIn(any())).thenReturn(List.of());
+        when(transactionMapper.toResponseDTO(any(Transaction.class))).thenReturn(mock(TransactionResponseDTO.class));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionService.createTransactions(requests);
+            verify(pendingLedger, never()).add(any(Transaction.class));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(pendingLedger).add(any(Transaction.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createTransactions_rejectsForeignKeyDuplicatesAndPendingOverspend() {
+        sender.setPublicKey("senderPub");
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("1.0"), null, null, "otherKey", null),
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("0.5"), null, null, "privKey", null),
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("0.25"), null, null, "privKey", null)
+        );
+        when(walletRepository.findByAddressIn(any())).thenReturn(List.of(sender, recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
+        when(validationService.validateTransactionFormat(any(Transaction.class))).thenReturn(true);
+        when(cryptographyService.hash(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+        when(cryptographyService.sign(anyString(), anyString())).thenAnswer(inv -> "sig-" + inv.getArgument(1));
+        when(signatureVerifier.verify(anyList(), anyMap(), eq(false)))
+                .thenAnswer(inv -> verdicts(inv.getArgument(0), tx -> "sig-privKey".equals(tx.getSignature())));
+        when(transactionRepository.findExistingHashes(any())).thenAnswer(inv -> inv.<Collection<String>>getArgument(0).stream()
+                .filter(hash -> hash.contains("0.25"))
+                .toList());
+        when(pendingLedger.pendingOutflow("sender")).thenReturn(new BigDecimal("9.6"));
+
+        List<TransactionBatchResultDTO> results = transactionService.createTransactions(requests);
+
+        assertEquals("Signature does not match sender wallet", results.get(0).error());
+        assertTrue(results.get(1).error().startsWith("Insufficient balance"));
+        assertEquals("Duplicate transaction", results.get(2).error());
+        assertTrue(results.stream().noneMatch(TransactionBatchResultDTO::accepted));
+        verify(transactionRepository, never()).insertAll(any());
+        verifyNoInteractions(p2pNetworkService);
+        verify(pendingLedger, never()).add(any(Transaction.class));
+    }
+
+    @Test
+    void createTransactions_assignsNoncesAroundGivenAndPendingOnes() {
+        sender.setPublicKey("senderPub");
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("1.0"), null, null, "privKey", null),
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("1.0"), null, null, "privKey", 1L),
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("1.0"), null, null, "privKey", null),
+                new TransactionRequestDTO("sender", "recipient", new BigDecimal("2.0"), null, null, "privKey", 1L)
+        );
+        when(walletRepository.findByAddressIn(any())).thenReturn(List.of(sender, recipient));
+        when(pendingLedger.confirmedNonce("sender")).thenReturn(PendingLedger.NO_NONCE);
+        when(validationService.validateTransactionFormat(any(Transaction.class))).thenReturn(true);
+        when(cryptographyService.hash(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+        when(cryptographyService.sign(anyString(), eq("privKey"))).thenReturn("signature");
+        when(signatureVerifier.verify(anyList(), anyMap(), eq(false)))
+                .thenAnswer(inv -> verdicts(inv.getArgument(0), tx -> true));
+        when(transactionRepository.findExistingHashes(any())).thenReturn(List.of());
+        // Nonce 2 is already pending
+        when(pendingLedger.nextNonce(eq("sender"), anyLong())).thenAnswer(inv -> {
+            long from = inv.getArgument(1);
+            return from == 2 ? 3L : from;
+        });
+        when(pendingLedger.pendingOutflow("sender")).thenReturn(BigDecimal.ZERO);
+        when(transactionRepository.findByTransactionHashIn(any())).thenReturn(List.of());
+        when(transactionMapper.toResponseDTO(any(Transaction.class))).thenReturn(mock(TransactionResponseDTO.class));
+
+        List<TransactionBatchResultDTO> results = transactionService.createTransactions(requests);
+
+        assertEquals("Nonce 1 is already pending", results.get(3).error());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).insertAll(inserted.capture());
+        assertEquals(List.of(0L, 1L, 3L), inserted.getValue().stream().map(Transaction::getNonce).toList());
+    }
+
+    @Test
+    void createTransactions_emptyBatch_throws() {
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransactions(List.of()));
+    }
+
     @Test
     void getTransactionByHash_returnsDto() {
         Transaction tx = new Transaction();
@@ -146,6 +400,42 @@ class TransactionServiceImplTest {
         assertEquals(TransactionStatus.CONFIRMED, tx.getStatus());
         verify(walletRepository, times(2)).save(any(Wallet.class));
         verify(transactionRepository).save(tx);
+        verify(pendingLedger).confirm(tx);
+    }
+
+    @Test
+    void confirmBlockTransactions_bulkConfirmsPendingAndPrunesMempool() {
+        Transaction pending = new Transaction("sender", "recipient", new BigDecimal("2.0"));
+        pending.setTransactionHash("pending");
+        pending.setFee(new BigDecimal("0.1"));
+        pending.setStatus(TransactionStatus.PENDING);
+        Transaction alreadyConfirmed = new Transaction("sender", "recipient", new BigDecimal("1.0"));
+        alreadyConfirmed.setTransactionHash("confirmed");
+        alreadyConfirmed.setStatus(TransactionStatus.CONFIRMED);
+
+        Block block = new Block();
+        block.setBlockIndex(5);
+        block.setTransactions(List.of(pending, alreadyConfirmed));
+        when(transactionRepository.findByTransactionHashIn(List.of("pending", "confirmed")))
+                .thenReturn(List.of(pending, alreadyConfirmed));
+        when(transactionRepository.confirmPendingInBlock(eq(block), eq(List.of("pending")), any())).thenReturn(1);
+        when(walletRepository.findByAddressIn(any())).thenReturn(List.of(sender, recipient));
+
+        assertEquals(1, transactionService.confirmBlockTransactions(block));
+
+        assertEquals(0, new BigDecimal("7.9").compareTo(sender.getBalance()));
+        assertEquals(0, new BigDecimal("3.0").compareTo(recipient.getBalance()));
+        verify(walletRepository).saveAll(List.of(sender, recipient));
+        verify(transactionRepository).assignBlockPositions(block, List.of("pending", "confirmed"));
+        verify(pendingLedger).confirm(pending);
+        verify(transactionPoolService).removeTransactions(List.of("pending"));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void confirmBlockTransactions_emptyBlock_doesNothing() {
+        assertEquals(0, transactionService.confirmBlockTransactions(new Block()));
+        verifyNoInteractions(transactionRepository, transactionPoolService);
     }
 
     @Test
@@ -153,4 +443,12 @@ class TransactionServiceImplTest {
         BigDecimal fee = transactionService.calculateTransactionFee(new BigDecimal("0.00001"));
         assertTrue(fee.compareTo(new BigDecimal("0.00001")) >= 0);
     }
+
+    private List<SignatureVerifier.Verdict> verdicts(List<Transaction> transactions, Predicate<Transaction> valid) {
+        return transactions.stream()
+                .map(tx -> valid.test(tx)
+                        ? new SignatureVerifier.Verdict(tx.getTransactionHash(), SignatureVerifier.Status.VALID, null)
+                        : SignatureVerifier.Verdict.invalid(tx.getTransactionHash(), "Signature does not match sender wallet"))
+                .toList();
+    }
 }
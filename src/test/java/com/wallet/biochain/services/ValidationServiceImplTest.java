@@ -3,10 +3,12 @@ package com.wallet.biochain.services;
 import com.wallet.biochain.entities.Block;
 import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.Wallet;
-import com.wallet.biochain.enums.TransactionStatus;
 import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.repositories.WalletRepository;
 import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.impl.PendingLedger;
+import com.wallet.biochain.services.impl.PublicKeyCache;
+import com.wallet.biochain.services.impl.SignatureVerifier;
 import com.wallet.biochain.services.impl.ValidationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.security.PublicKey;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +34,16 @@ class ValidationServiceImplTest {
     private WalletRepository walletRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private MerkleService merkleService;
+    @Mock
+    private PendingLedger pendingLedger;
+    @Mock
+    private SignatureVerifier signatureVerifier;
+    @Mock
+    private PublicKeyCache publicKeyCache;
+    @Mock
+    private PublicKey publicKey;
 
     @InjectMocks
     private ValidationServiceImpl validationService;
@@ -59,11 +72,11 @@ class ValidationServiceImplTest {
     void validateTransaction_valid() {
         when(walletRepository.findByAddress(transaction.getSenderAddress()))
                 .thenReturn(Optional.of(senderWallet));
-        when(cryptographyService.verifySignature(anyString(), anyString(), anyString()))
+        when(publicKeyCache.get(transaction.getSenderAddress())).thenReturn(Optional.of(publicKey));
+        when(cryptographyService.verifySignature(anyString(), anyString(), eq(publicKey)))
                 .thenReturn(true);
         when(transactionRepository.existsByTransactionHash(anyString())).thenReturn(false);
-        when(transactionRepository.findBySenderAddress(anyString()))
-                .thenReturn(new ArrayList<>());
+        when(pendingLedger.pendingOutflow(anyString())).thenReturn(BigDecimal.ZERO);
 
         assertTrue(validationService.validateTransaction(transaction));
     }
@@ -104,9 +117,8 @@ class ValidationServiceImplTest {
 
     @Test
     void validateSignature_valid() {
-        when(walletRepository.findByAddress(transaction.getSenderAddress()))
-                .thenReturn(Optional.of(senderWallet));
-        when(cryptographyService.verifySignature(anyString(), eq("signature"), eq("publicKey")))
+        when(publicKeyCache.get(transaction.getSenderAddress())).thenReturn(Optional.of(publicKey));
+        when(cryptographyService.verifySignature(anyString(), eq("signature"), eq(publicKey)))
                 .thenReturn(true);
 
         assertTrue(validationService.validateSignature(transaction));
@@ -114,8 +126,7 @@ class ValidationServiceImplTest {
 
     @Test
     void validateSignature_walletNotFound() {
-        when(walletRepository.findByAddress(transaction.getSenderAddress()))
-                .thenReturn(Optional.empty());
+        when(publicKeyCache.get(transaction.getSenderAddress())).thenReturn(Optional.empty());
 
         assertFalse(validationService.validateSignature(transaction));
     }
@@ -170,14 +181,9 @@ class ValidationServiceImplTest {
 
     @Test
     void checkDoubleSpending_exceedsPendingBalance() {
-        Transaction pending = new Transaction();
-        pending.setAmount(new BigDecimal("50.0"));
-        pending.setFee(new BigDecimal("0.5"));
-        pending.setStatus(TransactionStatus.PENDING);
-
         when(transactionRepository.existsByTransactionHash(anyString())).thenReturn(false);
-        when(transactionRepository.findBySenderAddress(transaction.getSenderAddress()))
-                .thenReturn(List.of(pending));
+        when(pendingLedger.pendingOutflow(transaction.getSenderAddress()))
+                .thenReturn(new BigDecimal("50.5"));
         when(walletRepository.findByAddress(transaction.getSenderAddress()))
                 .thenReturn(Optional.of(senderWallet));
 
@@ -189,8 +195,7 @@ class ValidationServiceImplTest {
     @Test
     void checkDoubleSpending_noDuplicates() {
         when(transactionRepository.existsByTransactionHash(anyString())).thenReturn(false);
-        when(transactionRepository.findBySenderAddress(transaction.getSenderAddress()))
-                .thenReturn(new ArrayList<>());
+        when(pendingLedger.pendingOutflow(transaction.getSenderAddress())).thenReturn(BigDecimal.ZERO);
         when(walletRepository.findByAddress(transaction.getSenderAddress()))
                 .thenReturn(Optional.of(senderWallet));
 
@@ -209,6 +214,47 @@ class ValidationServiceImplTest {
         assertTrue(validationService.validateBlock(block));
     }
 
+    @Test
+    void validateBlock_merkleRootMismatch_returnsFalse() {
+        Block block = new Block();
+        block.setBlockIndex(1);
+        block.setHash("hash");
+        block.setMerkleRoot("stale");
+        block.setTransactions(new ArrayList<>(List.of(transaction)));
+
+        when(cryptographyService.hash(anyString())).thenReturn("hash");
+        when(merkleService.calculateMerkleRoot(List.of("hash"))).thenReturn("root");
+
+        assertFalse(validationService.validateBlock(block));
+        verify(transactionRepository, never()).existsByTransactionHash(anyString());
+    }
+
+    @Test
+    void validateBlock_badSignature_returnsFalseBeforeBalanceChecks() {
+        Block block = new Block();
+        block.setBlockIndex(1);
+        block.setHash("hash");
+        block.setTransactions(new ArrayList<>(List.of(transaction)));
+
+        when(cryptographyService.hash(anyString())).thenReturn("hash");
+        when(signatureVerifier.firstFailure(List.of(transaction))).thenReturn(
+                Optional.of(SignatureVerifier.Verdict.invalid("hash", "Signature does not match sender wallet")));
+
+        assertFalse(validationService.validateBlock(block));
+        verifyNoInteractions(walletRepository, transactionRepository);
+    }
+
+    @Test
+    void validateMerkleRoot_matchesCalculatedRoot() {
+        Block block = new Block();
+        block.setMerkleRoot("root");
+        block.setTransactions(new ArrayList<>(List.of(transaction)));
+
+        when(merkleService.calculateMerkleRoot(List.of("hash"))).thenReturn("root");
+
+        assertTrue(validationService.validateMerkleRoot(block));
+    }
+
     @Test
     void validateBlock_null_returnsFalse() {
         assertFalse(validationService.validateBlock(null));
@@ -1,19 +1,20 @@
 package com.wallet.biochain.services;
 
+import com.wallet.biochain.config.BlockchainConfig;
 import com.wallet.biochain.dto.BalanceDTO;
 import com.wallet.biochain.dto.WalletCreateRequestDTO;
 import com.wallet.biochain.dto.WalletCreateResponseDTO;
 import com.wallet.biochain.dto.WalletDTO;
-import com.wallet.biochain.entities.Transaction;
 import com.wallet.biochain.entities.User;
 import com.wallet.biochain.entities.Wallet;
-import com.wallet.biochain.enums.TransactionStatus;
+import com.wallet.biochain.enums.SignatureSchemeType;
 import com.wallet.biochain.mappers.BalanceMapper;
 import com.wallet.biochain.mappers.WalletMapper;
-import com.wallet.biochain.repositories.TransactionRepository;
 import com.wallet.biochain.repositories.UserRepository;
 import com.wallet.biochain.repositories.WalletRepository;
 import com.wallet.biochain.services.CryptographyService;
+import com.wallet.biochain.services.impl.PendingLedger;
+import com.wallet.biochain.services.impl.PublicKeyCache;
 import com.wallet.biochain.services.impl.WalletServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,13 +41,17 @@ class WalletServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private TransactionRepository transactionRepository;
+    private PendingLedger pendingLedger;
     @Mock
     private CryptographyService cryptographyService;
     @Mock
     private WalletMapper walletMapper;
     @Mock
     private BalanceMapper balanceMapper;
+    @Mock
+    private PublicKeyCache publicKeyCache;
+    @Spy
+    private BlockchainConfig blockchainConfig = new BlockchainConfig();
 
     @InjectMocks
     private WalletServiceImpl walletService;
@@ -82,7 +87,7 @@ class WalletServiceImplTest {
         WalletCreateRequestDTO request = new WalletCreateRequestDTO(1L, "main");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(cryptographyService.generateKeyPair()).thenReturn(keyPair);
+        when(cryptographyService.generateKeyPair(SignatureSchemeType.RSA_2048)).thenReturn(keyPair);
         when(keyPair.getPublic()).thenReturn(publicKey);
         when(keyPair.getPrivate()).thenReturn(privateKey);
         when(cryptographyService.encodePublicKey(publicKey)).thenReturn("pub");
@@ -107,6 +112,28 @@ class WalletServiceImplTest {
         verify(walletMapper).toCreateResponseDTO(savedWallet, "priv");
     }
 
+    @Test
+    void createWallet_usesRequestedSignatureScheme() {
+        WalletCreateRequestDTO request = new WalletCreateRequestDTO(1L, "main", SignatureSchemeType.ED25519);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(cryptographyService.generateKeyPair(SignatureSchemeType.ED25519)).thenReturn(keyPair);
+        when(keyPair.getPublic()).thenReturn(publicKey);
+        when(keyPair.getPrivate()).thenReturn(privateKey);
+        when(cryptographyService.encodePublicKey(publicKey)).thenReturn("pub");
+        when(cryptographyService.encodePrivateKey(privateKey)).thenReturn("priv");
+        when(cryptographyService.generateAddress("pub")).thenReturn("0x" + "a".repeat(40));
+        when(cryptographyService.encryptPrivateKey(eq("priv"), anyString())).thenReturn("encPriv");
+
+        ArgumentCaptor<Wallet> saved = ArgumentCaptor.forClass(Wallet.class);
+        when(walletRepository.save(saved.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        walletService.createWallet(request);
+
+        assertEquals(SignatureSchemeType.ED25519, saved.getValue().getSignatureScheme());
+        verify(cryptographyService, never()).generateKeyPair();
+    }
+
     @Test
     void createWallet_userNotFound_throws() {
         WalletCreateRequestDTO request = new WalletCreateRequestDTO(1L, "main");
@@ -121,7 +148,7 @@ class WalletServiceImplTest {
         WalletCreateRequestDTO request = new WalletCreateRequestDTO(1L, "main");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(cryptographyService.generateKeyPair()).thenReturn(keyPair);
+        when(cryptographyService.generateKeyPair(SignatureSchemeType.RSA_2048)).thenReturn(keyPair);
         when(keyPair.getPublic()).thenReturn(publicKey);
         when(keyPair.getPrivate()).thenReturn(privateKey);
         when(cryptographyService.encodePublicKey(publicKey)).thenReturn("pub1", "pub2");
@@ -146,7 +173,7 @@ class WalletServiceImplTest {
         WalletCreateResponseDTO result = walletService.createWallet(request);
 
         assertNotNull(result);
-        verify(cryptographyService, times(2)).generateKeyPair();
+        verify(cryptographyService, times(2)).generateKeyPair(SignatureSchemeType.RSA_2048);
     }
 
     @Test
@@ -211,23 +238,9 @@ class WalletServiceImplTest {
         when(walletRepository.findByAddress(walletAddress))
                 .thenReturn(Optional.of(wallet));
 
-        // Mock pending transactions
-        Transaction pendingSent = new Transaction();
-        pendingSent.setAmount(new BigDecimal("5.0"));
-        pendingSent.setFee(new BigDecimal("0.1"));
-        pendingSent.setStatus(TransactionStatus.PENDING);
-        pendingSent.setSenderAddress(walletAddress);
-
-        Transaction pendingReceived = new Transaction();
-        pendingReceived.setAmount(new BigDecimal("3.0"));
-        pendingReceived.setFee(new BigDecimal("0.05"));
-        pendingReceived.setStatus(TransactionStatus.PENDING);
-        pendingReceived.setRecipientAddress(walletAddress);
-
-        when(transactionRepository.findBySenderAddress(walletAddress))
-                .thenReturn(List.of(pendingSent));
-        when(transactionRepository.findByRecipientAddress(walletAddress))
-                .thenReturn(List.of(pendingReceived));
+        // Pending totals come from the ledger
+        when(pendingLedger.pendingOutflow(walletAddress)).thenReturn(new BigDecimal("5.1"));
+        when(pendingLedger.pendingInflow(walletAddress)).thenReturn(new BigDecimal("3.0"));
 
         BalanceDTO dto = mock(BalanceDTO.class);
         when(balanceMapper.toDTO(eq(wallet), any(BigDecimal.class))).thenReturn(dto);
@@ -235,7 +248,7 @@ class WalletServiceImplTest {
         BalanceDTO result = walletService.getBalance(walletAddress);
 
         assertNotNull(result);
-        verify(balanceMapper).toDTO(eq(wallet), any(BigDecimal.class));
+        verify(balanceMapper).toDTO(wallet, new BigDecimal("-2.1"));
     }
 
     @Test
@@ -336,6 +349,7 @@ class WalletServiceImplTest {
 
         assertFalse(wallet.getIsActive());
         verify(walletRepository).save(wallet);
+        verify(publicKeyCache).invalidate(wallet.getAddress());
     }
 
     @Test
@@ -393,17 +407,18 @@ class WalletServiceImplTest {
     void importWallet_success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(cryptographyService.decodePrivateKey("privateKey")).thenReturn(privateKey);
-        when(cryptographyService.generateKeyPair()).thenReturn(keyPair);
-        when(keyPair.getPublic()).thenReturn(publicKey);
+        when(cryptographyService.derivePublicKey(privateKey)).thenReturn(publicKey);
         when(cryptographyService.encodePublicKey(publicKey)).thenReturn("pub");
         when(cryptographyService.generateAddress("pub")).thenReturn("0x" + "b".repeat(40));
         when(walletRepository.existsByAddress(anyString())).thenReturn(false);
         when(cryptographyService.encryptPrivateKey(eq("privateKey"), anyString()))
                 .thenReturn("encPriv");
+        when(cryptographyService.getSignatureScheme(privateKey)).thenReturn(SignatureSchemeType.ED25519);
 
         Wallet savedWallet = new Wallet();
         savedWallet.setAddress("0x" + "b".repeat(40));
-        when(walletRepository.save(any(Wallet.class))).thenReturn(savedWallet);
+        ArgumentCaptor<Wallet> saved = ArgumentCaptor.forClass(Wallet.class);
+        when(walletRepository.save(saved.capture())).thenReturn(savedWallet);
 
         WalletDTO dto = mock(WalletDTO.class);
         when(walletMapper.toDTO(savedWallet)).thenReturn(dto);
@@ -411,7 +426,9 @@ class WalletServiceImplTest {
         WalletDTO result = walletService.importWallet(1L, "privateKey", "password");
 
         assertNotNull(result);
-        verify(walletRepository).save(any(Wallet.class));
+        assertEquals("pub", saved.getValue().getPublicKey());
+        assertEquals(SignatureSchemeType.ED25519, saved.getValue().getSignatureScheme());
+        verify(publicKeyCache).invalidate("0x" + "b".repeat(40));
     }
 
     @Test
@@ -426,8 +443,7 @@ class WalletServiceImplTest {
     void importWallet_alreadyExists_throws() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(cryptographyService.decodePrivateKey("privateKey")).thenReturn(privateKey);
-        when(cryptographyService.generateKeyPair()).thenReturn(keyPair);
-        when(keyPair.getPublic()).thenReturn(publicKey);
+        when(cryptographyService.derivePublicKey(privateKey)).thenReturn(publicKey);
         when(cryptographyService.encodePublicKey(publicKey)).thenReturn("pub");
         when(cryptographyService.generateAddress("pub")).thenReturn("0x" + "b".repeat(40));
         when(walletRepository.existsByAddress(anyString())).thenReturn(true);